@@ -45,6 +45,12 @@ public class DataLoader implements CommandLineRunner {
         destination1.setName("Goa");
         destination2.setName("Jaipur");
         destination3.setName("Kerala");
+        destination1.setLatitude(15.2993);
+        destination1.setLongitude(74.1240);
+        destination2.setLatitude(26.9124);
+        destination2.setLongitude(75.7873);
+        destination3.setLatitude(10.8505);
+        destination3.setLongitude(76.2711);
 
         Destination savedDestination1 = destinationService.createDestination(destination1);
         Destination savedDestination2 = destinationService.createDestination(destination2);
@@ -158,16 +164,16 @@ public class DataLoader implements CommandLineRunner {
 
         System.out.println("----------------------------------------------------");
         System.out.println("Itinerary - ");
-        travelPackagePrintService.printItinerary(savedTravelPackage.getId());
+        travelPackagePrintService.print(savedTravelPackage.getId(), TravelPackageView.ITINERARY, ReportFormat.TEXT, System.out);
         System.out.println("----------------------------------------------------");
         System.out.println("Passenger List - ");
-        travelPackagePrintService.printPassengerList(savedTravelPackage.getId());
+        travelPackagePrintService.print(savedTravelPackage.getId(), TravelPackageView.PASSENGER_LIST, ReportFormat.TEXT, System.out);
         System.out.println("----------------------------------------------------");
         System.out.println("Passenger Details - ");
-        travelPackagePrintService.printPassengerDetails(savedTravelPackage.getId());
+        travelPackagePrintService.print(savedTravelPackage.getId(), TravelPackageView.PASSENGER_DETAILS, ReportFormat.TEXT, System.out);
         System.out.println("----------------------------------------------------");
         System.out.println("Available activities - ");
-        travelPackagePrintService.printAvailableActivities(savedTravelPackage.getId());
+        travelPackagePrintService.print(savedTravelPackage.getId(), TravelPackageView.AVAILABLE_ACTIVITIES, ReportFormat.TEXT, System.out);
         System.out.println("----------------------------------------------------");
 
     }
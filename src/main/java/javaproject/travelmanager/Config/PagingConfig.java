@@ -0,0 +1,36 @@
+package javaproject.travelmanager.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class holding the page sizes of the keyset-paginated listing endpoints.
+ */
+@Component
+public class PagingConfig {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PagingConfig(@Value("${travelmanager.paging.default-page-size:50}") int defaultPageSize,
+                        @Value("${travelmanager.paging.max-page-size:500}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Resolves the page size of a listing request.
+     * @param requested The requested page size, or null for the default.
+     * @return The requested page size capped at the maximum, or the default page size.
+     * @throws IllegalArgumentException if the requested page size is not positive.
+     */
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (requested <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,12 @@
+package javaproject.travelmanager.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class that enables the background jobs of the application, such as seat hold expiry.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,12 +1,23 @@
 package javaproject.travelmanager.Contoller;
 
+import javaproject.travelmanager.Config.PagingConfig;
+import javaproject.travelmanager.DTO.KeysetPage;
 import javaproject.travelmanager.DTO.ActivityDTO;
+import javaproject.travelmanager.DTO.ActivityRangeQuery;
+import javaproject.travelmanager.DTO.ActivitySearchHit;
+import javaproject.travelmanager.DTO.ActivitySummary;
 import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Service.ActivityRangeService;
 import javaproject.travelmanager.Service.ActivityService;
+import javaproject.travelmanager.Service.CatalogSearchService;
+import javaproject.travelmanager.Service.ListingValidatorService;
+import javaproject.travelmanager.Service.OptimisticRetryService;
+import javaproject.travelmanager.Util.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,6 +31,21 @@ public class ActivityController {
     @Autowired
     private ActivityService activityService;
 
+    @Autowired
+    private PagingConfig pagingConfig;
+
+    @Autowired
+    private OptimisticRetryService optimisticRetryService;
+
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    @Autowired
+    private ActivityRangeService activityRangeService;
+
+    @Autowired
+    private ListingValidatorService listingValidatorService;
+
     /**
      * Endpoint to create a new activity.
      * @param activityDTO The DTO (Data Transfer Object) representing the activity to be created.
@@ -34,11 +60,11 @@ public class ActivityController {
     /**
      * Endpoint to retrieve an activity by its ID.
      * @param id The ID of the activity to retrieve.
-     * @return ResponseEntity containing the Activity object with HTTP status code 200 (OK), or status code 404 (NOT FOUND) if the activity does not exist.
+     * @return ResponseEntity containing the activity summary, served from the catalog cache with its currently free seats, with HTTP status code 200 (OK), or status code 404 (NOT FOUND) if the activity does not exist.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Activity> getActivityById(@PathVariable Long id) {
-        Activity activity = activityService.getActivity(id);
+    public ResponseEntity<ActivitySummary> getActivityById(@PathVariable Long id) {
+        ActivitySummary activity = activityService.getActivitySummary(id);
         if (activity != null) {
             return new ResponseEntity<>(activity, HttpStatus.OK);
         } else {
@@ -47,14 +73,68 @@ public class ActivityController {
     }
 
     /**
-     * Endpoint to retrieve all activities.
-     * @return ResponseEntity containing a list of all activities with HTTP status code 200 (OK), or status code 204 (NO CONTENT) if there are no activities.
+     * Endpoint to retrieve all activities, one page at a time, ordered by ID.
+     * The page carries an ETag and a Last-Modified date, and a request whose conditional headers still match it
+     * is answered with 304 (NOT MODIFIED) without a body.
+     * @param pageToken The token returned with the previous page, or absent for the first page.
+     * @param size The maximum number of activities on the page, capped at the configured maximum.
+     * @param webRequest The current request, used to evaluate its conditional headers.
+     * @return ResponseEntity containing a page of summaries of activities and the token of the next page with HTTP status code 200 (OK), or status code 204 (NO CONTENT) if there are no activities.
      */
     @GetMapping("/all")
-    public ResponseEntity<List<Activity>> getAllActivities() {
-        List<Activity> activities = activityService.getAllActivities();
-        if (!activities.isEmpty()) {
-            return ResponseEntity.ok(activities);
+    public ResponseEntity<KeysetPage<ActivitySummary>> getAllActivities(@RequestParam(required = false) String pageToken,
+                                                                        @RequestParam(required = false) Integer size,
+                                                                        WebRequest webRequest) {
+        KeysetPage<ActivitySummary> page = activityService.getActivitySummaries(pageToken, pagingConfig.pageSize(size));
+        if (page.items().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        String eTag = listingValidatorService.getETag(page);
+        long lastModified = listingValidatorService.getLastModified(eTag);
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).body(page);
+    }
+
+    /**
+     * Endpoint to search activities by keyword, in the name and description of the activity and the name of its destination.
+     * Every word must match, as a whole word or as the start of one; the search is answered from memory.
+     * @param q The words to search for.
+     * @param size The maximum number of activities to return, capped at the configured maximum page size.
+     * @return ResponseEntity containing the matching activities, most relevant first, with HTTP status code 200 (OK).
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ActivitySearchHit>> searchActivities(@RequestParam String q,
+                                                                    @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(catalogSearchService.searchActivities(q, pagingConfig.pageSize(size)));
+    }
+
+    /**
+     * Endpoint to find activities by cost and free seats, optionally within a destination or a travel package, one page at a time, cheapest first.
+     * The query is answered from a sorted in-memory index; only the activities of the page are read from the database.
+     * @param minCost The lowest cost, inclusive, or absent for no lower bound.
+     * @param maxCost The highest cost, inclusive, or absent for no upper bound.
+     * @param minFreeSeats The least number of free seats; absent or 0 includes sold-out activities.
+     * @param destinationId The ID of the destination the activities must belong to, or absent for any.
+     * @param travelPackageId The ID of the travel package the activities must belong to, or absent for any.
+     * @param pageToken The token returned with the previous page, or absent for the first page.
+     * @param size The maximum number of activities on the page, capped at the configured maximum.
+     * @return ResponseEntity containing a page of summaries of activities, each with its currently free seats, and the token of the next page with HTTP status code 200 (OK), or status code 204 (NO CONTENT) if no activity matches.
+     */
+    @GetMapping("/range")
+    public ResponseEntity<KeysetPage<ActivitySummary>> findActivitiesInRange(@RequestParam(required = false) Double minCost,
+                                                                             @RequestParam(required = false) Double maxCost,
+                                                                             @RequestParam(defaultValue = "0") int minFreeSeats,
+                                                                             @RequestParam(required = false) Long destinationId,
+                                                                             @RequestParam(required = false) Long travelPackageId,
+                                                                             @RequestParam(required = false) String pageToken,
+                                                                             @RequestParam(required = false) Integer size) {
+        ActivityRangeQuery query = new ActivityRangeQuery(minCost != null ? Money.toMinor(minCost) : null,
+                maxCost != null ? Money.toMinor(maxCost) : null, minFreeSeats, destinationId, travelPackageId);
+        KeysetPage<ActivitySummary> page = activityRangeService.findActivities(query, pageToken, pagingConfig.pageSize(size));
+        if (!page.items().isEmpty()) {
+            return ResponseEntity.ok(page);
         } else {
             return ResponseEntity.noContent().build();
         }
@@ -68,7 +148,8 @@ public class ActivityController {
      */
     @PostMapping("/edit/{id}")
     public ResponseEntity<Activity> updateActivity(@PathVariable Long id, @RequestBody ActivityDTO activityDTO) {
-        Activity updatedActivity = activityService.updateActivity(id, activityDTO);
+        Activity updatedActivity = optimisticRetryService.execute("updateActivity",
+                () -> activityService.updateActivity(id, activityDTO));
         return ResponseEntity.ok(updatedActivity);
     }
 
@@ -1,7 +1,12 @@
 package javaproject.travelmanager.Contoller;
 
+import javaproject.travelmanager.Config.PagingConfig;
+import javaproject.travelmanager.DTO.KeysetPage;
 import javaproject.travelmanager.DTO.DestinationDTO;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.DTO.NearbyDestination;
 import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Service.DestinationGeoService;
 import javaproject.travelmanager.Service.DestinationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,6 +25,12 @@ public class DestinationController {
     @Autowired
     private DestinationService destinationService;
 
+    @Autowired
+    private PagingConfig pagingConfig;
+
+    @Autowired
+    private DestinationGeoService destinationGeoService;
+
     /**
      * Endpoint to create a new destination.
      * @param destinationDTO The DTO (Data Transfer Object) representing the destination to be created.
@@ -34,11 +45,11 @@ public class DestinationController {
     /**
      * Endpoint to retrieve a destination by its ID.
      * @param id The ID of the destination to retrieve.
-     * @return ResponseEntity containing the Destination object with HTTP status code 200 (OK), or status code 404 (NOT FOUND) if the destination does not exist.
+     * @return ResponseEntity containing the destination summary, served from the catalog cache, with HTTP status code 200 (OK), or status code 404 (NOT FOUND) if the destination does not exist.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Destination> getDestinationById(@PathVariable Long id) {
-        Destination destination = destinationService.getDestination(id);
+    public ResponseEntity<DestinationSummary> getDestinationById(@PathVariable Long id) {
+        DestinationSummary destination = destinationService.getDestinationSummary(id);
         if (destination != null) {
             return new ResponseEntity<>(destination, HttpStatus.OK);
         } else {
@@ -47,19 +58,52 @@ public class DestinationController {
     }
 
     /**
-     * Endpoint to retrieve all destinations.
-     * @return ResponseEntity containing a list of all destinations with HTTP status code 200 (OK), or status code 204 (NO CONTENT) if there are no destinations.
+     * Endpoint to retrieve all destinations, one page at a time, ordered by ID.
+     * @param pageToken The token returned with the previous page, or absent for the first page.
+     * @param size The maximum number of destinations on the page, capped at the configured maximum.
+     * @return ResponseEntity containing a page of summaries of destinations and the token of the next page with HTTP status code 200 (OK), or status code 204 (NO CONTENT) if there are no destinations.
      */
     @GetMapping("/all")
-    public ResponseEntity<List<Destination>> getAllDestinations() {
-        List<Destination> destinations = destinationService.getAllDestinations();
-        if (!destinations.isEmpty()) {
-            return ResponseEntity.ok(destinations);
+    public ResponseEntity<KeysetPage<DestinationSummary>> getAllDestinations(@RequestParam(required = false) String pageToken,
+                                                                             @RequestParam(required = false) Integer size) {
+        KeysetPage<DestinationSummary> page = destinationService.getDestinationSummaries(pageToken, pagingConfig.pageSize(size));
+        if (!page.items().isEmpty()) {
+            return ResponseEntity.ok(page);
         } else {
             return ResponseEntity.noContent().build();
         }
     }
 
+    /**
+     * Endpoint to find the destinations within a distance of a position, with their activities.
+     * @param latitude The latitude of the position in degrees.
+     * @param longitude The longitude of the position in degrees.
+     * @param radiusKm The distance in kilometres.
+     * @param size The maximum number of destinations to return, capped at the configured maximum page size.
+     * @return ResponseEntity containing the destinations within the distance, nearest first, with HTTP status code 200 (OK).
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyDestination>> findDestinationsNearby(@RequestParam double latitude,
+                                                                          @RequestParam double longitude,
+                                                                          @RequestParam double radiusKm,
+                                                                          @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(destinationGeoService.findWithinRadius(latitude, longitude, radiusKm, pagingConfig.pageSize(size)));
+    }
+
+    /**
+     * Endpoint to find the destinations nearest to a position, with their activities.
+     * @param latitude The latitude of the position in degrees.
+     * @param longitude The longitude of the position in degrees.
+     * @param k The number of destinations to return, capped at the configured maximum page size.
+     * @return ResponseEntity containing the nearest destinations, nearest first, with HTTP status code 200 (OK).
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyDestination>> findNearestDestinations(@RequestParam double latitude,
+                                                                           @RequestParam double longitude,
+                                                                           @RequestParam(required = false) Integer k) {
+        return ResponseEntity.ok(destinationGeoService.findNearest(latitude, longitude, pagingConfig.pageSize(k)));
+    }
+
     /**
      * Endpoint to update an existing destination.
      * @param id The ID of the destination to update.
@@ -0,0 +1,64 @@
+package javaproject.travelmanager.Contoller;
+
+import javaproject.travelmanager.DTO.ImportFormat;
+import javaproject.travelmanager.DTO.ImportReport;
+import javaproject.travelmanager.Service.BulkImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controller class for bulk imports.
+ * Every endpoint accepts either newline-delimited JSON (application/x-ndjson) or CSV with a header line (text/csv),
+ * using the field names of the corresponding DTO.
+ */
+@RestController
+@RequestMapping("/imports")
+public class ImportController {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    /**
+     * Endpoint to import activities in bulk.
+     * @param contentType The content type of the upload.
+     * @param body The uploaded rows.
+     * @return ResponseEntity containing the import report with HTTP status code 200 (OK).
+     * @throws IOException if reading the upload fails.
+     */
+    @PostMapping(value = "/activities", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReport> importActivities(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                         InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importActivities(body, ImportFormat.fromContentType(contentType)));
+    }
+
+    /**
+     * Endpoint to import destinations in bulk.
+     * @param contentType The content type of the upload.
+     * @param body The uploaded rows.
+     * @return ResponseEntity containing the import report with HTTP status code 200 (OK).
+     * @throws IOException if reading the upload fails.
+     */
+    @PostMapping(value = "/destinations", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReport> importDestinations(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importDestinations(body, ImportFormat.fromContentType(contentType)));
+    }
+
+    /**
+     * Endpoint to import passengers in bulk.
+     * @param contentType The content type of the upload.
+     * @param body The uploaded rows.
+     * @return ResponseEntity containing the import report with HTTP status code 200 (OK).
+     * @throws IOException if reading the upload fails.
+     */
+    @PostMapping(value = "/passengers", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReport> importPassengers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                         InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importPassengers(body, ImportFormat.fromContentType(contentType)));
+    }
+}
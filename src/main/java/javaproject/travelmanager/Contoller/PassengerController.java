@@ -1,12 +1,22 @@
 package javaproject.travelmanager.Contoller;
 
+import javaproject.travelmanager.Config.PagingConfig;
+import javaproject.travelmanager.DTO.KeysetPage;
 import javaproject.travelmanager.DTO.PassengerDTO;
+import javaproject.travelmanager.DTO.PassengerSummary;
+import javaproject.travelmanager.Entity.BalanceEntry;
 import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Service.ListingValidatorService;
+import javaproject.travelmanager.Service.OptimisticRetryService;
+import javaproject.travelmanager.Service.PassengerExportService;
 import javaproject.travelmanager.Service.PassengerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,6 +30,18 @@ public class PassengerController {
     @Autowired
     private PassengerService passengerService;
 
+    @Autowired
+    private PassengerExportService passengerExportService;
+
+    @Autowired
+    private PagingConfig pagingConfig;
+
+    @Autowired
+    private OptimisticRetryService optimisticRetryService;
+
+    @Autowired
+    private ListingValidatorService listingValidatorService;
+
     /**
      * Endpoint to create a new passenger.
      * @param passengerDTO The DTO (Data Transfer Object) representing the passenger to be created.
@@ -47,17 +69,41 @@ public class PassengerController {
     }
 
     /**
-     * Endpoint to retrieve all passengers.
-     * @return ResponseEntity containing a list of all passengers with HTTP status code 200 (OK), or status code 204 (NO CONTENT) if there are no passengers.
+     * Endpoint to retrieve all passengers, one page at a time, ordered by ID.
+     * The page carries an ETag and a Last-Modified date, and a request whose conditional headers still match it
+     * is answered with 304 (NOT MODIFIED) without a body.
+     * @param pageToken The token returned with the previous page, or absent for the first page.
+     * @param size The maximum number of passengers on the page, capped at the configured maximum.
+     * @param webRequest The current request, used to evaluate its conditional headers.
+     * @return ResponseEntity containing a page of summaries of passengers and the token of the next page with HTTP status code 200 (OK), or status code 204 (NO CONTENT) if there are no passengers.
      */
     @GetMapping("/all")
-    public ResponseEntity<List<Passenger>> getAllPassengers() {
-        List<Passenger> passengers = passengerService.getAllPassengers();
-        if (!passengers.isEmpty()) {
-            return ResponseEntity.ok(passengers);
-        } else {
+    public ResponseEntity<KeysetPage<PassengerSummary>> getAllPassengers(@RequestParam(required = false) String pageToken,
+                                                                         @RequestParam(required = false) Integer size,
+                                                                         WebRequest webRequest) {
+        KeysetPage<PassengerSummary> page = passengerService.getPassengerSummaries(pageToken, pagingConfig.pageSize(size));
+        if (page.items().isEmpty()) {
             return ResponseEntity.noContent().build();
         }
+        String eTag = listingValidatorService.getETag(page);
+        long lastModified = listingValidatorService.getLastModified(eTag);
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).body(page);
+    }
+
+    /**
+     * Endpoint to export all passengers, with their travel package ID and activity IDs, as newline-delimited JSON.
+     * The response is streamed while the passengers are read, so it can be arbitrarily large.
+     * @return ResponseEntity streaming one JSON object per passenger with HTTP status code 200 (OK).
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPassengers() {
+        StreamingResponseBody body = out -> passengerExportService.exportPassengers(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     /**
@@ -68,7 +114,8 @@ public class PassengerController {
      */
     @PostMapping("/edit/{id}")
     public ResponseEntity<Passenger> updatePassenger(@PathVariable Long id, @RequestBody PassengerDTO passengerDTO) {
-        Passenger updatedPassenger = passengerService.updatePassenger(id, passengerDTO);
+        Passenger updatedPassenger = optimisticRetryService.execute("updatePassenger",
+                () -> passengerService.updatePassenger(id, passengerDTO));
         return new ResponseEntity<>(updatedPassenger, HttpStatus.OK);
     }
 
@@ -82,6 +129,25 @@ public class PassengerController {
         passengerService.deletePassenger(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    /**
+     * Endpoint to add money to the balance of a passenger.
+     * @param id The ID of the passenger.
+     * @param amount The amount to add.
+     * @return ResponseEntity containing the updated Passenger object with HTTP status code 200 (OK).
+     */
+    @PostMapping("/{id}/top-up")
+    public ResponseEntity<Passenger> topUpBalance(@PathVariable Long id, @RequestParam double amount) {
+        return ResponseEntity.ok(passengerService.topUpBalance(id, amount));
+    }
 
+    /**
+     * Endpoint to retrieve the balance movements of a passenger.
+     * @param id The ID of the passenger.
+     * @return ResponseEntity containing the balance entries of the passenger, oldest first, with HTTP status code 200 (OK).
+     */
+    @GetMapping("/{id}/balance-entries")
+    public ResponseEntity<List<BalanceEntry>> getBalanceEntries(@PathVariable Long id) {
+        return ResponseEntity.ok(passengerService.getBalanceEntries(id));
+    }
+}
@@ -0,0 +1,92 @@
+package javaproject.travelmanager.Contoller;
+
+import javaproject.travelmanager.Entity.SeatHold;
+import javaproject.travelmanager.Service.OptimisticRetryService;
+import javaproject.travelmanager.Service.SeatHoldService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+/**
+ * Controller class for managing time-limited seat holds.
+ */
+@RestController
+@RequestMapping("/holds")
+public class SeatHoldController {
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private OptimisticRetryService optimisticRetryService;
+
+    @Value("${travelmanager.holds.default-ttl-seconds:300}")
+    private long defaultTtlSeconds;
+
+    /**
+     * Endpoint to hold a seat of an activity for a passenger.
+     * @param activityId The ID of the activity.
+     * @param passengerId The ID of the passenger.
+     * @param ttlSeconds How long the seat is held, in seconds; the configured default if omitted.
+     * @return ResponseEntity containing the created SeatHold object and HTTP status code 201 (CREATED).
+     */
+    @PostMapping("/activity/{activityId}/passenger/{passengerId}")
+    public ResponseEntity<SeatHold> holdActivitySeat(@PathVariable Long activityId, @PathVariable Long passengerId,
+                                                     @RequestParam(required = false) Long ttlSeconds) {
+        SeatHold hold = seatHoldService.holdActivitySeat(passengerId, activityId, ttl(ttlSeconds));
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    /**
+     * Endpoint to hold a slot of a travel package for a passenger.
+     * @param travelPackageId The ID of the travel package.
+     * @param passengerId The ID of the passenger.
+     * @param ttlSeconds How long the slot is held, in seconds; the configured default if omitted.
+     * @return ResponseEntity containing the created SeatHold object and HTTP status code 201 (CREATED).
+     */
+    @PostMapping("/travel-package/{travelPackageId}/passenger/{passengerId}")
+    public ResponseEntity<SeatHold> holdTravelPackageSlot(@PathVariable Long travelPackageId, @PathVariable Long passengerId,
+                                                          @RequestParam(required = false) Long ttlSeconds) {
+        SeatHold hold = seatHoldService.holdTravelPackageSlot(passengerId, travelPackageId, ttl(ttlSeconds));
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    /**
+     * Endpoint to confirm a hold, enrolling the passenger.
+     * @param holdId The ID of the hold.
+     * @return ResponseEntity containing the confirmed SeatHold object with HTTP status code 200 (OK).
+     */
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<SeatHold> confirmHold(@PathVariable Long holdId) {
+        SeatHold hold = optimisticRetryService.execute("confirmHold", () -> seatHoldService.confirmHold(holdId));
+        return ResponseEntity.ok(hold);
+    }
+
+    /**
+     * Endpoint to release a hold before it expires.
+     * @param holdId The ID of the hold.
+     * @return ResponseEntity containing the released SeatHold object with HTTP status code 200 (OK).
+     */
+    @PostMapping("/{holdId}/release")
+    public ResponseEntity<SeatHold> releaseHold(@PathVariable Long holdId) {
+        return ResponseEntity.ok(seatHoldService.releaseHold(holdId));
+    }
+
+    /**
+     * Endpoint to retrieve a hold by its ID.
+     * @param holdId The ID of the hold.
+     * @return ResponseEntity containing the SeatHold object with HTTP status code 200 (OK).
+     */
+    @GetMapping("/{holdId}")
+    public ResponseEntity<SeatHold> getHold(@PathVariable Long holdId) {
+        return ResponseEntity.ok(seatHoldService.getHold(holdId));
+    }
+
+    private Duration ttl(Long ttlSeconds) {
+        return Duration.ofSeconds(ttlSeconds != null ? ttlSeconds : defaultTtlSeconds);
+    }
+}
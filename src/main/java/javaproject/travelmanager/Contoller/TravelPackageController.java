@@ -1,15 +1,35 @@
 package javaproject.travelmanager.Contoller;
+import javaproject.travelmanager.Config.PagingConfig;
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.OptimizedItinerary;
+import javaproject.travelmanager.DTO.ReportFormat;
+import javaproject.travelmanager.DTO.ReportJobSummary;
+import javaproject.travelmanager.DTO.TravelPackageAvailability;
+import javaproject.travelmanager.DTO.TravelPackageDocument;
 import javaproject.travelmanager.DTO.TravelPackageDTO;
+import javaproject.travelmanager.DTO.TravelPackageSummary;
 import javaproject.travelmanager.Entity.TravelPackage;
+import javaproject.travelmanager.Service.AdmissionService;
 import javaproject.travelmanager.Service.DestinationService;
+import javaproject.travelmanager.Service.ItineraryOptimizerService;
+import javaproject.travelmanager.Service.OptimisticRetryService;
 import javaproject.travelmanager.Service.PassengerService;
-import javaproject.travelmanager.Service.TravelPackagePrintService;
+import javaproject.travelmanager.Service.TravelPackageAvailabilityService;
+import javaproject.travelmanager.Service.TravelPackageReadService;
+import javaproject.travelmanager.Service.TravelPackageReportJobService;
 import javaproject.travelmanager.Service.TravelPackageService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import javaproject.travelmanager.DTO.TravelPackageView;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -23,7 +43,19 @@ public class TravelPackageController {
     private TravelPackageService travelPackageService;
 
     @Autowired
-    private TravelPackagePrintService travelPackagePrintService;
+    private PagingConfig pagingConfig;
+
+    @Autowired
+    private TravelPackageReadService travelPackageReadService;
+
+    @Autowired
+    private TravelPackageVersionService travelPackageVersionService;
+
+    @Autowired
+    private TravelPackageAvailabilityService travelPackageAvailabilityService;
+
+    @Autowired
+    private TravelPackageReportJobService travelPackageReportJobService;
 
     @Autowired
     private PassengerService passengerService;
@@ -31,6 +63,15 @@ public class TravelPackageController {
     @Autowired
     private DestinationService destinationService;
 
+    @Autowired
+    private OptimisticRetryService optimisticRetryService;
+
+    @Autowired
+    private AdmissionService admissionService;
+
+    @Autowired
+    private ItineraryOptimizerService itineraryOptimizerService;
+
     /**
      * Endpoint to create a new travel package.
      * @param travelPackageDTO The DTO (Data Transfer Object) representing the travel package to be created.
@@ -44,17 +85,31 @@ public class TravelPackageController {
 
     /**
      * Endpoint to retrieve a travel package by its ID.
+     * Concurrent requests for the same travel package share a single load of its graph.
+     * A request for an existing travel package whose If-None-Match matches the current version is answered with
+     * 304 (NOT MODIFIED) without loading the travel package.
      * @param id The ID of the travel package to retrieve.
-     * @return ResponseEntity containing the TravelPackage object with HTTP status code 200 (OK), or status code 404 (NOT FOUND) if the travel package does not exist.
+     * @param webRequest The current request, used to evaluate its conditional headers.
+     * @return ResponseEntity containing the TravelPackage as JSON and its ETag with HTTP status code 200 (OK), or status code 404 (NOT FOUND) if the travel package does not exist.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TravelPackage> getTravelPackageById(@PathVariable Long id) {
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(id);
-        if (travelPackage != null) {
-            return ResponseEntity.status(HttpStatus.OK).body(travelPackage);
-        } else {
+    public ResponseEntity<byte[]> getTravelPackageById(@PathVariable Long id, WebRequest webRequest) {
+        if (!travelPackageReadService.exists(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        String eTag = travelPackageVersionService.getETag(id, travelPackageVersionService.getVersion(id));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        TravelPackageDocument travelPackage;
+        try {
+            travelPackage = travelPackageReadService.getTravelPackage(id);
+        } catch (IllegalArgumentException e) {
+            // Deleted since the existence check.
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
+        return ResponseEntity.status(HttpStatus.OK).eTag(travelPackage.eTag())
+                .contentType(MediaType.APPLICATION_JSON).body(travelPackage.json());
     }
 
     /**
@@ -65,18 +120,22 @@ public class TravelPackageController {
      */
     @PostMapping("/edit/{id}")
     public ResponseEntity<TravelPackage> updateTravelPackage(@PathVariable Long travelPackageId, @RequestBody TravelPackageDTO travelPackageDTO) {
-        TravelPackage updatedTravelPackage = travelPackageService.updateTravelPackage(travelPackageId, travelPackageDTO);
+        TravelPackage updatedTravelPackage = optimisticRetryService.execute("updateTravelPackage",
+                () -> travelPackageService.updateTravelPackage(travelPackageId, travelPackageDTO));
         return ResponseEntity.ok(updatedTravelPackage);
     }
 
     /**
-     * Endpoint to retrieve all travel packages.
-     * @return ResponseEntity containing a list of all travel packages with HTTP status code 200 (OK).
+     * Endpoint to retrieve all travel packages, one page at a time, ordered by ID.
+     * @param pageToken The token returned with the previous page, or absent for the first page.
+     * @param size The maximum number of travel packages on the page, capped at the configured maximum.
+     * @return ResponseEntity containing a page of summaries of travel packages and the token of the next page with HTTP status code 200 (OK).
      */
     @GetMapping("/all")
-    public ResponseEntity<List<TravelPackage>> getAllTravelPackages() {
-        List<TravelPackage> travelPackages = travelPackageService.getAllTravelPackages();
-        return ResponseEntity.ok(travelPackages);
+    public ResponseEntity<KeysetPage<TravelPackageSummary>> getAllTravelPackages(@RequestParam(required = false) String pageToken,
+                                                                                 @RequestParam(required = false) Integer size) {
+        KeysetPage<TravelPackageSummary> page = travelPackageService.getTravelPackageSummaries(pageToken, pagingConfig.pageSize(size));
+        return ResponseEntity.ok(page);
     }
 
     /**
@@ -92,6 +151,7 @@ public class TravelPackageController {
 
     /**
      * Endpoint to add an activity to a passenger within a travel package.
+     * Requests for an activity that is close to full are decided by passenger tier within a short admission window.
      * @param travelPackageId The ID of the travel package.
      * @param passengerId The ID of the passenger.
      * @param activityId The ID of the activity to add.
@@ -103,8 +163,8 @@ public class TravelPackageController {
             @PathVariable Long passengerId,
             @PathVariable Long activityId)  {
 
+        admissionService.admit(passengerId, activityId);
         TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
-        passengerService.addActivityToPassenger(passengerId, activityId);
         return ResponseEntity.ok(travelPackage);
     }
 
@@ -128,6 +188,7 @@ public class TravelPackageController {
 
     /**
      * Endpoint to add activities to a passenger within a travel package.
+     * Either all activities are added or none of them is.
      * @param travelPackageId The ID of the travel package.
      * @param passengerId The ID of the passenger.
      * @param activitiesIds List of activity IDs to add.
@@ -139,12 +200,11 @@ public class TravelPackageController {
             @PathVariable Long passengerId,
             @RequestBody List<Long> activitiesIds){
 
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         if (activitiesIds != null && !activitiesIds.isEmpty()) {
-            for (Long activityId : activitiesIds){
-                passengerService.addActivityToPassenger(passengerId, activityId);
-            }
+            optimisticRetryService.run("addActivitiesToPassenger",
+                    () -> passengerService.addActivitiesToPassenger(passengerId, activitiesIds));
         }
+        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
     }
 
@@ -161,12 +221,13 @@ public class TravelPackageController {
             @PathVariable Long passengerId,
             @RequestBody List<Long> activitiesIds){
 
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         if (activitiesIds != null && !activitiesIds.isEmpty()) {
-            for (Long activityId : activitiesIds){
-                passengerService.removeActivityFromPassenger(passengerId, activityId);
+            for (Long activityId : activitiesIds) {
+                optimisticRetryService.run("removeActivityFromPassenger",
+                        () -> passengerService.removeActivityFromPassenger(passengerId, activityId));
             }
         }
+        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
     }
 
@@ -181,8 +242,9 @@ public class TravelPackageController {
             @PathVariable Long travelPackageId,
             @PathVariable Long destinationId) {
 
+        optimisticRetryService.run("addDestinationToTravelPackage",
+                () -> travelPackageService.addDestinationToTravelPackage(travelPackageId, destinationId));
         TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
-        travelPackageService.addDestinationToTravelPackage(travelPackageId, destinationId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
     }
 
@@ -197,8 +259,9 @@ public class TravelPackageController {
             @PathVariable Long travelPackageId,
             @PathVariable Long destinationId) {
 
+        optimisticRetryService.run("removeDestinationFromTravelPackage",
+                () -> travelPackageService.removeDestinationFromTravelPackage(travelPackageId, destinationId));
         TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
-        travelPackageService.removeDestinationFromTravelPackage(travelPackageId, destinationId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
     }
 
@@ -213,12 +276,13 @@ public class TravelPackageController {
             @PathVariable Long travelPackageId,
             @RequestBody List<Long> destinationsIds) {
 
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         if (destinationsIds != null && !destinationsIds.isEmpty()) {
-            for (Long destinationId : destinationsIds){
-                travelPackageService.addDestinationToTravelPackage(travelPackageId, destinationId);
+            for (Long destinationId : destinationsIds) {
+                optimisticRetryService.run("addDestinationToTravelPackage",
+                        () -> travelPackageService.addDestinationToTravelPackage(travelPackageId, destinationId));
             }
         }
+        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
     }
 
@@ -233,12 +297,13 @@ public class TravelPackageController {
             @PathVariable Long travelPackageId,
             @RequestBody List<Long> destinationsIds) {
 
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         if (destinationsIds != null && !destinationsIds.isEmpty()) {
-            for (Long destinationId : destinationsIds){
-                travelPackageService.removeDestinationFromTravelPackage(travelPackageId, destinationId);
+            for (Long destinationId : destinationsIds) {
+                optimisticRetryService.run("removeDestinationFromTravelPackage",
+                        () -> travelPackageService.removeDestinationFromTravelPackage(travelPackageId, destinationId));
             }
         }
+        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
     }
 
@@ -253,8 +318,9 @@ public class TravelPackageController {
             @PathVariable Long travelPackageId,
             @PathVariable Long passengerId) {
 
+        optimisticRetryService.run("addPassengerToTravelPackage",
+                () -> travelPackageService.addPassengerToTravelPackage(travelPackageId, passengerId));
         TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
-        travelPackageService.addPassengerToTravelPackage(travelPackageId, passengerId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
     }
     /**
@@ -268,8 +334,9 @@ public class TravelPackageController {
             @PathVariable Long travelPackageId,
             @PathVariable Long passengerId) {
 
+        optimisticRetryService.run("removePassengerFromTravelPackage",
+                () -> travelPackageService.removePassengerFromTravelPackage(travelPackageId, passengerId));
         TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
-        travelPackageService.removePassengerFromTravelPackage(travelPackageId,passengerId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
 
     }
@@ -285,12 +352,13 @@ public class TravelPackageController {
             @PathVariable Long travelPackageId,
             @RequestBody  List<Long> passengersIds) {
 
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         if (passengersIds != null && !passengersIds.isEmpty()) {
-            for (Long passengerId : passengersIds){
-                travelPackageService.addPassengerToTravelPackage(travelPackageId, passengerId);
+            for (Long passengerId : passengersIds) {
+                optimisticRetryService.run("addPassengerToTravelPackage",
+                        () -> travelPackageService.addPassengerToTravelPackage(travelPackageId, passengerId));
             }
         }
+        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
 
     }
@@ -306,58 +374,103 @@ public class TravelPackageController {
             @PathVariable Long travelPackageId,
             @RequestBody  List<Long> passengersIds) {
 
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         if (passengersIds != null && !passengersIds.isEmpty()) {
-            for (Long passengerId : passengersIds){
-                travelPackageService.removePassengerFromTravelPackage(travelPackageId, passengerId);
+            for (Long passengerId : passengersIds) {
+                optimisticRetryService.run("removePassengerFromTravelPackage",
+                        () -> travelPackageService.removePassengerFromTravelPackage(travelPackageId, passengerId));
             }
         }
+        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
         return new ResponseEntity<>(travelPackage, HttpStatus.OK);
 
     }
 
     /**
      * Endpoint to print the itinerary of a travel package.
+     * The report is rendered as text, JSON or CSV according to the Accept header and streamed to the response.
      * @param travelPackageId The ID of the travel package.
-     * @return ResponseEntity containing a success message with HTTP status code 200 (OK).
+     * @param accept The Accept header of the request, or absent for text.
+     * @return ResponseEntity streaming the report with HTTP status code 200 (OK).
      */
     @GetMapping("/{travelPackageId}/print-itinerary")
-    public ResponseEntity<String> printItinerary(@PathVariable Long travelPackageId) {
-        travelPackagePrintService.printItinerary(travelPackageId);
-        return ResponseEntity.ok("Itinerary printed.");
+    public ResponseEntity<StreamingResponseBody> printItinerary(@PathVariable Long travelPackageId,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return report(travelPackageId, TravelPackageView.ITINERARY, accept);
+    }
+
+    /**
+     * Endpoint to retrieve the destinations of a travel package ordered to shorten the travel between them.
+     * @param travelPackageId The ID of the travel package.
+     * @return ResponseEntity containing the ordered destinations and the travel distance with HTTP status code 200 (OK).
+     */
+    @GetMapping("/{travelPackageId}/itinerary")
+    public ResponseEntity<OptimizedItinerary> getItinerary(@PathVariable Long travelPackageId) {
+        return ResponseEntity.ok(itineraryOptimizerService.getItinerary(travelPackageId));
     }
 
     /**
      * Endpoint to print the passenger list of a travel package.
+     * The report is rendered as text, JSON or CSV according to the Accept header and streamed to the response.
      * @param travelPackageId The ID of the travel package.
-     * @return ResponseEntity containing a success message with HTTP status code 200 (OK).
+     * @param accept The Accept header of the request, or absent for text.
+     * @return ResponseEntity streaming the report with HTTP status code 200 (OK).
      */
     @GetMapping("/{travelPackageId}/print-passenger-list")
-    public ResponseEntity<String> printPassengerList(@PathVariable Long travelPackageId) {
-        travelPackagePrintService.printPassengerList(travelPackageId);
-        return ResponseEntity.ok("Passenger List printed.");
+    public ResponseEntity<StreamingResponseBody> printPassengerList(@PathVariable Long travelPackageId,
+                                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return report(travelPackageId, TravelPackageView.PASSENGER_LIST, accept);
     }
 
     /**
      * Endpoint to print the details of passengers in a travel package.
+     * The report is rendered as text, JSON or CSV according to the Accept header and streamed to the response.
      * @param travelPackageId The ID of the travel package.
-     * @return ResponseEntity containing a success message with HTTP status code 200 (OK).
+     * @param accept The Accept header of the request, or absent for text.
+     * @return ResponseEntity streaming the report with HTTP status code 200 (OK).
      */
     @GetMapping("/{travelPackageId}/print-passenger-details")
-    public ResponseEntity<String> printPassengerDetails(@PathVariable Long travelPackageId) {
-        travelPackagePrintService.printPassengerDetails(travelPackageId);
-        return ResponseEntity.ok("Passenger Details printed.");
+    public ResponseEntity<StreamingResponseBody> printPassengerDetails(@PathVariable Long travelPackageId,
+                                                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return report(travelPackageId, TravelPackageView.PASSENGER_DETAILS, accept);
+    }
+
+    /**
+     * Endpoint to retrieve the free spaces of a travel package.
+     * @param travelPackageId The ID of the travel package.
+     * @return ResponseEntity containing the total free spaces and the activities that still have room with HTTP status code 200 (OK).
+     */
+    @GetMapping("/{travelPackageId}/availability")
+    public ResponseEntity<TravelPackageAvailability> getAvailability(@PathVariable Long travelPackageId) {
+        return ResponseEntity.ok(travelPackageAvailabilityService.getAvailability(travelPackageId));
     }
 
     /**
      * Endpoint to print the available activities in a travel package.
+     * The report is rendered as text, JSON or CSV according to the Accept header and streamed to the response.
      * @param travelPackageId The ID of the travel package.
-     * @return ResponseEntity containing a success message with HTTP status code 200 (OK).
+     * @param accept The Accept header of the request, or absent for text.
+     * @return ResponseEntity streaming the report with HTTP status code 200 (OK).
      */
     @GetMapping("/{travelPackageId}/print-available-activities")
-    public ResponseEntity<String> printAvailableActivities(@PathVariable Long travelPackageId) {
-        travelPackagePrintService.printAvailableActivities(travelPackageId);
-        return ResponseEntity.ok("Available Activities printed.");
+    public ResponseEntity<StreamingResponseBody> printAvailableActivities(@PathVariable Long travelPackageId,
+                                                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return report(travelPackageId, TravelPackageView.AVAILABLE_ACTIVITIES, accept);
+    }
+
+    /**
+     * Endpoint to write the itinerary and passenger details of every travel package to the configured report directory.
+     * @return ResponseEntity containing the figures of the job and the timing of every travel package with HTTP status code 200 (OK).
+     * @throws IOException if the report directory cannot be created.
+     */
+    @PostMapping("/reports")
+    public ResponseEntity<ReportJobSummary> generateReports() throws IOException {
+        return ResponseEntity.ok(travelPackageReportJobService.generateReports());
+    }
+
+    private ResponseEntity<StreamingResponseBody> report(Long travelPackageId, TravelPackageView view, String accept) {
+        ReportFormat format = ReportFormat.fromAccept(accept);
+        StreamingResponseBody body = out -> travelPackageReadService.writeReport(travelPackageId, view, format, out);
+        return ResponseEntity.ok().contentType(format.mediaType()).body(body);
     }
 }
 
@@ -0,0 +1,55 @@
+package javaproject.travelmanager.Contoller;
+
+import javaproject.travelmanager.Entity.WaitlistEntry;
+import javaproject.travelmanager.Service.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller class for managing activity waitlists.
+ */
+@RestController
+@RequestMapping("/waitlists")
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    /**
+     * Endpoint to put a passenger on the waitlist of a full activity.
+     * @param activityId The ID of the activity.
+     * @param passengerId The ID of the passenger.
+     * @return ResponseEntity containing the created WaitlistEntry object and HTTP status code 201 (CREATED).
+     */
+    @PostMapping("/activity/{activityId}/passenger/{passengerId}")
+    public ResponseEntity<WaitlistEntry> joinWaitlist(@PathVariable Long activityId, @PathVariable Long passengerId) {
+        WaitlistEntry entry = waitlistService.joinWaitlist(passengerId, activityId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+    }
+
+    /**
+     * Endpoint to take a passenger off the waitlist of an activity.
+     * @param activityId The ID of the activity.
+     * @param passengerId The ID of the passenger.
+     * @return ResponseEntity with no content and HTTP status code 204 (NO CONTENT).
+     */
+    @DeleteMapping("/activity/{activityId}/passenger/{passengerId}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long activityId, @PathVariable Long passengerId) {
+        waitlistService.leaveWaitlist(passengerId, activityId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint to retrieve the waitlist of an activity.
+     * @param activityId The ID of the activity.
+     * @return ResponseEntity containing the entries of the activity, oldest first, with HTTP status code 200 (OK).
+     */
+    @GetMapping("/activity/{activityId}")
+    public ResponseEntity<List<WaitlistEntry>> getWaitlist(@PathVariable Long activityId) {
+        return ResponseEntity.ok(waitlistService.getWaitlist(activityId));
+    }
+}
@@ -0,0 +1,21 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * Free spaces of one activity of a travel package.
+ *
+ * @param activityId      The ID of the activity.
+ * @param name            The name of the activity.
+ * @param destinationName The name of the destination of the activity.
+ * @param availableSpaces The number of free spaces of the activity.
+ */
+public record ActivityAvailability(Long activityId, String name, String destinationName, int availableSpaces) {
+
+    /**
+     * Copies this availability with another number of free spaces.
+     * @param availableSpaces The number of free spaces.
+     * @return The copy.
+     */
+    public ActivityAvailability withAvailableSpaces(int availableSpaces) {
+        return new ActivityAvailability(activityId, name, destinationName, availableSpaces);
+    }
+}
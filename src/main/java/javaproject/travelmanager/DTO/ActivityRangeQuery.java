@@ -0,0 +1,30 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * Bounds of a range query over the cost and free seats of activities, optionally scoped to a destination or a travel package.
+ *
+ * @param minCostMinor    The lowest cost in minor units, inclusive, or null for no lower bound.
+ * @param maxCostMinor    The highest cost in minor units, inclusive, or null for no upper bound.
+ * @param minFreeSeats    The least number of free seats; 0 includes sold-out activities.
+ * @param destinationId   The ID of the destination the activities must belong to, or null for any.
+ * @param travelPackageId The ID of the travel package the activities must belong to, or null for any.
+ */
+public record ActivityRangeQuery(Long minCostMinor, Long maxCostMinor, int minFreeSeats,
+                                 Long destinationId, Long travelPackageId) {
+
+    /**
+     * Retrieves the lowest cost in minor units, inclusive.
+     * @return The lower bound, or the lowest long value if unbounded.
+     */
+    public long lowestCost() {
+        return minCostMinor != null ? minCostMinor : Long.MIN_VALUE;
+    }
+
+    /**
+     * Retrieves the highest cost in minor units, inclusive.
+     * @return The upper bound, or the highest long value if unbounded.
+     */
+    public long highestCost() {
+        return maxCostMinor != null ? maxCostMinor : Long.MAX_VALUE;
+    }
+}
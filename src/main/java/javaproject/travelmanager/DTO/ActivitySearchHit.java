@@ -0,0 +1,13 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * One activity found by a catalog search.
+ *
+ * @param activityId      The ID of the activity.
+ * @param name            The name of the activity.
+ * @param destinationId   The ID of the destination of the activity, or null if it has none.
+ * @param destinationName The name of the destination of the activity, or null if it has none.
+ * @param score           The relevance of the activity to the query; higher is more relevant.
+ */
+public record ActivitySearchHit(Long activityId, String name, Long destinationId, String destinationName, double score) {
+}
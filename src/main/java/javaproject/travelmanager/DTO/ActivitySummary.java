@@ -0,0 +1,38 @@
+package javaproject.travelmanager.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javaproject.travelmanager.Util.Money;
+
+/**
+ * Listing view of an activity: its own columns and the ID of its destination,
+ * selected in a single query without loading the destination.
+ *
+ * @param id            The ID of the activity.
+ * @param name          The name of the activity.
+ * @param description   The description of the activity.
+ * @param costMinor     The cost of the activity in minor units.
+ * @param capacity      The remaining capacity of the activity.
+ * @param destinationId The ID of the destination of the activity, or null if it has none.
+ */
+public record ActivitySummary(Long id, String name, String description, @JsonIgnore long costMinor,
+                              int capacity, Long destinationId) {
+
+    /**
+     * Retrieves the cost of the activity in major units.
+     * @return The cost of the activity.
+     */
+    @JsonProperty("cost")
+    public double cost() {
+        return Money.toMajor(costMinor);
+    }
+
+    /**
+     * Creates a copy of the summary with the given capacity.
+     * @param capacity The capacity of the copy.
+     * @return The copy.
+     */
+    public ActivitySummary withCapacity(int capacity) {
+        return new ActivitySummary(id, name, description, costMinor, capacity, destinationId);
+    }
+}
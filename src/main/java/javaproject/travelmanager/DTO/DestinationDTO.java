@@ -14,6 +14,8 @@ import java.util.List;
 @Setter
 public class DestinationDTO {
     private String name;
+    private Double latitude;
+    private Double longitude;
     private Long travelPackageId;
     private List<Long> activitiesIds;
 }
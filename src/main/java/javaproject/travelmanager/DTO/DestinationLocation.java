@@ -0,0 +1,12 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * The location of a destination, selected without loading the destination.
+ *
+ * @param id        The ID of the destination.
+ * @param name      The name of the destination.
+ * @param latitude  The latitude of the destination in degrees.
+ * @param longitude The longitude of the destination in degrees.
+ */
+public record DestinationLocation(Long id, String name, double latitude, double longitude) {
+}
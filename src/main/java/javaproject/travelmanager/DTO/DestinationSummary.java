@@ -0,0 +1,13 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * Listing view of a destination: its own columns plus the number of activities,
+ * selected in a single query without loading the activities.
+ *
+ * @param id              The ID of the destination.
+ * @param name            The name of the destination.
+ * @param travelPackageId The ID of the travel package of the destination, or null if it has none.
+ * @param activityCount   The number of activities at the destination.
+ */
+public record DestinationSummary(Long id, String name, Long travelPackageId, long activityCount) {
+}
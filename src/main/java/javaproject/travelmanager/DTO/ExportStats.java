@@ -0,0 +1,20 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * Figures of one completed export.
+ *
+ * @param records       The number of records written.
+ * @param rows          The number of rows read from the database.
+ * @param elapsedMillis The duration of the export in milliseconds.
+ * @param peakHeapBytes The highest heap usage sampled during the export.
+ */
+public record ExportStats(long records, long rows, long elapsedMillis, long peakHeapBytes) {
+
+    /**
+     * Retrieves the export throughput.
+     * @return The number of records written per second.
+     */
+    public long recordsPerSecond() {
+        return elapsedMillis == 0 ? records : records * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,34 @@
+package javaproject.travelmanager.DTO;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats accepted by the bulk import endpoints.
+ */
+public enum ImportFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON,
+    /**
+     * Comma-separated values with a header line naming the fields.
+     */
+    CSV;
+
+    /**
+     * Resolves the format of a request from its content type.
+     * @param contentType The content type of the request.
+     * @return The import format.
+     * @throws IllegalArgumentException if the content type is not a supported import format.
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType("application/x-ndjson"))) {
+            return NDJSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported import format");
+    }
+}
@@ -0,0 +1,10 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * A row of a bulk import that was not imported.
+ *
+ * @param line   The line number of the row in the uploaded file, starting at 1.
+ * @param reason Why the row was rejected.
+ */
+public record ImportRejection(long line, String reason) {
+}
@@ -0,0 +1,13 @@
+package javaproject.travelmanager.DTO;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param accepted   The number of rows imported.
+ * @param rejected   The number of rows rejected.
+ * @param rejections The rejected rows, up to the configured number; further rejections are only counted.
+ */
+public record ImportReport(long accepted, long rejected, List<ImportRejection> rejections) {
+}
@@ -0,0 +1,22 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * One destination of an itinerary.
+ *
+ * @param destinationId The ID of the destination.
+ * @param name          The name of the destination.
+ * @param latitude      The latitude of the destination in degrees, or null if it has no location.
+ * @param longitude     The longitude of the destination in degrees, or null if it has no location.
+ * @param legKm         The great-circle distance from the previous stop in kilometres, or null for the first
+ *                      located stop and for stops without a location.
+ */
+public record ItineraryStop(Long destinationId, String name, Double latitude, Double longitude, Double legKm) {
+
+    /**
+     * Checks whether the stop has a location.
+     * @return True if both coordinates are set, false otherwise.
+     */
+    public boolean located() {
+        return latitude != null && longitude != null;
+    }
+}
@@ -0,0 +1,33 @@
+package javaproject.travelmanager.DTO;
+
+import javaproject.travelmanager.Util.PageToken;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a listing ordered by ID, with the token that continues the listing after it.
+ *
+ * @param items         The items of the page.
+ * @param nextPageToken The opaque token of the next page, or null if this is the last page.
+ * @param <T>           The type of the items.
+ */
+public record KeysetPage<T>(List<T> items, String nextPageToken) {
+
+    /**
+     * Builds a page from rows fetched with a limit of one more than the page size.
+     * The extra row only tells whether another page follows and is not returned.
+     * @param rows     The fetched rows, ordered by ID.
+     * @param pageSize The page size.
+     * @param idOf     Extracts the ID of a row.
+     * @param <T>      The type of the rows.
+     * @return The page.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int pageSize, ToLongFunction<T> idOf) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new KeysetPage<>(List.copyOf(items), PageToken.encode(idOf.applyAsLong(items.get(pageSize - 1))));
+    }
+}
@@ -0,0 +1,10 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * The balance of a passenger and the sequence number of its last debit, read together in a single statement.
+ *
+ * @param balanceMinor      The current balance in minor units.
+ * @param lastDebitSequence The sequence number of the last debit of the passenger, 0 if it has none.
+ */
+public record LedgerState(long balanceMinor, long lastDebitSequence) {
+}
@@ -0,0 +1,17 @@
+package javaproject.travelmanager.DTO;
+
+import java.util.List;
+
+/**
+ * One destination found near a position, with its activities.
+ *
+ * @param destinationId The ID of the destination.
+ * @param name          The name of the destination.
+ * @param latitude      The latitude of the destination in degrees.
+ * @param longitude     The longitude of the destination in degrees.
+ * @param distanceKm    The great-circle distance from the position in kilometres.
+ * @param activities    The activities of the destination, each with its currently free seats.
+ */
+public record NearbyDestination(Long destinationId, String name, double latitude, double longitude,
+                                double distanceKm, List<ActivitySummary> activities) {
+}
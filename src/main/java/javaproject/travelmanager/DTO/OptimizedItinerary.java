@@ -0,0 +1,18 @@
+package javaproject.travelmanager.DTO;
+
+import java.util.List;
+
+/**
+ * The destinations of a travel package ordered to shorten the travel between them.
+ *
+ * @param travelPackageId  The ID of the travel package.
+ * @param stops            The located destinations in travel order, followed by the destinations without a location
+ *                         in the order of the travel package.
+ * @param totalDistanceKm  The travel distance of the ordered stops in kilometres.
+ * @param listedDistanceKm The travel distance of the located destinations in the order of the travel package, in kilometres.
+ * @param converged        True if no reversal of a stretch of the route shortens it, false if the compute deadline
+ *                         came first.
+ */
+public record OptimizedItinerary(Long travelPackageId, List<ItineraryStop> stops, double totalDistanceKm,
+                                 double listedDistanceKm, boolean converged) {
+}
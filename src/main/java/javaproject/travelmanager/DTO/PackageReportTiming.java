@@ -0,0 +1,20 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * Outcome of the reports of one travel package in a report job.
+ *
+ * @param travelPackageId The ID of the travel package.
+ * @param elapsedMillis   The time spent writing its reports, in milliseconds.
+ * @param bytes           The number of bytes written.
+ * @param error           The reason its reports failed, or null if they were written.
+ */
+public record PackageReportTiming(Long travelPackageId, long elapsedMillis, long bytes, String error) {
+
+    /**
+     * Checks whether the reports of the travel package were written.
+     * @return true if they were written, false if they failed.
+     */
+    public boolean succeeded() {
+        return error == null;
+    }
+}
@@ -0,0 +1,19 @@
+package javaproject.travelmanager.DTO;
+
+import javaproject.travelmanager.Entity.PassengerType;
+
+/**
+ * One row of the passenger export: a passenger's columns joined with one of its activities.
+ * A passenger with several activities spans consecutive rows; one without any has a single row with a null activity.
+ *
+ * @param passengerId     The ID of the passenger.
+ * @param name            The name of the passenger.
+ * @param passengerNumber The passenger number.
+ * @param passengerType   The type of the passenger.
+ * @param balanceMinor    The current balance in minor units.
+ * @param travelPackageId The ID of the travel package of the passenger, or null if it has none.
+ * @param activityId      The ID of one activity of the passenger, or null if it has none.
+ */
+public record PassengerEnrollmentRow(Long passengerId, String name, String passengerNumber, PassengerType passengerType,
+                                     long balanceMinor, Long travelPackageId, Long activityId) {
+}
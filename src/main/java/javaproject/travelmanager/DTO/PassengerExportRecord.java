@@ -0,0 +1,32 @@
+package javaproject.travelmanager.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Util.Money;
+
+import java.util.List;
+
+/**
+ * One line of the NDJSON passenger export.
+ *
+ * @param id              The ID of the passenger.
+ * @param name            The name of the passenger.
+ * @param passengerNumber The passenger number.
+ * @param passengerType   The type of the passenger.
+ * @param balanceMinor    The current balance in minor units.
+ * @param travelPackageId The ID of the travel package of the passenger, or null if it has none.
+ * @param activityIds     The IDs of the activities the passenger is registered for.
+ */
+public record PassengerExportRecord(Long id, String name, String passengerNumber, PassengerType passengerType,
+                                    @JsonIgnore long balanceMinor, Long travelPackageId, List<Long> activityIds) {
+
+    /**
+     * Retrieves the current balance in major units.
+     * @return The current balance.
+     */
+    @JsonProperty("balance")
+    public double balance() {
+        return Money.toMajor(balanceMinor);
+    }
+}
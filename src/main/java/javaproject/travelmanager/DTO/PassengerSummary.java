@@ -0,0 +1,31 @@
+package javaproject.travelmanager.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Util.Money;
+
+/**
+ * Listing view of a passenger: its own columns, its current balance and the number of activities
+ * it is registered for, selected in a single query without loading the activities.
+ *
+ * @param id              The ID of the passenger.
+ * @param name            The name of the passenger.
+ * @param passengerNumber The passenger number.
+ * @param passengerType   The type of the passenger.
+ * @param balanceMinor    The current balance in minor units.
+ * @param travelPackageId The ID of the travel package of the passenger, or null if it has none.
+ * @param activityCount   The number of activities the passenger is registered for.
+ */
+public record PassengerSummary(Long id, String name, String passengerNumber, PassengerType passengerType,
+                               @JsonIgnore long balanceMinor, Long travelPackageId, long activityCount) {
+
+    /**
+     * Retrieves the current balance in major units.
+     * @return The current balance.
+     */
+    @JsonProperty("balance")
+    public double balance() {
+        return Money.toMajor(balanceMinor);
+    }
+}
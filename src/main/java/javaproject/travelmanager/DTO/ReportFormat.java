@@ -0,0 +1,76 @@
+package javaproject.travelmanager.DTO;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Formats in which travel package reports are rendered.
+ */
+public enum ReportFormat {
+    /**
+     * Human-readable lines, one labelled value per line.
+     */
+    TEXT(MediaType.TEXT_PLAIN, "txt"),
+    /**
+     * One JSON object holding the summary fields and an array with one object per row.
+     */
+    JSON(MediaType.APPLICATION_JSON, "json"),
+    /**
+     * Comma-separated values with a header line naming the columns; the summary fields are left out.
+     */
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ReportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * Retrieves the media type of the format, for the content type of a response.
+     * @return The media type.
+     */
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Retrieves the file name extension of the format, for reports written to files.
+     * @return The extension, without the dot.
+     */
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Resolves the format of a report from the Accept header of a request, honouring quality values.
+     * A missing header or a wildcard selects text.
+     * @param accept The Accept header, or null if the request has none.
+     * @return The report format.
+     * @throws IllegalArgumentException if none of the accepted media types is a supported report format.
+     */
+    public static ReportFormat fromAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return TEXT;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (ReportFormat format : values()) {
+                if (mediaType.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported report format");
+    }
+}
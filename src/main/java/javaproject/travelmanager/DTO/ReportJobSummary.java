@@ -0,0 +1,25 @@
+package javaproject.travelmanager.DTO;
+
+import java.util.List;
+
+/**
+ * Figures of one completed report job.
+ *
+ * @param travelPackages   The number of travel packages reported on.
+ * @param failures         The number of travel packages whose reports failed.
+ * @param bytes            The number of bytes written.
+ * @param elapsedMillis    The duration of the job in milliseconds.
+ * @param maxPackageMillis The longest time spent on one travel package, in milliseconds.
+ * @param timings          The outcome of every travel package, ordered by ID.
+ */
+public record ReportJobSummary(int travelPackages, int failures, long bytes, long elapsedMillis,
+                               long maxPackageMillis, List<PackageReportTiming> timings) {
+
+    /**
+     * Retrieves the job throughput.
+     * @return The number of travel packages reported on per second.
+     */
+    public long travelPackagesPerSecond() {
+        return elapsedMillis == 0 ? travelPackages : travelPackages * 1000L / elapsedMillis;
+    }
+}
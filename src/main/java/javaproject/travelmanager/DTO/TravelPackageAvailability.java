@@ -0,0 +1,15 @@
+package javaproject.travelmanager.DTO;
+
+import java.util.List;
+
+/**
+ * Free spaces of a travel package: the total over all its activities and the activities that still have room.
+ *
+ * @param travelPackageId      The ID of the travel package.
+ * @param name                 The name of the travel package.
+ * @param totalAvailableSpaces The number of free spaces over all activities of the travel package.
+ * @param openActivities       The activities with at least one free space, in itinerary order.
+ */
+public record TravelPackageAvailability(Long travelPackageId, String name, int totalAvailableSpaces,
+                                        List<ActivityAvailability> openActivities) {
+}
@@ -0,0 +1,11 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * A travel package with its destinations, activities and passengers, rendered as JSON,
+ * together with the entity tag of the version it was rendered from.
+ *
+ * @param eTag The quoted strong entity tag of the rendered version.
+ * @param json The JSON document.
+ */
+public record TravelPackageDocument(String eTag, byte[] json) {
+}
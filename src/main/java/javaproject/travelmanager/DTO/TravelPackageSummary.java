@@ -0,0 +1,14 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * Listing view of a travel package: its own columns plus the number of passengers and destinations,
+ * selected in a single query without loading either collection.
+ *
+ * @param id                The ID of the travel package.
+ * @param name              The name of the travel package.
+ * @param passengerCapacity The remaining passenger capacity of the travel package.
+ * @param passengerCount    The number of passengers enrolled in the travel package.
+ * @param destinationCount  The number of destinations of the travel package.
+ */
+public record TravelPackageSummary(Long id, String name, int passengerCapacity, long passengerCount, long destinationCount) {
+}
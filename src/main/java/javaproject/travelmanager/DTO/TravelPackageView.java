@@ -0,0 +1,27 @@
+package javaproject.travelmanager.DTO;
+
+/**
+ * Read views of a travel package served by the travel package endpoints.
+ */
+public enum TravelPackageView {
+    /**
+     * The travel package with its destinations, activities and passengers.
+     */
+    DETAILS,
+    /**
+     * The printed itinerary.
+     */
+    ITINERARY,
+    /**
+     * The printed passenger list.
+     */
+    PASSENGER_LIST,
+    /**
+     * The printed passenger details.
+     */
+    PASSENGER_DETAILS,
+    /**
+     * The printed available activities.
+     */
+    AVAILABLE_ACTIVITIES
+}
@@ -2,12 +2,17 @@ package javaproject.travelmanager.Entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import javaproject.travelmanager.Util.Money;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Entity class representing an activity.
+ * Updates only write the changed columns, so a loaded entity never overwrites the capacity
+ * maintained by the guarded capacity statements of the repository.
  */
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,9 +22,16 @@ public class Activity {
      * The unique identifier of the activity.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_seq")
+    @SequenceGenerator(name = "activity_seq", sequenceName = "activity_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * The version used for optimistic locking of concurrent updates to the activity.
+     */
+    @Version
+    private Long version;
+
     /**
      * The name of the activity.
      */
@@ -31,9 +43,11 @@ public class Activity {
     private String description;
 
     /**
-     * The cost of the activity.
+     * The cost of the activity, in minor currency units.
      */
-    private double cost;
+    @Column(name = "cost")
+    @JsonIgnore
+    private long costMinor;
 
     /**
      * The capacity of the activity.
@@ -59,9 +73,27 @@ public class Activity {
     public Activity(String name, String description, double cost, int capacity) {
         this.name = name;
         this.description = description;
-        this.cost = cost;
+        this.costMinor = Money.toMinor(cost);
         this.capacity = capacity;
         this.destination = null;
     }
+
+    /**
+     * Retrieves the cost of the activity in major currency units.
+     *
+     * @return The cost of the activity.
+     */
+    public double getCost() {
+        return Money.toMajor(costMinor);
+    }
+
+    /**
+     * Sets the cost of the activity from an amount in major currency units.
+     *
+     * @param cost The cost of the activity.
+     */
+    public void setCost(double cost) {
+        this.costMinor = Money.toMinor(cost);
+    }
 }
 
@@ -0,0 +1,85 @@
+package javaproject.travelmanager.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing one movement of a passenger's balance.
+ * Entries are only ever inserted, and later marked with the snapshot they are folded into; the balance of a
+ * passenger is its last snapshot plus the entries not folded yet.
+ */
+@Entity
+@Table(indexes = {@Index(columnList = "passengerId, id"), @Index(columnList = "passengerId, snapshotNumber")},
+        uniqueConstraints = @UniqueConstraint(name = BalanceEntry.DEBIT_SEQUENCE_CONSTRAINT, columnNames = {"passengerId", "debitSequence"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class BalanceEntry {
+    /**
+     * The name of the unique constraint that lets only one debit of a passenger take each sequence number.
+     */
+    public static final String DEBIT_SEQUENCE_CONSTRAINT = "uk_balance_entry_debit_sequence";
+
+    /**
+     * The unique identifier of the entry, which also orders the entries of a passenger.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_entry_seq")
+    @SequenceGenerator(name = "balance_entry_seq", sequenceName = "balance_entry_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The ID of the passenger whose balance moved.
+     */
+    private Long passengerId;
+
+    /**
+     * The reason the balance moved.
+     */
+    @Enumerated(EnumType.STRING)
+    private BalanceEntryType entryType;
+
+    /**
+     * The signed amount in minor currency units; negative for debits.
+     */
+    private long amountMinor;
+
+    /**
+     * The ID of the activity the movement is for, if any.
+     */
+    private Long activityId;
+
+    /**
+     * The moment the entry was written.
+     */
+    private Instant createdAt;
+
+    /**
+     * The sequence number of the entry among the debits and adjustments of the passenger, or null for a credit.
+     */
+    private Long debitSequence;
+
+    /**
+     * The number of the snapshot of the passenger the entry is folded into, or null while it is not folded yet.
+     */
+    private Long snapshotNumber;
+
+    /**
+     * Constructs a balance entry.
+     *
+     * @param passengerId The ID of the passenger whose balance moved.
+     * @param entryType   The reason the balance moved.
+     * @param amountMinor The signed amount in minor currency units.
+     * @param activityId  The ID of the activity the movement is for, if any.
+     * @param createdAt   The moment the entry was written.
+     */
+    public BalanceEntry(Long passengerId, BalanceEntryType entryType, long amountMinor, Long activityId, Instant createdAt) {
+        this.passengerId = passengerId;
+        this.entryType = entryType;
+        this.amountMinor = amountMinor;
+        this.activityId = activityId;
+        this.createdAt = createdAt;
+    }
+}
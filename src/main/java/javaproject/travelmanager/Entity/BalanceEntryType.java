@@ -0,0 +1,8 @@
+package javaproject.travelmanager.Entity;
+
+/**
+ * Enum representing the reasons a passenger's balance can change.
+ */
+public enum BalanceEntryType {
+    DEBIT, REFUND, TOP_UP, ADJUSTMENT
+}
@@ -1,5 +1,6 @@
 package javaproject.travelmanager.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.util.*;
@@ -17,7 +18,8 @@ public class Destination {
      * The unique identifier for the destination.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "destination_seq")
+    @SequenceGenerator(name = "destination_seq", sequenceName = "destination_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -25,8 +27,22 @@ public class Destination {
      */
     private String name;
 
+    /**
+     * The latitude of the destination in degrees, or null if its location is unknown.
+     */
+    private Double latitude;
+
+    /**
+     * The longitude of the destination in degrees, or null if its location is unknown.
+     */
+    private Double longitude;
+
+    /**
+     * The travel package the destination belongs to.
+     */
     @ManyToOne
     @JoinColumn(name = "travel_package_id")
+    @JsonIgnore
     private TravelPackage travelPackage;
 
     /**
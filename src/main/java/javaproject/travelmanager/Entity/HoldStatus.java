@@ -0,0 +1,8 @@
+package javaproject.travelmanager.Entity;
+
+/**
+ * Enum representing the lifecycle of a seat hold.
+ */
+public enum HoldStatus {
+    ACTIVE, CONFIRMED, RELEASED, EXPIRED
+}
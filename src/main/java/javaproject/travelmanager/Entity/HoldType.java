@@ -0,0 +1,8 @@
+package javaproject.travelmanager.Entity;
+
+/**
+ * Enum representing what a seat hold keeps aside: an activity seat or a travel package slot.
+ */
+public enum HoldType {
+    ACTIVITY, TRAVEL_PACKAGE
+}
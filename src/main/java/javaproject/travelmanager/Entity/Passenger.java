@@ -2,14 +2,22 @@ package javaproject.travelmanager.Entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import javaproject.travelmanager.Util.Money;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.*;
 
 /**
  * Entity class representing a passenger.
+ * Updates only write the changed columns, so a loaded entity never overwrites the balance snapshot
+ * maintained by the background compaction of the balance ledger.
  */
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,9 +26,16 @@ public class Passenger {
      * The unique identifier of the passenger.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passenger_seq")
+    @SequenceGenerator(name = "passenger_seq", sequenceName = "passenger_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * The version used for optimistic locking of concurrent updates to the passenger.
+     */
+    @Version
+    private Long version;
+
     /**
      * The name of the passenger.
      */
@@ -32,9 +47,43 @@ public class Passenger {
     private String passengerNumber;
 
     /**
-     * The balance of the passenger (applicable for standard and gold passengers).
+     * The balance of the passenger in minor currency units as of the last compacted snapshot
+     * (applicable for standard and gold passengers).
+     */
+    @Column(name = "balance")
+    @JsonIgnore
+    private long snapshotBalanceMinor;
+
+    /**
+     * The number of the last snapshot; the balance entries folded into it are marked with this number.
+     */
+    @JsonIgnore
+    private long snapshotNumber;
+
+    /**
+     * The sequence number of the last debit folded into the snapshot.
      */
-    private double balance;
+    @JsonIgnore
+    private long snapshotDebitSequence;
+
+    /**
+     * The balance entries not folded into a snapshot yet. They are only loaded when the balance is read,
+     * in batches when the balances of many passengers are read, and never written through the passenger.
+     */
+    @OneToMany
+    @JoinColumn(name = "passengerId", insertable = false, updatable = false)
+    @SQLRestriction("snapshot_number is null")
+    @BatchSize(size = 50)
+    @OptimisticLock(excluded = true)
+    @JsonIgnore
+    private List<BalanceEntry> unfoldedEntries = new ArrayList<>();
+
+    /**
+     * The balance entries appended to the ledger through this instance and possibly not written yet.
+     */
+    @Transient
+    @JsonIgnore
+    private List<BalanceEntry> appendedEntries = new ArrayList<>();
 
     /**
      * The type of the passenger (standard, gold, or premium).
@@ -47,12 +96,14 @@ public class Passenger {
      */
     @ManyToOne
     @JoinColumn(name = "travel_package_id")
+    @JsonIgnore
     private TravelPackage travelPackage;
 
     /**
      * The list of activities associated with the passenger.
      */
     @ManyToMany
+    @OptimisticLock(excluded = true)
     @JoinTable(
             name = "passenger_activities",
             joinColumns = @JoinColumn(name = "passenger_id"),
@@ -72,7 +123,53 @@ public class Passenger {
         this.name = name;
         this.passengerNumber = passengerNumber;
         this.passengerType = passengerType;
-        this.balance = balance;
+        this.snapshotBalanceMinor = Money.toMinor(balance);
+    }
+
+    /**
+     * Retrieves the current balance of the passenger in minor currency units: the snapshot plus the entries not folded into it.
+     *
+     * @return The balance of the passenger.
+     */
+    @JsonIgnore
+    public long getBalanceMinor() {
+        return snapshotBalanceMinor + getLedgerTailMinor();
+    }
+
+    /**
+     * Retrieves the sum of the balance entries not folded into the snapshot, including those appended
+     * through this instance. An appended entry that was written since is only counted once.
+     *
+     * @return The sum in minor currency units.
+     */
+    @JsonIgnore
+    public long getLedgerTailMinor() {
+        Set<BalanceEntry> tail = new HashSet<>(unfoldedEntries);
+        tail.addAll(appendedEntries);
+        long sum = 0;
+        for (BalanceEntry entry : tail) {
+            sum += entry.getAmountMinor();
+        }
+        return sum;
+    }
+
+    /**
+     * Retrieves the current balance of the passenger in major currency units.
+     *
+     * @return The balance of the passenger.
+     */
+    public double getBalance() {
+        return Money.toMajor(getBalanceMinor());
+    }
+
+    /**
+     * Sets the opening balance of a passenger that is not saved yet; afterwards the balance only
+     * changes through the balance ledger.
+     *
+     * @param balance The balance of the passenger.
+     */
+    public void setBalance(double balance) {
+        this.snapshotBalanceMinor = Money.toMinor(balance) - getLedgerTailMinor();
     }
 
     /**
@@ -0,0 +1,75 @@
+package javaproject.travelmanager.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing a time-limited hold on an activity seat or a travel package slot.
+ * The seat is taken when the hold is created and either turned into an enrollment when the hold
+ * is confirmed, or given back when the hold is released or expires.
+ */
+@Entity
+@Table(indexes = @Index(columnList = "status"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class SeatHold {
+    /**
+     * The unique identifier of the hold.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * What the hold keeps aside.
+     */
+    @Enumerated(EnumType.STRING)
+    private HoldType holdType;
+
+    /**
+     * The ID of the held activity or travel package, depending on the hold type.
+     */
+    private Long targetId;
+
+    /**
+     * The ID of the passenger the seat is held for.
+     */
+    private Long passengerId;
+
+    /**
+     * The current status of the hold.
+     */
+    @Enumerated(EnumType.STRING)
+    private HoldStatus status;
+
+    /**
+     * The moment the hold was created.
+     */
+    private Instant createdAt;
+
+    /**
+     * The moment after which the hold is no longer honoured.
+     */
+    private Instant expiresAt;
+
+    /**
+     * Constructs an active hold.
+     *
+     * @param holdType    What the hold keeps aside.
+     * @param targetId    The ID of the held activity or travel package.
+     * @param passengerId The ID of the passenger the seat is held for.
+     * @param createdAt   The moment the hold was created.
+     * @param expiresAt   The moment after which the hold is no longer honoured.
+     */
+    public SeatHold(HoldType holdType, Long targetId, Long passengerId, Instant createdAt, Instant expiresAt) {
+        this.holdType = holdType;
+        this.targetId = targetId;
+        this.passengerId = passengerId;
+        this.status = HoldStatus.ACTIVE;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -2,12 +2,17 @@ package javaproject.travelmanager.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 import java.util.*;
 
 /**
  * Entity class representing a travel package.
+ * Updates only write the changed columns, so a loaded entity never overwrites the capacity
+ * maintained by the guarded capacity statements of the repository.
  */
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,9 +22,16 @@ public class TravelPackage {
      * Represents the unique identifier of the travel package.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "travel_package_seq")
+    @SequenceGenerator(name = "travel_package_seq", sequenceName = "travel_package_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * Represents the version used for optimistic locking of concurrent updates to the travel package.
+     */
+    @Version
+    private Long version;
+
     /**
      * Represents the name of the travel package.
      */
@@ -33,15 +45,19 @@ public class TravelPackage {
     /**
      * Represents the list of destinations included in the travel package.
      * Each travel package can have multiple destinations.
+     * Changes to this mapped-by side do not touch the package row, so they do not bump its version.
      */
     @OneToMany(mappedBy = "travelPackage", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OptimisticLock(excluded = true)
     private List<Destination> destinations = new ArrayList<>();
 
     /**
      * Represents the list of passengers enrolled in the travel package.
      * Each travel package can have multiple passengers.
+     * Changes to this mapped-by side do not touch the package row, so they do not bump its version.
      */
     @OneToMany(mappedBy = "travelPackage", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OptimisticLock(excluded = true)
     private List<Passenger> passengers = new ArrayList<>();
 
     /**
@@ -0,0 +1,55 @@
+package javaproject.travelmanager.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing a passenger waiting for a seat of a full activity.
+ * Entries of one activity are served in the order of their IDs.
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(columnNames = {"activityId", "passengerId"}),
+        indexes = @Index(columnList = "activityId, id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class WaitlistEntry {
+    /**
+     * The unique identifier of the entry, which also fixes its place in the queue.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The ID of the activity the passenger is waiting for.
+     */
+    private Long activityId;
+
+    /**
+     * The ID of the waiting passenger.
+     */
+    private Long passengerId;
+
+    /**
+     * The moment the passenger joined the waitlist.
+     */
+    private Instant createdAt;
+
+    /**
+     * Constructs a waitlist entry.
+     *
+     * @param activityId  The ID of the activity the passenger is waiting for.
+     * @param passengerId The ID of the waiting passenger.
+     * @param createdAt   The moment the passenger joined the waitlist.
+     */
+    public WaitlistEntry(Long activityId, Long passengerId, Instant createdAt) {
+        this.activityId = activityId;
+        this.passengerId = passengerId;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,8 @@
+package javaproject.travelmanager.Event;
+
+/**
+ * Event published when the in-memory count of free seats of an activity changes or is dropped.
+ * @param activityId The ID of the activity.
+ */
+public record ActivitySeatsChangedEvent(Long activityId) {
+}
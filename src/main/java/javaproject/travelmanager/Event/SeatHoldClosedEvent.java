@@ -0,0 +1,8 @@
+package javaproject.travelmanager.Event;
+
+/**
+ * Event published when a seat hold is confirmed or released before it expires.
+ * @param holdId The ID of the hold.
+ */
+public record SeatHoldClosedEvent(Long holdId) {
+}
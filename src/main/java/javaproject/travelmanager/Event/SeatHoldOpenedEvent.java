@@ -0,0 +1,11 @@
+package javaproject.travelmanager.Event;
+
+import java.time.Instant;
+
+/**
+ * Event published when a seat hold is created.
+ * @param holdId The ID of the hold.
+ * @param expiresAt The moment after which the hold is no longer honoured.
+ */
+public record SeatHoldOpenedEvent(Long holdId, Instant expiresAt) {
+}
@@ -0,0 +1,15 @@
+package javaproject.travelmanager.Exception;
+
+/**
+ * Exception thrown when an activity with the requested ID does not exist.
+ */
+public class ActivityNotFoundException extends IllegalArgumentException {
+
+    /**
+     * Constructs the exception with the specified detail message.
+     * @param message The detail message.
+     */
+    public ActivityNotFoundException(String message) {
+        super(message);
+    }
+}
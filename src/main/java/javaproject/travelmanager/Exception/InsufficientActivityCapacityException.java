@@ -0,0 +1,15 @@
+package javaproject.travelmanager.Exception;
+
+/**
+ * Exception thrown when an activity has no free seats left to reserve.
+ */
+public class InsufficientActivityCapacityException extends IllegalStateException {
+
+    /**
+     * Constructs the exception with the specified detail message.
+     * @param message The detail message.
+     */
+    public InsufficientActivityCapacityException(String message) {
+        super(message);
+    }
+}
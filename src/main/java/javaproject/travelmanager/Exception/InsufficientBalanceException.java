@@ -0,0 +1,15 @@
+package javaproject.travelmanager.Exception;
+
+/**
+ * Exception thrown when a passenger's balance does not cover the cost of an activity.
+ */
+public class InsufficientBalanceException extends IllegalStateException {
+
+    /**
+     * Constructs the exception with the specified detail message.
+     * @param message The detail message.
+     */
+    public InsufficientBalanceException(String message) {
+        super(message);
+    }
+}
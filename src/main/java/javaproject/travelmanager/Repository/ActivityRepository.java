@@ -1,11 +1,121 @@
 package javaproject.travelmanager.Repository;
+import javaproject.travelmanager.DTO.ActivityAvailability;
+import javaproject.travelmanager.DTO.ActivitySummary;
 import javaproject.travelmanager.Entity.Activity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing Activity entities.
  */
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
+
+    /**
+     * Reads the persisted capacity of an activity without loading the entity.
+     * @param activityId The ID of the activity.
+     * @return The persisted capacity, or empty if the activity does not exist.
+     */
+    @Query("select a.capacity from Activity a where a.id = :activityId")
+    Optional<Integer> findCapacityById(@Param("activityId") Long activityId);
+
+    /**
+     * Reads the cost of an activity in minor currency units without loading the entity.
+     * @param activityId The ID of the activity.
+     * @return The cost, or empty if the activity does not exist.
+     */
+    @Query("select a.costMinor from Activity a where a.id = :activityId")
+    Optional<Long> findCostMinorById(@Param("activityId") Long activityId);
+
+    /**
+     * Takes one seat of an activity in a single guarded statement.
+     * @param activityId The ID of the activity.
+     * @return 1 if a seat was taken, 0 if the activity does not exist or is at full capacity.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Activity a set a.capacity = a.capacity - 1, a.version = a.version + 1 where a.id = :activityId and a.capacity > 0")
+    int decrementCapacity(@Param("activityId") Long activityId);
+
+    /**
+     * Takes one seat of each of the given activities in a single guarded statement.
+     * @param activityIds The IDs of the activities.
+     * @return The number of activities a seat was taken from; less than the number of IDs if any of them is full.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Activity a set a.capacity = a.capacity - 1, a.version = a.version + 1 where a.id in :activityIds and a.capacity > 0")
+    int decrementCapacities(@Param("activityIds") Collection<Long> activityIds);
+
+    /**
+     * Takes several seats of an activity in a single guarded statement.
+     * @param activityId The ID of the activity.
+     * @param seats The number of seats to take.
+     * @return 1 if the seats were taken, 0 if the activity does not exist or has fewer free seats.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Activity a set a.capacity = a.capacity - :seats, a.version = a.version + 1 where a.id = :activityId and a.capacity >= :seats")
+    int decrementCapacityBy(@Param("activityId") Long activityId, @Param("seats") int seats);
+
+    /**
+     * Gives one seat back to an activity in a single statement.
+     * @param activityId The ID of the activity.
+     * @return The number of rows updated.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Activity a set a.capacity = a.capacity + 1, a.version = a.version + 1 where a.id = :activityId")
+    int incrementCapacity(@Param("activityId") Long activityId);
+
+    /**
+     * Lists the activities with IDs above the given one, ordered by ID, each with the ID of its destination in a single query.
+     * The ID predicate seeks into the primary key index, so a deep page costs the same as the first one.
+     * @param afterId The ID after which the page starts, 0 for the first page.
+     * @param pageable The page size; the page number is always 0.
+     * @return The activity summaries, ordered by ID.
+     */
+    @Query("select new javaproject.travelmanager.DTO.ActivitySummary(a.id, a.name, a.description, a.costMinor, a.capacity, d.id) " +
+            "from Activity a left join a.destination d where a.id > :afterId order by a.id")
+    List<ActivitySummary> findSummariesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the summary of an activity, with the ID of its destination, in a single query.
+     * @param activityId The ID of the activity.
+     * @return The activity summary, if the activity exists.
+     */
+    @Query("select new javaproject.travelmanager.DTO.ActivitySummary(a.id, a.name, a.description, a.costMinor, a.capacity, d.id) " +
+            "from Activity a left join a.destination d where a.id = :activityId")
+    Optional<ActivitySummary> findSummaryById(@Param("activityId") Long activityId);
+
+    /**
+     * Retrieves the summaries of the given activities, each with the ID of its destination, in a single query.
+     * @param activityIds The IDs of the activities.
+     * @return The summaries of the activities that exist, in no particular order.
+     */
+    @Query("select new javaproject.travelmanager.DTO.ActivitySummary(a.id, a.name, a.description, a.costMinor, a.capacity, d.id) " +
+            "from Activity a left join a.destination d where a.id in :activityIds")
+    List<ActivitySummary> findSummariesByIdIn(@Param("activityIds") Collection<Long> activityIds);
+
+    /**
+     * Lists the activities of the given destinations, each with the ID of its destination, in a single query.
+     * @param destinationIds The IDs of the destinations.
+     * @return The summaries of the activities, ordered by ID.
+     */
+    @Query("select new javaproject.travelmanager.DTO.ActivitySummary(a.id, a.name, a.description, a.costMinor, a.capacity, d.id) " +
+            "from Activity a join a.destination d where d.id in :destinationIds order by a.id")
+    List<ActivitySummary> findSummariesByDestinationIdIn(@Param("destinationIds") Collection<Long> destinationIds);
+
+    /**
+     * Lists the activities of every destination of a travel package with their persisted capacity, in itinerary order, in a single query.
+     * @param travelPackageId The ID of the travel package.
+     * @return The availabilities of the activities, seeded with their persisted capacity.
+     */
+    @Query("select new javaproject.travelmanager.DTO.ActivityAvailability(a.id, a.name, d.name, a.capacity) " +
+            "from Activity a join a.destination d where d.travelPackage.id = :travelPackageId order by d.id, a.id")
+    List<ActivityAvailability> findAvailabilitiesByTravelPackageId(@Param("travelPackageId") Long travelPackageId);
 }
@@ -0,0 +1,69 @@
+package javaproject.travelmanager.Repository;
+
+import javaproject.travelmanager.DTO.LedgerState;
+import javaproject.travelmanager.Entity.BalanceEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing BalanceEntry entities.
+ */
+@Repository
+public interface BalanceEntryRepository extends JpaRepository<BalanceEntry, Long> {
+
+    /**
+     * Retrieves the balance entries of a passenger in the order they were written.
+     * @param passengerId The ID of the passenger.
+     * @return The entries of the passenger, oldest first.
+     */
+    List<BalanceEntry> findByPassengerIdOrderByIdAsc(Long passengerId);
+
+    /**
+     * Reads the current balance of a passenger and the sequence number of its last debit in a single statement,
+     * so that both reflect the same committed entries and the same snapshot.
+     * @param passengerId The ID of the passenger.
+     * @return The ledger state of the passenger, or null if it does not exist.
+     */
+    @Query("select new javaproject.travelmanager.DTO.LedgerState(p.snapshotBalanceMinor + coalesce(sum(e.amountMinor), 0), " +
+            "coalesce(max(e.debitSequence), p.snapshotDebitSequence)) " +
+            "from Passenger p left join BalanceEntry e on e.passengerId = p.id and e.snapshotNumber is null " +
+            "where p.id = :passengerId group by p.id, p.snapshotBalanceMinor, p.snapshotDebitSequence")
+    LedgerState findLedgerState(@Param("passengerId") Long passengerId);
+
+    /**
+     * Lists the passengers with at least the given number of balance entries not folded into a snapshot yet,
+     * each with the number of its last snapshot.
+     * @param minEntries The minimum number of entries worth compacting.
+     * @return The tail of each passenger worth compacting.
+     */
+    @Query("select e.passengerId as passengerId, p.snapshotNumber as snapshotNumber " +
+            "from BalanceEntry e, Passenger p " +
+            "where p.id = e.passengerId and e.snapshotNumber is null " +
+            "group by e.passengerId, p.snapshotNumber having count(e) >= :minEntries")
+    List<LedgerTail> findTailsToCompact(@Param("minEntries") long minEntries);
+
+    /**
+     * Marks every committed balance entry of a passenger that is not folded yet as folded into the given snapshot.
+     * Entries of transactions still running are not visible, so they are left for a later compaction.
+     * @param passengerId The ID of the passenger.
+     * @param snapshotNumber The number of the snapshot.
+     * @return The number of entries folded.
+     */
+    @Modifying
+    @Query("update BalanceEntry e set e.snapshotNumber = :snapshotNumber where e.passengerId = :passengerId and e.snapshotNumber is null")
+    int foldEntries(@Param("passengerId") Long passengerId, @Param("snapshotNumber") Long snapshotNumber);
+
+    /**
+     * Projection of the entries of one passenger not folded into a snapshot yet.
+     */
+    interface LedgerTail {
+        Long getPassengerId();
+
+        Long getSnapshotNumber();
+    }
+}
@@ -1,12 +1,61 @@
 package javaproject.travelmanager.Repository;
 
+import javaproject.travelmanager.DTO.DestinationLocation;
+import javaproject.travelmanager.DTO.DestinationSummary;
 import javaproject.travelmanager.Entity.Destination;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing Destination entities in the database.
  */
 @Repository
 public interface DestinationRepository extends JpaRepository<Destination, Long> {
+
+    /**
+     * Lists the destinations with IDs above the given one, ordered by ID, each with its activity count in a single query.
+     * The ID predicate seeks into the primary key index, so a deep page costs the same as the first one.
+     * @param afterId The ID after which the page starts, 0 for the first page.
+     * @param pageable The page size; the page number is always 0.
+     * @return The destination summaries, ordered by ID.
+     */
+    @Query("select new javaproject.travelmanager.DTO.DestinationSummary(d.id, d.name, t.id, " +
+            "(select count(a) from Activity a where a.destination = d)) " +
+            "from Destination d left join d.travelPackage t where d.id > :afterId order by d.id")
+    List<DestinationSummary> findSummariesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the summary of a destination, with its activity count, in a single query.
+     * @param destinationId The ID of the destination.
+     * @return The destination summary, if the destination exists.
+     */
+    @Query("select new javaproject.travelmanager.DTO.DestinationSummary(d.id, d.name, t.id, " +
+            "(select count(a) from Activity a where a.destination = d)) " +
+            "from Destination d left join d.travelPackage t where d.id = :destinationId")
+    Optional<DestinationSummary> findSummaryById(@Param("destinationId") Long destinationId);
+
+    /**
+     * Lists the located destinations with IDs above the given one, ordered by ID, in a single query.
+     * @param afterId The ID after which the page starts, 0 for the first page.
+     * @param pageable The page size; the page number is always 0.
+     * @return The locations of the destinations that have coordinates, ordered by ID.
+     */
+    @Query("select new javaproject.travelmanager.DTO.DestinationLocation(d.id, d.name, d.latitude, d.longitude) " +
+            "from Destination d where d.id > :afterId and d.latitude is not null and d.longitude is not null order by d.id")
+    List<DestinationLocation> findLocationsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Checks which of the given IDs belong to existing destinations, in a single query.
+     * @param ids The IDs to check.
+     * @return The IDs among them that exist.
+     */
+    @Query("select d.id from Destination d where d.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,13 +1,90 @@
 package javaproject.travelmanager.Repository;
 
+import jakarta.persistence.QueryHint;
+import javaproject.travelmanager.DTO.PassengerEnrollmentRow;
+import javaproject.travelmanager.DTO.PassengerSummary;
 import javaproject.travelmanager.Entity.Passenger;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Repository interface for managing passengers in the database.
  * Extends JpaRepository to provide basic CRUD operations for the Passenger entity.
  */
 @Repository
 public interface PassengerRepository extends JpaRepository<Passenger, Long> {
+
+    /**
+     * Checks whether a passenger is registered for an activity without loading the passenger's activities.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity.
+     * @return true if the passenger is registered for the activity.
+     */
+    @Query("select count(a) > 0 from Passenger p join p.activities a where p.id = :passengerId and a.id = :activityId")
+    boolean isRegisteredForActivity(@Param("passengerId") Long passengerId, @Param("activityId") Long activityId);
+
+    /**
+     * Claims the next snapshot of a passenger for a compaction, but only if no other compaction claimed it first.
+     * The balance itself does not change, so neither version is touched.
+     * @param passengerId The ID of the passenger.
+     * @param snapshotNumber The number of the last snapshot of the passenger, as read by the compaction.
+     * @return 1 if the snapshot was claimed, 0 otherwise.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Passenger p set p.snapshotNumber = p.snapshotNumber + 1 where p.id = :passengerId and p.snapshotNumber = :snapshotNumber")
+    int claimSnapshot(@Param("passengerId") Long passengerId, @Param("snapshotNumber") Long snapshotNumber);
+
+    /**
+     * Adds the balance entries folded into a snapshot to the snapshot balance of a passenger, and records
+     * the sequence number of the last debit among them.
+     * @param passengerId The ID of the passenger.
+     * @param snapshotNumber The number of the snapshot the entries were folded into.
+     * @return 1 if the passenger exists, 0 otherwise.
+     */
+    @Modifying
+    @Query("update Passenger p set p.snapshotBalanceMinor = p.snapshotBalanceMinor + " +
+            "(select coalesce(sum(e.amountMinor), 0) from BalanceEntry e where e.passengerId = :passengerId and e.snapshotNumber = :snapshotNumber), " +
+            "p.snapshotDebitSequence = coalesce(" +
+            "(select max(e.debitSequence) from BalanceEntry e where e.passengerId = :passengerId and e.snapshotNumber = :snapshotNumber), " +
+            "p.snapshotDebitSequence) " +
+            "where p.id = :passengerId")
+    int addFoldedEntries(@Param("passengerId") Long passengerId, @Param("snapshotNumber") Long snapshotNumber);
+
+    /**
+     * Lists the passengers with IDs above the given one, ordered by ID, each with its current balance and activity count in a single query.
+     * The ID predicate seeks into the primary key index, so a deep page costs the same as the first one.
+     * @param afterId The ID after which the page starts, 0 for the first page.
+     * @param pageable The page size; the page number is always 0.
+     * @return The passenger summaries, ordered by ID.
+     */
+    @Query("select new javaproject.travelmanager.DTO.PassengerSummary(p.id, p.name, p.passengerNumber, p.passengerType, " +
+            "p.snapshotBalanceMinor + (select coalesce(sum(e.amountMinor), 0) from BalanceEntry e where e.passengerId = p.id and e.snapshotNumber is null), " +
+            "t.id, size(p.activities)) " +
+            "from Passenger p left join p.travelPackage t where p.id > :afterId order by p.id")
+    List<PassengerSummary> findSummariesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Streams every passenger joined with each of its activities, ordered by passenger ID.
+     * Rows are fetched from the database in chunks, so the result is never materialized as a whole.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     * @return The enrollment rows, one per passenger and activity, or one with a null activity for a passenger without any.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new javaproject.travelmanager.DTO.PassengerEnrollmentRow(p.id, p.name, p.passengerNumber, p.passengerType, " +
+            "p.snapshotBalanceMinor + (select coalesce(sum(e.amountMinor), 0) from BalanceEntry e where e.passengerId = p.id and e.snapshotNumber is null), " +
+            "t.id, a.id) " +
+            "from Passenger p left join p.travelPackage t left join p.activities a order by p.id, a.id")
+    Stream<PassengerEnrollmentRow> streamEnrollments();
 }
@@ -0,0 +1,48 @@
+package javaproject.travelmanager.Repository;
+
+import javaproject.travelmanager.Entity.HoldStatus;
+import javaproject.travelmanager.Entity.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing SeatHold entities.
+ */
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
+
+    /**
+     * Moves a hold from one status to another, but only if it is still in the expected status.
+     * Confirmation, release and expiry all go through this, so exactly one of them wins for a hold.
+     * @param holdId The ID of the hold.
+     * @param from The status the hold is expected to be in.
+     * @param to The new status.
+     * @return 1 if the hold was moved, 0 if it was not in the expected status.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update SeatHold h set h.status = :to where h.id = :holdId and h.status = :from")
+    int transition(@Param("holdId") Long holdId, @Param("from") HoldStatus from, @Param("to") HoldStatus to);
+
+    /**
+     * Reads the expiry of every hold in the given status without loading the entities.
+     * @param status The status of the holds.
+     * @return The ID and expiry of each matching hold.
+     */
+    @Query("select h.id as id, h.expiresAt as expiresAt from SeatHold h where h.status = :status")
+    List<HoldExpiry> findExpiriesByStatus(@Param("status") HoldStatus status);
+
+    /**
+     * Projection of the ID and expiry of a hold.
+     */
+    interface HoldExpiry {
+        Long getId();
+
+        Instant getExpiresAt();
+    }
+}
@@ -1,12 +1,121 @@
 package javaproject.travelmanager.Repository;
 
+import javaproject.travelmanager.DTO.TravelPackageSummary;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Entity.Passenger;
 import javaproject.travelmanager.Entity.TravelPackage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing TravelPackage entities.
  */
 @Repository
 public interface TravelPackageRepository extends JpaRepository<TravelPackage, Long> {
+
+    /**
+     * Takes one passenger slot of a travel package in a single guarded statement.
+     * @param travelPackageId The ID of the travel package.
+     * @return 1 if a slot was taken, 0 if the travel package does not exist or is at full capacity.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update TravelPackage t set t.passengerCapacity = t.passengerCapacity - 1, t.version = t.version + 1 where t.id = :travelPackageId and t.passengerCapacity > 0")
+    int decrementPassengerCapacity(@Param("travelPackageId") Long travelPackageId);
+
+    /**
+     * Gives one passenger slot back to a travel package in a single statement.
+     * @param travelPackageId The ID of the travel package.
+     * @return The number of rows updated.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update TravelPackage t set t.passengerCapacity = t.passengerCapacity + 1, t.version = t.version + 1 where t.id = :travelPackageId")
+    int incrementPassengerCapacity(@Param("travelPackageId") Long travelPackageId);
+
+    /**
+     * Retrieves a travel package together with its destinations in a single query.
+     * @param travelPackageId The ID of the travel package.
+     * @return The travel package, if present.
+     */
+    @Query("select t from TravelPackage t left join fetch t.destinations where t.id = :travelPackageId")
+    Optional<TravelPackage> findWithDestinationsById(@Param("travelPackageId") Long travelPackageId);
+
+    /**
+     * Loads the activities of every destination of a travel package in a single query.
+     * Destinations already loaded in the persistence context get their activities initialized.
+     * @param travelPackageId The ID of the travel package.
+     * @return The destinations of the travel package with their activities.
+     */
+    @Query("select d from Destination d left join fetch d.activities where d.travelPackage.id = :travelPackageId")
+    List<Destination> fetchDestinationActivities(@Param("travelPackageId") Long travelPackageId);
+
+    /**
+     * Retrieves a travel package together with its passengers in a single query.
+     * @param travelPackageId The ID of the travel package.
+     * @return The travel package, if present.
+     */
+    @Query("select t from TravelPackage t left join fetch t.passengers where t.id = :travelPackageId")
+    Optional<TravelPackage> findWithPassengersById(@Param("travelPackageId") Long travelPackageId);
+
+    /**
+     * Loads the activities, and the destination of each activity, of every passenger of a travel package in a single query.
+     * Passengers already loaded in the persistence context get their activities initialized.
+     * @param travelPackageId The ID of the travel package.
+     * @return The passengers of the travel package with their activities.
+     */
+    @Query("select p from Passenger p left join fetch p.activities a left join fetch a.destination d left join fetch d.travelPackage " +
+            "where p.travelPackage.id = :travelPackageId")
+    List<Passenger> fetchPassengerActivities(@Param("travelPackageId") Long travelPackageId);
+
+    /**
+     * Loads the ledger entries not yet folded into a snapshot of every passenger of a travel package in a single query.
+     * Passengers already loaded in the persistence context get their balance tails initialized.
+     * @param travelPackageId The ID of the travel package.
+     * @return The passengers of the travel package with their balance tails.
+     */
+    @Query("select p from Passenger p left join fetch p.unfoldedEntries where p.travelPackage.id = :travelPackageId")
+    List<Passenger> fetchPassengerLedgerTails(@Param("travelPackageId") Long travelPackageId);
+
+    /**
+     * Lists the travel packages with IDs above the given one, ordered by ID, each with its passenger and destination counts in a single query.
+     * The ID predicate seeks into the primary key index, so a deep page costs the same as the first one.
+     * @param afterId The ID after which the page starts, 0 for the first page.
+     * @param pageable The page size; the page number is always 0.
+     * @return The travel package summaries, ordered by ID.
+     */
+    @Query("select new javaproject.travelmanager.DTO.TravelPackageSummary(t.id, t.name, t.passengerCapacity, " +
+            "(select count(p) from Passenger p where p.travelPackage = t), " +
+            "(select count(d) from Destination d where d.travelPackage = t)) " +
+            "from TravelPackage t where t.id > :afterId order by t.id")
+    List<TravelPackageSummary> findSummariesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Checks which of the given IDs belong to existing travel packages, in a single query.
+     * @param ids The IDs to check.
+     * @return The IDs among them that exist.
+     */
+    @Query("select t.id from TravelPackage t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the name of a travel package without loading it.
+     * @param travelPackageId The ID of the travel package.
+     * @return The name, or empty if no travel package has the ID.
+     */
+    @Query("select t.name from TravelPackage t where t.id = :travelPackageId")
+    Optional<String> findNameById(@Param("travelPackageId") Long travelPackageId);
+
+    /**
+     * Retrieves the IDs of all travel packages without loading them.
+     * @return The IDs, in ascending order.
+     */
+    @Query("select t.id from TravelPackage t order by t.id")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,50 @@
+package javaproject.travelmanager.Repository;
+
+import javaproject.travelmanager.Entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing WaitlistEntry entities.
+ */
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Retrieves the entry at the head of the waitlist of an activity, using the (activityId, id) index.
+     * @param activityId The ID of the activity.
+     * @return The oldest entry, if any.
+     */
+    Optional<WaitlistEntry> findFirstByActivityIdOrderByIdAsc(Long activityId);
+
+    /**
+     * Retrieves the waitlist of an activity in the order it is served.
+     * @param activityId The ID of the activity.
+     * @return The entries of the activity, oldest first.
+     */
+    List<WaitlistEntry> findByActivityIdOrderByIdAsc(Long activityId);
+
+    /**
+     * Checks whether a passenger is on the waitlist of an activity.
+     * @param activityId The ID of the activity.
+     * @param passengerId The ID of the passenger.
+     * @return true if the passenger is waiting for the activity.
+     */
+    boolean existsByActivityIdAndPassengerId(Long activityId, Long passengerId);
+
+    /**
+     * Removes a passenger from the waitlist of an activity in a single statement.
+     * @param activityId The ID of the activity.
+     * @param passengerId The ID of the passenger.
+     * @return The number of entries removed.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from WaitlistEntry w where w.activityId = :activityId and w.passengerId = :passengerId")
+    int deleteByActivityIdAndPassengerId(@Param("activityId") Long activityId, @Param("passengerId") Long passengerId);
+}
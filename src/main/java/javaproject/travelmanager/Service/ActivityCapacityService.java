@@ -0,0 +1,85 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.Entity.Activity;
+
+import java.util.Collection;
+
+/**
+ * Service interface responsible for reserving and releasing activity seats.
+ * Seat counts are mirrored in memory so that requests for a sold-out activity are
+ * rejected without touching the database.
+ */
+public interface ActivityCapacityService {
+
+    /**
+     * Reserves one seat of the specified activity.
+     * If called inside a transaction, the seat is handed back when the transaction rolls back.
+     * @param activityId The ID of the activity.
+     * @throws javaproject.travelmanager.Exception.InsufficientActivityCapacityException if no seat is free.
+     */
+    void reserveSeat(Long activityId);
+
+    /**
+     * Reserves one seat of each of the specified activities, all or nothing, with a single batched statement.
+     * If called inside a transaction, the seats are handed back when the transaction rolls back.
+     * @param activityIds The IDs of the activities, without duplicates.
+     * @throws javaproject.travelmanager.Exception.InsufficientActivityCapacityException if any of them has no free seat.
+     */
+    void reserveSeats(Collection<Long> activityIds);
+
+    /**
+     * Reserves as many seats of the specified activity as are free, up to the requested number, with a single statement.
+     * If called inside a transaction, the seats are handed back when the transaction rolls back.
+     * @param activityId The ID of the activity.
+     * @param seats The number of seats wanted.
+     * @return The number of seats reserved, between 0 and the requested number.
+     */
+    int reserveUpTo(Long activityId, int seats);
+
+    /**
+     * Releases one seat of the specified activity.
+     * If called inside a transaction, the seat becomes available once the transaction commits.
+     * @param activityId The ID of the activity.
+     */
+    void releaseSeat(Long activityId);
+
+    /**
+     * Retrieves the number of seats currently free for the specified activity.
+     * @param activityId The ID of the activity.
+     * @return The number of free seats.
+     */
+    int getAvailableSeats(Long activityId);
+
+    /**
+     * Retrieves the number of seats currently free for an activity that is already loaded.
+     * The loaded capacity seeds the counter, so no query is issued.
+     * @param activity The activity.
+     * @return The number of free seats.
+     */
+    int getAvailableSeats(Activity activity);
+
+    /**
+     * Retrieves the number of seats currently free for an activity whose persisted capacity was just read.
+     * The given capacity seeds the counter, so no query is issued.
+     * @param activityId The ID of the activity.
+     * @param capacity The persisted capacity of the activity.
+     * @return The number of free seats.
+     */
+    int getAvailableSeats(Long activityId, int capacity);
+
+    /**
+     * Adds the change of the persisted capacity of the specified activity to its in-memory counter once the
+     * current transaction commits. Must be called whenever the capacity of an activity is edited; the counter
+     * is kept, so seats taken or released by transactions still in flight stay counted.
+     * @param activityId The ID of the activity.
+     * @param seats The number of seats added to the persisted capacity, negative if seats were removed.
+     */
+    void adjustCapacity(Long activityId, int seats);
+
+    /**
+     * Drops the in-memory counter of the specified activity once the current transaction commits.
+     * Must be called whenever an activity is deleted.
+     * @param activityId The ID of the activity.
+     */
+    void invalidate(Long activityId);
+}
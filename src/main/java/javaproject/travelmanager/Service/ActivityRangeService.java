@@ -0,0 +1,57 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ActivityRangeQuery;
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Destination;
+
+/**
+ * Service interface responsible for range queries over the cost and free seats of activities.
+ * Queries are answered from a sorted in-memory index; catalog changes reach it when the transaction that made them
+ * commits, and free seats follow the seat counters as they change.
+ */
+public interface ActivityRangeService {
+
+    /**
+     * Retrieves one page of the activities within the bounds of a query, cheapest first, then by ID.
+     * @param query The bounds of the query.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of activities on the page.
+     * @return The page of summaries, each with its currently free seats, and the token of the next page.
+     * @throws IllegalArgumentException if the page token is malformed.
+     */
+    KeysetPage<ActivitySummary> findActivities(ActivityRangeQuery query, String pageToken, int pageSize);
+
+    /**
+     * Indexes the current cost and destination of an activity once the current transaction commits.
+     * Must be called whenever an activity is created or changed, after the change.
+     * @param activity The activity, with an ID.
+     */
+    void indexActivity(Activity activity);
+
+    /**
+     * Removes an activity from the index once the current transaction commits.
+     * @param activityId The ID of the activity.
+     */
+    void removeActivity(Long activityId);
+
+    /**
+     * Indexes the current travel package of a destination once the current transaction commits.
+     * Must be called whenever a destination is created or moved to or from a travel package, after the change.
+     * @param destination The destination, with an ID.
+     */
+    void indexDestination(Destination destination);
+
+    /**
+     * Removes a destination and its activities from the index once the current transaction commits,
+     * since deleting a destination deletes its activities.
+     * @param destinationId The ID of the destination.
+     */
+    void removeDestination(Long destinationId);
+
+    /**
+     * Builds the index again from the database.
+     */
+    void rebuild();
+}
@@ -1,5 +1,7 @@
 package javaproject.travelmanager.Service;
 
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.ActivitySummary;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import javaproject.travelmanager.DTO.ActivityDTO;
@@ -44,12 +46,29 @@ public interface ActivityService {
      */
     Activity getActivity(Long activityId);
 
+    /**
+     * Retrieves the summary of the activity with the specified ID, served from the catalog cache.
+     * @param activityId The ID of the activity to retrieve.
+     * @return The summary of the activity, with its currently free seats as capacity.
+     * @throws IllegalArgumentException if no activity is found with the provided ID.
+     */
+    ActivitySummary getActivitySummary(Long activityId);
+
     /**
      * Retrieves all activities.
      * @return A list of all activities.
      */
     List<Activity> getAllActivities();
 
+    /**
+     * Retrieves one page of the listing of all activities, ordered by ID, with only the listing columns and aggregate counts.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of activities on the page.
+     * @return The page of summaries and the token of the next page.
+     * @throws IllegalArgumentException if the page token is malformed.
+     */
+    KeysetPage<ActivitySummary> getActivitySummaries(String pageToken, int pageSize);
+
     /**
      * Retrieves the destination associated with the specified activity.
      * @param activityId The ID of the activity.
@@ -0,0 +1,18 @@
+package javaproject.travelmanager.Service;
+
+/**
+ * Service interface responsible for admitting passengers to activities.
+ * Requests for activities that are close to full are decided together, by passenger tier, instead of
+ * by whichever request happens to reach the database first.
+ */
+public interface AdmissionService {
+
+    /**
+     * Adds an activity to a passenger, waiting for the admission window of the activity if it is close to full.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity.
+     * @throws javaproject.travelmanager.Exception.InsufficientActivityCapacityException if the passenger was not granted a seat.
+     * @throws javaproject.travelmanager.Exception.InsufficientBalanceException if the passenger cannot pay for the activity.
+     */
+    void admit(Long passengerId, Long activityId);
+}
@@ -0,0 +1,52 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.Entity.BalanceEntry;
+import javaproject.travelmanager.Entity.Passenger;
+
+import java.util.List;
+
+/**
+ * Service interface responsible for the append-only ledger of passenger balance movements.
+ * All amounts are in minor currency units. A debit or an adjustment fails with an optimistic-lock conflict
+ * when another debit or adjustment of the same passenger was written after its balance was read.
+ */
+public interface BalanceLedgerService {
+
+    /**
+     * Debits an amount from the balance of a passenger.
+     * @param passenger The passenger, already saved.
+     * @param activityId The ID of the activity paid for.
+     * @param amount The amount.
+     * @throws javaproject.travelmanager.Exception.InsufficientBalanceException if the balance does not cover the amount.
+     */
+    void debit(Passenger passenger, Long activityId, long amount);
+
+    /**
+     * Credits an amount paid for an activity back to the balance of a passenger.
+     * @param passenger The passenger, already saved.
+     * @param activityId The ID of the activity refunded.
+     * @param amount The amount.
+     */
+    void refund(Passenger passenger, Long activityId, long amount);
+
+    /**
+     * Adds an amount to the balance of a passenger.
+     * @param passenger The passenger, already saved.
+     * @param amount The amount.
+     */
+    void topUp(Passenger passenger, long amount);
+
+    /**
+     * Records whatever movement brings the balance of a passenger to the given amount.
+     * @param passenger The passenger, already saved.
+     * @param balance The new balance.
+     */
+    void adjustTo(Passenger passenger, long balance);
+
+    /**
+     * Retrieves the balance entries of a passenger in the order they were written.
+     * @param passengerId The ID of the passenger.
+     * @return The entries of the passenger, oldest first.
+     */
+    List<BalanceEntry> getEntries(Long passengerId);
+}
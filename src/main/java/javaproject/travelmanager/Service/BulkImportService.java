@@ -0,0 +1,42 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ImportFormat;
+import javaproject.travelmanager.DTO.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for importing activities, destinations and passengers in bulk.
+ * Rows are read from the stream as they arrive and written in chunks; a row that cannot be imported
+ * is reported as rejected without failing the rest of the load.
+ */
+public interface BulkImportService {
+
+    /**
+     * Imports activities, one per row, with the fields of ActivityDTO.
+     * @param in The uploaded rows.
+     * @param format The format of the rows.
+     * @return The number of imported rows and the rejected ones.
+     * @throws IOException if reading the rows fails.
+     */
+    ImportReport importActivities(InputStream in, ImportFormat format) throws IOException;
+
+    /**
+     * Imports destinations, one per row, with the name, coordinates and travel package ID fields of DestinationDTO.
+     * @param in The uploaded rows.
+     * @param format The format of the rows.
+     * @return The number of imported rows and the rejected ones.
+     * @throws IOException if reading the rows fails.
+     */
+    ImportReport importDestinations(InputStream in, ImportFormat format) throws IOException;
+
+    /**
+     * Imports passengers, one per row, with the fields of PassengerDTO except the activity IDs.
+     * @param in The uploaded rows.
+     * @param format The format of the rows.
+     * @return The number of imported rows and the rejected ones.
+     * @throws IOException if reading the rows fails.
+     */
+    ImportReport importPassengers(InputStream in, ImportFormat format) throws IOException;
+}
@@ -0,0 +1,50 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.Entity.Destination;
+
+/**
+ * Service interface responsible for the in-process cache of the activity and destination catalog.
+ * The cache holds read-only summaries, never entities, and the capacity it holds is the stored one:
+ * callers that show free seats must take them from the {@link ActivityCapacityService}.
+ */
+public interface CatalogCacheService {
+
+    /**
+     * Retrieves the summary of an activity, loading it if it is not cached.
+     * @param activityId The ID of the activity.
+     * @return The activity summary.
+     * @throws IllegalArgumentException if no activity is found with the provided ID.
+     */
+    ActivitySummary getActivity(Long activityId);
+
+    /**
+     * Retrieves the summary of a destination, loading it if it is not cached.
+     * @param destinationId The ID of the destination.
+     * @return The destination summary.
+     * @throws IllegalArgumentException if no destination is found with the provided ID.
+     */
+    DestinationSummary getDestination(Long destinationId);
+
+    /**
+     * Drops the summary of an activity now and again once the current transaction completes.
+     * Must be called whenever an activity is changed or deleted.
+     * @param activityId The ID of the activity.
+     */
+    void invalidateActivity(Long activityId);
+
+    /**
+     * Drops the summary of a destination now and again once the current transaction completes.
+     * Must be called whenever a destination, its travel package or its set of activities is changed.
+     * @param destinationId The ID of the destination.
+     */
+    void invalidateDestination(Long destinationId);
+
+    /**
+     * Drops the summaries of a destination and of each of its activities.
+     * Must be called before a destination is deleted, since the deletion cascades to its activities.
+     * @param destination The destination.
+     */
+    void invalidateDestinationTree(Destination destination);
+}
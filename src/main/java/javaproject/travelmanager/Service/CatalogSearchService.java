@@ -0,0 +1,55 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ActivitySearchHit;
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Destination;
+
+import java.util.List;
+
+/**
+ * Service interface responsible for keyword search over the activity and destination catalog.
+ * Searches are answered from memory; changes reach the index when the transaction that made them commits.
+ */
+public interface CatalogSearchService {
+
+    /**
+     * Searches activities by the words of their name, their description and the name of their destination.
+     * Every word of the query must match, either as a whole word or as the start of one.
+     * @param query The words to search for.
+     * @param limit The maximum number of activities to return.
+     * @return The matching activities, most relevant first.
+     */
+    List<ActivitySearchHit> searchActivities(String query, int limit);
+
+    /**
+     * Indexes the current name, description and destination of an activity once the current transaction commits.
+     * Must be called whenever an activity is created or changed, after the change.
+     * @param activity The activity, with an ID.
+     */
+    void indexActivity(Activity activity);
+
+    /**
+     * Removes an activity from the index once the current transaction commits.
+     * @param activityId The ID of the activity.
+     */
+    void removeActivity(Long activityId);
+
+    /**
+     * Indexes the current name of a destination once the current transaction commits.
+     * Must be called whenever a destination is created or renamed, after the change.
+     * @param destination The destination, with an ID.
+     */
+    void indexDestination(Destination destination);
+
+    /**
+     * Removes a destination and its activities from the index once the current transaction commits,
+     * since deleting a destination deletes its activities.
+     * @param destinationId The ID of the destination.
+     */
+    void removeDestination(Long destinationId);
+
+    /**
+     * Builds the index again from the database.
+     */
+    void rebuild();
+}
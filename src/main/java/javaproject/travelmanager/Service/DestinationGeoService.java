@@ -0,0 +1,52 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.NearbyDestination;
+import javaproject.travelmanager.Entity.Destination;
+
+import java.util.List;
+
+/**
+ * Service interface responsible for finding destinations by location.
+ * Queries are answered from an in-memory spatial index; changes reach it when the transaction that made them commits.
+ */
+public interface DestinationGeoService {
+
+    /**
+     * Finds the destinations within a distance of a position, with their activities.
+     * @param latitude The latitude of the position in degrees.
+     * @param longitude The longitude of the position in degrees.
+     * @param radiusKm The distance in kilometres.
+     * @param limit The maximum number of destinations to return.
+     * @return The nearest destinations within the distance, nearest first.
+     * @throws IllegalArgumentException if the position or the distance is invalid.
+     */
+    List<NearbyDestination> findWithinRadius(double latitude, double longitude, double radiusKm, int limit);
+
+    /**
+     * Finds the destinations nearest to a position, with their activities.
+     * @param latitude The latitude of the position in degrees.
+     * @param longitude The longitude of the position in degrees.
+     * @param count The number of destinations to return.
+     * @return The nearest destinations, nearest first.
+     * @throws IllegalArgumentException if the position is invalid.
+     */
+    List<NearbyDestination> findNearest(double latitude, double longitude, int count);
+
+    /**
+     * Indexes the current name and coordinates of a destination once the current transaction commits.
+     * A destination without coordinates leaves the index. Must be called whenever a destination is created or changed.
+     * @param destination The destination, with an ID.
+     */
+    void indexDestination(Destination destination);
+
+    /**
+     * Removes a destination from the index once the current transaction commits.
+     * @param destinationId The ID of the destination.
+     */
+    void removeDestination(Long destinationId);
+
+    /**
+     * Builds the index again from the database.
+     */
+    void rebuild();
+}
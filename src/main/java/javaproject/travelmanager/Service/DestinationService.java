@@ -1,5 +1,7 @@
 package javaproject.travelmanager.Service;
 
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.DestinationSummary;
 import javaproject.travelmanager.DTO.DestinationDTO;
 import javaproject.travelmanager.Entity.Activity;
 import javaproject.travelmanager.Entity.Destination;
@@ -48,12 +50,29 @@ public interface DestinationService {
      */
     Destination getDestination(Long destinationId);
 
+    /**
+     * Retrieves the summary of the destination with the specified ID, served from the catalog cache.
+     * @param destinationId The ID of the destination to retrieve.
+     * @return The summary of the destination.
+     * @throws IllegalArgumentException if no destination is found with the provided ID.
+     */
+    DestinationSummary getDestinationSummary(Long destinationId);
+
     /**
      * Retrieves all destinations.
      * @return A list of all destinations.
      */
     List<Destination> getAllDestinations();
 
+    /**
+     * Retrieves one page of the listing of all destinations, ordered by ID, with only the listing columns and aggregate counts.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of destinations on the page.
+     * @return The page of summaries and the token of the next page.
+     * @throws IllegalArgumentException if the page token is malformed.
+     */
+    KeysetPage<DestinationSummary> getDestinationSummaries(String pageToken, int pageSize);
+
     /**
      * Retrieves all activities associated with the specified destination.
      * @param destinationId The ID of the destination.
@@ -0,0 +1,288 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Event.ActivitySeatsChangedEvent;
+import javaproject.travelmanager.Exception.InsufficientActivityCapacityException;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Service.ActivityCapacityService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
+import javaproject.travelmanager.Util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class responsible for reserving and releasing activity seats.
+ * Every activity gets an in-memory counter seeded from its persisted capacity. A seat is first taken
+ * with a compare-and-set loop on that counter, which turns away requests for a sold-out activity
+ * without a database round-trip, and then made durable with a single guarded update that only
+ * succeeds while the persisted capacity is above zero. Every change of the persisted capacity bumps
+ * the version of the travel package showing the activity, and every change of a counter is published so
+ * that views derived from it can follow. An edited capacity is added to the counter rather than replacing it,
+ * so seats taken or released by transactions still in flight stay counted.
+ * The persisted capacity stays the source of truth: the counter spares requests for a sold-out activity the
+ * round-trip, but a granted seat still holds the row lock of the guarded update until its transaction ends.
+ */
+@Service
+public class ActivityCapacityServiceImpl implements ActivityCapacityService {
+
+    private final ActivityRepository activityRepository;
+    private final TravelPackageVersionService travelPackageVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentMap<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ActivityCapacityServiceImpl(ActivityRepository activityRepository,
+                                       TravelPackageVersionService travelPackageVersionService,
+                                       ApplicationEventPublisher eventPublisher) {
+        this.activityRepository = activityRepository;
+        this.travelPackageVersionService = travelPackageVersionService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Reserves one seat of the specified activity.
+     * @param activityId The ID of the activity.
+     * @throws InsufficientActivityCapacityException if no seat is free.
+     */
+    @Override
+    public void reserveSeat(Long activityId) {
+        SeatCounter counter = counterFor(activityId);
+        if (!counter.tryTake()) {
+            throw new InsufficientActivityCapacityException("Activity is at full capacity");
+        }
+
+        if (activityRepository.decrementCapacity(activityId) == 0) {
+            // The database disagrees with the counter, so seed it again on the next request.
+            counters.remove(activityId, counter);
+            seatsChanged(activityId);
+            throw new InsufficientActivityCapacityException("Activity is at full capacity");
+        }
+        seatsChanged(activityId);
+        TransactionCallbacks.afterCompletion(committed -> {
+            if (!committed) {
+                counter.giveBack();
+                seatsChanged(activityId);
+            }
+        });
+        travelPackageVersionService.touchActivity(activityId);
+    }
+
+    /**
+     * Reserves one seat of each of the specified activities, all or nothing, with a single batched statement.
+     * @param activityIds The IDs of the activities, without duplicates.
+     * @throws InsufficientActivityCapacityException if any of them has no free seat.
+     */
+    @Override
+    public void reserveSeats(Collection<Long> activityIds) {
+        List<SeatCounter> taken = new ArrayList<>(activityIds.size());
+        for (Long activityId : activityIds) {
+            SeatCounter counter = counterFor(activityId);
+            if (!counter.tryTake()) {
+                taken.forEach(SeatCounter::giveBack);
+                activityIds.forEach(this::seatsChanged);
+                throw new InsufficientActivityCapacityException("Activity is at full capacity");
+            }
+            taken.add(counter);
+        }
+
+        if (activityRepository.decrementCapacities(activityIds) != activityIds.size()) {
+            // Some seats were taken in the database only; the caller's rollback undoes them.
+            activityIds.forEach(counters::remove);
+            activityIds.forEach(this::seatsChanged);
+            throw new InsufficientActivityCapacityException("Activity is at full capacity");
+        }
+        activityIds.forEach(this::seatsChanged);
+        TransactionCallbacks.afterCompletion(committed -> {
+            if (!committed) {
+                taken.forEach(SeatCounter::giveBack);
+                activityIds.forEach(this::seatsChanged);
+            }
+        });
+        activityIds.forEach(travelPackageVersionService::touchActivity);
+    }
+
+    /**
+     * Reserves as many seats of the specified activity as are free, up to the requested number, with a single statement.
+     * @param activityId The ID of the activity.
+     * @param seats The number of seats wanted.
+     * @return The number of seats reserved, between 0 and the requested number.
+     */
+    @Override
+    public int reserveUpTo(Long activityId, int seats) {
+        SeatCounter counter = counterFor(activityId);
+        int taken = counter.takeUpTo(seats);
+        if (taken == 0) {
+            return 0;
+        }
+
+        if (activityRepository.decrementCapacityBy(activityId, taken) == 0) {
+            counters.remove(activityId, counter);
+            seatsChanged(activityId);
+            throw new InsufficientActivityCapacityException("Activity is at full capacity");
+        }
+        seatsChanged(activityId);
+        TransactionCallbacks.afterCompletion(committed -> {
+            if (!committed) {
+                counter.giveBack(taken);
+                seatsChanged(activityId);
+            }
+        });
+        travelPackageVersionService.touchActivity(activityId);
+        return taken;
+    }
+
+    /**
+     * Releases one seat of the specified activity.
+     * @param activityId The ID of the activity.
+     */
+    @Override
+    public void releaseSeat(Long activityId) {
+        SeatCounter counter = counterFor(activityId);
+        activityRepository.incrementCapacity(activityId);
+        TransactionCallbacks.afterCompletion(committed -> {
+            if (!committed) {
+                return;
+            }
+            counter.giveBack();
+            // A counter seeded since may or may not have seen this release, so it is seeded again from the committed capacity.
+            SeatCounter current = counters.get(activityId);
+            if (current != null && current != counter) {
+                counters.remove(activityId, current);
+            }
+            seatsChanged(activityId);
+        });
+        travelPackageVersionService.touchActivity(activityId);
+    }
+
+    /**
+     * Retrieves the number of seats currently free for the specified activity.
+     * @param activityId The ID of the activity.
+     * @return The number of free seats.
+     */
+    @Override
+    public int getAvailableSeats(Long activityId) {
+        return Math.max(counterFor(activityId).available.get(), 0);
+    }
+
+    /**
+     * Retrieves the number of seats currently free for an activity that is already loaded.
+     * @param activity The activity.
+     * @return The number of free seats.
+     */
+    @Override
+    public int getAvailableSeats(Activity activity) {
+        return getAvailableSeats(activity.getId(), activity.getCapacity());
+    }
+
+    /**
+     * Retrieves the number of seats currently free for an activity whose persisted capacity was just read.
+     * @param activityId The ID of the activity.
+     * @param capacity The persisted capacity of the activity.
+     * @return The number of free seats.
+     */
+    @Override
+    public int getAvailableSeats(Long activityId, int capacity) {
+        SeatCounter counter = counters.computeIfAbsent(activityId, id -> new SeatCounter(capacity));
+        return Math.max(counter.available.get(), 0);
+    }
+
+    /**
+     * Adds the change of the persisted capacity of the specified activity to its counter once the current transaction commits.
+     * @param activityId The ID of the activity.
+     * @param seats The number of seats added to the persisted capacity, negative if seats were removed.
+     */
+    @Override
+    public void adjustCapacity(Long activityId, int seats) {
+        if (seats == 0) {
+            return;
+        }
+        TransactionCallbacks.afterCompletion(committed -> {
+            SeatCounter counter = counters.get(activityId);
+            if (committed && counter != null) {
+                counter.giveBack(seats);
+                seatsChanged(activityId);
+            }
+        });
+    }
+
+    /**
+     * Drops the in-memory counter of the specified activity once the current transaction commits.
+     * @param activityId The ID of the activity.
+     */
+    @Override
+    public void invalidate(Long activityId) {
+        TransactionCallbacks.afterCompletion(committed -> {
+            if (committed) {
+                counters.remove(activityId);
+                seatsChanged(activityId);
+            }
+        });
+    }
+
+    private SeatCounter counterFor(Long activityId) {
+        SeatCounter counter = counters.get(activityId);
+        if (counter != null) {
+            return counter;
+        }
+        int capacity = activityRepository.findCapacityById(activityId)
+                .orElseThrow(() -> new IllegalArgumentException("Activity Not present"));
+        SeatCounter seeded = new SeatCounter(capacity);
+        counter = counters.putIfAbsent(activityId, seeded);
+        return counter != null ? counter : seeded;
+    }
+
+    private void seatsChanged(Long activityId) {
+        eventPublisher.publishEvent(new ActivitySeatsChangedEvent(activityId));
+    }
+
+    /**
+     * Free seats of one activity.
+     */
+    private static final class SeatCounter {
+        private final AtomicInteger available;
+
+        private SeatCounter(int capacity) {
+            this.available = new AtomicInteger(capacity);
+        }
+
+        private boolean tryTake() {
+            int current;
+            do {
+                current = available.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        private int takeUpTo(int seats) {
+            int current;
+            int taken;
+            do {
+                current = available.get();
+                taken = Math.min(Math.max(current, 0), seats);
+                if (taken == 0) {
+                    return 0;
+                }
+            } while (!available.compareAndSet(current, current - taken));
+            return taken;
+        }
+
+        private void giveBack() {
+            available.incrementAndGet();
+        }
+
+        private void giveBack(int seats) {
+            available.addAndGet(seats);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.DTO.ActivityRangeQuery;
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Event.ActivitySeatsChangedEvent;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Service.ActivityCapacityService;
+import javaproject.travelmanager.Service.ActivityRangeService;
+import javaproject.travelmanager.Util.PageToken;
+import javaproject.travelmanager.Util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service class responsible for range queries over the cost and free seats of activities.
+ * Activities are kept in sets sorted by cost then ID: one with every activity, one per destination, and one per
+ * tier of free seats, tier t holding the activities with at least 2^t free seats. A query seeks to the lowest cost
+ * of its range in the set of its scope and reads forward, so an unscoped query costs O(log n + k) for k results
+ * when its seat threshold is a power of two, and otherwise only passes over activities of the same tier below the
+ * threshold. A travel package query merges the sets of its destinations. Free seats follow the seat counters as
+ * they change, catalog changes are applied when their transaction commits, and the index is built from the
+ * database at startup. Only the page of results is read from the database, by ID.
+ */
+@Service
+public class ActivityRangeServiceImpl implements ActivityRangeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityRangeServiceImpl.class);
+    private static final int SEAT_TIERS = 8;
+
+    private final ActivityRepository activityRepository;
+    private final DestinationRepository destinationRepository;
+    private final ActivityCapacityService activityCapacityService;
+    private final int rebuildChunkSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedActivity> activities = new HashMap<>();
+    private final NavigableSet<Entry> byCost = new TreeSet<>();
+    private final List<NavigableSet<Entry>> bySeatTier = new ArrayList<>(SEAT_TIERS);
+    private final Map<Long, NavigableSet<Entry>> byDestination = new HashMap<>();
+    private final Map<Long, Long> destinationPackages = new HashMap<>();
+    private final Map<Long, Set<Long>> packageDestinations = new HashMap<>();
+
+    @Autowired
+    public ActivityRangeServiceImpl(ActivityRepository activityRepository,
+                                    DestinationRepository destinationRepository,
+                                    ActivityCapacityService activityCapacityService,
+                                    @Value("${travelmanager.activity-range.rebuild-chunk-size:10000}") int rebuildChunkSize) {
+        this.activityRepository = activityRepository;
+        this.destinationRepository = destinationRepository;
+        this.activityCapacityService = activityCapacityService;
+        this.rebuildChunkSize = rebuildChunkSize;
+        for (int tier = 0; tier < SEAT_TIERS; tier++) {
+            bySeatTier.add(new TreeSet<>());
+        }
+    }
+
+    /**
+     * Retrieves one page of the activities within the bounds of a query, cheapest first, then by ID.
+     * @param query The bounds of the query.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of activities on the page.
+     * @return The page of summaries, each with its currently free seats, and the token of the next page.
+     */
+    @Override
+    public KeysetPage<ActivitySummary> findActivities(ActivityRangeQuery query, String pageToken, int pageSize) {
+        PageToken.Cursor after = PageToken.decodeCursor(pageToken);
+        int minFreeSeats = Math.max(query.minFreeSeats(), 0);
+        List<IndexedActivity> matches = new ArrayList<>(pageSize + 1);
+
+        lock.readLock().lock();
+        try {
+            List<Iterator<Entry>> cursors = new ArrayList<>();
+            for (NavigableSet<Entry> source : sources(query, minFreeSeats)) {
+                NavigableSet<Entry> range = range(source, query, after);
+                if (!range.isEmpty()) {
+                    cursors.add(range.iterator());
+                }
+            }
+            Iterator<Entry> entries = cursors.size() == 1 ? cursors.get(0) : new MergedEntries(cursors);
+            while (matches.size() <= pageSize && entries.hasNext()) {
+                IndexedActivity activity = activities.get(entries.next().activityId());
+                if (activity.seats() >= minFreeSeats) {
+                    matches.add(activity);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return page(matches, pageSize);
+    }
+
+    /**
+     * Indexes the cost and destination the activity has now, once the current transaction commits.
+     * @param activity The activity, with an ID.
+     */
+    @Override
+    public void indexActivity(Activity activity) {
+        Long activityId = activity.getId();
+        long costMinor = activity.getCostMinor();
+        int capacity = activity.getCapacity();
+        Long destinationId = activity.getDestination() != null ? activity.getDestination().getId() : null;
+        TransactionCallbacks.afterCommit(() -> putActivity(activityId, costMinor, capacity, destinationId));
+    }
+
+    /**
+     * Removes an activity from the index once the current transaction commits.
+     * @param activityId The ID of the activity.
+     */
+    @Override
+    public void removeActivity(Long activityId) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unlink(activities.remove(activityId));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Indexes the travel package the destination has now, once the current transaction commits.
+     * @param destination The destination, with an ID.
+     */
+    @Override
+    public void indexDestination(Destination destination) {
+        Long destinationId = destination.getId();
+        Long travelPackageId = destination.getTravelPackage() != null ? destination.getTravelPackage().getId() : null;
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                putDestination(destinationId, travelPackageId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes a destination and its activities from the index once the current transaction commits.
+     * @param destinationId The ID of the destination.
+     */
+    @Override
+    public void removeDestination(Long destinationId) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                putDestination(destinationId, null);
+                NavigableSet<Entry> entries = byDestination.get(destinationId);
+                if (entries != null) {
+                    for (Entry entry : List.copyOf(entries)) {
+                        unlink(activities.remove(entry.activityId()));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Builds the index again from the database, reading the catalog in chunks.
+     * Changes committed meanwhile wait for the build and are applied on top of it.
+     */
+    @Override
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            activities.clear();
+            byCost.clear();
+            bySeatTier.forEach(NavigableSet::clear);
+            byDestination.clear();
+            destinationPackages.clear();
+            packageDestinations.clear();
+
+            List<DestinationSummary> destinations;
+            long afterId = 0;
+            do {
+                destinations = destinationRepository.findSummariesAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+                for (DestinationSummary destination : destinations) {
+                    putDestination(destination.id(), destination.travelPackageId());
+                    afterId = destination.id();
+                }
+            } while (destinations.size() == rebuildChunkSize);
+
+            List<ActivitySummary> chunk;
+            afterId = 0;
+            do {
+                chunk = activityRepository.findSummariesAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+                for (ActivitySummary activity : chunk) {
+                    putActivity(activity.id(), activity.costMinor(), activity.capacity(), activity.destinationId());
+                    afterId = activity.id();
+                }
+            } while (chunk.size() == rebuildChunkSize);
+
+            log.info("Indexed {} activities by cost and free seats in {} ms",
+                    activities.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves an activity between the tiers of free seats to match its seat counter.
+     * The counter is seeded outside the lock and read again under it, so the last update always sees the latest count.
+     * @param event The event naming the activity.
+     */
+    @EventListener
+    public void onSeatsChanged(ActivitySeatsChangedEvent event) {
+        Long activityId = event.activityId();
+        if (availableSeats(activityId) < 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            IndexedActivity activity = activities.get(activityId);
+            int seats = activity != null ? availableSeats(activityId) : -1;
+            if (seats >= 0 && seats != activity.seats()) {
+                IndexedActivity changed = activity.withSeats(seats);
+                int tiers = tiers(activity.seats());
+                int changedTiers = tiers(seats);
+                for (int tier = Math.min(tiers, changedTiers); tier < Math.max(tiers, changedTiers); tier++) {
+                    if (changedTiers > tiers) {
+                        bySeatTier.get(tier).add(activity.entry());
+                    } else {
+                        bySeatTier.get(tier).remove(activity.entry());
+                    }
+                }
+                activities.put(activityId, changed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<NavigableSet<Entry>> sources(ActivityRangeQuery query, int minFreeSeats) {
+        if (query.travelPackageId() != null) {
+            Set<Long> destinationIds = packageDestinations.getOrDefault(query.travelPackageId(), Set.of());
+            if (query.destinationId() != null) {
+                destinationIds = destinationIds.contains(query.destinationId()) ? Set.of(query.destinationId()) : Set.of();
+            }
+            List<NavigableSet<Entry>> sources = new ArrayList<>(destinationIds.size());
+            for (Long destinationId : destinationIds) {
+                NavigableSet<Entry> entries = byDestination.get(destinationId);
+                if (entries != null) {
+                    sources.add(entries);
+                }
+            }
+            return sources;
+        }
+        if (query.destinationId() != null) {
+            NavigableSet<Entry> entries = byDestination.get(query.destinationId());
+            return entries != null ? List.of(entries) : List.of();
+        }
+        if (minFreeSeats == 0) {
+            return List.of(byCost);
+        }
+        return List.of(bySeatTier.get(Math.min(31 - Integer.numberOfLeadingZeros(minFreeSeats), SEAT_TIERS - 1)));
+    }
+
+    private static NavigableSet<Entry> range(NavigableSet<Entry> source, ActivityRangeQuery query, PageToken.Cursor after) {
+        Entry from = new Entry(query.lowestCost(), Long.MIN_VALUE);
+        Entry to = new Entry(query.highestCost(), Long.MAX_VALUE);
+        boolean fromInclusive = true;
+        if (after != null) {
+            Entry last = new Entry(after.sortKey(), after.lastId());
+            if (last.compareTo(from) >= 0) {
+                from = last;
+                fromInclusive = false;
+            }
+        }
+        if (from.compareTo(to) > 0) {
+            return Collections.emptyNavigableSet();
+        }
+        return source.subSet(from, fromInclusive, to, true);
+    }
+
+    private KeysetPage<ActivitySummary> page(List<IndexedActivity> matches, int pageSize) {
+        List<IndexedActivity> items = matches.subList(0, Math.min(matches.size(), pageSize));
+        if (items.isEmpty()) {
+            return new KeysetPage<>(List.of(), null);
+        }
+        Map<Long, ActivitySummary> rows = new HashMap<>();
+        List<Long> activityIds = items.stream().map(activity -> activity.entry().activityId()).toList();
+        for (ActivitySummary row : activityRepository.findSummariesByIdIn(activityIds)) {
+            rows.put(row.id(), row);
+        }
+        List<ActivitySummary> summaries = new ArrayList<>(items.size());
+        for (IndexedActivity activity : items) {
+            ActivitySummary row = rows.get(activity.entry().activityId());
+            if (row != null) {
+                summaries.add(row.withCapacity(activity.seats()));
+            }
+        }
+        Entry last = items.get(items.size() - 1).entry();
+        String nextPageToken = matches.size() > pageSize ? PageToken.encode(last.costMinor(), last.activityId()) : null;
+        return new KeysetPage<>(summaries, nextPageToken);
+    }
+
+    private void putActivity(Long activityId, long costMinor, int capacity, Long destinationId) {
+        lock.writeLock().lock();
+        try {
+            unlink(activities.get(activityId));
+            IndexedActivity activity = new IndexedActivity(new Entry(costMinor, activityId), destinationId,
+                    activityCapacityService.getAvailableSeats(activityId, capacity));
+            activities.put(activityId, activity);
+            byCost.add(activity.entry());
+            for (int tier = 0; tier < tiers(activity.seats()); tier++) {
+                bySeatTier.get(tier).add(activity.entry());
+            }
+            if (destinationId != null) {
+                byDestination.computeIfAbsent(destinationId, id -> new TreeSet<>()).add(activity.entry());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(IndexedActivity activity) {
+        if (activity == null) {
+            return;
+        }
+        byCost.remove(activity.entry());
+        for (int tier = 0; tier < tiers(activity.seats()); tier++) {
+            bySeatTier.get(tier).remove(activity.entry());
+        }
+        if (activity.destinationId() != null) {
+            NavigableSet<Entry> entries = byDestination.get(activity.destinationId());
+            if (entries != null && entries.remove(activity.entry()) && entries.isEmpty()) {
+                byDestination.remove(activity.destinationId());
+            }
+        }
+    }
+
+    private void putDestination(Long destinationId, Long travelPackageId) {
+        Long previous = travelPackageId != null
+                ? destinationPackages.put(destinationId, travelPackageId)
+                : destinationPackages.remove(destinationId);
+        if (previous != null) {
+            Set<Long> destinationIds = packageDestinations.get(previous);
+            if (destinationIds != null && destinationIds.remove(destinationId) && destinationIds.isEmpty()) {
+                packageDestinations.remove(previous);
+            }
+        }
+        if (travelPackageId != null) {
+            packageDestinations.computeIfAbsent(travelPackageId, id -> new HashSet<>()).add(destinationId);
+        }
+    }
+
+    private int availableSeats(Long activityId) {
+        try {
+            return activityCapacityService.getAvailableSeats(activityId);
+        } catch (IllegalArgumentException e) {
+            // The activity is gone; it leaves the index once the deletion commits.
+            return -1;
+        }
+    }
+
+    private static int tiers(int seats) {
+        return seats > 0 ? Math.min(32 - Integer.numberOfLeadingZeros(seats), SEAT_TIERS) : 0;
+    }
+
+    /**
+     * The position of an activity in the sorted sets: by cost, then by ID.
+     */
+    private record Entry(long costMinor, long activityId) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int byCost = Long.compare(costMinor, other.costMinor);
+            return byCost != 0 ? byCost : Long.compare(activityId, other.activityId);
+        }
+    }
+
+    /**
+     * What the index keeps of an activity.
+     */
+    private record IndexedActivity(Entry entry, Long destinationId, int seats) {
+
+        private IndexedActivity withSeats(int seats) {
+            return new IndexedActivity(entry, destinationId, seats);
+        }
+    }
+
+    /**
+     * The entries of several sorted sets in order, reading each set lazily.
+     */
+    private static final class MergedEntries implements Iterator<Entry> {
+        private final PriorityQueue<Head> heads = new PriorityQueue<>();
+
+        private MergedEntries(List<Iterator<Entry>> cursors) {
+            for (Iterator<Entry> cursor : cursors) {
+                if (cursor.hasNext()) {
+                    heads.add(new Head(cursor.next(), cursor));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Entry next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+            return head.entry();
+        }
+
+        private record Head(Entry entry, Iterator<Entry> rest) implements Comparable<Head> {
+
+            @Override
+            public int compareTo(Head other) {
+                return entry.compareTo(other.entry);
+            }
+        }
+    }
+}
@@ -4,7 +4,9 @@ import javaproject.travelmanager.DTO.*;
 import javaproject.travelmanager.Entity.*;
 import javaproject.travelmanager.Repository.*;
 import javaproject.travelmanager.Service.*;
+import javaproject.travelmanager.Util.PageToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,11 +26,34 @@ public class ActivityServiceImpl implements ActivityService {
 
     private final ActivityRepository activityRepository;
     private final DestinationRepository destinationRepository;
+    private final ActivityCapacityService activityCapacityService;
+    private final WaitlistService waitlistService;
+    private final PricingService pricingService;
+    private final CatalogCacheService catalogCacheService;
+    private final TravelPackageVersionService travelPackageVersionService;
+    private final TravelPackageAvailabilityService travelPackageAvailabilityService;
+    private final CatalogSearchService catalogSearchService;
+
+    private final ActivityRangeService activityRangeService;
 
     @Autowired
-    public ActivityServiceImpl( ActivityRepository activityRepository, DestinationRepository destinationRepository) {
+    public ActivityServiceImpl( ActivityRepository activityRepository, DestinationRepository destinationRepository,
+                                ActivityCapacityService activityCapacityService, WaitlistService waitlistService,
+                                PricingService pricingService, CatalogCacheService catalogCacheService,
+                                TravelPackageVersionService travelPackageVersionService,
+                                TravelPackageAvailabilityService travelPackageAvailabilityService,
+                                CatalogSearchService catalogSearchService,
+                                ActivityRangeService activityRangeService) {
         this.activityRepository = activityRepository;
         this.destinationRepository = destinationRepository;
+        this.activityCapacityService = activityCapacityService;
+        this.waitlistService = waitlistService;
+        this.pricingService = pricingService;
+        this.catalogCacheService = catalogCacheService;
+        this.travelPackageVersionService = travelPackageVersionService;
+        this.travelPackageAvailabilityService = travelPackageAvailabilityService;
+        this.catalogSearchService = catalogSearchService;
+        this.activityRangeService = activityRangeService;
     }
 
 
@@ -54,12 +79,18 @@ public class ActivityServiceImpl implements ActivityService {
         if (destinationId != null){
             Destination destination = destinationRepository.findById(destinationId).orElseThrow(() -> new IllegalArgumentException("Destination Not present"));
             activity.setDestination(destination);
+            catalogCacheService.invalidateDestination(destinationId);
+            touchTravelPackage(activity);
         }
-        return activityRepository.save(activity);
+        Activity savedActivity = activityRepository.save(activity);
+        catalogSearchService.indexActivity(savedActivity);
+        activityRangeService.indexActivity(savedActivity);
+        return savedActivity;
     }
 
     /**
      * Updates an existing activity with the provided ID using information from the activity DTO.
+     * Seats added by a capacity increase go to the head of the activity's waitlist first.
      * @param activityId The ID of the activity to update.
      * @param activityDTO The DTO containing updated information about the activity.
      * @return The updated activity.
@@ -75,6 +106,9 @@ public class ActivityServiceImpl implements ActivityService {
 
         Activity activity = activityRepository.findById(activityId).orElseThrow(() -> new IllegalArgumentException("Activity Not present"));
 
+        int loadedCapacity = activity.getCapacity();
+        int addedSeats = capacity - loadedCapacity;
+
         activity.setName(name);
         activity.setDescription(description);
         activity.setCapacity(capacity);
@@ -82,6 +116,15 @@ public class ActivityServiceImpl implements ActivityService {
         if (destinationId != null){
             setDestinationToActivity(activity.getId(),destinationId);
         }
+        if (addedSeats > 0) {
+            activity.setCapacity(capacity - waitlistService.promote(activityId, addedSeats));
+        }
+        activityCapacityService.adjustCapacity(activityId, activity.getCapacity() - loadedCapacity);
+        pricingService.invalidate(activityId);
+        catalogCacheService.invalidateActivity(activityId);
+        touchTravelPackage(activity);
+        catalogSearchService.indexActivity(activity);
+        activityRangeService.indexActivity(activity);
         return activityRepository.save(activity);
     }
 
@@ -99,7 +142,12 @@ public class ActivityServiceImpl implements ActivityService {
         Activity activity = activityRepository.findById(activityId)
                 .orElseThrow(() -> new IllegalArgumentException("Activity Not Found"));
 
+        invalidateCatalog(activity);
         activity.setDestination(destination);
+        catalogCacheService.invalidateDestination(destinationId);
+        touchTravelPackage(activity);
+        catalogSearchService.indexActivity(activity);
+        activityRangeService.indexActivity(activity);
         activityRepository.save(activity);
     }
 
@@ -114,6 +162,19 @@ public class ActivityServiceImpl implements ActivityService {
         return  activityRepository.findById(activityId).orElseThrow(() -> new IllegalArgumentException("Activity Not present"));
     }
 
+    /**
+     * Retrieves the summary of the activity with the specified ID from the catalog cache.
+     * The capacity is the number of seats currently free, which never comes from the cache.
+     * @param activityId The ID of the activity to retrieve.
+     * @return The summary of the activity.
+     * @throws IllegalArgumentException if no activity is found with the provided ID.
+     */
+    @Override
+    public ActivitySummary getActivitySummary(Long activityId) {
+        ActivitySummary summary = catalogCacheService.getActivity(activityId);
+        return summary.withCapacity(activityCapacityService.getAvailableSeats(activityId));
+    }
+
     /**
      * Retrieves all activities.
      * @return A list of all activities.
@@ -123,6 +184,18 @@ public class ActivityServiceImpl implements ActivityService {
         return activityRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of the listing of all activities in a single query.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of activities on the page.
+     * @return The page of summaries and the token of the next page.
+     */
+    @Override
+    public KeysetPage<ActivitySummary> getActivitySummaries(String pageToken, int pageSize) {
+        List<ActivitySummary> rows = activityRepository.findSummariesAfter(PageToken.decode(pageToken), PageRequest.ofSize(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, ActivitySummary::id);
+    }
+
     /**
      * Retrieves the destination associated with the specified activity.
      * @param activityId The ID of the activity.
@@ -145,7 +218,10 @@ public class ActivityServiceImpl implements ActivityService {
         Activity activity = activityRepository.findById(activityId)
                 .orElseThrow(() -> new IllegalArgumentException("Activity Not Found"));
 
+        invalidateCatalog(activity);
         activity.setDestination(null);
+        catalogSearchService.indexActivity(activity);
+        activityRangeService.indexActivity(activity);
         activityRepository.save(activity);
     }
 
@@ -155,6 +231,27 @@ public class ActivityServiceImpl implements ActivityService {
      */
     @Override
     public void deleteActivity(Long activityId) {
+        activityRepository.findById(activityId).ifPresent(this::invalidateCatalog);
         activityRepository.deleteById(activityId);
+        activityCapacityService.invalidate(activityId);
+        pricingService.invalidate(activityId);
+        catalogSearchService.removeActivity(activityId);
+        activityRangeService.removeActivity(activityId);
+    }
+
+    private void invalidateCatalog(Activity activity) {
+        catalogCacheService.invalidateActivity(activity.getId());
+        if (activity.getDestination() != null) {
+            catalogCacheService.invalidateDestination(activity.getDestination().getId());
+        }
+        touchTravelPackage(activity);
+    }
+
+    private void touchTravelPackage(Activity activity) {
+        Destination destination = activity.getDestination();
+        if (destination != null && destination.getTravelPackage() != null) {
+            travelPackageVersionService.touch(destination.getTravelPackage().getId());
+            travelPackageAvailabilityService.invalidate(destination.getTravelPackage().getId());
+        }
     }
 }
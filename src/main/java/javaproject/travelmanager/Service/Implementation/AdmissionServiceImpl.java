@@ -0,0 +1,301 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import jakarta.annotation.PreDestroy;
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Exception.InsufficientActivityCapacityException;
+import javaproject.travelmanager.Exception.InsufficientBalanceException;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import javaproject.travelmanager.Service.ActivityCapacityService;
+import javaproject.travelmanager.Service.AdmissionService;
+import javaproject.travelmanager.Service.OptimisticRetryService;
+import javaproject.travelmanager.Service.PassengerService;
+import javaproject.travelmanager.Service.PricingService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class responsible for admitting passengers to activities.
+ * While an activity has more free seats than the hot threshold, requests are enrolled directly.
+ * Once it is close to full, requests are collected for a short window and decided together: seats go
+ * to PREMIUM, then GOLD, then STANDARD passengers, each tier in order of arrival, except that a
+ * configurable share of the seats granted in a window is kept for STANDARD passengers so they are not
+ * starved by a steady stream of higher tiers. Every request is charged before the seats are taken, so a
+ * passenger who can no longer pay is rejected alone, and a charged request left without a seat is refunded.
+ * All seats of a window are taken with one guarded update and all enrollments of the window are written in
+ * one transaction. Windows are opened by a timer and decided on a virtual thread each, so a window that
+ * backs off before retrying holds up no other activity. A request that is not taken into a window decision
+ * within the admission timeout fails; once taken, its decision is final and the caller waits for it.
+ */
+@Service
+public class AdmissionServiceImpl implements AdmissionService {
+
+    private final PassengerService passengerService;
+    private final PassengerRepository passengerRepository;
+    private final ActivityRepository activityRepository;
+    private final ActivityCapacityService activityCapacityService;
+    private final OptimisticRetryService optimisticRetryService;
+    private final PricingService pricingService;
+    private final TravelPackageVersionService travelPackageVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMillis;
+    private final long timeoutMillis;
+    private final int hotThreshold;
+    private final double standardShare;
+    private final ConcurrentMap<Long, List<Request>> windows = new ConcurrentHashMap<>();
+    private final AtomicLong arrivals = new AtomicLong();
+    private final ScheduledExecutorService windowTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "admission-window");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService deciders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public AdmissionServiceImpl(PassengerService passengerService,
+                                PassengerRepository passengerRepository,
+                                ActivityRepository activityRepository,
+                                ActivityCapacityService activityCapacityService,
+                                OptimisticRetryService optimisticRetryService,
+                                PricingService pricingService,
+                                TravelPackageVersionService travelPackageVersionService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${travelmanager.admission.window-ms:5}") long windowMillis,
+                                @Value("${travelmanager.admission.timeout-ms:5000}") long timeoutMillis,
+                                @Value("${travelmanager.admission.hot-threshold:10}") int hotThreshold,
+                                @Value("${travelmanager.admission.standard-share:0.2}") double standardShare) {
+        if (standardShare < 0 || standardShare > 1) {
+            throw new IllegalArgumentException("Standard share must be between 0 and 1");
+        }
+        this.passengerService = passengerService;
+        this.passengerRepository = passengerRepository;
+        this.activityRepository = activityRepository;
+        this.activityCapacityService = activityCapacityService;
+        this.optimisticRetryService = optimisticRetryService;
+        this.pricingService = pricingService;
+        this.travelPackageVersionService = travelPackageVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowMillis = windowMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.hotThreshold = hotThreshold;
+        this.standardShare = standardShare;
+    }
+
+    /**
+     * Adds an activity to a passenger, waiting for the admission window of the activity if it is close to full.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity.
+     */
+    @Override
+    public void admit(Long passengerId, Long activityId) {
+        if (activityCapacityService.getAvailableSeats(activityId) > hotThreshold) {
+            optimisticRetryService.run("addActivityToPassenger",
+                    () -> passengerService.addActivityToPassenger(passengerId, activityId));
+            return;
+        }
+
+        Request request = new Request(passengerId, arrivals.incrementAndGet(), new AtomicBoolean(), new CompletableFuture<>());
+        windows.compute(activityId, (id, window) -> {
+            if (window == null) {
+                window = new ArrayList<>();
+                windowTimer.schedule(() -> deciders.execute(() -> flush(id)), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            window.add(request);
+            return window;
+        });
+
+        try {
+            request.outcome().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (request.taken().compareAndSet(false, true)) {
+                withdraw(activityId, request);
+                throw new IllegalStateException("Admission was not decided in time", e);
+            }
+            awaitDecision(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (request.taken().compareAndSet(false, true)) {
+                withdraw(activityId, request);
+                throw new IllegalStateException("Admission was interrupted", e);
+            }
+            awaitDecision(request);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * Waits for the decision of a request already taken by its window, however long it takes.
+     */
+    private void awaitDecision(Request request) {
+        try {
+            request.outcome().join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * Takes a request that timed out out of its window, unless the window is already being decided.
+     */
+    private void withdraw(Long activityId, Request request) {
+        windows.computeIfPresent(activityId, (id, window) -> {
+            window.remove(request);
+            return window;
+        });
+    }
+
+    /**
+     * Decides every request collected for an activity since its window opened.
+     */
+    private void flush(Long activityId) {
+        List<Request> removed = windows.remove(activityId);
+        if (removed == null) {
+            return;
+        }
+        List<Request> window = removed.stream()
+                .filter(request -> request.taken().compareAndSet(false, true))
+                .toList();
+        if (window.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Request, RuntimeException> rejections = optimisticRetryService.execute("admitWindow",
+                    () -> transactionTemplate.execute(status -> decide(activityId, window)));
+            for (Request request : window) {
+                RuntimeException rejection = rejections.get(request);
+                if (rejection != null) {
+                    request.outcome().completeExceptionally(rejection);
+                } else {
+                    request.outcome().complete(null);
+                }
+            }
+        } catch (RuntimeException e) {
+            window.forEach(request -> request.outcome().completeExceptionally(e));
+        }
+    }
+
+    private Map<Request, RuntimeException> decide(Long activityId, List<Request> window) {
+        Map<Request, RuntimeException> rejections = new HashMap<>();
+        Map<Long, Passenger> passengers = passengerRepository
+                .findAllById(window.stream().map(Request::passengerId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Passenger::getId, Function.identity()));
+
+        Map<Request, Long> charged = new LinkedHashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (Request request : window) {
+            Passenger passenger = passengers.get(request.passengerId());
+            if (passenger == null) {
+                rejections.put(request, new IllegalArgumentException("Passenger Not Found"));
+            } else if (!seen.add(request.passengerId())) {
+                rejections.put(request, new IllegalStateException("Duplicate admission request"));
+            } else {
+                long price = pricingService.priceOf(activityId, passenger.getPassengerType());
+                try {
+                    pricingService.charge(passenger, activityId, price);
+                    charged.put(request, price);
+                } catch (InsufficientBalanceException e) {
+                    rejections.put(request, e);
+                }
+            }
+        }
+
+        List<Request> eligible = new ArrayList<>(charged.keySet());
+        int seats = eligible.isEmpty() ? 0 : activityCapacityService.reserveUpTo(activityId, eligible.size());
+        Set<Request> granted = select(eligible, seats, request -> passengers.get(request.passengerId()).getPassengerType());
+        for (Request request : eligible) {
+            Passenger passenger = passengers.get(request.passengerId());
+            if (!granted.contains(request)) {
+                pricingService.refund(passenger, activityId, charged.get(request));
+                rejections.put(request, new InsufficientActivityCapacityException("Activity is at full capacity"));
+                continue;
+            }
+            passenger.addActivity(activityRepository.getReferenceById(activityId));
+            if (passenger.getTravelPackage() != null) {
+                travelPackageVersionService.touch(passenger.getTravelPackage().getId());
+            }
+        }
+        return rejections;
+    }
+
+    /**
+     * Chooses which requests get the given number of seats: first the STANDARD share, then by tier and arrival.
+     */
+    private Set<Request> select(List<Request> requests, int seats, Function<Request, PassengerType> tierOf) {
+        Set<Request> granted = new LinkedHashSet<>();
+        if (seats >= requests.size()) {
+            granted.addAll(requests);
+            return granted;
+        }
+        int standardQuota = (int) Math.ceil(seats * standardShare);
+        for (Request request : requests) {
+            if (granted.size() == standardQuota) {
+                break;
+            }
+            if (tierOf.apply(request) == PassengerType.STANDARD) {
+                granted.add(request);
+            }
+        }
+
+        List<Request> byPriority = new ArrayList<>(requests);
+        byPriority.sort(Comparator.comparingInt((Request request) -> rank(tierOf.apply(request)))
+                .thenComparingLong(Request::arrival));
+        for (Request request : byPriority) {
+            if (granted.size() == seats) {
+                break;
+            }
+            granted.add(request);
+        }
+        return granted;
+    }
+
+    private static int rank(PassengerType passengerType) {
+        return switch (passengerType) {
+            case PREMIUM -> 0;
+            case GOLD -> 1;
+            case STANDARD -> 2;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        windowTimer.shutdownNow();
+        deciders.shutdownNow();
+        IllegalStateException shuttingDown = new IllegalStateException("Admission service is shutting down");
+        for (Long activityId : windows.keySet()) {
+            List<Request> window = windows.remove(activityId);
+            if (window != null) {
+                window.stream()
+                        .filter(request -> request.taken().compareAndSet(false, true))
+                        .forEach(request -> request.outcome().completeExceptionally(shuttingDown));
+            }
+        }
+    }
+
+    /**
+     * A pending request of one passenger, with its place in the order of arrival. Whoever sets taken first owns
+     * the request: the window decision, which then completes the outcome, or the caller, which then gives up.
+     */
+    private record Request(Long passengerId, long arrival, AtomicBoolean taken, CompletableFuture<Void> outcome) {
+    }
+}
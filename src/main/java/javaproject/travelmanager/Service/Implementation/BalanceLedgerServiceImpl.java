@@ -0,0 +1,140 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.DTO.LedgerState;
+import javaproject.travelmanager.Entity.BalanceEntry;
+import javaproject.travelmanager.Entity.BalanceEntryType;
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Exception.InsufficientBalanceException;
+import javaproject.travelmanager.Repository.BalanceEntryRepository;
+import javaproject.travelmanager.Service.BalanceLedgerService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service class responsible for the append-only ledger of passenger balance movements.
+ * Every movement is one inserted row and nothing else is written, so movements never wait on the passenger row.
+ * Credits are plain inserts and are batched with the rest of the transaction. A debit, and an adjustment, reads the
+ * balance and the sequence number of the last debit of the passenger in one statement and is inserted right away
+ * with the next sequence number. Sequence numbers are unique per passenger, so of two debits computed from the same
+ * balance only one is written; the other fails with an optimistic-lock conflict and is retried against the new
+ * balance. Credits are never rejected, so a debit that misses a concurrent credit only errs on the safe side.
+ */
+@Service
+public class BalanceLedgerServiceImpl implements BalanceLedgerService {
+
+    private final BalanceEntryRepository balanceEntryRepository;
+
+    @Autowired
+    public BalanceLedgerServiceImpl(BalanceEntryRepository balanceEntryRepository) {
+        this.balanceEntryRepository = balanceEntryRepository;
+    }
+
+    /**
+     * Debits an amount from the balance of a passenger.
+     * @param passenger The passenger, already saved.
+     * @param activityId The ID of the activity paid for.
+     * @param amount The amount.
+     */
+    @Override
+    public void debit(Passenger passenger, Long activityId, long amount) {
+        if (amount == 0) {
+            return;
+        }
+        LedgerState state = stateOf(passenger);
+        if (state.balanceMinor() < amount) {
+            throw new InsufficientBalanceException("Insufficient balance!");
+        }
+        appendDebit(passenger, state, BalanceEntryType.DEBIT, -amount, activityId);
+    }
+
+    /**
+     * Credits an amount paid for an activity back to the balance of a passenger.
+     * @param passenger The passenger, already saved.
+     * @param activityId The ID of the activity refunded.
+     * @param amount The amount.
+     */
+    @Override
+    public void refund(Passenger passenger, Long activityId, long amount) {
+        credit(passenger, BalanceEntryType.REFUND, amount, activityId);
+    }
+
+    /**
+     * Adds an amount to the balance of a passenger.
+     * @param passenger The passenger, already saved.
+     * @param amount The amount.
+     */
+    @Override
+    public void topUp(Passenger passenger, long amount) {
+        credit(passenger, BalanceEntryType.TOP_UP, amount, null);
+    }
+
+    /**
+     * Records whatever movement brings the balance of a passenger to the given amount.
+     * The difference is computed from the balance read with the last debit, and the movement takes the next debit
+     * sequence number whatever its sign, so a debit committed in between makes it fail instead of being overwritten.
+     * @param passenger The passenger, already saved.
+     * @param balance The new balance.
+     */
+    @Override
+    public void adjustTo(Passenger passenger, long balance) {
+        LedgerState state = stateOf(passenger);
+        long difference = balance - state.balanceMinor();
+        if (difference != 0) {
+            appendDebit(passenger, state, BalanceEntryType.ADJUSTMENT, difference, null);
+        }
+    }
+
+    /**
+     * Retrieves the balance entries of a passenger in the order they were written.
+     * @param passengerId The ID of the passenger.
+     * @return The entries of the passenger, oldest first.
+     */
+    @Override
+    public List<BalanceEntry> getEntries(Long passengerId) {
+        return balanceEntryRepository.findByPassengerIdOrderByIdAsc(passengerId);
+    }
+
+    private LedgerState stateOf(Passenger passenger) {
+        if (passenger.getId() == null) {
+            throw new IllegalStateException("Passenger must be saved before its balance changes");
+        }
+        LedgerState state = balanceEntryRepository.findLedgerState(passenger.getId());
+        if (state == null) {
+            throw new IllegalArgumentException("Passenger Not Found");
+        }
+        return state;
+    }
+
+    private void credit(Passenger passenger, BalanceEntryType entryType, long amount, Long activityId) {
+        if (amount == 0) {
+            return;
+        }
+        if (passenger.getId() == null) {
+            throw new IllegalStateException("Passenger must be saved before its balance changes");
+        }
+        BalanceEntry entry = new BalanceEntry(passenger.getId(), entryType, amount, activityId, Instant.now());
+        balanceEntryRepository.save(entry);
+        passenger.getAppendedEntries().add(entry);
+    }
+
+    private void appendDebit(Passenger passenger, LedgerState state, BalanceEntryType entryType, long amount, Long activityId) {
+        BalanceEntry entry = new BalanceEntry(passenger.getId(), entryType, amount, activityId, Instant.now());
+        entry.setDebitSequence(state.lastDebitSequence() + 1);
+        try {
+            balanceEntryRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(BalanceEntry.DEBIT_SEQUENCE_CONSTRAINT)) {
+                throw new ObjectOptimisticLockingFailureException(Passenger.class, passenger.getId(), e);
+            }
+            throw e;
+        }
+        passenger.getAppendedEntries().add(entry);
+    }
+}
@@ -0,0 +1,62 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.Repository.BalanceEntryRepository;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background job that folds the balance entries of passengers into their balance snapshot, so that
+ * loading a passenger only sums the few entries written since. Entries are kept for auditing.
+ * Folding marks each entry with the snapshot it went into and adds exactly the marked entries to the
+ * snapshot, in the same transaction; an entry whose transaction has not committed yet stays unmarked and
+ * is folded by a later compaction, however long that transaction runs.
+ */
+@Component
+public class BalanceSnapshotCompactor {
+
+    private final BalanceEntryRepository balanceEntryRepository;
+    private final PassengerRepository passengerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long minEntries;
+
+    @Autowired
+    public BalanceSnapshotCompactor(BalanceEntryRepository balanceEntryRepository,
+                                    PassengerRepository passengerRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${travelmanager.ledger.compaction-min-entries:16}") long minEntries) {
+        this.balanceEntryRepository = balanceEntryRepository;
+        this.passengerRepository = passengerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minEntries = minEntries;
+    }
+
+    /**
+     * Folds the entries of every passenger with enough unfolded entries into a new snapshot, one passenger per transaction.
+     * @return The number of passengers whose snapshot was moved.
+     */
+    @Scheduled(fixedDelayString = "${travelmanager.ledger.compaction-interval-ms:60000}")
+    public int compact() {
+        int compacted = 0;
+        for (BalanceEntryRepository.LedgerTail tail : balanceEntryRepository.findTailsToCompact(minEntries)) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> fold(tail)))) {
+                compacted++;
+            }
+        }
+        return compacted;
+    }
+
+    private boolean fold(BalanceEntryRepository.LedgerTail tail) {
+        if (passengerRepository.claimSnapshot(tail.getPassengerId(), tail.getSnapshotNumber()) == 0) {
+            return false;
+        }
+        long snapshotNumber = tail.getSnapshotNumber() + 1;
+        balanceEntryRepository.foldEntries(tail.getPassengerId(), snapshotNumber);
+        passengerRepository.addFoldedEntries(tail.getPassengerId(), snapshotNumber);
+        return true;
+    }
+}
@@ -0,0 +1,347 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import javaproject.travelmanager.DTO.*;
+import javaproject.travelmanager.Entity.*;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.BulkImportService;
+import javaproject.travelmanager.Service.CatalogCacheService;
+import javaproject.travelmanager.Service.ActivityRangeService;
+import javaproject.travelmanager.Service.CatalogSearchService;
+import javaproject.travelmanager.Service.DestinationGeoService;
+import javaproject.travelmanager.Service.TravelPackageAvailabilityService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
+import javaproject.travelmanager.Util.CsvParser;
+import javaproject.travelmanager.Util.GeoGrid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Service class responsible for bulk imports.
+ * The upload is read line by line, so only one chunk of rows is held in memory. Each chunk is written in its
+ * own transaction: the foreign IDs of the chunk are checked with one query per referenced table, and the valid
+ * rows are persisted and flushed together, which Hibernate sends as JDBC batches since IDs come from pooled sequences.
+ * The persistence context is cleared after every chunk. Rows that fail to parse or validate are rejected individually;
+ * if the database refuses a chunk, the rows of that chunk are rejected and the import goes on with the next one.
+ */
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private final EntityManager entityManager;
+    private final DestinationRepository destinationRepository;
+    private final TravelPackageRepository travelPackageRepository;
+    private final CatalogCacheService catalogCacheService;
+    private final TravelPackageVersionService travelPackageVersionService;
+    private final TravelPackageAvailabilityService travelPackageAvailabilityService;
+    private final CatalogSearchService catalogSearchService;
+    private final ActivityRangeService activityRangeService;
+    private final DestinationGeoService destinationGeoService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+
+    @Autowired
+    public BulkImportServiceImpl(EntityManager entityManager,
+                                 DestinationRepository destinationRepository,
+                                 TravelPackageRepository travelPackageRepository,
+                                 CatalogCacheService catalogCacheService,
+                                 TravelPackageVersionService travelPackageVersionService,
+                                 TravelPackageAvailabilityService travelPackageAvailabilityService,
+                                 CatalogSearchService catalogSearchService,
+                                 ActivityRangeService activityRangeService,
+                                 DestinationGeoService destinationGeoService,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${travelmanager.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${travelmanager.import.max-reported-rejections:1000}") int maxReportedRejections) {
+        this.entityManager = entityManager;
+        this.destinationRepository = destinationRepository;
+        this.travelPackageRepository = travelPackageRepository;
+        this.catalogCacheService = catalogCacheService;
+        this.travelPackageVersionService = travelPackageVersionService;
+        this.travelPackageAvailabilityService = travelPackageAvailabilityService;
+        this.catalogSearchService = catalogSearchService;
+        this.activityRangeService = activityRangeService;
+        this.destinationGeoService = destinationGeoService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    /**
+     * Imports activities, one per row.
+     * @param in The uploaded rows.
+     * @param format The format of the rows.
+     * @return The number of imported rows and the rejected ones.
+     * @throws IOException if reading the rows fails.
+     */
+    @Override
+    public ImportReport importActivities(InputStream in, ImportFormat format) throws IOException {
+        return importRows(in, format, ActivityDTO.class, this::writeActivities);
+    }
+
+    /**
+     * Imports destinations, one per row.
+     * @param in The uploaded rows.
+     * @param format The format of the rows.
+     * @return The number of imported rows and the rejected ones.
+     * @throws IOException if reading the rows fails.
+     */
+    @Override
+    public ImportReport importDestinations(InputStream in, ImportFormat format) throws IOException {
+        return importRows(in, format, DestinationDTO.class, this::writeDestinations);
+    }
+
+    /**
+     * Imports passengers, one per row.
+     * @param in The uploaded rows.
+     * @param format The format of the rows.
+     * @return The number of imported rows and the rejected ones.
+     * @throws IOException if reading the rows fails.
+     */
+    @Override
+    public ImportReport importPassengers(InputStream in, ImportFormat format) throws IOException {
+        return importRows(in, format, PassengerDTO.class, this::writePassengers);
+    }
+
+    private <T> ImportReport importRows(InputStream in, ImportFormat format, Class<T> type, ChunkWriter<T> writer) throws IOException {
+        Report report = new Report();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = null;
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.CSV && header == null) {
+                header = CsvParser.parseLine(line);
+                continue;
+            }
+            try {
+                chunk.add(new Row<>(lineNumber, parse(line, format, header, type)));
+            } catch (IOException | IllegalArgumentException e) {
+                report.reject(lineNumber, "Malformed row");
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                flush(chunk, writer, report);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        flush(chunk, writer, report);
+        return report.toImportReport();
+    }
+
+    private <T> T parse(String line, ImportFormat format, List<String> header, Class<T> type) throws IOException {
+        if (format == ImportFormat.NDJSON) {
+            return objectMapper.readValue(line, type);
+        }
+        List<String> fields = CsvParser.parseLine(line);
+        if (fields.size() != header.size()) {
+            throw new IllegalArgumentException("Wrong number of fields");
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            if (!fields.get(i).isEmpty()) {
+                values.put(header.get(i).trim(), fields.get(i));
+            }
+        }
+        return objectMapper.convertValue(values, type);
+    }
+
+    private <T> void flush(List<Row<T>> chunk, ChunkWriter<T> writer, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<ImportRejection> rejected = new ArrayList<>();
+        try {
+            Integer accepted = transactionTemplate.execute(status -> {
+                int written = writer.write(chunk, rejected);
+                entityManager.flush();
+                entityManager.clear();
+                return written;
+            });
+            report.accepted += accepted == null ? 0 : accepted;
+            rejected.forEach(rejection -> report.reject(rejection.line(), rejection.reason()));
+        } catch (PersistenceException | DataAccessException e) {
+            String reason = "Chunk failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            chunk.forEach(row -> report.reject(row.line(), reason));
+        }
+    }
+
+    private int writeActivities(List<Row<ActivityDTO>> rows, List<ImportRejection> rejected) {
+        Set<Long> destinationIds = existingIds(rows, ActivityDTO::getDestinationId, destinationRepository::findExistingIds);
+        int written = 0;
+        for (Row<ActivityDTO> row : rows) {
+            ActivityDTO activity = row.value();
+            String reason = null;
+            if (activity.getName() == null || activity.getName().isBlank()) {
+                reason = "Name is required";
+            } else if (!Double.isFinite(activity.getCost()) || activity.getCost() < 0) {
+                reason = "Cost must not be negative";
+            } else if (activity.getCapacity() < 0) {
+                reason = "Capacity must not be negative";
+            } else if (activity.getDestinationId() != null && !destinationIds.contains(activity.getDestinationId())) {
+                reason = "Destination Not Found";
+            }
+            if (reason != null) {
+                rejected.add(new ImportRejection(row.line(), reason));
+                continue;
+            }
+            Activity entity = new Activity(activity.getName(), activity.getDescription(), activity.getCost(), activity.getCapacity());
+            if (activity.getDestinationId() != null) {
+                entity.setDestination(entityManager.getReference(Destination.class, activity.getDestinationId()));
+            }
+            entityManager.persist(entity);
+            catalogSearchService.indexActivity(entity);
+            activityRangeService.indexActivity(entity);
+            written++;
+        }
+        for (Long destinationId : destinationIds) {
+            touchTravelPackage(catalogCacheService.getDestination(destinationId).travelPackageId());
+            catalogCacheService.invalidateDestination(destinationId);
+        }
+        return written;
+    }
+
+    private int writeDestinations(List<Row<DestinationDTO>> rows, List<ImportRejection> rejected) {
+        Set<Long> travelPackageIds = existingIds(rows, DestinationDTO::getTravelPackageId, travelPackageRepository::findExistingIds);
+        int written = 0;
+        for (Row<DestinationDTO> row : rows) {
+            DestinationDTO destination = row.value();
+            String reason = null;
+            if (destination.getName() == null || destination.getName().isBlank()) {
+                reason = "Name is required";
+            } else if (destination.getActivitiesIds() != null && !destination.getActivitiesIds().isEmpty()) {
+                reason = "Activities cannot be imported with a destination";
+            } else if (destination.getTravelPackageId() != null && !travelPackageIds.contains(destination.getTravelPackageId())) {
+                reason = "Travel Package Not Found";
+            } else if ((destination.getLatitude() == null) != (destination.getLongitude() == null)
+                    || destination.getLatitude() != null && !GeoGrid.isValid(destination.getLatitude(), destination.getLongitude())) {
+                reason = "Invalid Coordinates";
+            }
+            if (reason != null) {
+                rejected.add(new ImportRejection(row.line(), reason));
+                continue;
+            }
+            Destination entity = new Destination(destination.getName());
+            entity.setLatitude(destination.getLatitude());
+            entity.setLongitude(destination.getLongitude());
+            if (destination.getTravelPackageId() != null) {
+                entity.setTravelPackage(entityManager.getReference(TravelPackage.class, destination.getTravelPackageId()));
+            }
+            entityManager.persist(entity);
+            catalogSearchService.indexDestination(entity);
+            activityRangeService.indexDestination(entity);
+            destinationGeoService.indexDestination(entity);
+            written++;
+        }
+        travelPackageIds.forEach(this::touchTravelPackage);
+        return written;
+    }
+
+    private int writePassengers(List<Row<PassengerDTO>> rows, List<ImportRejection> rejected) {
+        Set<Long> travelPackageIds = existingIds(rows, PassengerDTO::getTravelPackageId, travelPackageRepository::findExistingIds);
+        int written = 0;
+        for (Row<PassengerDTO> row : rows) {
+            PassengerDTO passenger = row.value();
+            String reason = null;
+            if (passenger.getName() == null || passenger.getName().isBlank()) {
+                reason = "Name is required";
+            } else if (passenger.getPassengerType() == null) {
+                reason = "Passenger type is required";
+            } else if (!Double.isFinite(passenger.getBalance()) || passenger.getBalance() < 0) {
+                reason = "Balance must not be negative";
+            } else if (passenger.getActivitiesIds() != null && !passenger.getActivitiesIds().isEmpty()) {
+                reason = "Activities cannot be imported with a passenger";
+            } else if (passenger.getTravelPackageId() != null && !travelPackageIds.contains(passenger.getTravelPackageId())) {
+                reason = "Travel Package Not Found";
+            }
+            if (reason != null) {
+                rejected.add(new ImportRejection(row.line(), reason));
+                continue;
+            }
+            Passenger entity = new Passenger(passenger.getName(), passenger.getPassengerNumber(),
+                    passenger.getPassengerType(), passenger.getBalance());
+            if (passenger.getTravelPackageId() != null) {
+                entity.setTravelPackage(entityManager.getReference(TravelPackage.class, passenger.getTravelPackageId()));
+            }
+            entityManager.persist(entity);
+            written++;
+        }
+        travelPackageIds.forEach(travelPackageVersionService::touch);
+        return written;
+    }
+
+    private void touchTravelPackage(Long travelPackageId) {
+        travelPackageVersionService.touch(travelPackageId);
+        travelPackageAvailabilityService.invalidate(travelPackageId);
+    }
+
+    private static <T> Set<Long> existingIds(List<Row<T>> rows, Function<T, Long> foreignId,
+                                             Function<Collection<Long>, List<Long>> lookup) {
+        Set<Long> referenced = new HashSet<>();
+        for (Row<T> row : rows) {
+            Long id = foreignId.apply(row.value());
+            if (id != null) {
+                referenced.add(id);
+            }
+        }
+        return referenced.isEmpty() ? Set.of() : new HashSet<>(lookup.apply(referenced));
+    }
+
+    /**
+     * A parsed row and the line it was read from.
+     */
+    private record Row<T>(long line, T value) {
+    }
+
+    /**
+     * Writes the valid rows of one chunk and collects the invalid ones.
+     */
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        int write(List<Row<T>> rows, List<ImportRejection> rejected);
+    }
+
+    /**
+     * Running totals of one import.
+     */
+    private final class Report {
+        private long accepted;
+        private long rejected;
+        private final List<ImportRejection> rejections = new ArrayList<>();
+
+        private void reject(long line, String reason) {
+            rejected++;
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(new ImportRejection(line, reason));
+            }
+        }
+
+        private ImportReport toImportReport() {
+            return new ImportReport(accepted, rejected, List.copyOf(rejections));
+        }
+    }
+}
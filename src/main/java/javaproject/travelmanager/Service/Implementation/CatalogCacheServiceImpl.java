@@ -0,0 +1,114 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Service.CatalogCacheService;
+import javaproject.travelmanager.Util.LruCache;
+import javaproject.travelmanager.Util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class responsible for the in-process cache of the activity and destination catalog.
+ * Each kind of summary is kept in a bounded least-recently-used cache whose entries also expire after a
+ * time to live, so a change made outside the services is picked up eventually. Hits, misses, evictions
+ * and sizes are published as metrics tagged with the name of the cache.
+ */
+@Service
+public class CatalogCacheServiceImpl implements CatalogCacheService {
+
+    private final ActivityRepository activityRepository;
+    private final DestinationRepository destinationRepository;
+    private final LruCache<Long, ActivitySummary> activities;
+    private final LruCache<Long, DestinationSummary> destinations;
+
+    @Autowired
+    public CatalogCacheServiceImpl(ActivityRepository activityRepository,
+                                   DestinationRepository destinationRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${travelmanager.catalog.max-entries:10000}") int maxEntries,
+                                   @Value("${travelmanager.catalog.ttl-seconds:300}") long ttlSeconds) {
+        this.activityRepository = activityRepository;
+        this.destinationRepository = destinationRepository;
+        this.activities = new LruCache<>(maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+        this.destinations = new LruCache<>(maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+        register(meterRegistry, "activity", activities);
+        register(meterRegistry, "destination", destinations);
+    }
+
+    /**
+     * Retrieves the summary of an activity, loading it if it is not cached.
+     * @param activityId The ID of the activity.
+     * @return The activity summary.
+     * @throws IllegalArgumentException if no activity is found with the provided ID.
+     */
+    @Override
+    public ActivitySummary getActivity(Long activityId) {
+        return activities.get(activityId, id -> activityRepository.findSummaryById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Activity Not present")));
+    }
+
+    /**
+     * Retrieves the summary of a destination, loading it if it is not cached.
+     * @param destinationId The ID of the destination.
+     * @return The destination summary.
+     * @throws IllegalArgumentException if no destination is found with the provided ID.
+     */
+    @Override
+    public DestinationSummary getDestination(Long destinationId) {
+        return destinations.get(destinationId, id -> destinationRepository.findSummaryById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Destination Not present")));
+    }
+
+    /**
+     * Drops the summary of an activity now and again once the current transaction completes, so that
+     * a summary loaded from the uncommitted state in the meantime does not outlive the transaction.
+     * @param activityId The ID of the activity.
+     */
+    @Override
+    public void invalidateActivity(Long activityId) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> activities.invalidate(activityId));
+    }
+
+    /**
+     * Drops the summary of a destination now and again once the current transaction completes.
+     * @param destinationId The ID of the destination.
+     */
+    @Override
+    public void invalidateDestination(Long destinationId) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> destinations.invalidate(destinationId));
+    }
+
+    /**
+     * Drops the summaries of a destination and of each of its activities.
+     * @param destination The destination.
+     */
+    @Override
+    public void invalidateDestinationTree(Destination destination) {
+        invalidateDestination(destination.getId());
+        for (Activity activity : destination.getActivities()) {
+            invalidateActivity(activity.getId());
+        }
+    }
+
+    private static void register(MeterRegistry meterRegistry, String cache, LruCache<?, ?> lruCache) {
+        FunctionCounter.builder("travelmanager.catalog.cache.hits", lruCache, LruCache::hits)
+                .tag("cache", cache).register(meterRegistry);
+        FunctionCounter.builder("travelmanager.catalog.cache.misses", lruCache, LruCache::misses)
+                .tag("cache", cache).register(meterRegistry);
+        FunctionCounter.builder("travelmanager.catalog.cache.evictions", lruCache, LruCache::evictions)
+                .tag("cache", cache).register(meterRegistry);
+        Gauge.builder("travelmanager.catalog.cache.size", lruCache, LruCache::size)
+                .tag("cache", cache).register(meterRegistry);
+    }
+}
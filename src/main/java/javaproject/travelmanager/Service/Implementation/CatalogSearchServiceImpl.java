@@ -0,0 +1,452 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.DTO.ActivitySearchHit;
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Service.CatalogSearchService;
+import javaproject.travelmanager.Util.InvertedIndex;
+import javaproject.travelmanager.Util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service class responsible for keyword search over the activity and destination catalog.
+ * Activities and destinations each have an inverted index; a word in the name of a destination matches all of
+ * its activities, so renaming a destination only reindexes the destination. Words in names weigh more than words
+ * in descriptions, rare words more than common ones, and whole words more than prefixes. A search reads the
+ * postings of the query word with the fewest candidates best first, scores the other words from the terms of
+ * each candidate, and stops as soon as no remaining candidate can enter the best hits, so a query reads few
+ * postings even for common words and never touches the database. Changes are applied when their transaction commits, and the
+ * index is built from the database at startup.
+ */
+@Service
+public class CatalogSearchServiceImpl implements CatalogSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchServiceImpl.class);
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESTINATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_BOOST = 0.5;
+    private static final long MAX_SCORED_CANDIDATES_RATIO = 8;
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::score)
+            .thenComparing(Comparator.comparingLong(Candidate::activityId).reversed());
+
+    private final ActivityRepository activityRepository;
+    private final DestinationRepository destinationRepository;
+    private final int maxPrefixTerms;
+    private final int rebuildChunkSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final InvertedIndex activityIndex = new InvertedIndex();
+    private final InvertedIndex destinationIndex = new InvertedIndex();
+    private final Map<Long, IndexedActivity> activities = new HashMap<>();
+    private final Map<Long, String> destinationNames = new HashMap<>();
+    private final Map<Long, NavigableSet<Long>> activitiesByDestination = new HashMap<>();
+
+    @Autowired
+    public CatalogSearchServiceImpl(ActivityRepository activityRepository,
+                                    DestinationRepository destinationRepository,
+                                    @Value("${travelmanager.search.max-prefix-terms:64}") int maxPrefixTerms,
+                                    @Value("${travelmanager.search.rebuild-chunk-size:10000}") int rebuildChunkSize) {
+        this.activityRepository = activityRepository;
+        this.destinationRepository = destinationRepository;
+        this.maxPrefixTerms = maxPrefixTerms;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    /**
+     * Searches activities by the words of their name, their description and the name of their destination.
+     * @param query The words to search for.
+     * @param limit The maximum number of activities to return.
+     * @return The matching activities, most relevant first.
+     */
+    @Override
+    public List<ActivitySearchHit> searchActivities(String query, int limit) {
+        List<String> tokens = InvertedIndex.tokenize(query).stream().distinct().toList();
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<TokenMatch> matches = new ArrayList<>(tokens.size());
+            int driver = 0;
+            long driverCandidates = Long.MAX_VALUE;
+            for (String token : tokens) {
+                TokenMatch match = new TokenMatch(activityIndex.match(token, maxPrefixTerms, PREFIX_BOOST),
+                        destinationIndex.match(token, maxPrefixTerms, PREFIX_BOOST), activitiesByDestination);
+                if (match.candidates == 0) {
+                    return List.of();
+                }
+                if (match.candidates < driverCandidates) {
+                    driver = matches.size();
+                    driverCandidates = match.candidates;
+                }
+                matches.add(match);
+            }
+            TokenMatch driving = matches.remove(driver);
+            double othersMaxScore = 0;
+            for (TokenMatch match : matches) {
+                othersMaxScore += match.maxScore();
+                if (match.candidates <= driverCandidates * MAX_SCORED_CANDIDATES_RATIO) {
+                    match.scoreCandidates(activitiesByDestination);
+                }
+            }
+
+            PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+            for (InvertedIndex.Term term : driving.activityTerms.values()) {
+                Cursor.open(cursors, term.postings().iterator(), term.factor());
+            }
+            for (InvertedIndex.Term term : driving.destinationTerms.values()) {
+                for (InvertedIndex.Posting destination : term.postings()) {
+                    Iterator<InvertedIndex.Posting> activityPostings = activitiesByDestination
+                            .getOrDefault(destination.documentId(), Collections.emptyNavigableSet()).stream()
+                            .map(activityId -> new InvertedIndex.Posting(activityId, destination.weight())).iterator();
+                    Cursor.open(cursors, activityPostings, term.factor());
+                }
+            }
+
+            PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+            Set<Long> seen = new HashSet<>();
+            while (!cursors.isEmpty()) {
+                Cursor cursor = cursors.poll();
+                long activityId = cursor.activityId;
+                double score = cursor.score;
+                if (top.size() == limit && !top.peek().isBeatenBy(score + othersMaxScore, activityId)) {
+                    break;
+                }
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+                if (seen.add(activityId)) {
+                    offer(top, limit, activityId, score, matches);
+                }
+            }
+
+            List<Candidate> ranked = new ArrayList<>(top);
+            ranked.sort(WORST_FIRST.reversed());
+            List<ActivitySearchHit> hits = new ArrayList<>(ranked.size());
+            for (Candidate candidate : ranked) {
+                IndexedActivity activity = activities.get(candidate.activityId());
+                hits.add(new ActivitySearchHit(candidate.activityId(), activity.name(), activity.destinationId(),
+                        activity.destinationId() != null ? destinationNames.get(activity.destinationId()) : null,
+                        Math.round(candidate.score() * 1000) / 1000.0));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the name, description and destination the activity has now, once the current transaction commits.
+     * @param activity The activity, with an ID.
+     */
+    @Override
+    public void indexActivity(Activity activity) {
+        Long activityId = activity.getId();
+        String name = activity.getName();
+        String description = activity.getDescription();
+        Long destinationId = activity.getDestination() != null ? activity.getDestination().getId() : null;
+        TransactionCallbacks.afterCommit(() -> putActivity(activityId, name, description, destinationId));
+    }
+
+    /**
+     * Removes an activity from the index once the current transaction commits.
+     * @param activityId The ID of the activity.
+     */
+    @Override
+    public void removeActivity(Long activityId) {
+        TransactionCallbacks.afterCommit(() -> deleteActivity(activityId));
+    }
+
+    /**
+     * Indexes the name the destination has now, once the current transaction commits.
+     * @param destination The destination, with an ID.
+     */
+    @Override
+    public void indexDestination(Destination destination) {
+        Long destinationId = destination.getId();
+        String name = destination.getName();
+        TransactionCallbacks.afterCommit(() -> putDestination(destinationId, name));
+    }
+
+    /**
+     * Removes a destination and its activities from the index once the current transaction commits.
+     * @param destinationId The ID of the destination.
+     */
+    @Override
+    public void removeDestination(Long destinationId) {
+        TransactionCallbacks.afterCommit(() -> deleteDestination(destinationId));
+    }
+
+    /**
+     * Builds the index again from the database, reading the catalog in chunks.
+     * Changes committed meanwhile wait for the build and are applied on top of it.
+     */
+    @Override
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            activityIndex.clear();
+            destinationIndex.clear();
+            activities.clear();
+            destinationNames.clear();
+            activitiesByDestination.clear();
+
+            List<DestinationSummary> destinations;
+            long afterId = 0;
+            do {
+                destinations = destinationRepository.findSummariesAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+                for (DestinationSummary destination : destinations) {
+                    putDestination(destination.id(), destination.name());
+                    afterId = destination.id();
+                }
+            } while (destinations.size() == rebuildChunkSize);
+
+            List<ActivitySummary> chunk;
+            afterId = 0;
+            do {
+                chunk = activityRepository.findSummariesAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+                for (ActivitySummary activity : chunk) {
+                    putActivity(activity.id(), activity.name(), activity.description(), activity.destinationId());
+                    afterId = activity.id();
+                }
+            } while (chunk.size() == rebuildChunkSize);
+
+            log.info("Indexed {} activities and {} destinations for search in {} ms",
+                    activities.size(), destinationNames.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void offer(PriorityQueue<Candidate> top, int limit, long activityId, double driverScore, List<TokenMatch> matches) {
+        IndexedActivity activity = activities.get(activityId);
+        if (activity == null) {
+            return;
+        }
+        double score = driverScore;
+        for (TokenMatch match : matches) {
+            double tokenScore = match.score(activityId, activity.destinationId(), activityIndex, destinationIndex);
+            if (tokenScore == 0) {
+                return;
+            }
+            score += tokenScore;
+        }
+        if (top.size() < limit || top.peek().isBeatenBy(score, activityId)) {
+            top.add(new Candidate(activityId, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+    }
+
+    private void putActivity(Long activityId, String name, String description, Long destinationId) {
+        Map<String, Integer> weights = new HashMap<>();
+        InvertedIndex.addTerms(weights, name, NAME_WEIGHT);
+        InvertedIndex.addTerms(weights, description, DESCRIPTION_WEIGHT);
+        lock.writeLock().lock();
+        try {
+            unlink(activities.put(activityId, new IndexedActivity(name, destinationId)), activityId);
+            if (destinationId != null) {
+                activitiesByDestination.computeIfAbsent(destinationId, id -> new TreeSet<>()).add(activityId);
+            }
+            activityIndex.put(activityId, weights);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void deleteActivity(Long activityId) {
+        lock.writeLock().lock();
+        try {
+            unlink(activities.remove(activityId), activityId);
+            activityIndex.remove(activityId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putDestination(Long destinationId, String name) {
+        Map<String, Integer> weights = new HashMap<>();
+        InvertedIndex.addTerms(weights, name, DESTINATION_WEIGHT);
+        lock.writeLock().lock();
+        try {
+            destinationNames.put(destinationId, name);
+            destinationIndex.put(destinationId, weights);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void deleteDestination(Long destinationId) {
+        lock.writeLock().lock();
+        try {
+            destinationNames.remove(destinationId);
+            destinationIndex.remove(destinationId);
+            for (Long activityId : activitiesByDestination.getOrDefault(destinationId, Collections.emptyNavigableSet())) {
+                activities.remove(activityId);
+                activityIndex.remove(activityId);
+            }
+            activitiesByDestination.remove(destinationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(IndexedActivity previous, Long activityId) {
+        if (previous == null || previous.destinationId() == null) {
+            return;
+        }
+        NavigableSet<Long> activityIds = activitiesByDestination.get(previous.destinationId());
+        if (activityIds != null && activityIds.remove(activityId) && activityIds.isEmpty()) {
+            activitiesByDestination.remove(previous.destinationId());
+        }
+    }
+
+    /**
+     * What the index keeps of an activity to build a hit.
+     */
+    private record IndexedActivity(String name, Long destinationId) {
+    }
+
+    /**
+     * The terms of the activity and destination indexes matching one query token. The token scores a candidate from
+     * the candidate's own terms, or, when it has few enough candidates, from the scores of all of them computed upfront.
+     */
+    private static final class TokenMatch {
+        private final Map<String, InvertedIndex.Term> activityTerms;
+        private final Map<String, InvertedIndex.Term> destinationTerms;
+        private final long candidates;
+        private Map<Long, Double> scores;
+
+        private TokenMatch(Map<String, InvertedIndex.Term> activityTerms, Map<String, InvertedIndex.Term> destinationTerms,
+                           Map<Long, NavigableSet<Long>> activitiesByDestination) {
+            this.activityTerms = activityTerms;
+            this.destinationTerms = destinationTerms;
+            long count = 0;
+            for (InvertedIndex.Term term : activityTerms.values()) {
+                count += term.postings().size();
+            }
+            for (InvertedIndex.Term term : destinationTerms.values()) {
+                for (InvertedIndex.Posting destination : term.postings()) {
+                    count += activitiesByDestination.getOrDefault(destination.documentId(), Collections.emptyNavigableSet()).size();
+                }
+            }
+            this.candidates = count;
+        }
+
+        private double maxScore() {
+            double max = 0;
+            for (InvertedIndex.Term term : activityTerms.values()) {
+                max = Math.max(max, term.maxScore());
+            }
+            for (InvertedIndex.Term term : destinationTerms.values()) {
+                max = Math.max(max, term.maxScore());
+            }
+            return max;
+        }
+
+        private void scoreCandidates(Map<Long, NavigableSet<Long>> activitiesByDestination) {
+            scores = new HashMap<>();
+            for (InvertedIndex.Term term : activityTerms.values()) {
+                for (InvertedIndex.Posting posting : term.postings()) {
+                    scores.merge(posting.documentId(), term.score(posting.weight()), Math::max);
+                }
+            }
+            for (InvertedIndex.Term term : destinationTerms.values()) {
+                for (InvertedIndex.Posting destination : term.postings()) {
+                    double score = term.score(destination.weight());
+                    for (Long activityId : activitiesByDestination.getOrDefault(destination.documentId(), Collections.emptyNavigableSet())) {
+                        scores.merge(activityId, score, Math::max);
+                    }
+                }
+            }
+        }
+
+        private double score(long activityId, Long destinationId, InvertedIndex activityIndex, InvertedIndex destinationIndex) {
+            if (scores != null) {
+                return scores.getOrDefault(activityId, 0.0);
+            }
+            double score = activityTerms.isEmpty() ? 0 : activityIndex.score(activityId, activityTerms);
+            if (destinationId != null && !destinationTerms.isEmpty()) {
+                score = Math.max(score, destinationIndex.score(destinationId, destinationTerms));
+            }
+            return score;
+        }
+    }
+
+    /**
+     * An activity in the best hits found so far.
+     */
+    private record Candidate(long activityId, double score) {
+
+        private boolean isBeatenBy(double otherScore, long otherActivityId) {
+            return otherScore > score || otherScore == score && otherActivityId < activityId;
+        }
+    }
+
+    /**
+     * Reads the postings of one driving term, or the activities of one matching destination, best score first.
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+        private final Iterator<InvertedIndex.Posting> postings;
+        private final double factor;
+        private long activityId;
+        private double score;
+
+        private Cursor(Iterator<InvertedIndex.Posting> postings, double factor) {
+            this.postings = postings;
+            this.factor = factor;
+        }
+
+        private static void open(PriorityQueue<Cursor> cursors, Iterator<InvertedIndex.Posting> postings, double factor) {
+            Cursor cursor = new Cursor(postings, factor);
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+
+        private boolean advance() {
+            if (!postings.hasNext()) {
+                return false;
+            }
+            InvertedIndex.Posting posting = postings.next();
+            activityId = posting.documentId();
+            score = posting.weight() * factor;
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(activityId, other.activityId);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationLocation;
+import javaproject.travelmanager.DTO.NearbyDestination;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Service.ActivityCapacityService;
+import javaproject.travelmanager.Service.DestinationGeoService;
+import javaproject.travelmanager.Util.GeoGrid;
+import javaproject.travelmanager.Util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service class responsible for finding destinations by location.
+ * Located destinations are kept in a grid of latitude and longitude cells, so a query reads only the cells around
+ * its position and never scans the catalog. The activities of the destinations found are then read with one query.
+ * Changes are applied when their transaction commits, and the index is built from the database at startup.
+ */
+@Service
+public class DestinationGeoServiceImpl implements DestinationGeoService {
+
+    private static final Logger log = LoggerFactory.getLogger(DestinationGeoServiceImpl.class);
+
+    private final DestinationRepository destinationRepository;
+    private final ActivityRepository activityRepository;
+    private final ActivityCapacityService activityCapacityService;
+    private final int rebuildChunkSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final GeoGrid grid;
+    private final Map<Long, DestinationLocation> locations = new HashMap<>();
+
+    @Autowired
+    public DestinationGeoServiceImpl(DestinationRepository destinationRepository,
+                                     ActivityRepository activityRepository,
+                                     ActivityCapacityService activityCapacityService,
+                                     @Value("${travelmanager.geo.cell-degrees:0.5}") double cellDegrees,
+                                     @Value("${travelmanager.geo.rebuild-chunk-size:10000}") int rebuildChunkSize) {
+        this.destinationRepository = destinationRepository;
+        this.activityRepository = activityRepository;
+        this.activityCapacityService = activityCapacityService;
+        this.grid = new GeoGrid(cellDegrees);
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    /**
+     * Finds the destinations within a distance of a position, with their activities.
+     * @param latitude The latitude of the position in degrees.
+     * @param longitude The longitude of the position in degrees.
+     * @param radiusKm The distance in kilometres.
+     * @param limit The maximum number of destinations to return.
+     * @return The nearest destinations within the distance, nearest first.
+     */
+    @Override
+    public List<NearbyDestination> findWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        checkPosition(latitude, longitude);
+        if (!(radiusKm >= 0) || Double.isInfinite(radiusKm)) {
+            throw new IllegalArgumentException("Invalid Radius");
+        }
+        List<NearbyDestination> found;
+        lock.readLock().lock();
+        try {
+            found = located(grid.withinRadius(latitude, longitude, radiusKm, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return withActivities(found);
+    }
+
+    /**
+     * Finds the destinations nearest to a position, with their activities.
+     * @param latitude The latitude of the position in degrees.
+     * @param longitude The longitude of the position in degrees.
+     * @param count The number of destinations to return.
+     * @return The nearest destinations, nearest first.
+     */
+    @Override
+    public List<NearbyDestination> findNearest(double latitude, double longitude, int count) {
+        checkPosition(latitude, longitude);
+        List<NearbyDestination> found;
+        lock.readLock().lock();
+        try {
+            found = located(grid.nearest(latitude, longitude, count));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return withActivities(found);
+    }
+
+    /**
+     * Indexes the name and coordinates the destination has now, once the current transaction commits.
+     * @param destination The destination, with an ID.
+     */
+    @Override
+    public void indexDestination(Destination destination) {
+        Long destinationId = destination.getId();
+        if (destination.getLatitude() == null || destination.getLongitude() == null) {
+            removeDestination(destinationId);
+            return;
+        }
+        DestinationLocation location = new DestinationLocation(destinationId, destination.getName(),
+                destination.getLatitude(), destination.getLongitude());
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                put(location);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes a destination from the index once the current transaction commits.
+     * @param destinationId The ID of the destination.
+     */
+    @Override
+    public void removeDestination(Long destinationId) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                locations.remove(destinationId);
+                grid.remove(destinationId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Builds the index again from the database, reading the located destinations in chunks.
+     * Changes committed meanwhile wait for the build and are applied on top of it.
+     */
+    @Override
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            grid.clear();
+            locations.clear();
+            List<DestinationLocation> chunk;
+            long afterId = 0;
+            do {
+                chunk = destinationRepository.findLocationsAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+                for (DestinationLocation location : chunk) {
+                    put(location);
+                    afterId = location.id();
+                }
+            } while (chunk.size() == rebuildChunkSize);
+            log.info("Indexed {} destinations by location in {} ms", grid.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<NearbyDestination> located(List<GeoGrid.Hit> hits) {
+        List<NearbyDestination> found = new ArrayList<>(hits.size());
+        for (GeoGrid.Hit hit : hits) {
+            DestinationLocation location = locations.get(hit.id());
+            found.add(new NearbyDestination(location.id(), location.name(), location.latitude(), location.longitude(),
+                    Math.round(hit.distanceKm() * 1000) / 1000.0, new ArrayList<>()));
+        }
+        return found;
+    }
+
+    private List<NearbyDestination> withActivities(List<NearbyDestination> found) {
+        if (found.isEmpty()) {
+            return found;
+        }
+        Map<Long, List<ActivitySummary>> activities = new HashMap<>();
+        found.forEach(destination -> activities.put(destination.destinationId(), destination.activities()));
+        for (ActivitySummary activity : activityRepository.findSummariesByDestinationIdIn(activities.keySet())) {
+            activities.get(activity.destinationId())
+                    .add(activity.withCapacity(activityCapacityService.getAvailableSeats(activity.id(), activity.capacity())));
+        }
+        return found;
+    }
+
+    private void put(DestinationLocation location) {
+        locations.put(location.id(), location);
+        grid.put(location.id(), location.latitude(), location.longitude());
+    }
+
+    private static void checkPosition(double latitude, double longitude) {
+        if (!GeoGrid.isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("Invalid Coordinates");
+        }
+    }
+}
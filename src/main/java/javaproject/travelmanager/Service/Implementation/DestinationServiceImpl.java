@@ -1,14 +1,25 @@
 package javaproject.travelmanager.Service.Implementation;
 
 import javaproject.travelmanager.DTO.DestinationDTO;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.DTO.KeysetPage;
 import javaproject.travelmanager.Entity.Activity;
 import javaproject.travelmanager.Entity.Destination;
 import javaproject.travelmanager.Entity.TravelPackage;
 import javaproject.travelmanager.Repository.DestinationRepository;
 import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.ActivityRangeService;
 import javaproject.travelmanager.Service.ActivityService;
+import javaproject.travelmanager.Service.CatalogCacheService;
+import javaproject.travelmanager.Service.CatalogSearchService;
+import javaproject.travelmanager.Service.DestinationGeoService;
 import javaproject.travelmanager.Service.DestinationService;
+import javaproject.travelmanager.Service.TravelPackageAvailabilityService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
+import javaproject.travelmanager.Util.GeoGrid;
+import javaproject.travelmanager.Util.PageToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,15 +38,34 @@ public class DestinationServiceImpl implements DestinationService {
     private final DestinationRepository destinationRepository;
     private final ActivityService activityService;
     private final TravelPackageRepository travelPackageRepository;
+    private final CatalogCacheService catalogCacheService;
+    private final TravelPackageVersionService travelPackageVersionService;
+    private final TravelPackageAvailabilityService travelPackageAvailabilityService;
+    private final CatalogSearchService catalogSearchService;
 
+    private final ActivityRangeService activityRangeService;
+
+    private final DestinationGeoService destinationGeoService;
 
     @Autowired
     public DestinationServiceImpl(DestinationRepository destinationRepository,
                                   ActivityService activityService,
-                                  TravelPackageRepository travelPackageRepository) {
+                                  TravelPackageRepository travelPackageRepository,
+                                  CatalogCacheService catalogCacheService,
+                                  TravelPackageVersionService travelPackageVersionService,
+                                  TravelPackageAvailabilityService travelPackageAvailabilityService,
+                                  CatalogSearchService catalogSearchService,
+                                  ActivityRangeService activityRangeService,
+                                  DestinationGeoService destinationGeoService) {
         this.destinationRepository = destinationRepository;
         this.activityService = activityService;
         this.travelPackageRepository = travelPackageRepository;
+        this.catalogCacheService = catalogCacheService;
+        this.travelPackageVersionService = travelPackageVersionService;
+        this.travelPackageAvailabilityService = travelPackageAvailabilityService;
+        this.catalogSearchService = catalogSearchService;
+        this.activityRangeService = activityRangeService;
+        this.destinationGeoService = destinationGeoService;
     }
 
     /**
@@ -50,6 +80,7 @@ public class DestinationServiceImpl implements DestinationService {
         List<Long> activitiesIds = destinationDTO.getActivitiesIds();
         Destination destination = new Destination();
         destination.setName(name);
+        setLocation(destination, destinationDTO);
         if (travelPackageId != null) {
             TravelPackage travelPackage = travelPackageRepository.findById(travelPackageId).orElseThrow(() -> new IllegalArgumentException("Travel Package Not Found"));
             destination.setTravelPackage(travelPackage);
@@ -60,7 +91,12 @@ public class DestinationServiceImpl implements DestinationService {
                 destination.addActivity(activity);
             }
         }
-        return destinationRepository.save(destination);
+        touchTravelPackage(travelPackageId);
+        Destination savedDestination = destinationRepository.save(destination);
+        catalogSearchService.indexDestination(savedDestination);
+        activityRangeService.indexDestination(savedDestination);
+        destinationGeoService.indexDestination(savedDestination);
+        return savedDestination;
     }
 
     /**
@@ -78,6 +114,11 @@ public class DestinationServiceImpl implements DestinationService {
         Destination destination = destinationRepository.findById(destinationId).orElseThrow(() -> new IllegalArgumentException("Destination Not present"));
 
         destination.setName(name);
+        setLocation(destination, destinationDTO);
+        catalogCacheService.invalidateDestination(destinationId);
+        catalogSearchService.indexDestination(destination);
+        destinationGeoService.indexDestination(destination);
+        touchTravelPackage(destination);
 
         if (travelPackageId != null) {
             setTravelPackageToDestination(destinationId,travelPackageId);
@@ -129,6 +170,9 @@ public class DestinationServiceImpl implements DestinationService {
         }
 
         destination.setTravelPackage(travelPackage);
+        catalogCacheService.invalidateDestination(destinationId);
+        activityRangeService.indexDestination(destination);
+        touchTravelPackage(travelPackageId);
     }
 
     /**
@@ -141,6 +185,16 @@ public class DestinationServiceImpl implements DestinationService {
         return destinationRepository.findById(destinationId).orElseThrow(() -> new IllegalArgumentException("Destination Not present"));
     }
 
+    /**
+     * Retrieves the summary of the destination with the specified ID from the catalog cache.
+     * @param destinationId The ID of the destination to retrieve.
+     * @return The summary of the destination.
+     */
+    @Override
+    public DestinationSummary getDestinationSummary(Long destinationId) {
+        return catalogCacheService.getDestination(destinationId);
+    }
+
     /**
      * Retrieves all destinations.
      * @return A list of all destinations.
@@ -150,6 +204,18 @@ public class DestinationServiceImpl implements DestinationService {
         return destinationRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of the listing of all destinations in a single query.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of destinations on the page.
+     * @return The page of summaries and the token of the next page.
+     */
+    @Override
+    public KeysetPage<DestinationSummary> getDestinationSummaries(String pageToken, int pageSize) {
+        List<DestinationSummary> rows = destinationRepository.findSummariesAfter(PageToken.decode(pageToken), PageRequest.ofSize(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, DestinationSummary::id);
+    }
+
     /**
      * Retrieves all activities associated with the specified destination.
      * @param destinationId The ID of the destination.
@@ -210,7 +276,10 @@ public class DestinationServiceImpl implements DestinationService {
             throw new IllegalStateException("Destination does not have an associated travel package");
         }
 
+        touchTravelPackage(destination);
         destination.setTravelPackage(null);
+        catalogCacheService.invalidateDestination(destinationId);
+        activityRangeService.indexDestination(destination);
     }
 
     /**
@@ -219,6 +288,34 @@ public class DestinationServiceImpl implements DestinationService {
      */
     @Override
     public void deleteDestination(Long destinationId) {
+        destinationRepository.findById(destinationId).ifPresent(destination -> {
+            catalogCacheService.invalidateDestinationTree(destination);
+            touchTravelPackage(destination);
+        });
         destinationRepository.deleteById(destinationId);
+        catalogSearchService.removeDestination(destinationId);
+        activityRangeService.removeDestination(destinationId);
+        destinationGeoService.removeDestination(destinationId);
+    }
+
+    private static void setLocation(Destination destination, DestinationDTO destinationDTO) {
+        Double latitude = destinationDTO.getLatitude();
+        Double longitude = destinationDTO.getLongitude();
+        if ((latitude == null) != (longitude == null) || latitude != null && !GeoGrid.isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("Invalid Coordinates");
+        }
+        destination.setLatitude(latitude);
+        destination.setLongitude(longitude);
+    }
+
+    private void touchTravelPackage(Destination destination) {
+        if (destination.getTravelPackage() != null) {
+            touchTravelPackage(destination.getTravelPackage().getId());
+        }
+    }
+
+    private void touchTravelPackage(Long travelPackageId) {
+        travelPackageVersionService.touch(travelPackageId);
+        travelPackageAvailabilityService.invalidate(travelPackageId);
     }
 }
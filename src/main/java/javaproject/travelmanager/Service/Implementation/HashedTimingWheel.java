@@ -0,0 +1,185 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel holding deadlines for a large number of payloads.
+ * Scheduling and cancelling are O(1) and may be called from any thread; they only enqueue work.
+ * A single caller drives the wheel with {@link #advance(long)}, which drains the queues and walks
+ * the buckets of the ticks that have elapsed, so the cost of a tick depends on the deadlines that
+ * fall into it and not on the total number of pending deadlines.
+ * @param <T> The type of the payload handed back when a deadline passes.
+ */
+class HashedTimingWheel<T> {
+
+    private static final int PENDING = 0;
+    private static final int EXPIRED = 1;
+    private static final int CANCELLED = 2;
+
+    private final long tickMillis;
+    private final Bucket<T>[] wheel;
+    private final int mask;
+    private final Queue<Timeout<T>> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final long startMillis;
+    private long tick;
+
+    /**
+     * Constructs a timing wheel.
+     * @param tickMillis The length of one tick in milliseconds.
+     * @param ticksPerWheel The number of buckets, rounded up to a power of two.
+     * @param startMillis The moment the wheel starts turning.
+     */
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickMillis, int ticksPerWheel, long startMillis) {
+        if (tickMillis <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("Tick length and wheel size must be positive");
+        }
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.mask = size - 1;
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Schedules a payload to be handed back once the given moment has passed.
+     * @param payload The payload.
+     * @param deadlineMillis The deadline in epoch milliseconds.
+     * @return A handle that can be used to cancel the deadline.
+     */
+    Timeout<T> schedule(T payload, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(this, payload, deadlineMillis);
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Hands back every payload whose deadline has passed by the given moment.
+     * @param nowMillis The current time in epoch milliseconds.
+     * @return The payloads whose deadline has passed.
+     */
+    synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        removeCancelled();
+        transferPending();
+        while (tick <= targetTick) {
+            removeCancelled();
+            wheel[(int) (tick & mask)].expire(expired);
+            tick++;
+        }
+        return expired;
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pendingAdds.poll()) != null) {
+            if (timeout.state.get() != PENDING) {
+                continue;
+            }
+            long deadlineTick = Math.max((timeout.deadlineMillis - startMillis) / tickMillis, tick);
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            wheel[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Handle of a scheduled deadline.
+     * @param <T> The type of the payload.
+     */
+    static final class Timeout<T> {
+        private final HashedTimingWheel<T> owner;
+        private final T payload;
+        private final long deadlineMillis;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HashedTimingWheel<T> owner, T payload, long deadlineMillis) {
+            this.owner = owner;
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        /**
+         * Cancels the deadline unless it has already passed.
+         * @return true if the deadline was cancelled by this call.
+         */
+        boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            owner.pendingCancels.add(this);
+            return true;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        private void expire(List<T> expired) {
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.state.compareAndSet(PENDING, EXPIRED)) {
+                        expired.add(timeout.payload);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.DTO.ItineraryStop;
+import javaproject.travelmanager.DTO.OptimizedItinerary;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.ItineraryOptimizerService;
+import javaproject.travelmanager.Util.LruCache;
+import javaproject.travelmanager.Util.OpenRoute;
+import javaproject.travelmanager.Util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class responsible for ordering the destinations of a travel package to shorten the travel between them.
+ * A route is built with the nearest-neighbour heuristic and improved with 2-opt, both bounded by a compute deadline.
+ * Itineraries are cached by the travel package and its destinations, so any change to the destinations misses the
+ * cache. The last route of each travel package is kept as well: an added destination is inserted into it and a
+ * removed one dropped from it, and a changed travel package is ordered again starting from that route.
+ */
+@Service
+public class ItineraryOptimizerServiceImpl implements ItineraryOptimizerService {
+
+    private final TravelPackageRepository travelPackageRepository;
+    private final long deadlineNanos;
+    private final LruCache<Key, OptimizedItinerary> itineraries;
+    private final Map<Long, List<ItineraryStop>> routes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ItineraryOptimizerServiceImpl(TravelPackageRepository travelPackageRepository,
+                                         @Value("${travelmanager.itinerary.deadline-ms:50}") long deadlineMillis,
+                                         @Value("${travelmanager.itinerary.max-entries:1000}") int maxEntries,
+                                         @Value("${travelmanager.itinerary.ttl-seconds:300}") long ttlSeconds) {
+        this.travelPackageRepository = travelPackageRepository;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        this.itineraries = new LruCache<>(maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+    }
+
+    /**
+     * Retrieves the itinerary of a travel package.
+     * @param travelPackageId The ID of the travel package.
+     * @return The destinations of the travel package in travel order.
+     */
+    @Override
+    public OptimizedItinerary getItinerary(Long travelPackageId) {
+        List<Destination> destinations = travelPackageRepository.findWithDestinationsById(travelPackageId)
+                .orElseThrow(() -> new IllegalArgumentException("Travel Package Not Found"))
+                .getDestinations();
+        return optimize(travelPackageId, destinations);
+    }
+
+    /**
+     * Orders destinations of a travel package that are already loaded.
+     * @param travelPackageId The ID of the travel package.
+     * @param destinations The destinations of the travel package.
+     * @return The destinations in travel order.
+     */
+    @Override
+    public OptimizedItinerary optimize(Long travelPackageId, List<Destination> destinations) {
+        List<ItineraryStop> listed = destinations.stream().map(ItineraryOptimizerServiceImpl::stop).toList();
+        List<ItineraryStop> sorted = listed.stream().sorted(Comparator.comparing(ItineraryStop::destinationId)).toList();
+        return itineraries.get(new Key(travelPackageId, sorted), key -> plan(travelPackageId, listed));
+    }
+
+    /**
+     * Inserts a destination into the last route of its travel package, once the current transaction commits.
+     * Only the cheapest insertion is done here, under the lock of the route; 2-opt is left to the next planning.
+     * @param travelPackageId The ID of the travel package.
+     * @param destination The destination added to the travel package.
+     */
+    @Override
+    public void addDestination(Long travelPackageId, Destination destination) {
+        ItineraryStop added = stop(destination);
+        if (!added.located()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> routes.computeIfPresent(travelPackageId, (id, route) -> {
+            List<ItineraryStop> stops = new ArrayList<>(route.size() + 1);
+            route.stream().filter(stop -> !stop.destinationId().equals(added.destinationId())).forEach(stops::add);
+            stops.add(added);
+            OpenRoute extended = route(stops);
+            for (int point = 0; point < stops.size() - 1; point++) {
+                extended.append(point);
+            }
+            extended.insertCheapest(stops.size() - 1);
+            return inOrder(stops, extended.order());
+        }));
+    }
+
+    /**
+     * Removes a destination from the last route of its travel package, once the current transaction commits.
+     * @param travelPackageId The ID of the travel package.
+     * @param destinationId The ID of the destination removed from the travel package.
+     */
+    @Override
+    public void removeDestination(Long travelPackageId, Long destinationId) {
+        TransactionCallbacks.afterCommit(() -> routes.computeIfPresent(travelPackageId, (id, route) ->
+                route.stream().filter(stop -> !stop.destinationId().equals(destinationId)).toList()));
+    }
+
+    /**
+     * Forgets the last route of a travel package, once the current transaction commits.
+     * @param travelPackageId The ID of the deleted travel package.
+     */
+    @Override
+    public void removeTravelPackage(Long travelPackageId) {
+        TransactionCallbacks.afterCommit(() -> routes.remove(travelPackageId));
+    }
+
+    private OptimizedItinerary plan(Long travelPackageId, List<ItineraryStop> listed) {
+        long deadline = System.nanoTime() + deadlineNanos;
+        List<ItineraryStop> located = listed.stream().filter(ItineraryStop::located).toList();
+        Map<Long, Integer> points = new HashMap<>();
+        for (int point = 0; point < located.size(); point++) {
+            points.put(located.get(point).destinationId(), point);
+        }
+
+        OpenRoute route = route(located);
+        for (ItineraryStop stop : routes.getOrDefault(travelPackageId, List.of())) {
+            Integer point = points.get(stop.destinationId());
+            if (point != null && !route.visits(point)) {
+                route.append(point);
+            }
+        }
+        boolean built = true;
+        if (route.size() == 0) {
+            built = route.extendNearest(deadline);
+        } else {
+            for (int point = 0; point < located.size(); point++) {
+                if (!route.visits(point)) {
+                    route.insertCheapest(point);
+                }
+            }
+        }
+        boolean converged = built && route.improve(deadline);
+
+        int[] order = route.order();
+        List<ItineraryStop> ordered = inOrder(located, order);
+        routes.put(travelPackageId, ordered);
+
+        List<ItineraryStop> stops = new ArrayList<>(listed.size());
+        for (int i = 0; i < order.length; i++) {
+            ItineraryStop stop = ordered.get(i);
+            Double legKm = i == 0 ? null : round(route.distanceKm(order[i - 1], order[i]));
+            stops.add(new ItineraryStop(stop.destinationId(), stop.name(), stop.latitude(), stop.longitude(), legKm));
+        }
+        listed.stream().filter(stop -> !stop.located()).forEach(stops::add);
+
+        double listedKm = 0;
+        for (int point = 1; point < located.size(); point++) {
+            listedKm += route.distanceKm(point - 1, point);
+        }
+        return new OptimizedItinerary(travelPackageId, List.copyOf(stops), round(route.lengthKm()), round(listedKm), converged);
+    }
+
+    private static OpenRoute route(List<ItineraryStop> stops) {
+        double[] latitudes = new double[stops.size()];
+        double[] longitudes = new double[stops.size()];
+        for (int point = 0; point < stops.size(); point++) {
+            latitudes[point] = stops.get(point).latitude();
+            longitudes[point] = stops.get(point).longitude();
+        }
+        return new OpenRoute(latitudes, longitudes);
+    }
+
+    private static List<ItineraryStop> inOrder(List<ItineraryStop> stops, int[] order) {
+        List<ItineraryStop> ordered = new ArrayList<>(order.length);
+        for (int point : order) {
+            ordered.add(stops.get(point));
+        }
+        return List.copyOf(ordered);
+    }
+
+    private static ItineraryStop stop(Destination destination) {
+        return new ItineraryStop(destination.getId(), destination.getName(), destination.getLatitude(), destination.getLongitude(), null);
+    }
+
+    private static double round(double km) {
+        return Math.round(km * 1000) / 1000.0;
+    }
+
+    private record Key(Long travelPackageId, List<ItineraryStop> stops) {
+    }
+}
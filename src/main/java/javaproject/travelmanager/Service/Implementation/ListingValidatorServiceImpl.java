@@ -0,0 +1,57 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.Service.ListingValidatorService;
+import javaproject.travelmanager.Util.LruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class responsible for the validators of listing responses.
+ * The entity tag is a SHA-256 digest of the string form of the listing, which for the summary records
+ * covers every rendered field. The first time each tag is served is kept in a bounded cache; a tag that
+ * was evicted is dated again when it is next served, which only makes its date later than needed.
+ */
+@Service
+public class ListingValidatorServiceImpl implements ListingValidatorService {
+
+    private final LruCache<String, Long> firstServed;
+
+    @Autowired
+    public ListingValidatorServiceImpl(@Value("${travelmanager.listing.max-tags:10000}") int maxTags,
+                                       @Value("${travelmanager.listing.tag-ttl-seconds:3600}") long tagTtlSeconds) {
+        this.firstServed = new LruCache<>(maxTags, TimeUnit.SECONDS.toNanos(tagTtlSeconds), System::nanoTime);
+    }
+
+    /**
+     * Retrieves the entity tag of the content of a listing.
+     * @param content The content of the listing, whose string form covers everything it renders.
+     * @return The quoted strong entity tag.
+     */
+    @Override
+    public String getETag(Object content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(content).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Retrieves the time the content with the given entity tag was first served, which is no earlier than its last change.
+     * @param eTag The entity tag of the content.
+     * @return The time in milliseconds since the epoch, truncated to seconds.
+     */
+    @Override
+    public long getLastModified(String eTag) {
+        return firstServed.get(eTag, tag -> System.currentTimeMillis() / 1000 * 1000);
+    }
+}
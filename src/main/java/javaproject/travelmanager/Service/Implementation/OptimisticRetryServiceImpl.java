@@ -0,0 +1,91 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import javaproject.travelmanager.Service.OptimisticRetryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Service class responsible for re-executing service mutations that lost an optimistic-lock race.
+ * Each retry waits for a random delay below an exponentially growing, capped backoff, so uncontended
+ * calls pay nothing and contended ones spread out instead of colliding again.
+ * Attempts, conflicts, retries and exhausted operations are published as metrics tagged by operation.
+ */
+@Service
+public class OptimisticRetryServiceImpl implements OptimisticRetryService {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    @Autowired
+    public OptimisticRetryServiceImpl(MeterRegistry meterRegistry,
+                                      @Value("${travelmanager.retry.max-attempts:5}") int maxAttempts,
+                                      @Value("${travelmanager.retry.initial-backoff-ms:5}") long initialBackoffMillis,
+                                      @Value("${travelmanager.retry.max-backoff-ms:200}") long maxBackoffMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Executes the given action, retrying it with bounded backoff when it fails with an optimistic-lock conflict.
+     * @param operation The name of the operation, used to tag the retry metrics.
+     * @param action The action to execute.
+     * @param <T> The type of the result.
+     * @return The result of the action.
+     * @throws OptimisticLockingFailureException if every attempt conflicted.
+     */
+    @Override
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The conflict would only surface when the caller's transaction commits, so there is nothing to retry here.
+            return action.get();
+        }
+
+        Counter attempts = counter("travelmanager.optimistic.attempts", operation);
+        Counter conflicts = counter("travelmanager.optimistic.conflicts", operation);
+        Counter retries = counter("travelmanager.optimistic.retries", operation);
+
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    counter("travelmanager.optimistic.exhausted", operation).increment();
+                    throw e;
+                }
+                retries.increment();
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name).tag("operation", operation).register(meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import javaproject.travelmanager.DTO.ExportStats;
+import javaproject.travelmanager.DTO.PassengerEnrollmentRow;
+import javaproject.travelmanager.DTO.PassengerExportRecord;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import javaproject.travelmanager.Service.PassengerExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service class responsible for the NDJSON passenger export.
+ * Passengers are read as a stream of flat enrollment rows, one per passenger and activity, and consecutive
+ * rows of one passenger are merged into one line. Nothing but the current passenger is held in memory, and the
+ * persistence context is cleared every few rows so that it cannot grow with the export either.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PassengerExportServiceImpl implements PassengerExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PassengerExportServiceImpl.class);
+
+    private final PassengerRepository passengerRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int clearEvery;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Autowired
+    public PassengerExportServiceImpl(PassengerRepository passengerRepository,
+                                      EntityManager entityManager,
+                                      ObjectMapper objectMapper,
+                                      @Value("${travelmanager.export.clear-every:1000}") int clearEvery) {
+        this.passengerRepository = passengerRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.clearEvery = clearEvery;
+    }
+
+    /**
+     * Writes every passenger as one NDJSON line, ordered by ID.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @return The figures of the export.
+     * @throws IOException if writing fails.
+     */
+    @Override
+    public ExportStats exportPassengers(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long peakHeap = memory.getHeapMemoryUsage().getUsed();
+        long records = 0;
+        long rows = 0;
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (Stream<PassengerEnrollmentRow> stream = passengerRepository.streamEnrollments()) {
+            Iterator<PassengerEnrollmentRow> iterator = stream.iterator();
+            PassengerEnrollmentRow current = null;
+            List<Long> activityIds = new ArrayList<>();
+            while (iterator.hasNext()) {
+                PassengerEnrollmentRow row = iterator.next();
+                if (current != null && !current.passengerId().equals(row.passengerId())) {
+                    write(generator, current, activityIds);
+                    records++;
+                    activityIds = new ArrayList<>();
+                }
+                current = row;
+                if (row.activityId() != null) {
+                    activityIds.add(row.activityId());
+                }
+                if (++rows % clearEvery == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                    peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+                }
+            }
+            if (current != null) {
+                write(generator, current, activityIds);
+                records++;
+            }
+        } finally {
+            generator.close();
+        }
+        out.flush();
+
+        peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+        ExportStats stats = new ExportStats(records, rows, (System.nanoTime() - start) / 1_000_000, peakHeap);
+        log.info("Exported {} passengers ({} rows) in {} ms, {} passengers/s, peak heap {} MB",
+                stats.records(), stats.rows(), stats.elapsedMillis(), stats.recordsPerSecond(), stats.peakHeapBytes() >> 20);
+        return stats;
+    }
+
+    private static void write(JsonGenerator generator, PassengerEnrollmentRow row, List<Long> activityIds) throws IOException {
+        generator.writeObject(new PassengerExportRecord(row.passengerId(), row.name(), row.passengerNumber(),
+                row.passengerType(), row.balanceMinor(), row.travelPackageId(), activityIds));
+        generator.writeRaw('\n');
+    }
+}
@@ -1,16 +1,31 @@
 package javaproject.travelmanager.Service.Implementation;
 
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.PassengerSummary;
 import javaproject.travelmanager.DTO.PassengerDTO;
 import javaproject.travelmanager.Entity.*;
+import javaproject.travelmanager.Exception.ActivityNotFoundException;
+import javaproject.travelmanager.Exception.InsufficientBalanceException;
+import javaproject.travelmanager.Repository.ActivityRepository;
 import javaproject.travelmanager.Repository.PassengerRepository;
 import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.ActivityCapacityService;
+import javaproject.travelmanager.Service.BalanceLedgerService;
 import javaproject.travelmanager.Service.ActivityService;
 import javaproject.travelmanager.Service.PassengerService;
+import javaproject.travelmanager.Service.PricingService;
+import javaproject.travelmanager.Service.WaitlistService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
+import javaproject.travelmanager.Util.Money;
+import javaproject.travelmanager.Util.PageToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service class responsible for handling operations related to passengers.
@@ -29,13 +44,37 @@ public class PassengerServiceImpl implements PassengerService {
 
     private final ActivityService activityService;
 
+    private final ActivityRepository activityRepository;
+
+    private final ActivityCapacityService activityCapacityService;
+
+    private final WaitlistService waitlistService;
+
+    private final PricingService pricingService;
+
+    private final BalanceLedgerService balanceLedgerService;
+
+    private final TravelPackageVersionService travelPackageVersionService;
+
     @Autowired
     public PassengerServiceImpl(PassengerRepository passengerRepository,
                                 TravelPackageRepository travelPackageRepository,
-                                ActivityService activityService) {
+                                ActivityService activityService,
+                                ActivityRepository activityRepository,
+                                ActivityCapacityService activityCapacityService,
+                                WaitlistService waitlistService,
+                                PricingService pricingService,
+                                BalanceLedgerService balanceLedgerService,
+                                TravelPackageVersionService travelPackageVersionService) {
         this.passengerRepository = passengerRepository;
         this.travelPackageRepository = travelPackageRepository;
         this.activityService = activityService;
+        this.activityRepository = activityRepository;
+        this.activityCapacityService = activityCapacityService;
+        this.waitlistService = waitlistService;
+        this.pricingService = pricingService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.travelPackageVersionService = travelPackageVersionService;
     }
 
     /**
@@ -62,22 +101,17 @@ public class PassengerServiceImpl implements PassengerService {
             TravelPackage travelPackage = travelPackageRepository.findById(travelPackageId).orElseThrow(() -> new IllegalArgumentException("Travel Package Not Found"));
             passenger.setTravelPackage(travelPackage);
         }
+        Passenger savedPassenger = passengerRepository.save(passenger);
         if (activitiesIds != null && !activitiesIds.isEmpty()) {
             for(Long activityId: activitiesIds){
                 Activity activity = activityService.getActivity(activityId);
-                passenger.addActivity(activity);
-                switch (passengerType) {
-                    case STANDARD -> {
-                        passenger.setBalance(balance-activity.getCost());
-                    }
-                    case GOLD -> {
-                        passenger.setBalance(balance-(activity.getCost()*0.9));
-                    }
-                }
+                pricingService.charge(savedPassenger, activityId, pricingService.priceOf(activity, passengerType));
+                savedPassenger.addActivity(activity);
             }
         }
+        travelPackageVersionService.touch(travelPackageId);
 
-        return passengerRepository.save(passenger);
+        return savedPassenger;
     }
 
     /**
@@ -99,7 +133,7 @@ public class PassengerServiceImpl implements PassengerService {
         passenger.setName(name);
         passenger.setPassengerNumber(passengerNumber);
         passenger.setPassengerType(passengerType);
-        passenger.setBalance(balance);
+        balanceLedgerService.adjustTo(passenger, Money.toMinor(balance));
 
         if (travelPackageId != null) {
             setTravelPackageToPassenger(passengerId,travelPackageId);
@@ -109,50 +143,82 @@ public class PassengerServiceImpl implements PassengerService {
                 addActivityToPassenger(passengerId,activityId);
             }
         }
+        touchTravelPackage(passenger);
 
         return passengerRepository.save(passenger);
     }
 
     /**
      * Adds an activity to the specified passenger.
+     * The seat is taken with a single guarded update, so concurrent enrollments cannot oversell the
+     * activity, and the activity itself is only referenced, never loaded.
      * @param passengerId The ID of the passenger to which the activity will be added.
      * @param activityId The ID of the activity to add.
      */
     @Override
     public void addActivityToPassenger(Long passengerId, Long activityId) {
+        enroll(passengerId, activityId, true);
+    }
+
+    /**
+     * Adds an activity whose seat has already been reserved by a hold to the specified passenger.
+     * @param passengerId The ID of the passenger to which the activity will be added.
+     * @param activityId The ID of the activity to add.
+     */
+    @Override
+    public void addHeldActivityToPassenger(Long passengerId, Long activityId) {
+        enroll(passengerId, activityId, false);
+    }
+
+    private void enroll(Long passengerId, Long activityId, boolean reserveSeat) {
         Passenger passenger = passengerRepository.findById(passengerId)
                 .orElseThrow(() -> new IllegalArgumentException("Passenger Not Found"));
 
-        PassengerType passengerType = passenger.getPassengerType();
-        double balance = passenger.getBalance();
-        Activity activity = activityService.getActivity(activityId);
-        double cost = activity.getCost();
-        int capacity = activity.getCapacity();
+        pricingService.charge(passenger, activityId, pricingService.priceOf(activityId, passenger.getPassengerType()));
+        if (reserveSeat) {
+            activityCapacityService.reserveSeat(activityId);
+        }
+        passenger.addActivity(activityRepository.getReferenceById(activityId));
+        touchTravelPackage(passenger);
+    }
+
+    /**
+     * Adds several activities to the specified passenger in one all-or-nothing operation.
+     * The passenger is loaded once, all activities with a single query, the combined cost is checked
+     * against the balance up front and every seat is taken with one batched guarded update.
+     * @param passengerId The ID of the passenger to which the activities will be added.
+     * @param activityIds The IDs of the activities to add.
+     */
+    @Override
+    public void addActivitiesToPassenger(Long passengerId, List<Long> activityIds) {
+        Set<Long> uniqueActivityIds = new LinkedHashSet<>(activityIds);
+        if (uniqueActivityIds.size() != activityIds.size()) {
+            throw new IllegalArgumentException("Duplicate activity IDs");
+        }
+
+        Passenger passenger = passengerRepository.findById(passengerId)
+                .orElseThrow(() -> new IllegalArgumentException("Passenger Not Found"));
 
-        if (capacity <= 0) {
-            throw new IllegalStateException("Activity is at full capacity");
+        List<Activity> activities = activityRepository.findAllById(uniqueActivityIds);
+        if (activities.size() != uniqueActivityIds.size()) {
+            throw new ActivityNotFoundException("Activity Not present");
         }
 
-        switch (passengerType) {
-            case STANDARD:
-                if (balance < cost) {
-                    throw new IllegalStateException("Insufficient balance!");
-                }
-                break;
-            case GOLD:
-                if (balance < (cost * 0.9)) {
-                    throw new IllegalStateException("Insufficient balance!");
-                }
-                break;
-            default:
-                break;
+        long totalPrice = 0;
+        for (Activity activity : activities) {
+            totalPrice += pricingService.priceOf(activity, passenger.getPassengerType());
+        }
+        if (passenger.getBalanceMinor() < totalPrice) {
+            throw new InsufficientBalanceException("Insufficient balance!");
         }
 
-        if (passengerType != PassengerType.PREMIUM) {
-            passenger.setBalance(balance - (passengerType == PassengerType.GOLD ? cost * 0.9 : cost));
+        activityCapacityService.reserveSeats(uniqueActivityIds);
+
+        for (Activity activity : activities) {
+            pricingService.charge(passenger, activity.getId(), pricingService.priceOf(activity, passenger.getPassengerType()));
+            passenger.addActivity(activity);
         }
-        passenger.addActivity(activity);
-        activity.setCapacity(capacity - 1);
+        touchTravelPackage(passenger);
     }
 
     /**
@@ -173,6 +239,7 @@ public class PassengerServiceImpl implements PassengerService {
         }
 
         passenger.setTravelPackage(travelPackage);
+        travelPackageVersionService.touch(travelPackageId);
     }
 
     /**
@@ -194,6 +261,18 @@ public class PassengerServiceImpl implements PassengerService {
         return passengerRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of the listing of all passengers in a single query.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of passengers on the page.
+     * @return The page of summaries and the token of the next page.
+     */
+    @Override
+    public KeysetPage<PassengerSummary> getPassengerSummaries(String pageToken, int pageSize) {
+        List<PassengerSummary> rows = passengerRepository.findSummariesAfter(PageToken.decode(pageToken), PageRequest.ofSize(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, PassengerSummary::id);
+    }
+
     /**
      * Retrieves all activities associated with the specified passenger.
      * @param passengerId The ID of the passenger.
@@ -218,6 +297,7 @@ public class PassengerServiceImpl implements PassengerService {
 
     /**
      * Removes an activity from the specified passenger.
+     * The freed seat goes to the head of the activity's waitlist in the same transaction, if anyone is waiting.
      * @param passengerId The ID of the passenger from which the activity will be removed.
      * @param activityId The ID of the activity to remove.
      */
@@ -226,27 +306,17 @@ public class PassengerServiceImpl implements PassengerService {
         Passenger passenger = passengerRepository.findById(passengerId)
                 .orElseThrow(() -> new IllegalArgumentException("Passenger Not Found"));
 
-        PassengerType passengerType = passenger.getPassengerType();
-        Activity activity = activityService.getActivity(activityId);
-        double cost = activity.getCost();
-        int capacity = activity.getCapacity();
-
-        if (!passenger.getActivities().contains(activity)) {
-            throw new IllegalStateException("Passenger is not registered for this activity");
-        }
+        Activity activity = passenger.getActivities().stream()
+                .filter(registered -> activityId.equals(registered.getId()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Passenger is not registered for this activity"));
 
-        switch (passengerType) {
-            case STANDARD:
-                passenger.setBalance(passenger.getBalance() + cost);
-                break;
-            case GOLD:
-                passenger.setBalance(passenger.getBalance() + (cost * 0.9));
-                break;
-            default:
-                break;
-        }
+        pricingService.refund(passenger, activityId, pricingService.priceOf(activity, passenger.getPassengerType()));
         passenger.removeActivity(activity);
-        activity.setCapacity(capacity + 1);
+        if (waitlistService.promote(activityId, 1) == 0) {
+            activityCapacityService.releaseSeat(activityId);
+        }
+        touchTravelPackage(passenger);
     }
 
     /**
@@ -263,6 +333,7 @@ public class PassengerServiceImpl implements PassengerService {
             throw new IllegalStateException("Passenger does not have an associated travel package");
         }
 
+        touchTravelPackage(passenger);
         passenger.setTravelPackage(null);
     }
 
@@ -272,6 +343,44 @@ public class PassengerServiceImpl implements PassengerService {
      */
     @Override
     public void deletePassenger(Long passengerId) {
+        passengerRepository.findById(passengerId).ifPresent(this::touchTravelPackage);
         passengerRepository.deleteById(passengerId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Adds money to the balance of the specified passenger.
+     * @param passengerId The ID of the passenger.
+     * @param amount The amount to add, in major currency units.
+     * @return The passenger with the updated balance.
+     */
+    @Override
+    public Passenger topUpBalance(Long passengerId, double amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Top-up amount must be positive");
+        }
+        Passenger passenger = passengerRepository.findById(passengerId)
+                .orElseThrow(() -> new IllegalArgumentException("Passenger Not Found"));
+        balanceLedgerService.topUp(passenger, Money.toMinor(amount));
+        touchTravelPackage(passenger);
+        return passenger;
+    }
+
+    /**
+     * Retrieves the balance movements of the specified passenger.
+     * @param passengerId The ID of the passenger.
+     * @return The balance entries of the passenger, oldest first.
+     */
+    @Override
+    public List<BalanceEntry> getBalanceEntries(Long passengerId) {
+        if (!passengerRepository.existsById(passengerId)) {
+            throw new IllegalArgumentException("Passenger Not Found");
+        }
+        return balanceLedgerService.getEntries(passengerId);
+    }
+
+    private void touchTravelPackage(Passenger passenger) {
+        if (passenger.getTravelPackage() != null) {
+            travelPackageVersionService.touch(passenger.getTravelPackage().getId());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Exception.ActivityNotFoundException;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Service.BalanceLedgerService;
+import javaproject.travelmanager.Service.PricingService;
+import javaproject.travelmanager.Util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service class responsible for activity prices and for every change to a passenger's balance.
+ * Money is kept in long minor units, so balances never accumulate floating-point error. The prices
+ * of an activity for every passenger type are computed once from its cost and kept in a table, which
+ * makes a price lookup an index into an array until the activity is updated.
+ */
+@Service
+public class PricingServiceImpl implements PricingService {
+
+    private static final PassengerType[] PASSENGER_TYPES = PassengerType.values();
+
+    private final ActivityRepository activityRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final int goldDiscountPercent;
+    private final ConcurrentMap<Long, long[]> prices = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PricingServiceImpl(ActivityRepository activityRepository,
+                              BalanceLedgerService balanceLedgerService,
+                              @Value("${travelmanager.pricing.gold-discount-percent:10}") int goldDiscountPercent) {
+        if (goldDiscountPercent < 0 || goldDiscountPercent > 100) {
+            throw new IllegalArgumentException("Gold discount must be between 0 and 100 percent");
+        }
+        this.activityRepository = activityRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.goldDiscountPercent = goldDiscountPercent;
+    }
+
+    /**
+     * Retrieves the price a passenger of the given type pays for an activity.
+     * @param activityId The ID of the activity.
+     * @param passengerType The type of the passenger.
+     * @return The price in minor units.
+     */
+    @Override
+    public long priceOf(Long activityId, PassengerType passengerType) {
+        long[] row = prices.get(activityId);
+        if (row == null) {
+            long cost = activityRepository.findCostMinorById(activityId)
+                    .orElseThrow(() -> new ActivityNotFoundException("Activity Not present"));
+            row = cache(activityId, cost);
+        }
+        return row[passengerType.ordinal()];
+    }
+
+    /**
+     * Retrieves the price a passenger of the given type pays for an already loaded activity.
+     * @param activity The activity.
+     * @param passengerType The type of the passenger.
+     * @return The price in minor units.
+     */
+    @Override
+    public long priceOf(Activity activity, PassengerType passengerType) {
+        if (activity.getId() == null) {
+            return row(activity.getCostMinor())[passengerType.ordinal()];
+        }
+        long[] row = prices.get(activity.getId());
+        if (row == null) {
+            row = cache(activity.getId(), activity.getCostMinor());
+        }
+        return row[passengerType.ordinal()];
+    }
+
+    /**
+     * Debits the price of an activity from the balance of a passenger, as an entry of the balance ledger.
+     * @param passenger The passenger.
+     * @param activityId The ID of the activity paid for.
+     * @param amount The amount in minor units.
+     */
+    @Override
+    public void charge(Passenger passenger, Long activityId, long amount) {
+        balanceLedgerService.debit(passenger, activityId, amount);
+    }
+
+    /**
+     * Credits the price of an activity back to the balance of a passenger, as an entry of the balance ledger.
+     * @param passenger The passenger.
+     * @param activityId The ID of the activity refunded.
+     * @param amount The amount in minor units.
+     */
+    @Override
+    public void refund(Passenger passenger, Long activityId, long amount) {
+        balanceLedgerService.refund(passenger, activityId, amount);
+    }
+
+    /**
+     * Drops the prices of an activity now and again once the current transaction completes, so that
+     * prices cached from the uncommitted cost in the meantime do not outlive the transaction.
+     * @param activityId The ID of the activity.
+     */
+    @Override
+    public void invalidate(Long activityId) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> prices.remove(activityId));
+    }
+
+    private long[] cache(Long activityId, long cost) {
+        long[] computed = row(cost);
+        long[] existing = prices.putIfAbsent(activityId, computed);
+        return existing != null ? existing : computed;
+    }
+
+    private long[] row(long cost) {
+        long[] row = new long[PASSENGER_TYPES.length];
+        for (PassengerType passengerType : PASSENGER_TYPES) {
+            row[passengerType.ordinal()] = switch (passengerType) {
+                case STANDARD -> cost;
+                case GOLD -> (cost * (100 - goldDiscountPercent) + 50) / 100;
+                case PREMIUM -> 0;
+            };
+        }
+        return row;
+    }
+}
@@ -0,0 +1,140 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.Entity.HoldStatus;
+import javaproject.travelmanager.Event.SeatHoldClosedEvent;
+import javaproject.travelmanager.Event.SeatHoldOpenedEvent;
+import javaproject.travelmanager.Repository.SeatHoldRepository;
+import javaproject.travelmanager.Service.SeatHoldService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Background job that expires seat holds once their time is up.
+ * Every active hold has a deadline in a {@link HashedTimingWheel}; deadlines are added and cancelled
+ * after the transaction that opened or closed the hold commits, and each tick only looks at the holds
+ * due in that tick. Active holds are read back from the database at startup, so holds outlive a restart.
+ * A batch that fails to expire is split in halves until the holds that fail are isolated, so one bad hold
+ * does not hold back the others; each of those is scheduled again after a short delay, up to a maximum
+ * number of attempts, after which it is logged and left for the next startup to pick up.
+ */
+@Component
+public class SeatHoldExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldExpiryScheduler.class);
+
+    private final SeatHoldService seatHoldService;
+    private final SeatHoldRepository seatHoldRepository;
+    private final HashedTimingWheel<Long> wheel;
+    private final ConcurrentMap<Long, HashedTimingWheel.Timeout<Long>> timeouts = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final long retryDelayMillis;
+    private final int maxAttempts;
+    private final ConcurrentMap<Long, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SeatHoldExpiryScheduler(SeatHoldService seatHoldService,
+                                   SeatHoldRepository seatHoldRepository,
+                                   @Value("${travelmanager.holds.tick-ms:100}") long tickMillis,
+                                   @Value("${travelmanager.holds.wheel-size:4096}") int wheelSize,
+                                   @Value("${travelmanager.holds.expiry-batch-size:500}") int batchSize,
+                                   @Value("${travelmanager.holds.expiry-retry-ms:1000}") long retryDelayMillis,
+                                   @Value("${travelmanager.holds.expiry-max-attempts:5}") int maxAttempts) {
+        this.seatHoldService = seatHoldService;
+        this.seatHoldRepository = seatHoldRepository;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.batchSize = batchSize;
+        this.retryDelayMillis = retryDelayMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Schedules the expiry of every hold that was still active when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverActiveHolds() {
+        for (SeatHoldRepository.HoldExpiry hold : seatHoldRepository.findExpiriesByStatus(HoldStatus.ACTIVE)) {
+            schedule(hold.getId(), hold.getExpiresAt().toEpochMilli());
+        }
+    }
+
+    /**
+     * Schedules the expiry of a newly created hold.
+     * @param event The event describing the hold.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHoldOpened(SeatHoldOpenedEvent event) {
+        schedule(event.holdId(), event.expiresAt().toEpochMilli());
+    }
+
+    /**
+     * Cancels the expiry of a hold that was confirmed or released.
+     * @param event The event describing the hold.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHoldClosed(SeatHoldClosedEvent event) {
+        HashedTimingWheel.Timeout<Long> timeout = timeouts.remove(event.holdId());
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        failedAttempts.remove(event.holdId());
+    }
+
+    /**
+     * Expires the holds whose deadline has passed, in batches of the configured size.
+     * A failed batch is split until the failing holds are isolated, and those are retried after the configured delay.
+     */
+    @Scheduled(fixedDelayString = "${travelmanager.holds.tick-ms:100}")
+    public void expireDueHolds() {
+        long now = System.currentTimeMillis();
+        List<Long> due = wheel.advance(now);
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            batch.forEach(timeouts::remove);
+            expire(batch, now);
+        }
+    }
+
+    private void expire(List<Long> holdIds, long now) {
+        try {
+            seatHoldService.expireHolds(holdIds);
+            holdIds.forEach(failedAttempts::remove);
+        } catch (RuntimeException e) {
+            if (holdIds.size() > 1) {
+                int middle = holdIds.size() / 2;
+                expire(holdIds.subList(0, middle), now);
+                expire(holdIds.subList(middle, holdIds.size()), now);
+                return;
+            }
+            retryLater(holdIds.get(0), now, e);
+        }
+    }
+
+    private void retryLater(Long holdId, long now, RuntimeException failure) {
+        int attempts = failedAttempts.merge(holdId, 1, Integer::sum);
+        if (attempts >= maxAttempts) {
+            failedAttempts.remove(holdId);
+            log.error("Giving up on expiring seat hold {} after {} attempts; it stays active until the next startup",
+                    holdId, attempts, failure);
+            return;
+        }
+        log.warn("Failed to expire seat hold {}, retrying in {} ms (attempt {} of {})",
+                holdId, retryDelayMillis, attempts, maxAttempts, failure);
+        schedule(holdId, now + retryDelayMillis);
+    }
+
+    private void schedule(Long holdId, long deadlineMillis) {
+        timeouts.computeIfAbsent(holdId, id -> wheel.schedule(id, deadlineMillis));
+    }
+}
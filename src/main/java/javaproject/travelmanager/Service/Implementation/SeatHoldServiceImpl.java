@@ -0,0 +1,199 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.Entity.HoldStatus;
+import javaproject.travelmanager.Entity.HoldType;
+import javaproject.travelmanager.Entity.SeatHold;
+import javaproject.travelmanager.Event.SeatHoldClosedEvent;
+import javaproject.travelmanager.Event.SeatHoldOpenedEvent;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import javaproject.travelmanager.Repository.SeatHoldRepository;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.ActivityCapacityService;
+import javaproject.travelmanager.Service.PassengerService;
+import javaproject.travelmanager.Service.SeatHoldService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
+import javaproject.travelmanager.Service.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Service class responsible for time-limited holds on activity seats and travel package slots.
+ * The seat is taken with the same guarded update as a direct enrollment when the hold is created.
+ * Confirmation, release and expiry each move the hold out of ACTIVE with a guarded status update,
+ * so a seat is given back or turned into an enrollment exactly once. Expiry itself is driven by
+ * {@link SeatHoldExpiryScheduler}, which is told about opened and closed holds through events.
+ */
+@Service
+@Transactional
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final PassengerRepository passengerRepository;
+    private final TravelPackageRepository travelPackageRepository;
+    private final ActivityCapacityService activityCapacityService;
+    private final PassengerService passengerService;
+    private final WaitlistService waitlistService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TravelPackageVersionService travelPackageVersionService;
+    private final Duration maxTtl;
+
+    @Autowired
+    public SeatHoldServiceImpl(SeatHoldRepository seatHoldRepository,
+                               PassengerRepository passengerRepository,
+                               TravelPackageRepository travelPackageRepository,
+                               ActivityCapacityService activityCapacityService,
+                               PassengerService passengerService,
+                               WaitlistService waitlistService,
+                               ApplicationEventPublisher eventPublisher,
+                               TravelPackageVersionService travelPackageVersionService,
+                               @Value("${travelmanager.holds.max-ttl-seconds:900}") long maxTtlSeconds) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.passengerRepository = passengerRepository;
+        this.travelPackageRepository = travelPackageRepository;
+        this.activityCapacityService = activityCapacityService;
+        this.passengerService = passengerService;
+        this.waitlistService = waitlistService;
+        this.eventPublisher = eventPublisher;
+        this.travelPackageVersionService = travelPackageVersionService;
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+    }
+
+    /**
+     * Holds one seat of an activity for a passenger.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity.
+     * @param ttl How long the seat is held; capped at the configured maximum.
+     * @return The created hold.
+     */
+    @Override
+    public SeatHold holdActivitySeat(Long passengerId, Long activityId, Duration ttl) {
+        requirePassenger(passengerId);
+        activityCapacityService.reserveSeat(activityId);
+        return open(HoldType.ACTIVITY, activityId, passengerId, ttl);
+    }
+
+    /**
+     * Holds one passenger slot of a travel package for a passenger.
+     * @param passengerId The ID of the passenger.
+     * @param travelPackageId The ID of the travel package.
+     * @param ttl How long the slot is held; capped at the configured maximum.
+     * @return The created hold.
+     */
+    @Override
+    public SeatHold holdTravelPackageSlot(Long passengerId, Long travelPackageId, Duration ttl) {
+        requirePassenger(passengerId);
+        if (travelPackageRepository.decrementPassengerCapacity(travelPackageId) == 0) {
+            throw new IllegalStateException("Travel package is at full capacity");
+        }
+        travelPackageVersionService.touch(travelPackageId);
+        return open(HoldType.TRAVEL_PACKAGE, travelPackageId, passengerId, ttl);
+    }
+
+    /**
+     * Turns an active hold into an enrollment of the passenger.
+     * The balance of the passenger is checked now; if it does not cover the activity the hold stays active.
+     * @param holdId The ID of the hold.
+     * @return The confirmed hold.
+     * @throws IllegalStateException if the hold has expired or is no longer active.
+     */
+    @Override
+    public SeatHold confirmHold(Long holdId) {
+        SeatHold hold = getHold(holdId);
+        if (hold.getExpiresAt().isBefore(Instant.now())) {
+            throw new IllegalStateException("Hold has expired");
+        }
+        close(hold, HoldStatus.CONFIRMED);
+
+        switch (hold.getHoldType()) {
+            case ACTIVITY -> passengerService.addHeldActivityToPassenger(hold.getPassengerId(), hold.getTargetId());
+            case TRAVEL_PACKAGE -> passengerService.setTravelPackageToPassenger(hold.getPassengerId(), hold.getTargetId());
+        }
+        return hold;
+    }
+
+    /**
+     * Gives the seat of an active hold back before it expires.
+     * @param holdId The ID of the hold.
+     * @return The released hold.
+     * @throws IllegalStateException if the hold is no longer active.
+     */
+    @Override
+    public SeatHold releaseHold(Long holdId) {
+        SeatHold hold = getHold(holdId);
+        close(hold, HoldStatus.RELEASED);
+        releaseSeat(hold);
+        return hold;
+    }
+
+    /**
+     * Expires the given holds, giving back the seat of each one that is still active.
+     * Holds that were confirmed or released in the meantime are left untouched.
+     * @param holdIds The IDs of the holds.
+     */
+    @Override
+    public void expireHolds(Collection<Long> holdIds) {
+        for (SeatHold hold : seatHoldRepository.findAllById(holdIds)) {
+            if (hold.getStatus() == HoldStatus.ACTIVE
+                    && seatHoldRepository.transition(hold.getId(), HoldStatus.ACTIVE, HoldStatus.EXPIRED) == 1) {
+                hold.setStatus(HoldStatus.EXPIRED);
+                releaseSeat(hold);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the hold with the specified ID.
+     * @param holdId The ID of the hold.
+     * @return The hold with the specified ID.
+     */
+    @Override
+    public SeatHold getHold(Long holdId) {
+        return seatHoldRepository.findById(holdId).orElseThrow(() -> new IllegalArgumentException("Hold Not Found"));
+    }
+
+    private void requirePassenger(Long passengerId) {
+        if (!passengerRepository.existsById(passengerId)) {
+            throw new IllegalArgumentException("Passenger Not Found");
+        }
+    }
+
+    private SeatHold open(HoldType holdType, Long targetId, Long passengerId, Duration ttl) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Hold duration must be positive");
+        }
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl);
+        SeatHold hold = seatHoldRepository.save(new SeatHold(holdType, targetId, passengerId, now, expiresAt));
+        eventPublisher.publishEvent(new SeatHoldOpenedEvent(hold.getId(), expiresAt));
+        return hold;
+    }
+
+    private void close(SeatHold hold, HoldStatus status) {
+        if (seatHoldRepository.transition(hold.getId(), HoldStatus.ACTIVE, status) == 0) {
+            throw new IllegalStateException("Hold is no longer active");
+        }
+        hold.setStatus(status);
+        eventPublisher.publishEvent(new SeatHoldClosedEvent(hold.getId()));
+    }
+
+    private void releaseSeat(SeatHold hold) {
+        switch (hold.getHoldType()) {
+            case ACTIVITY -> {
+                if (waitlistService.promote(hold.getTargetId(), 1) == 0) {
+                    activityCapacityService.releaseSeat(hold.getTargetId());
+                }
+            }
+            case TRAVEL_PACKAGE -> {
+                travelPackageRepository.incrementPassengerCapacity(hold.getTargetId());
+                travelPackageVersionService.touch(hold.getTargetId());
+            }
+        }
+    }
+}
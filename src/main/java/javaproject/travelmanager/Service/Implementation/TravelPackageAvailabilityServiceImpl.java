@@ -0,0 +1,197 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.DTO.ActivityAvailability;
+import javaproject.travelmanager.DTO.TravelPackageAvailability;
+import javaproject.travelmanager.Event.ActivitySeatsChangedEvent;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.ActivityCapacityService;
+import javaproject.travelmanager.Service.TravelPackageAvailabilityService;
+import javaproject.travelmanager.Util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Service class responsible for the free spaces of travel packages.
+ * The availability of a travel package is built on its first read with one query for its activities, seeded
+ * from the in-memory seat counters, and then kept up to date one activity at a time as those counters change.
+ * It holds the running total and the set of activities with room, so a read costs O(1) for the total and
+ * O(k) for the k open activities. Changes to the name, destinations or activities of a travel package drop
+ * its availability, which is built again on the next read.
+ */
+@Service
+public class TravelPackageAvailabilityServiceImpl implements TravelPackageAvailabilityService {
+
+    private final TravelPackageRepository travelPackageRepository;
+    private final ActivityRepository activityRepository;
+    private final ActivityCapacityService activityCapacityService;
+    private final ConcurrentMap<Long, PackageAvailability> packages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> activityPackages = new ConcurrentHashMap<>();
+    private final Object structureLock = new Object();
+    private long invalidations;
+
+    @Autowired
+    public TravelPackageAvailabilityServiceImpl(TravelPackageRepository travelPackageRepository,
+                                                ActivityRepository activityRepository,
+                                                ActivityCapacityService activityCapacityService) {
+        this.travelPackageRepository = travelPackageRepository;
+        this.activityRepository = activityRepository;
+        this.activityCapacityService = activityCapacityService;
+    }
+
+    /**
+     * Retrieves the free spaces of a travel package.
+     * @param travelPackageId The ID of the travel package.
+     * @return The total number of free spaces and the activities that still have room.
+     * @throws IllegalArgumentException if no travel package is found with the provided ID.
+     */
+    @Override
+    public TravelPackageAvailability getAvailability(Long travelPackageId) {
+        PackageAvailability availability = packages.get(travelPackageId);
+        if (availability == null) {
+            availability = build(travelPackageId);
+        }
+        return availability.snapshot();
+    }
+
+    /**
+     * Drops the availability of a travel package now and again once the current transaction completes,
+     * so that an availability built from the uncommitted state in the meantime does not outlive the transaction.
+     * @param travelPackageId The ID of the travel package, or null for none.
+     */
+    @Override
+    public void invalidate(Long travelPackageId) {
+        if (travelPackageId == null) {
+            return;
+        }
+        TransactionCallbacks.nowAndAfterCompletion(() -> drop(travelPackageId));
+    }
+
+    /**
+     * Brings the free spaces of an activity up to date with its seat counter.
+     * The counter is read under the lock of the availability, so the last update always sees the latest count.
+     * @param event The event naming the activity.
+     */
+    @EventListener
+    public void onSeatsChanged(ActivitySeatsChangedEvent event) {
+        Long travelPackageId = activityPackages.get(event.activityId());
+        PackageAvailability availability = travelPackageId != null ? packages.get(travelPackageId) : null;
+        if (availability != null) {
+            availability.refresh(event.activityId(), this::availableSeats);
+        }
+    }
+
+    private PackageAvailability build(Long travelPackageId) {
+        long stamp;
+        synchronized (structureLock) {
+            stamp = invalidations;
+        }
+        String name = travelPackageRepository.findNameById(travelPackageId)
+                .orElseThrow(() -> new IllegalArgumentException("Travel Package Not Found"));
+        List<ActivityAvailability> activities = activityRepository.findAvailabilitiesByTravelPackageId(travelPackageId);
+        PackageAvailability built = new PackageAvailability(travelPackageId, name, activities);
+
+        // Seat changes of these activities block on the availability until it is seeded, then refresh it.
+        synchronized (built) {
+            PackageAvailability existing = null;
+            synchronized (structureLock) {
+                if (stamp == invalidations) {
+                    existing = packages.putIfAbsent(travelPackageId, built);
+                    if (existing == null) {
+                        activities.forEach(activity -> activityPackages.put(activity.activityId(), travelPackageId));
+                    }
+                }
+            }
+            if (existing != null) {
+                return existing;
+            }
+            for (ActivityAvailability activity : activities) {
+                built.refresh(activity.activityId(), id -> availableSeats(id, activity.availableSpaces()));
+            }
+        }
+        return built;
+    }
+
+    private void drop(Long travelPackageId) {
+        synchronized (structureLock) {
+            invalidations++;
+            PackageAvailability availability = packages.remove(travelPackageId);
+            if (availability != null) {
+                availability.activityIds().forEach(activityId -> activityPackages.remove(activityId, travelPackageId));
+            }
+        }
+    }
+
+    private int availableSeats(Long activityId) {
+        try {
+            return activityCapacityService.getAvailableSeats(activityId);
+        } catch (IllegalArgumentException e) {
+            // The activity is gone; its travel package is dropped once the deletion commits.
+            return 0;
+        }
+    }
+
+    private int availableSeats(Long activityId, int capacity) {
+        return activityCapacityService.getAvailableSeats(activityId, capacity);
+    }
+
+    /**
+     * Free spaces of one travel package, positions following the itinerary order.
+     */
+    private static final class PackageAvailability {
+        private final Long travelPackageId;
+        private final String name;
+        private final ActivityAvailability[] activities;
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private final NavigableSet<Integer> open = new TreeSet<>();
+        private int total;
+
+        private PackageAvailability(Long travelPackageId, String name, List<ActivityAvailability> activities) {
+            this.travelPackageId = travelPackageId;
+            this.name = name;
+            this.activities = new ActivityAvailability[activities.size()];
+            for (int position = 0; position < activities.size(); position++) {
+                this.activities[position] = activities.get(position).withAvailableSpaces(0);
+                positions.put(activities.get(position).activityId(), position);
+            }
+        }
+
+        private synchronized void refresh(Long activityId, ToIntFunction<Long> seatsOf) {
+            Integer position = positions.get(activityId);
+            if (position == null) {
+                return;
+            }
+            int seats = Math.max(seatsOf.applyAsInt(activityId), 0);
+            total += seats - activities[position].availableSpaces();
+            activities[position] = activities[position].withAvailableSpaces(seats);
+            if (seats > 0) {
+                open.add(position);
+            } else {
+                open.remove(position);
+            }
+        }
+
+        private synchronized TravelPackageAvailability snapshot() {
+            List<ActivityAvailability> openActivities = new ArrayList<>(open.size());
+            for (int position : open) {
+                openActivities.add(activities[position]);
+            }
+            return new TravelPackageAvailability(travelPackageId, name, total, openActivities);
+        }
+
+        private Iterable<Long> activityIds() {
+            return positions.keySet();
+        }
+    }
+}
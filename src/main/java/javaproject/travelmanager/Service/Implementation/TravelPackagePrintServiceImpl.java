@@ -1,136 +1,247 @@
 package javaproject.travelmanager.Service.Implementation;
 
+import javaproject.travelmanager.DTO.ActivityAvailability;
+import javaproject.travelmanager.DTO.ReportFormat;
+import javaproject.travelmanager.DTO.TravelPackageAvailability;
+import javaproject.travelmanager.DTO.TravelPackageView;
 import javaproject.travelmanager.Entity.*;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
 import javaproject.travelmanager.Service.*;
+import javaproject.travelmanager.Util.ReportWriter;
+import javaproject.travelmanager.Util.ReportWriter.Column;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service class responsible for printing details related to travel packages.
  * This service provides methods to print itinerary, passenger list, passenger details, and available activities.
+ * Reports are streamed through a report writer, so the same report serves text, JSON and CSV.
+ * Each report loads the object graph it walks with fetch-join queries, so it issues a fixed number of
+ * queries however many destinations, passengers and activities the travel package has; available
+ * activities are read from the incrementally maintained availability of the travel package instead.
+ * The itinerary lists the destinations in the order the itinerary optimiser puts them.
  */
 @Service
+@Transactional(readOnly = true)
 public class TravelPackagePrintServiceImpl implements TravelPackagePrintService {
-    private final TravelPackageService travelPackageService;
 
-    public TravelPackagePrintServiceImpl(TravelPackageService travelPackageService) {
-        this.travelPackageService = travelPackageService;
+    private static final Column TRAVEL_PACKAGE = new Column("travelPackage", "Travel Package");
+    private static final Column PASSENGER_CAPACITY = new Column("passengerCapacity", "Passenger Capacity");
+    private static final Column PASSENGERS_ENROLLED = new Column("passengersEnrolled", "Number of Passengers Enrolled");
+    private static final Column TOTAL_AVAILABLE_SPACES = new Column("totalAvailableSpaces", "Total Available Spaces in the Travel Package");
+    private static final Column DESTINATIONS = new Column("destinations", "Destinations");
+    private static final Column PASSENGER_LIST = new Column("passengers", "Passenger List");
+    private static final Column PASSENGERS = new Column("passengers", "Passengers");
+    private static final Column AVAILABLE_ACTIVITIES = new Column("activities", "Available Activities");
+    private static final Column DESTINATION = new Column("destination", "Destination");
+    private static final Column ACTIVITY_NAME = new Column("activityName", "Activity Name");
+    private static final Column DESCRIPTION = new Column("description", "Description");
+    private static final Column COST = new Column("cost", "Cost");
+    private static final Column CAPACITY = new Column("capacity", "Capacity");
+    private static final Column NAME = new Column("name", "Name");
+    private static final Column PASSENGER_NAME = new Column("passengerName", "Passenger Name");
+    private static final Column PASSENGER_NUMBER = new Column("passengerNumber", "Passenger Number");
+    private static final Column PASSENGER_TYPE = new Column("passengerType", "Passenger Type");
+    private static final Column BALANCE = new Column("balance", "Balance");
+    private static final Column PRICE_PAID = new Column("pricePaid", "Price Paid");
+    private static final Column AVAILABLE_SPACES = new Column("availableSpaces", "Available Spaces");
+
+    private final TravelPackageRepository travelPackageRepository;
+    private final ActivityCapacityService activityCapacityService;
+    private final PricingService pricingService;
+    private final TravelPackageAvailabilityService travelPackageAvailabilityService;
+    private final ItineraryOptimizerService itineraryOptimizerService;
+
+    public TravelPackagePrintServiceImpl(TravelPackageRepository travelPackageRepository,
+                                         ActivityCapacityService activityCapacityService,
+                                         PricingService pricingService,
+                                         TravelPackageAvailabilityService travelPackageAvailabilityService,
+                                         ItineraryOptimizerService itineraryOptimizerService) {
+        this.travelPackageRepository = travelPackageRepository;
+        this.activityCapacityService = activityCapacityService;
+        this.pricingService = pricingService;
+        this.travelPackageAvailabilityService = travelPackageAvailabilityService;
+        this.itineraryOptimizerService = itineraryOptimizerService;
+    }
+
+    /**
+     * Prints a report of the travel package to a stream.
+     * @param travelPackageId The ID of the travel package.
+     * @param view The printed view.
+     * @param format The report format.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException if writing fails.
+     */
+    @Override
+    public void print(Long travelPackageId, TravelPackageView view, ReportFormat format, OutputStream out) throws IOException {
+        ReportWriter report = ReportWriter.create(format, out);
+        switch (view) {
+            case ITINERARY -> printItinerary(travelPackageId, report);
+            case PASSENGER_LIST -> printPassengerList(travelPackageId, report);
+            case PASSENGER_DETAILS -> printPassengerDetails(travelPackageId, report);
+            case AVAILABLE_ACTIVITIES -> printAvailableActivities(travelPackageId, report);
+            default -> throw new IllegalArgumentException("Not a printed view: " + view);
+        }
+        report.finish();
     }
 
     /**
      * Prints the itinerary of the travel package, including destinations and activities.
+     * Destinations are printed in travel order; a destination without activities gets one row with empty activity cells.
      * @param travelPackageId The ID of the travel package to print the itinerary for.
+     * @param report The writer of the report.
      */
     @Override
-    public void printItinerary(Long travelPackageId) {
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
-
-        String travelPackageName = travelPackage.getName();
-
-        List<Destination> destinations = travelPackage.getDestinations();
-
-
-        System.out.println("Travel Package: " + travelPackageName);
-        System.out.println("Destinations:");
-        for (Destination destination : destinations) {
-            System.out.println("- " + destination.getName());
-            System.out.println("  Activities:");
+    public void printItinerary(Long travelPackageId, ReportWriter report) throws IOException {
+        TravelPackage travelPackage = loadWithDestinationActivities(travelPackageId);
+
+        report.field(TRAVEL_PACKAGE, travelPackage.getName());
+        report.beginRows(DESTINATIONS, DESTINATION, ACTIVITY_NAME, DESCRIPTION, COST, CAPACITY);
+        for (Destination destination : inTravelOrder(travelPackage)) {
+            if (destination.getActivities().isEmpty()) {
+                report.beginRow();
+                report.cell(destination.getName());
+                report.cell(null);
+                report.cell(null);
+                report.cell(null);
+                report.cell(null);
+                report.endRow();
+            }
             for (Activity activity : destination.getActivities()) {
-                System.out.println("  - Name: " + activity.getName());
-                System.out.println("    Description: " + activity.getDescription());
-                System.out.println("    Cost: " + activity.getCost());
-                System.out.println("    Capacity: " + activity.getCapacity());
+                report.beginRow();
+                report.cell(destination.getName());
+                report.cell(activity.getName());
+                report.cell(activity.getDescription());
+                report.money(activity.getCostMinor());
+                report.cell(activityCapacityService.getAvailableSeats(activity));
+                report.endRow();
             }
         }
+        report.endRows();
     }
 
     /**
      * Prints the list of passengers enrolled in a travel package.
      * @param travelPackageId The ID of the travel package.
+     * @param report The writer of the report.
      */
     @Override
-    public void printPassengerList(Long travelPackageId) {
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
-
-
-        String travelPackageName = travelPackage.getName();
-
-        int passengerCapacity = travelPackage.getPassengerCapacity();
+    public void printPassengerList(Long travelPackageId, ReportWriter report) throws IOException {
+        TravelPackage travelPackage = travelPackageRepository.findWithPassengersById(travelPackageId)
+                .orElseThrow(() -> new IllegalArgumentException("Travel Package Not Found"));
 
         List<Passenger> passengers = travelPackage.getPassengers();
 
-        System.out.println("Travel Package: " + travelPackageName);
-        System.out.println("Passenger Capacity: " + passengerCapacity);
-        System.out.println("Number of Passengers Enrolled: " + passengers.size());
-        System.out.println("Passenger List:");
+        report.field(TRAVEL_PACKAGE, travelPackage.getName());
+        report.field(PASSENGER_CAPACITY, travelPackage.getPassengerCapacity());
+        report.field(PASSENGERS_ENROLLED, passengers.size());
+        report.beginRows(PASSENGER_LIST, NAME, PASSENGER_NUMBER);
         for (Passenger passenger : passengers) {
-            System.out.println("- Name: " + passenger.getName() + ", Passenger Number: " + passenger.getPassengerNumber());
+            report.beginRow();
+            report.cell(passenger.getName());
+            report.cell(passenger.getPassengerNumber());
+            report.endRow();
         }
+        report.endRows();
     }
 
     /**
      * Prints details of passengers, including their activities, in a travel package.
+     * Each row holds a passenger and one of their activities; a passenger without activities gets one row
+     * with empty activity cells. Premium passengers have no balance and pay nothing.
      * @param travelPackageId The ID of the travel package.
+     * @param report The writer of the report.
      */
     @Override
-    public void printPassengerDetails(Long travelPackageId) {
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
-
-        String travelPackageName = travelPackage.getName();
-
-        List<Passenger> passengers = travelPackage.getPassengers();
-
-        System.out.println("Travel Package: " + travelPackageName);
-        for (Passenger passenger : passengers) {
-            System.out.println("Passenger Name: " + passenger.getName());
-            System.out.println("Passenger Number: " + passenger.getPassengerNumber());
-            System.out.println("Passenger Type: " + passenger.getPassengerType());
-            if (passenger.getPassengerType() != PassengerType.PREMIUM){
-                System.out.println("Balance: " + passenger.getBalance());
+    public void printPassengerDetails(Long travelPackageId, ReportWriter report) throws IOException {
+        TravelPackage travelPackage = loadWithPassengerActivities(travelPackageId);
+        travelPackageRepository.fetchPassengerLedgerTails(travelPackageId);
+
+        report.field(TRAVEL_PACKAGE, travelPackage.getName());
+        report.beginRows(PASSENGERS, PASSENGER_NAME, PASSENGER_NUMBER, PASSENGER_TYPE, BALANCE, ACTIVITY_NAME, DESTINATION, PRICE_PAID);
+        for (Passenger passenger : travelPackage.getPassengers()) {
+            if (passenger.getActivities().isEmpty()) {
+                passengerCells(report, passenger);
+                report.cell(null);
+                report.cell(null);
+                report.cell(null);
+                report.endRow();
             }
-            System.out.println("Activities:");
             for (Activity activity : passenger.getActivities()) {
-                System.out.println("  - Activity Name: " + activity.getName());
-                System.out.println("    Destination: " + activity.getDestination().getName());
-                if (passenger.getPassengerType() == PassengerType.PREMIUM){
-                    System.out.println("    Price Paid: " + "Free for Premium Passengers");
-                } else if (passenger.getPassengerType() == PassengerType.GOLD){
-                    System.out.println("    Price Paid: " + (activity.getCost()* 0.9));
+                passengerCells(report, passenger);
+                report.cell(activity.getName());
+                report.cell(activity.getDestination().getName());
+                if (passenger.getPassengerType() == PassengerType.PREMIUM) {
+                    report.cell("Free for Premium Passengers");
                 } else {
-                        System.out.println("    Price Paid: " + activity.getCost());
+                    report.money(pricingService.priceOf(activity, passenger.getPassengerType()));
                 }
+                report.endRow();
             }
         }
+        report.endRows();
     }
 
     /**
      * Prints the available activities in a travel package, along with their destinations and available spaces.
      * @param travelPackageId The ID of the travel package.
+     * @param report The writer of the report.
      */
     @Override
-    public void printAvailableActivities(Long travelPackageId) {
-        TravelPackage travelPackage = travelPackageService.getTravelPackage(travelPackageId);
+    public void printAvailableActivities(Long travelPackageId, ReportWriter report) throws IOException {
+        TravelPackageAvailability availability = travelPackageAvailabilityService.getAvailability(travelPackageId);
+
+        report.field(TRAVEL_PACKAGE, availability.name());
+        report.beginRows(AVAILABLE_ACTIVITIES, ACTIVITY_NAME, DESTINATION, AVAILABLE_SPACES);
+        for (ActivityAvailability activity : availability.openActivities()) {
+            report.beginRow();
+            report.cell(activity.name());
+            report.cell(activity.destinationName());
+            report.cell(activity.availableSpaces());
+            report.endRow();
+        }
+        report.endRows();
+        report.field(TOTAL_AVAILABLE_SPACES, availability.totalAvailableSpaces());
+    }
 
-        String travelPackageName = travelPackage.getName();
+    private static void passengerCells(ReportWriter report, Passenger passenger) throws IOException {
+        report.beginRow();
+        report.cell(passenger.getName());
+        report.cell(passenger.getPassengerNumber());
+        report.cell(passenger.getPassengerType().name());
+        if (passenger.getPassengerType() == PassengerType.PREMIUM) {
+            report.cell(null);
+        } else {
+            report.money(passenger.getBalanceMinor());
+        }
+    }
 
-        List<Destination> destinations = travelPackage.getDestinations();
+    private List<Destination> inTravelOrder(TravelPackage travelPackage) {
+        Map<Long, Destination> destinations = new HashMap<>();
+        travelPackage.getDestinations().forEach(destination -> destinations.put(destination.getId(), destination));
+        return itineraryOptimizerService.optimize(travelPackage.getId(), travelPackage.getDestinations()).stops().stream()
+                .map(stop -> destinations.get(stop.destinationId()))
+                .toList();
+    }
 
-        System.out.println("Travel Package: " + travelPackageName);
-        int totalAvailableSpaces = 0;
-        for (Destination destination : destinations) {
-            for (Activity activity : destination.getActivities()) {
-                int availableSpaces = activity.getCapacity();
-                if (availableSpaces > 0) {
-                    totalAvailableSpaces += availableSpaces;
-                    System.out.println("- Activity Name: " + activity.getName());
-                    System.out.println("  Destination: " + destination.getName());
-                    System.out.println("  Available Spaces: " + availableSpaces);
-                }
-            }
-        }
-        System.out.println("Total Available Spaces in the Travel Package: " + totalAvailableSpaces);
+    private TravelPackage loadWithDestinationActivities(Long travelPackageId) {
+        TravelPackage travelPackage = travelPackageRepository.findWithDestinationsById(travelPackageId)
+                .orElseThrow(() -> new IllegalArgumentException("Travel Package Not Found"));
+        travelPackageRepository.fetchDestinationActivities(travelPackageId);
+        return travelPackage;
+    }
+
+    private TravelPackage loadWithPassengerActivities(Long travelPackageId) {
+        TravelPackage travelPackage = travelPackageRepository.findWithPassengersById(travelPackageId)
+                .orElseThrow(() -> new IllegalArgumentException("Travel Package Not Found"));
+        travelPackageRepository.fetchPassengerActivities(travelPackageId);
+        return travelPackage;
     }
 
 }
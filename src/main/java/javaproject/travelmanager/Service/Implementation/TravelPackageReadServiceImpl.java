@@ -0,0 +1,151 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import javaproject.travelmanager.DTO.ReportFormat;
+import javaproject.travelmanager.DTO.TravelPackageDocument;
+import javaproject.travelmanager.DTO.TravelPackageView;
+import javaproject.travelmanager.Entity.TravelPackage;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.TravelPackagePrintService;
+import javaproject.travelmanager.Service.TravelPackageReadService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
+import javaproject.travelmanager.Util.LruCache;
+import javaproject.travelmanager.Util.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service class responsible for the read views of travel packages under heavy concurrent load.
+ * Reads are keyed by travel package, view and report format: a read that arrives while the same one is in flight waits
+ * for it instead of loading the graph again, and a completed result is reused for a short freshness
+ * window. Callers waiting for a load hold no transaction, so they do not tie up database connections.
+ * Keys carry the version of the travel package taken before the load, so a change is never answered
+ * from a result rendered before it.
+ */
+@Service
+public class TravelPackageReadServiceImpl implements TravelPackageReadService {
+
+    private final TravelPackageRepository travelPackageRepository;
+    private final TravelPackagePrintService travelPackagePrintService;
+    private final TravelPackageVersionService travelPackageVersionService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SingleFlight<ViewKey, byte[]> flights = new SingleFlight<>();
+    private final LruCache<ViewKey, byte[]> recent;
+
+    @Autowired
+    public TravelPackageReadServiceImpl(TravelPackageRepository travelPackageRepository,
+                                        TravelPackagePrintService travelPackagePrintService,
+                                        TravelPackageVersionService travelPackageVersionService,
+                                        ObjectMapper objectMapper,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${travelmanager.package-reads.freshness-ms:250}") long freshnessMillis,
+                                        @Value("${travelmanager.package-reads.max-entries:1000}") int maxEntries) {
+        this.travelPackageRepository = travelPackageRepository;
+        this.travelPackagePrintService = travelPackagePrintService;
+        this.travelPackageVersionService = travelPackageVersionService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.recent = freshnessMillis > 0
+                ? new LruCache<>(maxEntries, TimeUnit.MILLISECONDS.toNanos(freshnessMillis), System::nanoTime)
+                : null;
+        FunctionCounter.builder("travelmanager.package-reads.loads", flights, SingleFlight::loads).register(meterRegistry);
+        FunctionCounter.builder("travelmanager.package-reads.coalesced", flights, SingleFlight::joins).register(meterRegistry);
+        if (recent != null) {
+            FunctionCounter.builder("travelmanager.package-reads.fresh", recent, LruCache::hits).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Retrieves the travel package with its destinations, activities and passengers, rendered as JSON.
+     * The graph is loaded with a fixed number of fetch-join queries.
+     * @param travelPackageId The ID of the travel package.
+     * @return The JSON document and the entity tag of the version it was rendered from.
+     * @throws IllegalArgumentException if no travel package is found with the provided ID.
+     */
+    @Override
+    public TravelPackageDocument getTravelPackage(Long travelPackageId) {
+        long version = travelPackageVersionService.getVersion(travelPackageId);
+        byte[] json = read(new ViewKey(travelPackageId, TravelPackageView.DETAILS, null, version),
+                () -> transactionTemplate.execute(status -> render(loadDetails(travelPackageId))));
+        return new TravelPackageDocument(travelPackageVersionService.getETag(travelPackageId, version), json);
+    }
+
+    /**
+     * Tells whether a travel package exists, with a primary key lookup that loads nothing.
+     * @param travelPackageId The ID of the travel package.
+     * @return true if the travel package exists.
+     */
+    @Override
+    public boolean exists(Long travelPackageId) {
+        return travelPackageRepository.existsById(travelPackageId);
+    }
+
+    /**
+     * Writes a printed view of the travel package to a stream.
+     * The report is rendered once into memory and the same bytes are written for every caller sharing the load.
+     * @param travelPackageId The ID of the travel package.
+     * @param view The printed view.
+     * @param format The report format.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException if writing fails.
+     * @throws IllegalArgumentException if no travel package is found with the provided ID, or the view is not a printed one.
+     */
+    @Override
+    public void writeReport(Long travelPackageId, TravelPackageView view, ReportFormat format, OutputStream out) throws IOException {
+        long version = travelPackageVersionService.getVersion(travelPackageId);
+        byte[] report = read(new ViewKey(travelPackageId, view, format, version), () -> {
+            ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+            try {
+                travelPackagePrintService.print(travelPackageId, view, format, rendered);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return rendered.toByteArray();
+        });
+        out.write(report);
+        out.flush();
+    }
+
+    private byte[] read(ViewKey key, Supplier<byte[]> loader) {
+        if (recent == null) {
+            return flights.execute(key, loader);
+        }
+        return recent.get(key, k -> flights.execute(k, loader));
+    }
+
+    private TravelPackage loadDetails(Long travelPackageId) {
+        TravelPackage travelPackage = travelPackageRepository.findWithDestinationsById(travelPackageId)
+                .orElseThrow(() -> new IllegalArgumentException("Travel Package Not Found"));
+        travelPackageRepository.fetchDestinationActivities(travelPackageId);
+        travelPackageRepository.findWithPassengersById(travelPackageId);
+        travelPackageRepository.fetchPassengerActivities(travelPackageId);
+        return travelPackage;
+    }
+
+    private byte[] render(TravelPackage travelPackage) {
+        try {
+            return objectMapper.writeValueAsBytes(travelPackage);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Travel package could not be rendered", e);
+        }
+    }
+
+    private record ViewKey(Long travelPackageId, TravelPackageView view, ReportFormat format, long version) {
+    }
+}
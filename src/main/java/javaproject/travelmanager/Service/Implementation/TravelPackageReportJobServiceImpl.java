@@ -0,0 +1,174 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javaproject.travelmanager.DTO.PackageReportTiming;
+import javaproject.travelmanager.DTO.ReportFormat;
+import javaproject.travelmanager.DTO.ReportJobSummary;
+import javaproject.travelmanager.DTO.TravelPackageView;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.TravelPackagePrintService;
+import javaproject.travelmanager.Service.TravelPackageReportJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Service class responsible for the batch report job.
+ * Every travel package is reported on in its own virtual thread. Each report holds a database connection while
+ * it is written, so a semaphore sized to the connection pool, less the connections kept for requests, bounds
+ * the reports in flight; the job waits for a permit before starting the next travel package. Reports are
+ * written through a buffered file channel to a temporary file that is moved into place once complete.
+ * No transaction is held by the job itself: every report runs in its own read-only transaction.
+ */
+@Service
+public class TravelPackageReportJobServiceImpl implements TravelPackageReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(TravelPackageReportJobServiceImpl.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final TravelPackageView[] VIEWS = {TravelPackageView.ITINERARY, TravelPackageView.PASSENGER_DETAILS};
+
+    private final TravelPackageRepository travelPackageRepository;
+    private final TravelPackagePrintService travelPackagePrintService;
+    private final Path directory;
+    private final ReportFormat format;
+    private final Semaphore permits;
+
+    @Autowired
+    public TravelPackageReportJobServiceImpl(TravelPackageRepository travelPackageRepository,
+                                             TravelPackagePrintService travelPackagePrintService,
+                                             DataSource dataSource,
+                                             @Value("${travelmanager.reports.directory:reports}") Path directory,
+                                             @Value("${travelmanager.reports.format:TEXT}") ReportFormat format,
+                                             @Value("${travelmanager.reports.max-concurrency:0}") int maxConcurrency,
+                                             @Value("${travelmanager.reports.reserved-connections:2}") int reservedConnections) {
+        this.travelPackageRepository = travelPackageRepository;
+        this.travelPackagePrintService = travelPackagePrintService;
+        this.directory = directory;
+        this.format = format;
+        int concurrency = maxConcurrency > 0 ? maxConcurrency : poolSize(dataSource) - reservedConnections;
+        this.permits = new Semaphore(Math.max(concurrency, 1));
+    }
+
+    /**
+     * Writes the reports of every travel package to the directory.
+     * @param directory The directory to write to; it is created if missing.
+     * @return The figures of the job, with the timing of every travel package.
+     * @throws IOException if the directory cannot be created.
+     */
+    @Override
+    public ReportJobSummary generateReports(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        long start = System.nanoTime();
+        List<Long> travelPackageIds = travelPackageRepository.findAllIds();
+        List<Future<PackageReportTiming>> reports = new ArrayList<>(travelPackageIds.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long travelPackageId : travelPackageIds) {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                reports.add(executor.submit(() -> {
+                    try {
+                        return report(directory, travelPackageId);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<PackageReportTiming> timings = new ArrayList<>(reports.size());
+        int failures = 0;
+        long bytes = 0;
+        long maxPackageMillis = 0;
+        for (Future<PackageReportTiming> report : reports) {
+            PackageReportTiming timing = report.resultNow();
+            timings.add(timing);
+            failures += timing.succeeded() ? 0 : 1;
+            bytes += timing.bytes();
+            maxPackageMillis = Math.max(maxPackageMillis, timing.elapsedMillis());
+        }
+        ReportJobSummary summary = new ReportJobSummary(timings.size(), failures, bytes,
+                (System.nanoTime() - start) / 1_000_000, maxPackageMillis, timings);
+        log.info("Reported on {} travel packages ({} failed, {} KB) in {} ms, {} packages/s, slowest {} ms",
+                summary.travelPackages(), summary.failures(), summary.bytes() >> 10, summary.elapsedMillis(),
+                summary.travelPackagesPerSecond(), summary.maxPackageMillis());
+        return summary;
+    }
+
+    /**
+     * Writes the reports of every travel package to the configured directory, on the configured schedule.
+     * @return The figures of the job, with the timing of every travel package.
+     * @throws IOException if the directory cannot be created.
+     */
+    @Override
+    @Scheduled(cron = "${travelmanager.reports.cron:-}")
+    public ReportJobSummary generateReports() throws IOException {
+        return generateReports(directory);
+    }
+
+    private PackageReportTiming report(Path directory, Long travelPackageId) {
+        long start = System.nanoTime();
+        long bytes = 0;
+        try {
+            for (TravelPackageView view : VIEWS) {
+                bytes += write(directory.resolve(fileName(travelPackageId, view)), travelPackageId, view);
+            }
+            return new PackageReportTiming(travelPackageId, (System.nanoTime() - start) / 1_000_000, bytes, null);
+        } catch (Exception e) {
+            log.warn("Reports of travel package {} failed", travelPackageId, e);
+            return new PackageReportTiming(travelPackageId, (System.nanoTime() - start) / 1_000_000, bytes,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private long write(Path file, Long travelPackageId, TravelPackageView view) throws IOException {
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        try {
+            try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+                travelPackagePrintService.print(travelPackageId, view, format, out);
+            }
+            long bytes = Files.size(partial);
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return bytes;
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    private String fileName(Long travelPackageId, TravelPackageView view) {
+        return "travel-package-" + travelPackageId + "-" + view.name().toLowerCase(Locale.ROOT).replace('_', '-')
+                + "." + format.extension();
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+    }
+}
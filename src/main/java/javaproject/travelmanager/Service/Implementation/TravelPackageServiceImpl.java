@@ -3,11 +3,15 @@ package javaproject.travelmanager.Service.Implementation;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import javaproject.travelmanager.DTO.KeysetPage;
 import javaproject.travelmanager.DTO.TravelPackageDTO;
+import javaproject.travelmanager.DTO.TravelPackageSummary;
 import javaproject.travelmanager.Entity.*;
 import javaproject.travelmanager.Repository.*;
 import javaproject.travelmanager.Service.*;
+import javaproject.travelmanager.Util.PageToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,14 +34,38 @@ public class TravelPackageServiceImpl implements TravelPackageService {
 
     private final DestinationService destinationService;
 
+    private final CatalogCacheService catalogCacheService;
+
+    private final TravelPackageVersionService travelPackageVersionService;
+
+    private final TravelPackageAvailabilityService travelPackageAvailabilityService;
+
+    private final ActivityRangeService activityRangeService;
+
+    private final DestinationGeoService destinationGeoService;
+
+    private final ItineraryOptimizerService itineraryOptimizerService;
+
     @Autowired
     public TravelPackageServiceImpl(TravelPackageRepository travelPackageRepository,
                                     PassengerService passengerService,
-                                    DestinationService destinationService
+                                    DestinationService destinationService,
+                                    CatalogCacheService catalogCacheService,
+                                    TravelPackageVersionService travelPackageVersionService,
+                                    TravelPackageAvailabilityService travelPackageAvailabilityService,
+                                    ActivityRangeService activityRangeService,
+                                    DestinationGeoService destinationGeoService,
+                                    ItineraryOptimizerService itineraryOptimizerService
     ) {
         this.travelPackageRepository = travelPackageRepository;
         this.passengerService = passengerService;
         this.destinationService = destinationService;
+        this.catalogCacheService = catalogCacheService;
+        this.travelPackageVersionService = travelPackageVersionService;
+        this.travelPackageAvailabilityService = travelPackageAvailabilityService;
+        this.activityRangeService = activityRangeService;
+        this.destinationGeoService = destinationGeoService;
+        this.itineraryOptimizerService = itineraryOptimizerService;
     }
 
     /**
@@ -90,6 +118,8 @@ public class TravelPackageServiceImpl implements TravelPackageService {
 
         travelPackage.setName(name);
         travelPackage.setPassengerCapacity(passengerCapacity);
+        travelPackageVersionService.touch(travelPackageId);
+        travelPackageAvailabilityService.invalidate(travelPackageId);
 
         if (destinationsIds != null && !destinationsIds.isEmpty()) {
             for(Long destinationId: destinationsIds){
@@ -126,10 +156,14 @@ public class TravelPackageServiceImpl implements TravelPackageService {
         }
 
         travelPackage.addDestination(destination);
+        itineraryOptimizerService.addDestination(travelPackageId, destination);
+        travelPackageVersionService.touch(travelPackageId);
+        travelPackageAvailabilityService.invalidate(travelPackageId);
     }
 
     /**
      * Adds a passenger to a travel package.
+     * The passenger slot is taken with a single guarded update, so concurrent additions cannot overfill the package.
      * @param travelPackageId The ID of the travel package.
      * @param passengerId The ID of the passenger to be added.
      */
@@ -138,12 +172,6 @@ public class TravelPackageServiceImpl implements TravelPackageService {
         TravelPackage travelPackage = travelPackageRepository.findById(travelPackageId)
                 .orElseThrow(() -> new IllegalArgumentException("Travel Package Not Found"));
 
-        int passengerCapacity = travelPackage.getPassengerCapacity();
-
-        if (passengerCapacity <= 0) {
-            throw new IllegalStateException("Travel package is at full capacity");
-        }
-
         Passenger passenger = passengerService.getPassenger(passengerId);
 
         if (passenger == null) {
@@ -154,8 +182,12 @@ public class TravelPackageServiceImpl implements TravelPackageService {
             throw new IllegalStateException("Passenger is already added to this travel package");
         }
 
+        if (travelPackageRepository.decrementPassengerCapacity(travelPackageId) == 0) {
+            throw new IllegalStateException("Travel package is at full capacity");
+        }
+
         travelPackage.addPassenger(passenger);
-        travelPackage.setPassengerCapacity(passengerCapacity - 1);
+        travelPackageVersionService.touch(travelPackageId);
     }
 
     /**
@@ -177,6 +209,18 @@ public class TravelPackageServiceImpl implements TravelPackageService {
         return travelPackageRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of the listing of all travel packages in a single query.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of travel packages on the page.
+     * @return The page of summaries and the token of the next page.
+     */
+    @Override
+    public KeysetPage<TravelPackageSummary> getTravelPackageSummaries(String pageToken, int pageSize) {
+        List<TravelPackageSummary> rows = travelPackageRepository.findSummariesAfter(PageToken.decode(pageToken), PageRequest.ofSize(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, TravelPackageSummary::id);
+    }
+
     /**
      * Retrieves all passengers enrolled in a travel package.
      * @param travelPackageId The ID of the travel package.
@@ -219,7 +263,13 @@ public class TravelPackageServiceImpl implements TravelPackageService {
             throw new IllegalStateException("Destination is not part of this travel package");
         }
 
+        catalogCacheService.invalidateDestinationTree(destination);
         travelPackage.removeDestination(destination);
+        activityRangeService.removeDestination(destinationId);
+        destinationGeoService.removeDestination(destinationId);
+        itineraryOptimizerService.removeDestination(travelPackageId, destinationId);
+        travelPackageVersionService.touch(travelPackageId);
+        travelPackageAvailabilityService.invalidate(travelPackageId);
     }
 
     /**
@@ -242,9 +292,9 @@ public class TravelPackageServiceImpl implements TravelPackageService {
             throw new IllegalStateException("Passenger is not part of this travel package");
         }
 
-        int passengerCapacity = travelPackage.getPassengerCapacity();
         travelPackage.removePassenger(passenger);
-        travelPackage.setPassengerCapacity(passengerCapacity + 1);
+        travelPackageRepository.incrementPassengerCapacity(travelPackageId);
+        travelPackageVersionService.touch(travelPackageId);
     }
 
     /**
@@ -253,6 +303,15 @@ public class TravelPackageServiceImpl implements TravelPackageService {
      */
     @Override
     public void deleteTravelPackage(Long travelPackageId) {
+        travelPackageRepository.findById(travelPackageId)
+                .ifPresent(travelPackage -> travelPackage.getDestinations().forEach(destination -> {
+                    catalogCacheService.invalidateDestinationTree(destination);
+                    activityRangeService.removeDestination(destination.getId());
+                    destinationGeoService.removeDestination(destination.getId());
+                }));
         travelPackageRepository.deleteById(travelPackageId);
+        itineraryOptimizerService.removeTravelPackage(travelPackageId);
+        travelPackageVersionService.touch(travelPackageId);
+        travelPackageAvailabilityService.invalidate(travelPackageId);
     }
 }
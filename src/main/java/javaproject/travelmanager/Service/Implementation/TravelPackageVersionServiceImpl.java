@@ -0,0 +1,109 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.Service.CatalogCacheService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
+import javaproject.travelmanager.Util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class responsible for the content versions of travel packages.
+ * Versions are in-memory counters bumped only after the changing transaction commits, so a reader that
+ * takes the version before loading never pairs a new version with old content. Entity tags carry an
+ * epoch chosen at startup, so tags handed out before a restart never match the restarted counters.
+ */
+@Service
+public class TravelPackageVersionServiceImpl implements TravelPackageVersionService {
+
+    private final CatalogCacheService catalogCacheService;
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TravelPackageVersionServiceImpl(CatalogCacheService catalogCacheService) {
+        this.catalogCacheService = catalogCacheService;
+    }
+
+    /**
+     * Retrieves the current version of a travel package.
+     * @param travelPackageId The ID of the travel package.
+     * @return The version.
+     */
+    @Override
+    public long getVersion(Long travelPackageId) {
+        AtomicLong version = versions.get(travelPackageId);
+        return version != null ? version.get() : 0;
+    }
+
+    /**
+     * Retrieves the entity tag of a version of a travel package.
+     * @param travelPackageId The ID of the travel package.
+     * @param version The version.
+     * @return The quoted strong entity tag.
+     */
+    @Override
+    public String getETag(Long travelPackageId, long version) {
+        return "\"" + epoch + "-" + travelPackageId + "-" + version + "\"";
+    }
+
+    /**
+     * Bumps the version of a travel package once the current transaction commits, or right away outside a transaction.
+     * @param travelPackageId The ID of the travel package, or null for none.
+     */
+    @Override
+    public void touch(Long travelPackageId) {
+        if (travelPackageId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> bump(travelPackageId));
+    }
+
+    /**
+     * Bumps the version of the travel package of a destination once the current transaction commits.
+     * The travel package is looked up in the catalog cache.
+     * @param destinationId The ID of the destination, or null for none.
+     */
+    @Override
+    public void touchDestination(Long destinationId) {
+        if (destinationId == null) {
+            return;
+        }
+        DestinationSummary destination;
+        try {
+            destination = catalogCacheService.getDestination(destinationId);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        touch(destination.travelPackageId());
+    }
+
+    /**
+     * Bumps the version of the travel package of the destination of an activity once the current transaction commits.
+     * The destination and its travel package are looked up in the catalog cache.
+     * @param activityId The ID of the activity, or null for none.
+     */
+    @Override
+    public void touchActivity(Long activityId) {
+        if (activityId == null) {
+            return;
+        }
+        ActivitySummary activity;
+        try {
+            activity = catalogCacheService.getActivity(activityId);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        touchDestination(activity.destinationId());
+    }
+
+    private void bump(Long travelPackageId) {
+        versions.computeIfAbsent(travelPackageId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,135 @@
+package javaproject.travelmanager.Service.Implementation;
+
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Entity.WaitlistEntry;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import javaproject.travelmanager.Repository.WaitlistEntryRepository;
+import javaproject.travelmanager.Service.ActivityCapacityService;
+import javaproject.travelmanager.Service.PricingService;
+import javaproject.travelmanager.Service.TravelPackageVersionService;
+import javaproject.travelmanager.Service.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class responsible for the per-activity waitlists of full activities.
+ * Waitlists are stored as rows ordered by ID, so they survive a restart and the head of a waitlist
+ * is a single indexed lookup. A promotion hands a seat the caller has already freed straight to the
+ * waiting passenger, which keeps it inside the caller's transaction and never exposes the seat to
+ * other enrollments in between.
+ */
+@Service
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final PassengerRepository passengerRepository;
+    private final ActivityRepository activityRepository;
+    private final ActivityCapacityService activityCapacityService;
+    private final PricingService pricingService;
+    private final TravelPackageVersionService travelPackageVersionService;
+
+    @Autowired
+    public WaitlistServiceImpl(WaitlistEntryRepository waitlistEntryRepository,
+                               PassengerRepository passengerRepository,
+                               ActivityRepository activityRepository,
+                               ActivityCapacityService activityCapacityService,
+                               PricingService pricingService,
+                               TravelPackageVersionService travelPackageVersionService) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.passengerRepository = passengerRepository;
+        this.activityRepository = activityRepository;
+        this.activityCapacityService = activityCapacityService;
+        this.pricingService = pricingService;
+        this.travelPackageVersionService = travelPackageVersionService;
+    }
+
+    /**
+     * Puts a passenger at the end of the waitlist of a full activity.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity.
+     * @return The created waitlist entry.
+     * @throws IllegalStateException if the activity has free seats or the passenger is already registered or waiting.
+     */
+    @Override
+    public WaitlistEntry joinWaitlist(Long passengerId, Long activityId) {
+        if (!passengerRepository.existsById(passengerId)) {
+            throw new IllegalArgumentException("Passenger Not Found");
+        }
+        if (activityCapacityService.getAvailableSeats(activityId) > 0) {
+            throw new IllegalStateException("Activity has free seats");
+        }
+        if (passengerRepository.isRegisteredForActivity(passengerId, activityId)) {
+            throw new IllegalStateException("Passenger is already registered for this activity");
+        }
+        if (waitlistEntryRepository.existsByActivityIdAndPassengerId(activityId, passengerId)) {
+            throw new IllegalStateException("Passenger is already on the waitlist of this activity");
+        }
+        return waitlistEntryRepository.save(new WaitlistEntry(activityId, passengerId, Instant.now()));
+    }
+
+    /**
+     * Takes a passenger off the waitlist of an activity.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity.
+     */
+    @Override
+    public void leaveWaitlist(Long passengerId, Long activityId) {
+        if (waitlistEntryRepository.deleteByActivityIdAndPassengerId(activityId, passengerId) == 0) {
+            throw new IllegalStateException("Passenger is not on the waitlist of this activity");
+        }
+    }
+
+    /**
+     * Retrieves the waitlist of an activity in the order it is served.
+     * @param activityId The ID of the activity.
+     * @return The entries of the activity, oldest first.
+     */
+    @Override
+    public List<WaitlistEntry> getWaitlist(Long activityId) {
+        return waitlistEntryRepository.findByActivityIdOrderByIdAsc(activityId);
+    }
+
+    /**
+     * Hands freed seats of an activity to the passengers at the head of its waitlist, in the caller's transaction.
+     * The balance of each passenger is checked when they reach the head; passengers who can no longer pay,
+     * were deleted or registered in the meantime are dropped from the waitlist and the next one is tried.
+     * @param activityId The ID of the activity.
+     * @param seats The number of freed seats.
+     * @return The number of passengers that were enrolled.
+     */
+    @Override
+    public int promote(Long activityId, int seats) {
+        int promoted = 0;
+        while (promoted < seats) {
+            Optional<WaitlistEntry> head = waitlistEntryRepository.findFirstByActivityIdOrderByIdAsc(activityId);
+            if (head.isEmpty()) {
+                break;
+            }
+            WaitlistEntry entry = head.get();
+            waitlistEntryRepository.delete(entry);
+
+            Passenger passenger = passengerRepository.findById(entry.getPassengerId()).orElse(null);
+            if (passenger == null || passengerRepository.isRegisteredForActivity(passenger.getId(), activityId)) {
+                continue;
+            }
+            long price = pricingService.priceOf(activityId, passenger.getPassengerType());
+            if (passenger.getBalanceMinor() < price) {
+                continue;
+            }
+            pricingService.charge(passenger, activityId, price);
+            passenger.addActivity(activityRepository.getReferenceById(activityId));
+            if (passenger.getTravelPackage() != null) {
+                travelPackageVersionService.touch(passenger.getTravelPackage().getId());
+            }
+            promoted++;
+        }
+        return promoted;
+    }
+}
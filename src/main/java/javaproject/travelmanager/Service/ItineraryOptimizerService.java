@@ -0,0 +1,50 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.OptimizedItinerary;
+import javaproject.travelmanager.Entity.Destination;
+
+import java.util.List;
+
+/**
+ * Service interface responsible for ordering the destinations of a travel package to shorten the travel between them.
+ * Itineraries are cached by the destinations they order, and each travel package keeps its last route, so a changed
+ * travel package is ordered again from that route instead of from scratch.
+ */
+public interface ItineraryOptimizerService {
+
+    /**
+     * Retrieves the itinerary of a travel package.
+     * @param travelPackageId The ID of the travel package.
+     * @return The destinations of the travel package in travel order.
+     * @throws IllegalArgumentException if the travel package does not exist.
+     */
+    OptimizedItinerary getItinerary(Long travelPackageId);
+
+    /**
+     * Orders destinations of a travel package that are already loaded.
+     * @param travelPackageId The ID of the travel package.
+     * @param destinations The destinations of the travel package.
+     * @return The destinations in travel order.
+     */
+    OptimizedItinerary optimize(Long travelPackageId, List<Destination> destinations);
+
+    /**
+     * Inserts a destination into the last route of its travel package, once the current transaction commits.
+     * @param travelPackageId The ID of the travel package.
+     * @param destination The destination added to the travel package.
+     */
+    void addDestination(Long travelPackageId, Destination destination);
+
+    /**
+     * Removes a destination from the last route of its travel package, once the current transaction commits.
+     * @param travelPackageId The ID of the travel package.
+     * @param destinationId The ID of the destination removed from the travel package.
+     */
+    void removeDestination(Long travelPackageId, Long destinationId);
+
+    /**
+     * Forgets the last route of a travel package, once the current transaction commits.
+     * @param travelPackageId The ID of the deleted travel package.
+     */
+    void removeTravelPackage(Long travelPackageId);
+}
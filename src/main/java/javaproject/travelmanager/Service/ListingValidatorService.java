@@ -0,0 +1,23 @@
+package javaproject.travelmanager.Service;
+
+/**
+ * Service interface responsible for the validators of listing responses, which have no version of their own.
+ * A listing is tagged by its content, and dated by the first time that content was served, so clients
+ * polling a listing can be answered with 304 (NOT MODIFIED) instead of the listing itself.
+ */
+public interface ListingValidatorService {
+
+    /**
+     * Retrieves the entity tag of the content of a listing.
+     * @param content The content of the listing, whose string form covers everything it renders.
+     * @return The quoted strong entity tag.
+     */
+    String getETag(Object content);
+
+    /**
+     * Retrieves the time the content with the given entity tag was first served, which is no earlier than its last change.
+     * @param eTag The entity tag of the content.
+     * @return The time in milliseconds since the epoch, truncated to seconds.
+     */
+    long getLastModified(String eTag);
+}
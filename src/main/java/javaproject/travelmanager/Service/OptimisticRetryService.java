@@ -0,0 +1,31 @@
+package javaproject.travelmanager.Service;
+
+import java.util.function.Supplier;
+
+/**
+ * Service interface responsible for re-executing service mutations that lost an optimistic-lock race.
+ */
+public interface OptimisticRetryService {
+
+    /**
+     * Executes the given action, retrying it with bounded backoff when it fails with an optimistic-lock conflict.
+     * The action must start its own transaction; when called inside an existing transaction it is executed once.
+     * @param operation The name of the operation, used to tag the retry metrics.
+     * @param action The action to execute.
+     * @param <T> The type of the result.
+     * @return The result of the action.
+     */
+    <T> T execute(String operation, Supplier<T> action);
+
+    /**
+     * Executes the given action, retrying it with bounded backoff when it fails with an optimistic-lock conflict.
+     * @param operation The name of the operation, used to tag the retry metrics.
+     * @param action The action to execute.
+     */
+    default void run(String operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
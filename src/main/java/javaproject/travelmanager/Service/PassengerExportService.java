@@ -0,0 +1,21 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ExportStats;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting passengers in bulk.
+ */
+public interface PassengerExportService {
+
+    /**
+     * Writes every passenger, with its travel package ID and activity IDs, as one NDJSON line per passenger, ordered by ID.
+     * The passengers are streamed from the database, so memory use does not grow with their number.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @return The figures of the export.
+     * @throws IOException if writing fails.
+     */
+    ExportStats exportPassengers(OutputStream out) throws IOException;
+}
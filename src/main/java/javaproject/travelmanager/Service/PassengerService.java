@@ -1,8 +1,11 @@
 package javaproject.travelmanager.Service;
 
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.PassengerSummary;
 
 import javaproject.travelmanager.DTO.PassengerDTO;
 import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.BalanceEntry;
 import javaproject.travelmanager.Entity.Passenger;
 import javaproject.travelmanager.Entity.TravelPackage;
 import java.util.List;
@@ -34,6 +37,20 @@ public interface PassengerService {
      */
     void addActivityToPassenger(Long passengerId, Long activityId);
 
+    /**
+     * Adds an activity whose seat has already been reserved, for example by a seat hold, to the specified passenger.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity to add to the passenger.
+     */
+    void addHeldActivityToPassenger(Long passengerId, Long activityId);
+
+    /**
+     * Adds several activities to the specified passenger in one all-or-nothing operation.
+     * @param passengerId The ID of the passenger.
+     * @param activityIds The IDs of the activities to add to the passenger.
+     */
+    void addActivitiesToPassenger(Long passengerId, List<Long> activityIds);
+
     /**
      * Associates a travel package with the specified passenger.
      * @param passengerId The ID of the passenger.
@@ -54,6 +71,15 @@ public interface PassengerService {
      */
     List<Passenger> getAllPassengers();
 
+    /**
+     * Retrieves one page of the listing of all passengers, ordered by ID, with only the listing columns and aggregate counts.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of passengers on the page.
+     * @return The page of summaries and the token of the next page.
+     * @throws IllegalArgumentException if the page token is malformed.
+     */
+    KeysetPage<PassengerSummary> getPassengerSummaries(String pageToken, int pageSize);
+
     /**
      * Retrieves all activities associated with the specified passenger.
      * @param passengerId The ID of the passenger.
@@ -86,4 +112,19 @@ public interface PassengerService {
      * @param passengerId The ID of the passenger to delete.
      */
     void deletePassenger(Long passengerId);
-}
\ No newline at end of file
+
+    /**
+     * Adds money to the balance of the specified passenger.
+     * @param passengerId The ID of the passenger.
+     * @param amount The amount to add, in major currency units.
+     * @return The passenger with the updated balance.
+     */
+    Passenger topUpBalance(Long passengerId, double amount);
+
+    /**
+     * Retrieves the balance movements of the specified passenger.
+     * @param passengerId The ID of the passenger.
+     * @return The balance entries of the passenger, oldest first.
+     */
+    List<BalanceEntry> getBalanceEntries(Long passengerId);
+}
@@ -0,0 +1,52 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Entity.PassengerType;
+
+/**
+ * Service interface responsible for activity prices and for every change to a passenger's balance.
+ * All amounts are in minor currency units.
+ */
+public interface PricingService {
+
+    /**
+     * Retrieves the price a passenger of the given type pays for an activity.
+     * @param activityId The ID of the activity.
+     * @param passengerType The type of the passenger.
+     * @return The price in minor units.
+     */
+    long priceOf(Long activityId, PassengerType passengerType);
+
+    /**
+     * Retrieves the price a passenger of the given type pays for an already loaded activity.
+     * @param activity The activity.
+     * @param passengerType The type of the passenger.
+     * @return The price in minor units.
+     */
+    long priceOf(Activity activity, PassengerType passengerType);
+
+    /**
+     * Debits the price of an activity from the balance of a passenger.
+     * @param passenger The passenger.
+     * @param activityId The ID of the activity paid for.
+     * @param amount The amount in minor units.
+     * @throws javaproject.travelmanager.Exception.InsufficientBalanceException if the balance does not cover the amount.
+     */
+    void charge(Passenger passenger, Long activityId, long amount);
+
+    /**
+     * Credits the price of an activity back to the balance of a passenger.
+     * @param passenger The passenger.
+     * @param activityId The ID of the activity refunded.
+     * @param amount The amount in minor units.
+     */
+    void refund(Passenger passenger, Long activityId, long amount);
+
+    /**
+     * Drops the prices of an activity so that they are computed again from its cost.
+     * Must be called whenever the cost of an activity is overwritten or the activity is deleted.
+     * @param activityId The ID of the activity.
+     */
+    void invalidate(Long activityId);
+}
@@ -0,0 +1,57 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.Entity.SeatHold;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Service interface responsible for time-limited holds on activity seats and travel package slots.
+ */
+public interface SeatHoldService {
+
+    /**
+     * Holds one seat of an activity for a passenger.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity.
+     * @param ttl How long the seat is held; capped at the configured maximum.
+     * @return The created hold.
+     */
+    SeatHold holdActivitySeat(Long passengerId, Long activityId, Duration ttl);
+
+    /**
+     * Holds one passenger slot of a travel package for a passenger.
+     * @param passengerId The ID of the passenger.
+     * @param travelPackageId The ID of the travel package.
+     * @param ttl How long the slot is held; capped at the configured maximum.
+     * @return The created hold.
+     */
+    SeatHold holdTravelPackageSlot(Long passengerId, Long travelPackageId, Duration ttl);
+
+    /**
+     * Turns an active hold into an enrollment of the passenger.
+     * @param holdId The ID of the hold.
+     * @return The confirmed hold.
+     */
+    SeatHold confirmHold(Long holdId);
+
+    /**
+     * Gives the seat of an active hold back before it expires.
+     * @param holdId The ID of the hold.
+     * @return The released hold.
+     */
+    SeatHold releaseHold(Long holdId);
+
+    /**
+     * Expires the given holds, giving back the seat of each one that is still active.
+     * @param holdIds The IDs of the holds.
+     */
+    void expireHolds(Collection<Long> holdIds);
+
+    /**
+     * Retrieves the hold with the specified ID.
+     * @param holdId The ID of the hold.
+     * @return The hold with the specified ID.
+     */
+    SeatHold getHold(Long holdId);
+}
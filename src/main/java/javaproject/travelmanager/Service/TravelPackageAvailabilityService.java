@@ -0,0 +1,26 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.TravelPackageAvailability;
+
+/**
+ * Service interface responsible for the free spaces of travel packages.
+ * Availability is kept per travel package and updated as seats are taken and released, so reading it
+ * does not walk the destinations and activities of the travel package.
+ */
+public interface TravelPackageAvailabilityService {
+
+    /**
+     * Retrieves the free spaces of a travel package.
+     * @param travelPackageId The ID of the travel package.
+     * @return The total number of free spaces and the activities that still have room.
+     * @throws IllegalArgumentException if no travel package is found with the provided ID.
+     */
+    TravelPackageAvailability getAvailability(Long travelPackageId);
+
+    /**
+     * Drops the availability of a travel package so that it is built again on the next read.
+     * Must be called whenever the name, destinations or activities of a travel package change.
+     * @param travelPackageId The ID of the travel package, or null for none.
+     */
+    void invalidate(Long travelPackageId);
+}
@@ -1,31 +1,58 @@
 package javaproject.travelmanager.Service;
 
+import javaproject.travelmanager.DTO.ReportFormat;
+import javaproject.travelmanager.DTO.TravelPackageView;
+import javaproject.travelmanager.Util.ReportWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Service interface responsible for printing various details related to travel packages.
+ * Reports are rendered through a {@link ReportWriter}, so they can be written in any report format to any stream.
  */
 public interface TravelPackagePrintService {
 
+    /**
+     * Prints a report of the specified travel package to a stream.
+     * @param travelPackageId The ID of the travel package.
+     * @param view The printed view.
+     * @param format The report format.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException if writing fails.
+     * @throws IllegalArgumentException if no travel package is found with the provided ID, or the view is not a printed one.
+     */
+    void print(Long travelPackageId, TravelPackageView view, ReportFormat format, OutputStream out) throws IOException;
+
     /**
      * Prints the itinerary for the specified travel package.
      * @param travelPackageId The ID of the travel package for which the itinerary will be printed.
+     * @param report The writer of the report.
+     * @throws IOException if writing fails.
      */
-    void printItinerary(Long travelPackageId);
+    void printItinerary(Long travelPackageId, ReportWriter report) throws IOException;
 
     /**
      * Prints the list of passengers associated with the specified travel package.
      * @param travelPackageId The ID of the travel package for which the passenger list will be printed.
+     * @param report The writer of the report.
+     * @throws IOException if writing fails.
      */
-    void printPassengerList(Long travelPackageId);
+    void printPassengerList(Long travelPackageId, ReportWriter report) throws IOException;
 
     /**
-     * Prints detailed information about passengers associated with the specified travel package.
+     * Prints details of passengers associated with the specified travel package.
      * @param travelPackageId The ID of the travel package for which passenger details will be printed.
+     * @param report The writer of the report.
+     * @throws IOException if writing fails.
      */
-    void printPassengerDetails(Long travelPackageId);
+    void printPassengerDetails(Long travelPackageId, ReportWriter report) throws IOException;
 
     /**
      * Prints the list of available activities for the specified travel package.
      * @param travelPackageId The ID of the travel package for which available activities will be printed.
+     * @param report The writer of the report.
+     * @throws IOException if writing fails.
      */
-    void printAvailableActivities(Long travelPackageId);
+    void printAvailableActivities(Long travelPackageId, ReportWriter report) throws IOException;
 }
@@ -0,0 +1,41 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ReportFormat;
+import javaproject.travelmanager.DTO.TravelPackageDocument;
+import javaproject.travelmanager.DTO.TravelPackageView;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface responsible for the read views of travel packages under heavy concurrent load.
+ * Concurrent identical reads of a travel package share a single load and its result.
+ */
+public interface TravelPackageReadService {
+
+    /**
+     * Retrieves the travel package with its destinations, activities and passengers, rendered as JSON.
+     * @param travelPackageId The ID of the travel package.
+     * @return The JSON document and the entity tag of the version it was rendered from.
+     * @throws IllegalArgumentException if no travel package is found with the provided ID.
+     */
+    TravelPackageDocument getTravelPackage(Long travelPackageId);
+
+    /**
+     * Tells whether a travel package exists, without loading it.
+     * @param travelPackageId The ID of the travel package.
+     * @return true if the travel package exists.
+     */
+    boolean exists(Long travelPackageId);
+
+    /**
+     * Writes a printed view of the travel package to a stream.
+     * @param travelPackageId The ID of the travel package.
+     * @param view The printed view.
+     * @param format The report format.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException if writing fails.
+     * @throws IllegalArgumentException if no travel package is found with the provided ID, or the view is not a printed one.
+     */
+    void writeReport(Long travelPackageId, TravelPackageView view, ReportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,28 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ReportJobSummary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Service interface for writing the reports of every travel package to files.
+ */
+public interface TravelPackageReportJobService {
+
+    /**
+     * Writes the itinerary and the passenger details of every travel package, each to its own file in the directory.
+     * A travel package whose reports fail is recorded in the summary and does not stop the others.
+     * @param directory The directory to write to; it is created if missing.
+     * @return The figures of the job, with the timing of every travel package.
+     * @throws IOException if the directory cannot be created.
+     */
+    ReportJobSummary generateReports(Path directory) throws IOException;
+
+    /**
+     * Writes the reports of every travel package to the configured directory.
+     * @return The figures of the job, with the timing of every travel package.
+     * @throws IOException if the directory cannot be created.
+     */
+    ReportJobSummary generateReports() throws IOException;
+}
@@ -1,5 +1,7 @@
 package javaproject.travelmanager.Service;
 
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.TravelPackageSummary;
 import javaproject.travelmanager.DTO.TravelPackageDTO;
 import javaproject.travelmanager.Entity.Destination;
 import javaproject.travelmanager.Entity.Passenger;
@@ -54,6 +56,15 @@ public interface TravelPackageService {
      */
     List<TravelPackage> getAllTravelPackages();
 
+    /**
+     * Retrieves one page of the listing of all travel packages, ordered by ID, with only the listing columns and aggregate counts.
+     * @param pageToken The token returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of travel packages on the page.
+     * @return The page of summaries and the token of the next page.
+     * @throws IllegalArgumentException if the page token is malformed.
+     */
+    KeysetPage<TravelPackageSummary> getTravelPackageSummaries(String pageToken, int pageSize);
+
     /**
      * Retrieves all passengers associated with the specified travel package.
      * @param travelPackageId The ID of the travel package.
@@ -0,0 +1,42 @@
+package javaproject.travelmanager.Service;
+
+/**
+ * Service interface responsible for the content versions of travel packages.
+ * The version of a travel package changes whenever anything shown in its representation changes,
+ * which makes it usable as a strong entity tag without loading the travel package.
+ */
+public interface TravelPackageVersionService {
+
+    /**
+     * Retrieves the current version of a travel package.
+     * @param travelPackageId The ID of the travel package.
+     * @return The version.
+     */
+    long getVersion(Long travelPackageId);
+
+    /**
+     * Retrieves the entity tag of a version of a travel package.
+     * @param travelPackageId The ID of the travel package.
+     * @param version The version.
+     * @return The quoted strong entity tag.
+     */
+    String getETag(Long travelPackageId, long version);
+
+    /**
+     * Bumps the version of a travel package once the current transaction commits.
+     * @param travelPackageId The ID of the travel package, or null for none.
+     */
+    void touch(Long travelPackageId);
+
+    /**
+     * Bumps the version of the travel package of a destination once the current transaction commits.
+     * @param destinationId The ID of the destination, or null for none.
+     */
+    void touchDestination(Long destinationId);
+
+    /**
+     * Bumps the version of the travel package of the destination of an activity once the current transaction commits.
+     * @param activityId The ID of the activity, or null for none.
+     */
+    void touchActivity(Long activityId);
+}
@@ -0,0 +1,42 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.Entity.WaitlistEntry;
+
+import java.util.List;
+
+/**
+ * Service interface responsible for the per-activity waitlists of full activities.
+ */
+public interface WaitlistService {
+
+    /**
+     * Puts a passenger at the end of the waitlist of a full activity.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity.
+     * @return The created waitlist entry.
+     */
+    WaitlistEntry joinWaitlist(Long passengerId, Long activityId);
+
+    /**
+     * Takes a passenger off the waitlist of an activity.
+     * @param passengerId The ID of the passenger.
+     * @param activityId The ID of the activity.
+     */
+    void leaveWaitlist(Long passengerId, Long activityId);
+
+    /**
+     * Retrieves the waitlist of an activity in the order it is served.
+     * @param activityId The ID of the activity.
+     * @return The entries of the activity, oldest first.
+     */
+    List<WaitlistEntry> getWaitlist(Long activityId);
+
+    /**
+     * Hands freed seats of an activity to the passengers at the head of its waitlist, in the caller's transaction.
+     * The seats are expected to be taken already; seats that nobody on the waitlist can take are left to the caller.
+     * @param activityId The ID of the activity.
+     * @param seats The number of freed seats.
+     * @return The number of passengers that were enrolled.
+     */
+    int promote(Long activityId, int seats);
+}
@@ -0,0 +1,52 @@
+package javaproject.travelmanager.Util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits lines of comma-separated values into fields.
+ * Fields may be enclosed in double quotes, in which case they may contain commas and doubled quotes.
+ * Quoted fields cannot span lines.
+ */
+public final class CsvParser {
+
+    private CsvParser() {
+    }
+
+    /**
+     * Splits one line into its fields.
+     * @param line The line, without its line terminator.
+     * @return The fields, unquoted.
+     * @throws IllegalArgumentException if a quoted field is not closed.
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
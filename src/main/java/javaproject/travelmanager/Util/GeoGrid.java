@@ -0,0 +1,331 @@
+package javaproject.travelmanager.Util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Spatial index of points on the Earth, bucketed in a grid of equal-degree cells of latitude and longitude.
+ * A radius query reads the cells of the bounding box of its circle; a nearest-neighbour query reads rings of
+ * cells around the query point until no point outside them can be closer than the k-th best, and switches to
+ * the occupied cells, closest first, once it has read more cells than are occupied.
+ * Distances are great-circle distances. The index is not thread-safe: callers guard it with their own lock.
+ */
+public final class GeoGrid {
+
+    /**
+     * The mean radius of the Earth in kilometres.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final Comparator<Hit> NEAREST_FIRST = Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::id);
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+
+    /**
+     * Creates an empty index.
+     * @param cellDegrees The size of a cell in degrees of latitude and of longitude.
+     */
+    public GeoGrid(double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("Invalid cell size");
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /**
+     * Computes the great-circle distance between two points.
+     * @param latitude1 The latitude of the first point in degrees.
+     * @param longitude1 The longitude of the first point in degrees.
+     * @param latitude2 The latitude of the second point in degrees.
+     * @param longitude2 The longitude of the second point in degrees.
+     * @return The distance in kilometres.
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double sinLatitude = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double sinLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = sinLatitude * sinLatitude
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Tells whether a latitude and a longitude are valid coordinates.
+     * @param latitude The latitude in degrees.
+     * @param longitude The longitude in degrees.
+     * @return True if the latitude is within [-90, 90] and the longitude within [-180, 180].
+     */
+    public static boolean isValid(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * Indexes a point, replacing its previous position.
+     * @param id The ID of the point.
+     * @param latitude The latitude in degrees.
+     * @param longitude The longitude in degrees.
+     */
+    public void put(long id, double latitude, double longitude) {
+        remove(id);
+        Point point = new Point(id, latitude, longitude, cell(row(latitude), column(longitude)));
+        points.put(id, point);
+        cells.computeIfAbsent(point.cell(), cell -> new ArrayList<>()).add(point);
+    }
+
+    /**
+     * Removes a point from the index.
+     * @param id The ID of the point.
+     */
+    public void remove(long id) {
+        Point point = points.remove(id);
+        if (point == null) {
+            return;
+        }
+        List<Point> cellPoints = cells.get(point.cell());
+        cellPoints.remove(point);
+        if (cellPoints.isEmpty()) {
+            cells.remove(point.cell());
+        }
+    }
+
+    /**
+     * Removes every point from the index.
+     */
+    public void clear() {
+        cells.clear();
+        points.clear();
+    }
+
+    /**
+     * Retrieves the number of points in the index.
+     * @return The number of points.
+     */
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Finds the points within a distance of a position.
+     * @param latitude The latitude of the position in degrees.
+     * @param longitude The longitude of the position in degrees.
+     * @param radiusKm The distance in kilometres.
+     * @param limit The maximum number of points to return.
+     * @return The nearest points within the distance, nearest first.
+     */
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(NEAREST_FIRST.reversed());
+        if (limit <= 0 || radiusKm < 0) {
+            return List.of();
+        }
+        double angle = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        int fromRow = row(Math.max(latitude - angle, -90));
+        int toRow = row(Math.min(latitude + angle, 90));
+        int fromColumn = 0;
+        int toColumn = columns - 1;
+        double sinLongitude = Math.sin(Math.toRadians(Math.min(angle, 90))) / Math.cos(Math.toRadians(latitude));
+        if (latitude - angle > -90 && latitude + angle < 90 && sinLongitude < 1) {
+            double longitudeSpan = Math.toDegrees(Math.asin(sinLongitude));
+            fromColumn = (int) Math.floor((longitude - longitudeSpan + 180) / cellDegrees);
+            toColumn = Math.min((int) Math.floor((longitude + longitudeSpan + 180) / cellDegrees), fromColumn + columns - 1);
+        }
+
+        if ((long) (toRow - fromRow + 1) * (toColumn - fromColumn + 1) > cells.size()) {
+            for (List<Point> cellPoints : cells.values()) {
+                int row = (int) (cellPoints.get(0).cell() / columns);
+                if (row >= fromRow && row <= toRow) {
+                    offerWithin(best, limit, cellPoints, latitude, longitude, radiusKm);
+                }
+            }
+        } else {
+            for (int row = fromRow; row <= toRow; row++) {
+                for (int column = fromColumn; column <= toColumn; column++) {
+                    List<Point> cellPoints = cells.get(cell(row, Math.floorMod(column, columns)));
+                    if (cellPoints != null) {
+                        offerWithin(best, limit, cellPoints, latitude, longitude, radiusKm);
+                    }
+                }
+            }
+        }
+        return sorted(best);
+    }
+
+    /**
+     * Finds the points nearest to a position.
+     * @param latitude The latitude of the position in degrees.
+     * @param longitude The longitude of the position in degrees.
+     * @param count The number of points to return.
+     * @return The nearest points, nearest first.
+     */
+    public List<Hit> nearest(double latitude, double longitude, int count) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(NEAREST_FIRST.reversed());
+        if (count <= 0 || points.isEmpty()) {
+            return List.of();
+        }
+        int centerRow = row(latitude);
+        int centerColumn = (int) Math.floor((longitude + 180) / cellDegrees);
+        Set<Long> visited = new HashSet<>();
+        long scannedCells = 0;
+        for (int ring = 0; ; ring++) {
+            if (scannedCells > cells.size()) {
+                nearestOccupied(best, count, visited, latitude, longitude);
+                break;
+            }
+            scannedCells += scanRing(best, count, visited, latitude, longitude, centerRow, centerColumn, ring);
+            boolean coversGrid = centerRow - ring <= 0 && centerRow + ring >= rows - 1 && 2 * ring + 1 >= columns;
+            if (coversGrid || best.size() == count
+                    && best.peek().distanceKm() <= outsideDistanceKm(latitude, longitude, centerRow, centerColumn, ring)) {
+                break;
+            }
+        }
+        return sorted(best);
+    }
+
+    private int scanRing(PriorityQueue<Hit> best, int count, Set<Long> visited, double latitude, double longitude,
+                         int centerRow, int centerColumn, int ring) {
+        boolean previousCoversColumns = 2 * ring - 1 >= columns;
+        int scanned = 0;
+        for (int row = Math.max(centerRow - ring, 0); row <= Math.min(centerRow + ring, rows - 1); row++) {
+            if (Math.abs(row - centerRow) == ring) {
+                int from = 2 * ring + 1 >= columns ? 0 : centerColumn - ring;
+                int to = 2 * ring + 1 >= columns ? columns - 1 : centerColumn + ring;
+                for (int column = from; column <= to; column++) {
+                    scanCell(best, count, visited, latitude, longitude, cell(row, Math.floorMod(column, columns)));
+                }
+                scanned += to - from + 1;
+            } else if (!previousCoversColumns) {
+                int west = Math.floorMod(centerColumn - ring, columns);
+                int east = Math.floorMod(centerColumn + ring, columns);
+                scanCell(best, count, visited, latitude, longitude, cell(row, west));
+                if (east != west) {
+                    scanCell(best, count, visited, latitude, longitude, cell(row, east));
+                }
+                scanned += 2;
+            }
+        }
+        return scanned;
+    }
+
+    private void nearestOccupied(PriorityQueue<Hit> best, int count, Set<Long> visited, double latitude, double longitude) {
+        List<CellDistance> pending = new ArrayList<>();
+        for (Long cell : cells.keySet()) {
+            if (!visited.contains(cell)) {
+                pending.add(new CellDistance(cell, cellDistanceKm(latitude, longitude, cell)));
+            }
+        }
+        pending.sort(Comparator.comparingDouble(CellDistance::distanceKm));
+        for (CellDistance cell : pending) {
+            if (best.size() == count && cell.distanceKm() > best.peek().distanceKm()) {
+                break;
+            }
+            scanCell(best, count, visited, latitude, longitude, cell.cell());
+        }
+    }
+
+    private void scanCell(PriorityQueue<Hit> best, int count, Set<Long> visited, double latitude, double longitude, long cell) {
+        List<Point> cellPoints = cells.get(cell);
+        if (cellPoints == null) {
+            return;
+        }
+        visited.add(cell);
+        offerWithin(best, count, cellPoints, latitude, longitude, Double.POSITIVE_INFINITY);
+    }
+
+    private static void offerWithin(PriorityQueue<Hit> best, int limit, List<Point> cellPoints,
+                                    double latitude, double longitude, double radiusKm) {
+        for (Point point : cellPoints) {
+            double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance > radiusKm) {
+                continue;
+            }
+            Hit hit = new Hit(point.id(), distance);
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (NEAREST_FIRST.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+    }
+
+    /**
+     * Lower bound of the distance to any point outside the block of cells within a ring of the center cell.
+     * A point outside the block is either outside its band of latitudes, at least the latitude gap away, or
+     * beyond one of its bounding meridians, at least the distance to the great circle of that meridian away.
+     */
+    private double outsideDistanceKm(double latitude, double longitude, int centerRow, int centerColumn, int ring) {
+        double bound = Double.POSITIVE_INFINITY;
+        if (centerRow - ring > 0) {
+            bound = Math.min(bound, latitude - ((centerRow - ring) * cellDegrees - 90));
+        }
+        if (centerRow + ring < rows - 1) {
+            bound = Math.min(bound, (centerRow + ring + 1) * cellDegrees - 90 - latitude);
+        }
+        bound = Math.toRadians(bound) * EARTH_RADIUS_KM;
+        if (2 * ring + 1 < columns) {
+            double west = longitude - ((centerColumn - ring) * cellDegrees - 180);
+            double east = (centerColumn + ring + 1) * cellDegrees - 180 - longitude;
+            bound = Math.min(bound, meridianDistanceKm(latitude, Math.min(west, east)));
+        }
+        return bound;
+    }
+
+    /**
+     * Lower bound of the distance to any point of a cell: the larger of the latitude gap and the meridian gap.
+     */
+    private double cellDistanceKm(double latitude, double longitude, long cell) {
+        double south = (cell / columns) * cellDegrees - 90;
+        double west = (cell % columns) * cellDegrees - 180;
+        double latitudeGap = Math.max(0, Math.max(south - latitude, latitude - (south + cellDegrees)));
+        double offset = ((longitude - west) % 360 + 360) % 360;
+        double longitudeGap = offset <= cellDegrees ? 0 : Math.min(offset - cellDegrees, 360 - offset);
+        return Math.max(Math.toRadians(latitudeGap) * EARTH_RADIUS_KM, meridianDistanceKm(latitude, longitudeGap));
+    }
+
+    private static double meridianDistanceKm(double latitude, double longitudeGap) {
+        double sinDistance = Math.cos(Math.toRadians(latitude)) * Math.sin(Math.toRadians(Math.min(longitudeGap, 90)));
+        return Math.asin(Math.min(1, Math.max(0, sinDistance))) * EARTH_RADIUS_KM;
+    }
+
+    private static List<Hit> sorted(PriorityQueue<Hit> best) {
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(NEAREST_FIRST);
+        return hits;
+    }
+
+    private int row(double latitude) {
+        return Math.min(Math.max((int) Math.floor((latitude + 90) / cellDegrees), 0), rows - 1);
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+
+    private long cell(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    /**
+     * A point found by a query.
+     * @param id The ID of the point.
+     * @param distanceKm The distance from the query position in kilometres.
+     */
+    public record Hit(long id, double distanceKm) {
+    }
+
+    private record Point(long id, double latitude, double longitude, long cell) {
+    }
+
+    private record CellDistance(long cell, double distanceKm) {
+    }
+}
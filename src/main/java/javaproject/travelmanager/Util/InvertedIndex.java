@@ -0,0 +1,202 @@
+package javaproject.travelmanager.Util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Inverted index from terms to the documents that contain them, with a weight per term and document.
+ * Terms are kept sorted, so every term starting with a prefix is found with one range lookup, and the postings
+ * of a term are kept by descending weight, so a search can read the best documents first and stop early.
+ * Each document also keeps its own terms, so the weight of a term in a known document is found without the postings.
+ * The index is not thread-safe: callers guard it with their own lock.
+ */
+public final class InvertedIndex {
+
+    private static final Comparator<Posting> BY_IMPACT = Comparator.comparingInt(Posting::weight).reversed()
+            .thenComparingLong(Posting::documentId);
+
+    private final NavigableMap<String, NavigableSet<Posting>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    /**
+     * Splits a text into lower-case terms without accents, breaking on every character that is not a letter or a digit.
+     * @param text The text, or null.
+     * @return The terms, in the order they appear; empty for a null or blank text.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                term.append(c);
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && !term.isEmpty()) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (!term.isEmpty()) {
+            terms.add(term.toString());
+        }
+        return terms;
+    }
+
+    /**
+     * Adds the weight of every term of a text to the weights of a document.
+     * @param weights The term weights of the document being built.
+     * @param text The text, or null.
+     * @param weight The weight of one occurrence of a term in the text.
+     */
+    public static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Indexes a document, replacing its previous terms.
+     * @param documentId The ID of the document.
+     * @param weights The weight of each term of the document.
+     */
+    public void put(long documentId, Map<String, Integer> weights) {
+        remove(documentId);
+        if (weights.isEmpty()) {
+            return;
+        }
+        String[] terms = new String[weights.size()];
+        int[] termWeights = new int[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            terms[i] = entry.getKey();
+            termWeights[i] = entry.getValue();
+            postings.computeIfAbsent(terms[i], t -> new TreeSet<>(BY_IMPACT)).add(new Posting(documentId, termWeights[i]));
+            i++;
+        }
+        documents.put(documentId, new Document(terms, termWeights));
+    }
+
+    /**
+     * Removes a document from the index.
+     * @param documentId The ID of the document.
+     */
+    public void remove(long documentId) {
+        Document document = documents.remove(documentId);
+        if (document == null) {
+            return;
+        }
+        for (int i = 0; i < document.terms().length; i++) {
+            NavigableSet<Posting> termPostings = postings.get(document.terms()[i]);
+            termPostings.remove(new Posting(documentId, document.weights()[i]));
+            if (termPostings.isEmpty()) {
+                postings.remove(document.terms()[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes every document from the index.
+     */
+    public void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    /**
+     * Retrieves the number of documents in the index.
+     * @return The number of documents.
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Finds the terms matching a query token: the token itself, then the terms it is a prefix of, in term order.
+     * @param token The query token, already tokenized.
+     * @param limit The maximum number of terms to return.
+     * @param prefixBoost The factor applied to the score of a term that only starts with the token.
+     * @return The matching terms by term text.
+     */
+    public Map<String, Term> match(String token, int limit, double prefixBoost) {
+        Map<String, Term> terms = new HashMap<>();
+        for (Map.Entry<String, NavigableSet<Posting>> entry : postings.tailMap(token, true).entrySet()) {
+            if (terms.size() == limit || !entry.getKey().startsWith(token)) {
+                break;
+            }
+            double idf = Math.log(1 + (double) documents.size() / entry.getValue().size());
+            double boost = entry.getKey().length() == token.length() ? 1 : prefixBoost;
+            terms.put(entry.getKey(), new Term(idf * boost, Collections.unmodifiableNavigableSet(entry.getValue())));
+        }
+        return terms;
+    }
+
+    /**
+     * Scores a document against matched terms.
+     * @param documentId The ID of the document.
+     * @param terms The matched terms by term text, as returned by {@link #match}.
+     * @return The best score of the document's terms among them, or 0 if it has none of them.
+     */
+    public double score(long documentId, Map<String, Term> terms) {
+        Document document = documents.get(documentId);
+        if (document == null) {
+            return 0;
+        }
+        double best = 0;
+        for (int i = 0; i < document.terms().length; i++) {
+            Term term = terms.get(document.terms()[i]);
+            if (term != null) {
+                best = Math.max(best, term.score(document.weights()[i]));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * A term matching a query token.
+     * @param factor The score of one unit of weight: the rarer the term, and the closer to the token, the higher.
+     * @param postings The documents containing the term, by descending weight then ascending ID; a view of the index.
+     */
+    public record Term(double factor, NavigableSet<Posting> postings) {
+
+        /**
+         * Scores one document's weight of the term.
+         * @param weight The weight of the term in the document.
+         * @return The score.
+         */
+        public double score(int weight) {
+            return weight * factor;
+        }
+
+        /**
+         * Retrieves the highest score of the term in any document.
+         * @return The highest score.
+         */
+        public double maxScore() {
+            return score(postings.first().weight());
+        }
+    }
+
+    /**
+     * The weight of a term in one document.
+     * @param documentId The ID of the document.
+     * @param weight The weight.
+     */
+    public record Posting(long documentId, int weight) {
+    }
+
+    private record Document(String[] terms, int[] weights) {
+    }
+}
@@ -0,0 +1,127 @@
+package javaproject.travelmanager.Util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded read-through cache with least-recently-used eviction and a time to live.
+ * Values are loaded outside the lock; a value loaded while an invalidation happened is returned
+ * to its caller but not stored, so an invalidation is never undone by a load that read the old state.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public final class LruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long invalidations;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache holding at most the given number of entries, each for at most the given time.
+     * @param maxSize The maximum number of entries.
+     * @param ttlNanos The time to live of an entry, in nanoseconds.
+     * @param clock The source of the current time, in nanoseconds.
+     */
+    public LruCache(int maxSize, long ttlNanos, LongSupplier clock) {
+        if (maxSize <= 0 || ttlNanos <= 0) {
+            throw new IllegalArgumentException("Cache size and time to live must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Retrieves the value of a key, loading and storing it if it is absent or expired.
+     * @param key The key.
+     * @param loader The function loading the value of a key; may throw to signal a missing value, which is not cached.
+     * @return The value.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long stamp;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (clock.getAsLong() - entry.loadedAt < ttlNanos) {
+                    hits++;
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictions++;
+            }
+            misses++;
+            stamp = invalidations;
+        }
+        V value = loader.apply(key);
+        synchronized (this) {
+            if (stamp == invalidations) {
+                entries.put(key, new Entry<>(value, clock.getAsLong()));
+                evictEldest();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes the value of a key.
+     * @param key The key.
+     */
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    /**
+     * Retrieves the number of values currently stored, expired ones included.
+     * @return The number of values.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieves the number of lookups answered from the cache.
+     * @return The number of hits.
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * Retrieves the number of lookups that had to load their value.
+     * @return The number of misses.
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Retrieves the number of values dropped because the cache was full or they had expired.
+     * @return The number of evictions.
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    private void evictEldest() {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,46 @@
+package javaproject.travelmanager.Util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between amounts in major currency units, as used by the API, and the minor units
+ * (cents) in which amounts are stored and calculated.
+ */
+public final class Money {
+
+    /**
+     * The number of minor units in one major unit.
+     */
+    public static final int MINOR_PER_MAJOR = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Converts an amount in major units to minor units, rounding half up.
+     * @param major The amount in major units.
+     * @return The amount in minor units.
+     */
+    public static long toMinor(double major) {
+        return BigDecimal.valueOf(major).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Converts an amount in minor units to major units.
+     * @param minor The amount in minor units.
+     * @return The amount in major units.
+     */
+    public static double toMajor(long minor) {
+        return BigDecimal.valueOf(minor, 2).doubleValue();
+    }
+
+    /**
+     * Formats an amount in minor units with two decimals, for reports.
+     * @param minor The amount in minor units.
+     * @return The formatted amount.
+     */
+    public static String format(long minor) {
+        return BigDecimal.valueOf(minor, 2).toPlainString();
+    }
+}
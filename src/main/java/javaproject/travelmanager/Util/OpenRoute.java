@@ -0,0 +1,218 @@
+package javaproject.travelmanager.Util;
+
+/**
+ * Short open route through points on the Earth, built with the nearest-neighbour heuristic or by cheapest
+ * insertion and improved with 2-opt. The route may start and end at any of its points.
+ * Building and improving stop at a deadline and always leave a complete route behind, so a large route comes
+ * back improved as far as time allowed rather than late. Points are kept as unit vectors, so a distance costs
+ * one square root and one arcsine. A route is not thread-safe.
+ */
+public final class OpenRoute {
+
+    private static final double EPSILON_KM = 1e-9;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final boolean[] visited;
+    private final int[] order;
+    private int size;
+
+    /**
+     * Creates an empty route over points given by their coordinates; a point is identified by its position.
+     * @param latitudes The latitudes of the points in degrees.
+     * @param longitudes The longitudes of the points in degrees.
+     */
+    public OpenRoute(double[] latitudes, double[] longitudes) {
+        int count = latitudes.length;
+        x = new double[count];
+        y = new double[count];
+        z = new double[count];
+        for (int point = 0; point < count; point++) {
+            double latitude = Math.toRadians(latitudes[point]);
+            double longitude = Math.toRadians(longitudes[point]);
+            x[point] = Math.cos(latitude) * Math.cos(longitude);
+            y[point] = Math.cos(latitude) * Math.sin(longitude);
+            z[point] = Math.sin(latitude);
+        }
+        visited = new boolean[count];
+        order = new int[count];
+    }
+
+    /**
+     * Retrieves the number of points the route visits.
+     * @return The number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the route visits a point.
+     * @param point The point.
+     * @return True if the route visits the point, false otherwise.
+     */
+    public boolean visits(int point) {
+        return visited[point];
+    }
+
+    /**
+     * Adds a point at the end of the route.
+     * @param point A point the route does not visit yet.
+     */
+    public void append(int point) {
+        visit(point);
+        order[size++] = point;
+    }
+
+    /**
+     * Adds a point where it lengthens the route least, which may be either end.
+     * @param point A point the route does not visit yet.
+     */
+    public void insertCheapest(int point) {
+        int position = size;
+        if (size > 0) {
+            double best = distanceKm(order[size - 1], point);
+            double first = distanceKm(point, order[0]);
+            if (first < best) {
+                best = first;
+                position = 0;
+            }
+            for (int i = 1; i < size; i++) {
+                double added = distanceKm(order[i - 1], point) + distanceKm(point, order[i]) - distanceKm(order[i - 1], order[i]);
+                if (added < best) {
+                    best = added;
+                    position = i;
+                }
+            }
+        }
+        visit(point);
+        System.arraycopy(order, position, order, position + 1, size - position);
+        order[position] = point;
+        size++;
+    }
+
+    /**
+     * Extends the route with every point it does not visit, each time going to the nearest one.
+     * An empty route starts at the first point. Past the deadline the remaining points are appended in order.
+     * @param deadlineNanos The deadline, as a value of {@link System#nanoTime()}.
+     * @return True if the route was extended before the deadline, false otherwise.
+     */
+    public boolean extendNearest(long deadlineNanos) {
+        int count = visited.length;
+        if (size == 0 && count > 0) {
+            append(0);
+        }
+        while (size < count) {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                for (int point = 0; point < count; point++) {
+                    if (!visited[point]) {
+                        append(point);
+                    }
+                }
+                return false;
+            }
+            int last = order[size - 1];
+            int nearest = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int point = 0; point < count; point++) {
+                if (!visited[point]) {
+                    double distance = distanceKm(last, point);
+                    if (distance < best) {
+                        best = distance;
+                        nearest = point;
+                    }
+                }
+            }
+            append(nearest);
+        }
+        return true;
+    }
+
+    /**
+     * Improves the route with 2-opt moves until none shortens it, or until the deadline.
+     * A move reverses a stretch of the route; reversing a stretch at either end changes where the route starts or ends.
+     * @param deadlineNanos The deadline, as a value of {@link System#nanoTime()}.
+     * @return True if no move shortens the route any more, false if the deadline came first.
+     */
+    public boolean improve(long deadlineNanos) {
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = -1; i < size - 2; i++) {
+                if (System.nanoTime() - deadlineNanos > 0) {
+                    return false;
+                }
+                int before = i < 0 ? -1 : order[i];
+                for (int j = i + 2; j < size; j++) {
+                    if (i < 0 && j == size - 1) {
+                        continue;
+                    }
+                    int first = order[i + 1];
+                    int last = order[j];
+                    int after = j + 1 < size ? order[j + 1] : -1;
+                    double change = legKm(before, last) + legKm(first, after) - legKm(before, first) - legKm(last, after);
+                    if (change < -EPSILON_KM) {
+                        reverse(i + 1, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the points in the order the route visits them.
+     * @return A copy of the order.
+     */
+    public int[] order() {
+        int[] copy = new int[size];
+        System.arraycopy(order, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * Computes the length of the route.
+     * @return The length in kilometres.
+     */
+    public double lengthKm() {
+        double length = 0;
+        for (int i = 1; i < size; i++) {
+            length += distanceKm(order[i - 1], order[i]);
+        }
+        return length;
+    }
+
+    /**
+     * Computes the great-circle distance between two points.
+     * @param from The first point.
+     * @param to The second point.
+     * @return The distance in kilometres.
+     */
+    public double distanceKm(int from, int to) {
+        double dx = x[from] - x[to];
+        double dy = y[from] - y[to];
+        double dz = z[from] - z[to];
+        return 2 * GeoGrid.EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(dx * dx + dy * dy + dz * dz) / 2));
+    }
+
+    private double legKm(int from, int to) {
+        return from < 0 || to < 0 ? 0 : distanceKm(from, to);
+    }
+
+    private void visit(int point) {
+        if (visited[point]) {
+            throw new IllegalStateException("Point is already on the route");
+        }
+        visited[point] = true;
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            int point = order[from];
+            order[from++] = order[to];
+            order[to--] = point;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package javaproject.travelmanager.Util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens of keyset-paginated listings.
+ * A token carries the ID of the last item of the previous page, and for listings ordered by another key first,
+ * the key of that item too; the next page starts after it.
+ */
+public final class PageToken {
+
+    private static final String PREFIX = "k1:";
+    private static final String CURSOR_PREFIX = "k2:";
+
+    private PageToken() {
+    }
+
+    /**
+     * Encodes the ID of the last item of a page as a token.
+     * @param lastId The ID of the last item of the page.
+     * @return The token.
+     */
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a token into the ID after which the next page starts.
+     * @param token The token, or null for the first page.
+     * @return The ID after which the page starts, 0 for the first page.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static long decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(PREFIX)) {
+                long lastId = Long.parseLong(decoded.substring(PREFIX.length()));
+                if (lastId >= 0) {
+                    return lastId;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the common error below
+        }
+        throw new IllegalArgumentException("Invalid page token");
+    }
+
+    /**
+     * Encodes the sort key and ID of the last item of a page, for listings ordered by a key then by ID, as a token.
+     * @param sortKey The sort key of the last item of the page.
+     * @param lastId The ID of the last item of the page.
+     * @return The token.
+     */
+    public static String encode(long sortKey, long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + sortKey + ":" + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a token of a listing ordered by a key then by ID into the position after which the next page starts.
+     * @param token The token, or null for the first page.
+     * @return The position after which the page starts, or null for the first page.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static Cursor decodeCursor(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = decoded.lastIndexOf(':');
+            if (decoded.startsWith(CURSOR_PREFIX) && separator > CURSOR_PREFIX.length()) {
+                long sortKey = Long.parseLong(decoded.substring(CURSOR_PREFIX.length(), separator));
+                long lastId = Long.parseLong(decoded.substring(separator + 1));
+                if (lastId >= 0) {
+                    return new Cursor(sortKey, lastId);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the common error below
+        }
+        throw new IllegalArgumentException("Invalid page token");
+    }
+
+    /**
+     * The position of the last item of a page ordered by a key then by ID.
+     * @param sortKey The sort key of the item.
+     * @param lastId The ID of the item.
+     */
+    public record Cursor(long sortKey, long lastId) {
+    }
+}
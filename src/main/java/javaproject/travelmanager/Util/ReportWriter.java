@@ -0,0 +1,417 @@
+package javaproject.travelmanager.Util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import javaproject.travelmanager.DTO.ReportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams a report made of summary fields and one table of rows to an output stream, in one of the report formats.
+ * Output is buffered and written value by value, without building lines or strings per row.
+ * A report writes its fields, then {@link #beginRows}, then each row as {@link #beginRow}, one cell per column
+ * and {@link #endRow}, then {@link #endRows}, optionally more fields, and finally {@link #finish}.
+ */
+public abstract class ReportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected Column[] columns = new Column[0];
+    protected int column;
+
+    /**
+     * Creates a writer for the given format.
+     * @param format The report format.
+     * @param out The stream to write to; it is flushed by {@link #finish} but never closed.
+     * @return The report writer.
+     * @throws IOException if the stream cannot be written.
+     */
+    public static ReportWriter create(ReportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case TEXT -> new TextReportWriter(out);
+            case JSON -> new JsonReportWriter(out);
+            case CSV -> new CsvReportWriter(out);
+        };
+    }
+
+    /**
+     * Writes a summary field with a text value.
+     * @param field The field.
+     * @param value The value.
+     * @throws IOException if writing fails.
+     */
+    public abstract void field(Column field, String value) throws IOException;
+
+    /**
+     * Writes a summary field with a whole number value.
+     * @param field The field.
+     * @param value The value.
+     * @throws IOException if writing fails.
+     */
+    public abstract void field(Column field, long value) throws IOException;
+
+    /**
+     * Starts the table of the report.
+     * @param table The table.
+     * @param columns The columns of every row, in the order their cells are written.
+     * @throws IOException if writing fails.
+     */
+    public void beginRows(Column table, Column... columns) throws IOException {
+        this.columns = columns;
+    }
+
+    /**
+     * Starts a row of the table.
+     * @throws IOException if writing fails.
+     */
+    public void beginRow() throws IOException {
+        column = 0;
+    }
+
+    /**
+     * Writes the next cell of the current row as text.
+     * @param value The value, or null for an empty cell.
+     * @throws IOException if writing fails.
+     */
+    public abstract void cell(String value) throws IOException;
+
+    /**
+     * Writes the next cell of the current row as a whole number.
+     * @param value The value.
+     * @throws IOException if writing fails.
+     */
+    public abstract void cell(long value) throws IOException;
+
+    /**
+     * Writes the next cell of the current row as an amount of money.
+     * @param minor The amount in minor units.
+     * @throws IOException if writing fails.
+     */
+    public abstract void money(long minor) throws IOException;
+
+    /**
+     * Ends the current row.
+     * @throws IOException if writing fails.
+     */
+    public abstract void endRow() throws IOException;
+
+    /**
+     * Ends the table.
+     * @throws IOException if writing fails.
+     */
+    public abstract void endRows() throws IOException;
+
+    /**
+     * Completes the report and flushes it to the stream, which is left open.
+     * @throws IOException if writing fails.
+     */
+    public abstract void finish() throws IOException;
+
+    protected Column nextColumn() {
+        if (column >= columns.length) {
+            throw new IllegalStateException("Row has more cells than columns");
+        }
+        return columns[column++];
+    }
+
+    /**
+     * A field or column: its key in JSON and CSV, and its label in text.
+     * @param key The key.
+     * @param label The label.
+     */
+    public record Column(String key, String label) {
+    }
+
+    /**
+     * Base of the character formats, writing numbers digit by digit into the buffered writer.
+     */
+    private abstract static class CharReportWriter extends ReportWriter {
+        protected final Writer out;
+        private final char[] digits = new char[20];
+
+        private CharReportWriter(OutputStream out) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        protected void writeLong(long value) throws IOException {
+            if (value == Long.MIN_VALUE) {
+                out.write(Long.toString(value));
+                return;
+            }
+            if (value < 0) {
+                out.write('-');
+                value = -value;
+            }
+            int start = digits.length;
+            do {
+                digits[--start] = (char) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            out.write(digits, start, digits.length - start);
+        }
+
+        protected void writeMoney(long minor) throws IOException {
+            if (minor < 0) {
+                out.write('-');
+                minor = -minor;
+            }
+            writeLong(minor / Money.MINOR_PER_MAJOR);
+            out.write('.');
+            long cents = minor % Money.MINOR_PER_MAJOR;
+            out.write((char) ('0' + cents / 10));
+            out.write((char) ('0' + cents % 10));
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+    }
+
+    /**
+     * One "Label: value" line per field and cell; each row starts with a dash and its cells are indented.
+     */
+    private static final class TextReportWriter extends CharReportWriter {
+        private boolean rowStarted;
+
+        private TextReportWriter(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void field(Column field, String value) throws IOException {
+            label(field.label());
+            out.write(value);
+            out.write('\n');
+        }
+
+        @Override
+        public void field(Column field, long value) throws IOException {
+            label(field.label());
+            writeLong(value);
+            out.write('\n');
+        }
+
+        @Override
+        public void beginRows(Column table, Column... columns) throws IOException {
+            super.beginRows(table, columns);
+            out.write(table.label());
+            out.write(":\n");
+        }
+
+        @Override
+        public void beginRow() throws IOException {
+            super.beginRow();
+            rowStarted = false;
+        }
+
+        @Override
+        public void cell(String value) throws IOException {
+            Column cell = nextColumn();
+            if (value != null) {
+                cellLabel(cell);
+                out.write(value);
+                out.write('\n');
+            }
+        }
+
+        @Override
+        public void cell(long value) throws IOException {
+            cellLabel(nextColumn());
+            writeLong(value);
+            out.write('\n');
+        }
+
+        @Override
+        public void money(long minor) throws IOException {
+            cellLabel(nextColumn());
+            writeMoney(minor);
+            out.write('\n');
+        }
+
+        @Override
+        public void endRow() {
+        }
+
+        @Override
+        public void endRows() {
+        }
+
+        private void cellLabel(Column cell) throws IOException {
+            out.write(rowStarted ? "  " : "- ");
+            rowStarted = true;
+            label(cell.label());
+        }
+
+        private void label(String label) throws IOException {
+            out.write(label);
+            out.write(": ");
+        }
+    }
+
+    /**
+     * A header line of column keys, then one line per row; fields are not written.
+     */
+    private static final class CsvReportWriter extends CharReportWriter {
+
+        private CsvReportWriter(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void field(Column field, String value) {
+        }
+
+        @Override
+        public void field(Column field, long value) {
+        }
+
+        @Override
+        public void beginRows(Column table, Column... columns) throws IOException {
+            super.beginRows(table, columns);
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                quoted(columns[i].key());
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void cell(String value) throws IOException {
+            separator();
+            if (value != null) {
+                quoted(value);
+            }
+        }
+
+        @Override
+        public void cell(long value) throws IOException {
+            separator();
+            writeLong(value);
+        }
+
+        @Override
+        public void money(long minor) throws IOException {
+            separator();
+            writeMoney(minor);
+        }
+
+        @Override
+        public void endRow() throws IOException {
+            out.write('\n');
+        }
+
+        @Override
+        public void endRows() {
+        }
+
+        private void separator() throws IOException {
+            if (column > 0) {
+                out.write(',');
+            }
+            nextColumn();
+        }
+
+        private void quoted(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+            out.write('"');
+        }
+    }
+
+    /**
+     * One JSON object with the fields and an array of row objects keyed by column.
+     */
+    private static final class JsonReportWriter extends ReportWriter {
+        private final JsonGenerator generator;
+
+        private JsonReportWriter(OutputStream out) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.writeStartObject();
+        }
+
+        @Override
+        public void field(Column field, String value) throws IOException {
+            generator.writeStringField(field.key(), value);
+        }
+
+        @Override
+        public void field(Column field, long value) throws IOException {
+            generator.writeNumberField(field.key(), value);
+        }
+
+        @Override
+        public void beginRows(Column table, Column... columns) throws IOException {
+            super.beginRows(table, columns);
+            generator.writeArrayFieldStart(table.key());
+        }
+
+        @Override
+        public void beginRow() throws IOException {
+            super.beginRow();
+            generator.writeStartObject();
+        }
+
+        @Override
+        public void cell(String value) throws IOException {
+            generator.writeFieldName(nextColumn().key());
+            if (value != null) {
+                generator.writeString(value);
+            } else {
+                generator.writeNull();
+            }
+        }
+
+        @Override
+        public void cell(long value) throws IOException {
+            generator.writeFieldName(nextColumn().key());
+            generator.writeNumber(value);
+        }
+
+        @Override
+        public void money(long minor) throws IOException {
+            generator.writeFieldName(nextColumn().key());
+            generator.writeNumber(BigDecimal.valueOf(minor, 2));
+        }
+
+        @Override
+        public void endRow() throws IOException {
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void endRows() throws IOException {
+            generator.writeEndArray();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.writeEndObject();
+            generator.flush();
+        }
+    }
+}
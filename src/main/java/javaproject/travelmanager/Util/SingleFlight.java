@@ -0,0 +1,79 @@
+package javaproject.travelmanager.Util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load and every caller that
+ * arrives while it is in flight waits for it and receives the same result, or the same exception.
+ * Nothing is kept once the load completes.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+
+    /**
+     * Loads the value of a key, or waits for the load of the same key that is already in flight.
+     * @param key The key.
+     * @param loader The function loading the value.
+     * @return The value.
+     */
+    public V execute(K key, Supplier<? extends V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> flight = flights.putIfAbsent(key, mine);
+        if (flight != null) {
+            joins.increment();
+            return await(flight);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, mine);
+        }
+    }
+
+    /**
+     * Retrieves the number of loads that were run.
+     * @return The number of loads.
+     */
+    public long loads() {
+        return loads.sum();
+    }
+
+    /**
+     * Retrieves the number of callers that shared a load already in flight.
+     * @return The number of joins.
+     */
+    public long joins() {
+        return joins.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
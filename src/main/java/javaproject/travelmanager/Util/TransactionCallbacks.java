@@ -0,0 +1,70 @@
+package javaproject.travelmanager.Util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Ties in-memory changes to the outcome of the current transaction. Indexes and caches kept next to the
+ * database register their changes here, so that readers never see a change the database may still roll back.
+ * Outside a transaction every callback runs right away.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Runs a change once the current transaction commits, or right away outside a transaction.
+     * The change is dropped if the transaction rolls back.
+     * @param change The change.
+     */
+    public static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Runs a callback once the current transaction completes, telling it whether the transaction committed,
+     * or right away as committed outside a transaction.
+     * @param callback The callback, given true if the transaction committed.
+     */
+    public static void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Runs an invalidation right away and again once the current transaction completes, either way, so that
+     * whatever was cached from the uncommitted state in the meantime does not outlive the transaction.
+     * @param invalidation The invalidation.
+     */
+    public static void nowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package javaproject.travelmanager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import javaproject.travelmanager.Entity.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Insert throughput benchmark for DataLoader-style seeding: travel packages with destinations, activities and passengers,
+ * persisted through JPA in transactions of a few hundred packages. It is not part of the regular test run; start it with
+ * {@code mvn test -Dtest=SeedingBenchmark} and optionally {@code -Dbenchmark.rows=200000}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SeedingBenchmark {
+
+    private static final int DESTINATIONS_PER_PACKAGE = 4;
+    private static final int ACTIVITIES_PER_DESTINATION = 5;
+    private static final int PASSENGERS_PER_PACKAGE = 5;
+    private static final int ROWS_PER_PACKAGE =
+            1 + DESTINATIONS_PER_PACKAGE * (1 + ACTIVITIES_PER_DESTINATION) + PASSENGERS_PER_PACKAGE;
+    private static final int PACKAGES_PER_TRANSACTION = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void seed() {
+        int rows = Integer.getInteger("benchmark.rows", 100_000);
+        int packages = (rows + ROWS_PER_PACKAGE - 1) / ROWS_PER_PACKAGE;
+
+        // Warm up the persistence layer before measuring.
+        seedPackages(PACKAGES_PER_TRANSACTION);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        seedPackages(packages);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        long inserted = (long) packages * ROWS_PER_PACKAGE;
+        System.out.printf("Seeded %d rows in %d ms: %d rows/s, %d JDBC statements prepared, %d entities inserted%n",
+                inserted, elapsedMillis, inserted * 1000 / elapsedMillis,
+                statistics.getPrepareStatementCount(), statistics.getEntityInsertCount());
+    }
+
+    private void seedPackages(int packages) {
+        for (int first = 0; first < packages; first += PACKAGES_PER_TRANSACTION) {
+            int last = Math.min(packages, first + PACKAGES_PER_TRANSACTION);
+            int from = first;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int p = from; p < last; p++) {
+                    seedPackage(p);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void seedPackage(int index) {
+        TravelPackage travelPackage = new TravelPackage("Package " + index, PASSENGERS_PER_PACKAGE);
+        for (int d = 0; d < DESTINATIONS_PER_PACKAGE; d++) {
+            Destination destination = new Destination("Destination " + d);
+            destination.setTravelPackage(travelPackage);
+            for (int a = 0; a < ACTIVITIES_PER_DESTINATION; a++) {
+                Activity activity = new Activity("Activity " + a, "Description", 1000, 10);
+                activity.setDestination(destination);
+                destination.addActivity(activity);
+            }
+            travelPackage.addDestination(destination);
+        }
+        entityManager.persist(travelPackage);
+        for (int p = 0; p < PASSENGERS_PER_PACKAGE; p++) {
+            Passenger passenger = new Passenger("Passenger " + p, index + "-" + p, PassengerType.STANDARD, 1000);
+            passenger.setTravelPackage(travelPackage);
+            entityManager.persist(passenger);
+        }
+    }
+}
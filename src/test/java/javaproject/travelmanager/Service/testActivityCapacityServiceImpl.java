@@ -0,0 +1,174 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.Exception.InsufficientActivityCapacityException;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Service.Implementation.ActivityCapacityServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the ActivityCapacityService class. It tests that seats are
+ * reserved and released against the in-memory counter and the guarded capacity statements, and that an
+ * edited capacity keeps the seats of transactions still in flight, and that a released seat is not counted
+ * twice by a counter seeded again while the release was in flight.
+ */
+@SpringBootTest
+public class testActivityCapacityServiceImpl {
+
+    @InjectMocks
+    private ActivityCapacityServiceImpl activityCapacityService;
+
+    @Mock
+    private TravelPackageVersionService travelPackageVersionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    @Test
+    void testReserveSeat() {
+        Long activityId = 1L;
+        when(activityRepository.findCapacityById(activityId)).thenReturn(Optional.of(1));
+        when(activityRepository.decrementCapacity(activityId)).thenReturn(1);
+
+        activityCapacityService.reserveSeat(activityId);
+
+        assertEquals(0, activityCapacityService.getAvailableSeats(activityId));
+        assertThrows(InsufficientActivityCapacityException.class, () -> activityCapacityService.reserveSeat(activityId));
+    }
+
+    @Test
+    void testReleaseSeat() {
+        Long activityId = 1L;
+        when(activityRepository.findCapacityById(activityId)).thenReturn(Optional.of(2));
+        when(activityRepository.decrementCapacity(activityId)).thenReturn(1);
+
+        activityCapacityService.reserveSeat(activityId);
+        activityCapacityService.releaseSeat(activityId);
+
+        assertEquals(2, activityCapacityService.getAvailableSeats(activityId));
+        verify(activityRepository, times(1)).incrementCapacity(activityId);
+    }
+
+    @Test
+    void testReserveUpTo() {
+        Long activityId = 1L;
+        when(activityRepository.findCapacityById(activityId)).thenReturn(Optional.of(3));
+        when(activityRepository.decrementCapacityBy(activityId, 3)).thenReturn(1);
+
+        assertEquals(3, activityCapacityService.reserveUpTo(activityId, 5));
+        assertEquals(0, activityCapacityService.reserveUpTo(activityId, 5));
+        verify(activityRepository, times(1)).decrementCapacityBy(activityId, 3);
+    }
+
+    @Test
+    void testConcurrentReservationsDoNotOversell() throws Exception {
+        Long activityId = 1L;
+        int capacity = 100;
+        when(activityRepository.findCapacityById(activityId)).thenReturn(Optional.of(capacity));
+        when(activityRepository.decrementCapacity(activityId)).thenReturn(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        AtomicInteger reserved = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    activityCapacityService.reserveSeat(activityId);
+                    reserved.incrementAndGet();
+                } catch (InsufficientActivityCapacityException ignored) {
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(capacity, reserved.get());
+        assertEquals(0, activityCapacityService.getAvailableSeats(activityId));
+    }
+
+    @Test
+    void testReserveSeatRejectedByDatabase() {
+        Long activityId = 1L;
+        when(activityRepository.findCapacityById(activityId)).thenReturn(Optional.of(3), Optional.of(0));
+        when(activityRepository.decrementCapacity(activityId)).thenReturn(0);
+
+        assertThrows(InsufficientActivityCapacityException.class, () -> activityCapacityService.reserveSeat(activityId));
+        assertEquals(0, activityCapacityService.getAvailableSeats(activityId));
+    }
+
+    @Test
+    void testReserveSeatsIsAllOrNothing() {
+        when(activityRepository.findCapacityById(1L)).thenReturn(Optional.of(1));
+        when(activityRepository.findCapacityById(2L)).thenReturn(Optional.of(0));
+
+        assertThrows(InsufficientActivityCapacityException.class, () -> activityCapacityService.reserveSeats(List.of(1L, 2L)));
+
+        assertEquals(1, activityCapacityService.getAvailableSeats(1L));
+        verify(activityRepository, never()).decrementCapacities(any());
+    }
+
+    @Test
+    void testEditedCapacityKeepsSeatsInFlight() {
+        Long activityId = 1L;
+        when(activityRepository.findCapacityById(activityId)).thenReturn(Optional.of(5));
+        when(activityRepository.decrementCapacity(activityId)).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            activityCapacityService.reserveSeat(activityId);
+            activityCapacityService.adjustCapacity(activityId, 3);
+            assertEquals(4, activityCapacityService.getAvailableSeats(activityId));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(7, activityCapacityService.getAvailableSeats(activityId));
+        verify(activityRepository, times(1)).findCapacityById(activityId);
+    }
+
+    @Test
+    void testReleaseIsNotCountedTwiceByReseededCounter() {
+        Long activityId = 1L;
+        when(activityRepository.findCapacityById(activityId)).thenReturn(Optional.of(2), Optional.of(3));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            activityCapacityService.releaseSeat(activityId);
+            // Another thread drops the counter and seeds it again from the capacity this release already wrote.
+            CompletableFuture.runAsync(() -> {
+                activityCapacityService.invalidate(activityId);
+                activityCapacityService.getAvailableSeats(activityId);
+            }).join();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(3, activityCapacityService.getAvailableSeats(activityId));
+    }
+}
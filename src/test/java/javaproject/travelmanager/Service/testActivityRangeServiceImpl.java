@@ -0,0 +1,208 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ActivityRangeQuery;
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Entity.TravelPackage;
+import javaproject.travelmanager.Event.ActivitySeatsChangedEvent;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Service.Implementation.ActivityRangeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the ActivityRangeService class. It tests cost and seat bounds, keyset pages,
+ * scoping by destination and travel package, following seat counters, changes waiting for their transaction to
+ * commit, and the rebuild.
+ */
+@SpringBootTest
+public class testActivityRangeServiceImpl {
+
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+
+    private final DestinationRepository destinationRepository = mock(DestinationRepository.class);
+
+    private final ActivityCapacityService activityCapacityService = mock(ActivityCapacityService.class);
+
+    private final ActivityRangeServiceImpl activityRangeService =
+            new ActivityRangeServiceImpl(activityRepository, destinationRepository, activityCapacityService, 2);
+
+    private final Map<Long, Integer> seats = new HashMap<>();
+
+    private final Map<Long, ActivitySummary> rows = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(activityCapacityService.getAvailableSeats(anyLong(), anyInt()))
+                .thenAnswer(invocation -> seats.computeIfAbsent(invocation.getArgument(0), id -> invocation.getArgument(1)));
+        when(activityCapacityService.getAvailableSeats(anyLong()))
+                .thenAnswer(invocation -> seats.get(invocation.<Long>getArgument(0)));
+        when(activityRepository.findSummariesByIdIn(any())).thenAnswer(invocation -> {
+            List<ActivitySummary> found = new ArrayList<>();
+            for (Long activityId : invocation.<Collection<Long>>getArgument(0)) {
+                found.add(rows.get(activityId));
+            }
+            return found;
+        });
+
+        Destination goa = destination(1L, 7L);
+        Destination jaipur = destination(2L, 7L);
+        Destination kerala = destination(3L, null);
+        activityRangeService.indexDestination(goa);
+        activityRangeService.indexDestination(jaipur);
+        activityRangeService.indexDestination(kerala);
+        activityRangeService.indexActivity(activity(10L, 10, 0, goa));
+        activityRangeService.indexActivity(activity(11L, 20, 5, goa));
+        activityRangeService.indexActivity(activity(12L, 20, 2, jaipur));
+        activityRangeService.indexActivity(activity(13L, 30, 8, kerala));
+        activityRangeService.indexActivity(activity(14L, 50, 4, jaipur));
+    }
+
+    @Test
+    void testBoundsCostAndFreeSeats() {
+        assertEquals(List.of(11L, 12L, 13L), ids(query(15, 40, 0)));
+        assertEquals(List.of(11L, 13L), ids(query(15, 40, 4)));
+        assertEquals(List.of(11L, 13L), ids(query(15, 40, 3)));
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L), ids(new ActivityRangeQuery(null, null, 0, null, null)));
+        assertEquals(List.of(), ids(new ActivityRangeQuery(null, null, 300, null, null)));
+        assertEquals(List.of(), ids(query(40, 15, 0)));
+
+        ActivitySummary summary = activityRangeService.findActivities(query(50, 50, 0), null, 10).items().get(0);
+        assertEquals(50.0, summary.cost());
+        assertEquals(4, summary.capacity());
+    }
+
+    @Test
+    void testPagesFollowCostThenId() {
+        ActivityRangeQuery query = new ActivityRangeQuery(null, null, 0, null, null);
+        List<Long> seen = new ArrayList<>();
+        String pageToken = null;
+        int pages = 0;
+        do {
+            KeysetPage<ActivitySummary> page = activityRangeService.findActivities(query, pageToken, 2);
+            page.items().forEach(activity -> seen.add(activity.id()));
+            pageToken = page.nextPageToken();
+            pages++;
+        } while (pageToken != null);
+
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L), seen);
+        assertEquals(3, pages);
+        assertThrows(IllegalArgumentException.class, () -> activityRangeService.findActivities(query, "not-a-token", 2));
+    }
+
+    @Test
+    void testScopesByDestinationAndTravelPackage() {
+        assertEquals(List.of(10L, 11L), ids(new ActivityRangeQuery(null, null, 0, 1L, null)));
+        assertEquals(List.of(11L), ids(new ActivityRangeQuery(null, null, 1, 1L, null)));
+        assertEquals(List.of(10L, 11L, 12L, 14L), ids(new ActivityRangeQuery(null, null, 0, null, 7L)));
+        assertEquals(List.of(11L, 14L), ids(new ActivityRangeQuery(null, null, 3, null, 7L)));
+        assertEquals(List.of(12L, 14L), ids(new ActivityRangeQuery(null, null, 0, 2L, 7L)));
+        assertEquals(List.of(), ids(new ActivityRangeQuery(null, null, 0, 3L, 7L)));
+
+        KeysetPage<ActivitySummary> first = activityRangeService.findActivities(new ActivityRangeQuery(null, null, 0, null, 7L), null, 3);
+        KeysetPage<ActivitySummary> second = activityRangeService.findActivities(new ActivityRangeQuery(null, null, 0, null, 7L), first.nextPageToken(), 3);
+        assertEquals(List.of(14L), second.items().stream().map(ActivitySummary::id).toList());
+        assertNull(second.nextPageToken());
+    }
+
+    @Test
+    void testFollowsSeatCounters() {
+        seats.put(12L, 6);
+        activityRangeService.onSeatsChanged(new ActivitySeatsChangedEvent(12L));
+        seats.put(13L, 0);
+        activityRangeService.onSeatsChanged(new ActivitySeatsChangedEvent(13L));
+
+        assertEquals(List.of(11L, 12L, 14L), ids(new ActivityRangeQuery(null, null, 4, null, null)));
+        assertEquals(List.of(12L), ids(new ActivityRangeQuery(null, null, 6, null, null)));
+        assertEquals(List.of(), ids(new ActivityRangeQuery(30L * 100, 30L * 100, 1, null, null)));
+    }
+
+    @Test
+    void testChangesWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            activityRangeService.indexActivity(activity(15L, 25, 3, null));
+            activityRangeService.removeDestination(1L);
+            assertEquals(List.of(11L, 12L, 13L), ids(query(15, 40, 0)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(12L, 15L, 13L), ids(query(15, 40, 0)));
+        assertEquals(List.of(12L, 14L), ids(new ActivityRangeQuery(null, null, 0, null, 7L)));
+    }
+
+    @Test
+    void testRebuildReadsTheCatalogInChunks() {
+        when(destinationRepository.findSummariesAfter(eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(new DestinationSummary(4L, "Kerala", 8L, 2)));
+        when(activityRepository.findSummariesAfter(eq(0L), any(PageRequest.class))).thenReturn(List.of(
+                row(20L, 40, 5, 4L), row(21L, 15, 1, 4L)));
+        when(activityRepository.findSummariesAfter(eq(21L), any(PageRequest.class))).thenReturn(List.of(
+                row(22L, 15, 9, null)));
+
+        activityRangeService.rebuild();
+
+        assertEquals(List.of(21L, 22L, 20L), ids(new ActivityRangeQuery(null, null, 0, null, null)));
+        assertEquals(List.of(21L, 20L), ids(new ActivityRangeQuery(null, null, 0, null, 8L)));
+        assertEquals(List.of(22L, 20L), ids(new ActivityRangeQuery(null, null, 2, null, null)));
+        verify(activityRepository, times(2)).findSummariesAfter(anyLong(), any(PageRequest.class));
+    }
+
+    private List<Long> ids(ActivityRangeQuery query) {
+        return activityRangeService.findActivities(query, null, 10).items().stream().map(ActivitySummary::id).toList();
+    }
+
+    private static ActivityRangeQuery query(double minCost, double maxCost, int minFreeSeats) {
+        return new ActivityRangeQuery(Math.round(minCost * 100), Math.round(maxCost * 100), minFreeSeats, null, null);
+    }
+
+    private static Destination destination(Long id, Long travelPackageId) {
+        Destination destination = new Destination("Destination " + id);
+        destination.setId(id);
+        if (travelPackageId != null) {
+            TravelPackage travelPackage = new TravelPackage();
+            travelPackage.setId(travelPackageId);
+            destination.setTravelPackage(travelPackage);
+        }
+        return destination;
+    }
+
+    private Activity activity(Long id, double cost, int capacity, Destination destination) {
+        Activity activity = new Activity("Activity " + id, "Description", cost, capacity);
+        activity.setId(id);
+        activity.setDestination(destination);
+        rows.put(id, new ActivitySummary(id, activity.getName(), activity.getDescription(), activity.getCostMinor(),
+                capacity, destination != null ? destination.getId() : null));
+        return activity;
+    }
+
+    private ActivitySummary row(Long id, double cost, int capacity, Long destinationId) {
+        ActivitySummary summary = new ActivitySummary(id, "Activity " + id, "Description", Math.round(cost * 100), capacity, destinationId);
+        rows.put(id, summary);
+        return summary;
+    }
+}
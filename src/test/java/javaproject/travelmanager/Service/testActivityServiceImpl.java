@@ -1,5 +1,7 @@
 package javaproject.travelmanager.Service;
 
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.ActivitySummary;
 import javaproject.travelmanager.DTO.ActivityDTO;
 import javaproject.travelmanager.Entity.Activity;
 import javaproject.travelmanager.Entity.Destination;
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.ArrayList;
@@ -30,9 +33,36 @@ public class testActivityServiceImpl {
     @InjectMocks
     private ActivityServiceImpl activityService;
 
+    @Mock
+    private TravelPackageVersionService travelPackageVersionService;
+
+    @Mock
+    private TravelPackageAvailabilityService travelPackageAvailabilityService;
+
+    @Mock
+    private CatalogSearchService catalogSearchService;
+
+    @Mock
+    private ActivityRangeService activityRangeService;
+
     @Mock
     private ActivityRepository activityRepository;
 
+    @Mock
+    private DestinationRepository destinationRepository;
+
+    @Mock
+    private ActivityCapacityService activityCapacityService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private CatalogCacheService catalogCacheService;
+
     @Test
     void testAddActivity() {
         ActivityDTO activityDTO = new ActivityDTO();
@@ -80,6 +110,34 @@ public class testActivityServiceImpl {
         assertEquals(2, activities.size());
     }
 
+    @Test
+    void testGetActivitySummaries() {
+        List<ActivitySummary> summaryList = List.of(new ActivitySummary(1L, "Beach Party", "Enjoy beach party", 200000L, 10, 1L));
+
+        when(activityRepository.findSummariesAfter(0L, PageRequest.ofSize(51))).thenReturn(summaryList);
+
+        KeysetPage<ActivitySummary> page = activityService.getActivitySummaries(null, 50);
+        List<ActivitySummary> summaries = page.items();
+
+        assertEquals(summaryList, summaries);
+        assertNull(page.nextPageToken());
+        assertEquals(2000.0, summaries.get(0).cost());
+        verify(activityRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetActivitySummaryTakesCapacityFromCounters() {
+        Long id = 1L;
+        when(catalogCacheService.getActivity(id)).thenReturn(new ActivitySummary(id, "Beach Party", "Enjoy beach party", 200000L, 10, 1L));
+        when(activityCapacityService.getAvailableSeats(id)).thenReturn(3);
+
+        ActivitySummary summary = activityService.getActivitySummary(id);
+
+        assertEquals("Beach Party", summary.name());
+        assertEquals(3, summary.capacity());
+        verify(activityRepository, never()).findById(id);
+    }
+
     @Test
     void testUpdateActivity() {
         Long id = 1L;
@@ -116,5 +174,25 @@ public class testActivityServiceImpl {
 
         verify(activityRepository, times(1)).deleteById(id);
     }
+
+    @Test
+    void testSetDestinationToActivityInvalidatesCatalog() {
+        Destination oldDestination = new Destination("Old Destination");
+        oldDestination.setId(1L);
+        Destination newDestination = new Destination("New Destination");
+        newDestination.setId(2L);
+        Activity activity = new Activity("Beach Party", "Enjoy beach party", 2000.0, 10);
+        activity.setId(3L);
+        activity.setDestination(oldDestination);
+
+        when(destinationRepository.findById(2L)).thenReturn(Optional.of(newDestination));
+        when(activityRepository.findById(3L)).thenReturn(Optional.of(activity));
+
+        activityService.setDestinationToActivity(3L, 2L);
+
+        verify(catalogCacheService).invalidateActivity(3L);
+        verify(catalogCacheService).invalidateDestination(1L);
+        verify(catalogCacheService).invalidateDestination(2L);
+    }
 }
 
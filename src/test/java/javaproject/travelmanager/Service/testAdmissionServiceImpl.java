@@ -0,0 +1,217 @@
+package javaproject.travelmanager.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javaproject.travelmanager.DTO.LedgerState;
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Exception.InsufficientActivityCapacityException;
+import javaproject.travelmanager.Exception.InsufficientBalanceException;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.BalanceEntryRepository;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import javaproject.travelmanager.Service.Implementation.AdmissionServiceImpl;
+import javaproject.travelmanager.Service.Implementation.BalanceLedgerServiceImpl;
+import javaproject.travelmanager.Service.Implementation.OptimisticRetryServiceImpl;
+import javaproject.travelmanager.Service.Implementation.PricingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the AdmissionService class. It tests that requests for a nearly
+ * full activity are decided together by tier and arrival, that the STANDARD share is honoured, that a
+ * passenger who cannot pay is rejected without failing the window, that an undecided request times out while
+ * a request taken by a slow window waits for its decision, and that a slow window holds up no other activity.
+ */
+@SpringBootTest
+public class testAdmissionServiceImpl {
+
+    private final PassengerService passengerService = mock(PassengerService.class);
+    private final PassengerRepository passengerRepository = mock(PassengerRepository.class);
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+    private final ActivityCapacityService activityCapacityService = mock(ActivityCapacityService.class);
+    private final List<Passenger> passengers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        passengers.add(passenger(1L, PassengerType.STANDARD));
+        passengers.add(passenger(2L, PassengerType.GOLD));
+        passengers.add(passenger(3L, PassengerType.PREMIUM));
+        passengers.add(passenger(4L, PassengerType.STANDARD));
+        when(passengerRepository.findAllById(any())).thenReturn(passengers);
+        when(activityRepository.findCostMinorById(1L)).thenReturn(Optional.of(10000L));
+        when(activityRepository.getReferenceById(1L)).thenReturn(new Activity());
+        when(activityCapacityService.getAvailableSeats(1L)).thenReturn(2);
+        when(activityCapacityService.reserveUpTo(eq(1L), anyInt())).thenReturn(2);
+    }
+
+    @Test
+    void testSeatsGoToHigherTiersFirst() throws Exception {
+        List<Long> admitted = admitAll(service(0));
+
+        assertEquals(List.of(2L, 3L), admitted);
+        verify(activityCapacityService, times(1)).reserveUpTo(1L, 4);
+        verify(passengerService, never()).addActivityToPassenger(any(), any());
+    }
+
+    @Test
+    void testStandardShareIsKept() throws Exception {
+        List<Long> admitted = admitAll(service(0.5));
+
+        assertEquals(2, admitted.size());
+        assertTrue(admitted.contains(3L));
+        assertTrue(admitted.contains(1L) || admitted.contains(4L));
+    }
+
+    @Test
+    void testPassengerWhoCannotPayIsRejectedAlone() throws Exception {
+        passengers.get(1).setSnapshotBalanceMinor(0);
+        AdmissionService admissionService = service(0);
+        ExecutorService executor = Executors.newFixedThreadPool(passengers.size());
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (Passenger passenger : passengers) {
+                results.add(executor.submit(() -> admissionService.admit(passenger.getId(), 1L)));
+            }
+
+            ExecutionException unpaid = assertThrows(ExecutionException.class, () -> results.get(1).get());
+            assertInstanceOf(InsufficientBalanceException.class, unpaid.getCause());
+            results.get(2).get();
+            verify(activityCapacityService, times(1)).reserveUpTo(1L, 3);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0.0, passengers.get(1).getBalance());
+        assertEquals(1900.0, passengers.get(0).getBalance() + passengers.get(3).getBalance());
+    }
+
+    @Test
+    void testUndecidedRequestTimesOut() throws Exception {
+        AdmissionService admissionService = new AdmissionServiceImpl(passengerService, passengerRepository, activityRepository,
+                activityCapacityService, new OptimisticRetryServiceImpl(new SimpleMeterRegistry(), 3, 1, 2),
+                new PricingServiceImpl(activityRepository, new BalanceLedgerServiceImpl(ledgerRepository()), 10),
+                mock(TravelPackageVersionService.class),
+                mock(PlatformTransactionManager.class), 300, 50, 10, 0);
+
+        assertThrows(IllegalStateException.class, () -> admissionService.admit(1L, 1L));
+
+        Thread.sleep(400);
+        verify(activityCapacityService, never()).reserveUpTo(any(), anyInt());
+    }
+
+    @Test
+    void testTakenRequestWaitsForItsDecision() {
+        when(activityCapacityService.reserveUpTo(eq(1L), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return 1;
+        });
+        AdmissionService admissionService = new AdmissionServiceImpl(passengerService, passengerRepository, activityRepository,
+                activityCapacityService, new OptimisticRetryServiceImpl(new SimpleMeterRegistry(), 3, 1, 2),
+                new PricingServiceImpl(activityRepository, new BalanceLedgerServiceImpl(ledgerRepository()), 10),
+                mock(TravelPackageVersionService.class),
+                mock(PlatformTransactionManager.class), 5, 50, 10, 0);
+
+        admissionService.admit(1L, 1L);
+
+        assertEquals(1, passengers.get(0).getActivities().size());
+        assertEquals(900.0, passengers.get(0).getBalance());
+    }
+
+    @Test
+    void testSlowWindowDoesNotHoldUpOtherActivities() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(activityCapacityService.reserveUpTo(eq(1L), anyInt())).thenAnswer(invocation -> {
+            release.await();
+            return 1;
+        });
+        when(activityRepository.findCostMinorById(2L)).thenReturn(Optional.of(10000L));
+        when(activityRepository.getReferenceById(2L)).thenReturn(new Activity());
+        when(activityCapacityService.getAvailableSeats(2L)).thenReturn(2);
+        when(activityCapacityService.reserveUpTo(eq(2L), anyInt())).thenReturn(1);
+        AdmissionService admissionService = service(0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> slow = executor.submit(() -> admissionService.admit(1L, 1L));
+            verify(activityCapacityService, timeout(1000)).reserveUpTo(eq(1L), anyInt());
+
+            executor.submit(() -> admissionService.admit(2L, 2L)).get(1, TimeUnit.SECONDS);
+
+            assertFalse(slow.isDone());
+            release.countDown();
+            slow.get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDirectEnrollmentWhenNotHot() {
+        when(activityCapacityService.getAvailableSeats(1L)).thenReturn(50);
+
+        service(0.2).admit(1L, 1L);
+
+        verify(passengerService, times(1)).addActivityToPassenger(1L, 1L);
+        verify(activityCapacityService, never()).reserveUpTo(any(), anyInt());
+    }
+
+    private List<Long> admitAll(AdmissionService admissionService) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(passengers.size());
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (Passenger passenger : passengers) {
+                results.add(executor.submit(() -> admissionService.admit(passenger.getId(), 1L)));
+            }
+            List<Long> admitted = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                    admitted.add(passengers.get(i).getId());
+                } catch (java.util.concurrent.ExecutionException e) {
+                    assertInstanceOf(InsufficientActivityCapacityException.class, e.getCause());
+                }
+            }
+            return admitted;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private AdmissionService service(double standardShare) {
+        return new AdmissionServiceImpl(passengerService, passengerRepository, activityRepository,
+                activityCapacityService, new OptimisticRetryServiceImpl(new SimpleMeterRegistry(), 3, 1, 2),
+                new PricingServiceImpl(activityRepository, new BalanceLedgerServiceImpl(ledgerRepository()), 10),
+                mock(TravelPackageVersionService.class),
+                mock(PlatformTransactionManager.class), 300, 5000, 10, standardShare);
+    }
+
+    private Passenger passenger(Long id, PassengerType passengerType) {
+        Passenger passenger = new Passenger("Passenger " + id, String.valueOf(id), passengerType, 1000);
+        passenger.setId(id);
+        return passenger;
+    }
+
+    private BalanceEntryRepository ledgerRepository() {
+        BalanceEntryRepository balanceEntryRepository = mock(BalanceEntryRepository.class);
+        when(balanceEntryRepository.findLedgerState(any())).thenAnswer(invocation -> passengers.stream().filter(passenger -> passenger.getId().equals(invocation.getArgument(0))).findFirst()
+                .map(passenger -> new LedgerState(passenger.getBalanceMinor(), 0)).orElse(null));
+        return balanceEntryRepository;
+    }
+}
@@ -0,0 +1,158 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.LedgerState;
+import javaproject.travelmanager.Entity.BalanceEntry;
+import javaproject.travelmanager.Entity.BalanceEntryType;
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Exception.InsufficientBalanceException;
+import javaproject.travelmanager.Repository.BalanceEntryRepository;
+import javaproject.travelmanager.Service.Implementation.BalanceLedgerServiceImpl;
+import javaproject.travelmanager.Util.Money;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the BalanceLedgerService class. It tests that balance movements
+ * are appended as signed entries without floating-point drift, that a debit computed from a stale
+ * balance is rejected, and that concurrent debits cannot overdraw a balance.
+ * The repository keeps the written entries in memory and enforces the unique debit sequence like the database.
+ */
+@SpringBootTest
+public class testBalanceLedgerServiceImpl {
+
+    private final BalanceEntryRepository balanceEntryRepository = mock(BalanceEntryRepository.class);
+
+    private final BalanceLedgerServiceImpl balanceLedgerService = new BalanceLedgerServiceImpl(balanceEntryRepository);
+
+    private final List<BalanceEntry> written = new ArrayList<>();
+
+    private long openingMinor;
+
+    @BeforeEach
+    void setUp() {
+        when(balanceEntryRepository.findLedgerState(1L)).thenAnswer(invocation -> state());
+        when(balanceEntryRepository.save(any(BalanceEntry.class))).thenAnswer(invocation -> write(invocation.getArgument(0)));
+        when(balanceEntryRepository.saveAndFlush(any(BalanceEntry.class))).thenAnswer(invocation -> write(invocation.getArgument(0)));
+    }
+
+    @Test
+    void testMovementsAreAppended() {
+        Passenger passenger = passenger(1000);
+
+        balanceLedgerService.debit(passenger, 7L, 25_000L);
+        balanceLedgerService.refund(passenger, 7L, 10_000L);
+        balanceLedgerService.topUp(passenger, 5_000L);
+        balanceLedgerService.adjustTo(passenger, 50_000L);
+
+        assertEquals(List.of(BalanceEntryType.DEBIT, BalanceEntryType.REFUND, BalanceEntryType.TOP_UP, BalanceEntryType.ADJUSTMENT),
+                written.stream().map(BalanceEntry::getEntryType).toList());
+        assertEquals(List.of(-25_000L, 10_000L, 5_000L, -40_000L),
+                written.stream().map(BalanceEntry::getAmountMinor).toList());
+        assertEquals(Arrays.asList(1L, null, null, 2L), written.stream().map(BalanceEntry::getDebitSequence).toList());
+        verify(balanceEntryRepository, times(2)).saveAndFlush(any(BalanceEntry.class));
+        assertEquals(500.0, passenger.getBalance());
+    }
+
+    @Test
+    void testNoDrift() {
+        Passenger passenger = passenger(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            balanceLedgerService.debit(passenger, 7L, 10L);
+        }
+
+        assertEquals(900.0, passenger.getBalance());
+        assertThrows(InsufficientBalanceException.class, () -> balanceLedgerService.debit(passenger, 7L, 100_000L));
+    }
+
+    @Test
+    void testStaleDebitIsRejected() {
+        Passenger passenger = passenger(1000);
+        balanceLedgerService.debit(passenger, 7L, 25_000L);
+        doReturn(new LedgerState(100_000L, 0)).when(balanceEntryRepository).findLedgerState(1L);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> balanceLedgerService.adjustTo(passenger(1000), 50_000L));
+
+        assertEquals(1, written.size());
+    }
+
+    @Test
+    void testConcurrentDebitsDoNotOverdraw() throws Exception {
+        passenger(100);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        AtomicInteger debited = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                futures.add(executor.submit(() -> {
+                    while (true) {
+                        try {
+                            balanceLedgerService.debit(passenger(100), 7L, 100L);
+                            debited.incrementAndGet();
+                            return;
+                        } catch (ObjectOptimisticLockingFailureException ignored) {
+                            // another debit took the sequence number first; read the balance again
+                        } catch (InsufficientBalanceException ignored) {
+                            // expected once the balance is spent
+                            return;
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(100, debited.get());
+        assertEquals(0, state().balanceMinor());
+        assertEquals(100, written.size());
+    }
+
+    private Passenger passenger(double balance) {
+        openingMinor = Money.toMinor(balance);
+        Passenger passenger = new Passenger("Test Passenger", "1", PassengerType.STANDARD, balance);
+        passenger.setId(1L);
+        return passenger;
+    }
+
+    private synchronized LedgerState state() {
+        long balance = openingMinor;
+        long lastDebitSequence = 0;
+        for (BalanceEntry entry : written) {
+            balance += entry.getAmountMinor();
+            if (entry.getDebitSequence() != null) {
+                lastDebitSequence = Math.max(lastDebitSequence, entry.getDebitSequence());
+            }
+        }
+        return new LedgerState(balance, lastDebitSequence);
+    }
+
+    private synchronized BalanceEntry write(BalanceEntry entry) {
+        if (entry.getDebitSequence() != null
+                && written.stream().anyMatch(other -> Objects.equals(other.getDebitSequence(), entry.getDebitSequence()))) {
+            throw new DataIntegrityViolationException("Duplicate debit sequence",
+                    new ConstraintViolationException("Duplicate debit sequence", null, BalanceEntry.DEBIT_SEQUENCE_CONSTRAINT));
+        }
+        written.add(entry);
+        return entry;
+    }
+}
@@ -0,0 +1,117 @@
+package javaproject.travelmanager.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.DTO.ImportFormat;
+import javaproject.travelmanager.DTO.ImportRejection;
+import javaproject.travelmanager.DTO.ImportReport;
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.Implementation.BulkImportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the BulkImportService class. It tests incremental parsing of NDJSON and CSV,
+ * chunked inserts, batched foreign ID lookups and the rejection report.
+ */
+@SpringBootTest
+public class testBulkImportServiceImpl {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private final DestinationRepository destinationRepository = mock(DestinationRepository.class);
+
+    private final TravelPackageRepository travelPackageRepository = mock(TravelPackageRepository.class);
+
+    private final CatalogCacheService catalogCacheService = mock(CatalogCacheService.class);
+
+    private final BulkImportServiceImpl bulkImportService = new BulkImportServiceImpl(entityManager, destinationRepository,
+            travelPackageRepository, catalogCacheService, mock(TravelPackageVersionService.class),
+            mock(TravelPackageAvailabilityService.class), mock(CatalogSearchService.class), mock(ActivityRangeService.class),
+            mock(DestinationGeoService.class), new ObjectMapper(), mock(PlatformTransactionManager.class), 2, 10);
+
+    @Test
+    void testImportActivitiesFromNdjson() throws Exception {
+        when(destinationRepository.findExistingIds(any())).thenReturn(List.of(1L));
+        when(catalogCacheService.getDestination(1L)).thenReturn(new DestinationSummary(1L, "Test Destination", 1L, 0));
+
+        ImportReport report = bulkImportService.importActivities(stream("""
+                {"name":"Beach Party","description":"Enjoy beach party","cost":2000.5,"capacity":10,"destinationId":1}
+                {"name":"Scuba Diving","cost":5000,"capacity":4,"destinationId":9}
+                not json
+                {"name":"City Tour","cost":1500,"capacity":5}
+                """), ImportFormat.NDJSON);
+
+        assertEquals(2, report.accepted());
+        assertEquals(2, report.rejected());
+        assertEquals(List.of(new ImportRejection(2, "Destination Not Found"), new ImportRejection(3, "Malformed row")),
+                report.rejections());
+
+        ArgumentCaptor<Activity> activities = ArgumentCaptor.forClass(Activity.class);
+        verify(entityManager, times(2)).persist(activities.capture());
+        assertEquals(200050L, activities.getAllValues().get(0).getCostMinor());
+        assertEquals("City Tour", activities.getAllValues().get(1).getName());
+        verify(entityManager, times(1)).getReference(Destination.class, 1L);
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(destinationRepository, times(1)).findExistingIds(any());
+    }
+
+    @Test
+    void testImportPassengersFromCsv() throws Exception {
+        when(travelPackageRepository.findExistingIds(any())).thenReturn(List.of(1L));
+
+        ImportReport report = bulkImportService.importPassengers(stream("""
+                name,passengerNumber,passengerType,balance,travelPackageId
+                "Rahul, Jr.",1234567890,STANDARD,50000,1
+                Sonia,9876543210,GOLD,-5,
+                Amit,5678901234,PREMIUM,,
+                "unterminated,1,GOLD,1,1
+                """), ImportFormat.CSV);
+
+        assertEquals(2, report.accepted());
+        ArgumentCaptor<Passenger> passengers = ArgumentCaptor.forClass(Passenger.class);
+        verify(entityManager, times(2)).persist(passengers.capture());
+        assertEquals("Rahul, Jr.", passengers.getAllValues().get(0).getName());
+        assertEquals(50000.0, passengers.getAllValues().get(0).getBalance());
+        assertEquals(List.of(new ImportRejection(3, "Balance must not be negative"), new ImportRejection(5, "Malformed row")),
+                report.rejections().stream().sorted((a, b) -> Long.compare(a.line(), b.line())).toList());
+    }
+
+    @Test
+    void testFailedChunkIsRejected() throws Exception {
+        doThrow(new PersistenceException("duplicate")).doNothing().when(entityManager).flush();
+
+        ImportReport report = bulkImportService.importDestinations(stream("""
+                {"name":"Goa"}
+                {"name":"Jaipur"}
+                {"name":"Kerala"}
+                """), ImportFormat.NDJSON);
+
+        assertEquals(1, report.accepted());
+        assertEquals(2, report.rejected());
+        assertEquals(List.of(1L, 2L), report.rejections().stream().map(ImportRejection::line).toList());
+        verify(travelPackageRepository, never()).findExistingIds(any());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package javaproject.travelmanager.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Service.Implementation.CatalogCacheServiceImpl;
+import javaproject.travelmanager.Util.LruCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the CatalogCacheService class. It tests read-through loading,
+ * invalidation, least-recently-used eviction, expiry and the published metrics.
+ */
+@SpringBootTest
+public class testCatalogCacheServiceImpl {
+
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+
+    private final DestinationRepository destinationRepository = mock(DestinationRepository.class);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CatalogCacheServiceImpl catalogCacheService =
+            new CatalogCacheServiceImpl(activityRepository, destinationRepository, meterRegistry, 2, 300);
+
+    @Test
+    void testReadThroughAndInvalidate() {
+        when(activityRepository.findSummaryById(1L)).thenReturn(
+                Optional.of(new ActivitySummary(1L, "Old Name", "Test Description", 1000L, 10, null)),
+                Optional.of(new ActivitySummary(1L, "New Name", "Test Description", 1000L, 10, null)));
+
+        assertEquals("Old Name", catalogCacheService.getActivity(1L).name());
+        assertEquals("Old Name", catalogCacheService.getActivity(1L).name());
+        catalogCacheService.invalidateActivity(1L);
+        assertEquals("New Name", catalogCacheService.getActivity(1L).name());
+
+        verify(activityRepository, times(2)).findSummaryById(1L);
+        assertEquals(1.0, meterRegistry.get("travelmanager.catalog.cache.hits").tag("cache", "activity").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("travelmanager.catalog.cache.misses").tag("cache", "activity").functionCounter().count());
+    }
+
+    @Test
+    void testMissingEntryIsNotCached() {
+        when(destinationRepository.findSummaryById(1L)).thenReturn(Optional.empty(),
+                Optional.of(new DestinationSummary(1L, "Test Destination", null, 0L)));
+
+        assertThrows(IllegalArgumentException.class, () -> catalogCacheService.getDestination(1L));
+        assertEquals("Test Destination", catalogCacheService.getDestination(1L).name());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        for (long id = 1; id <= 3; id++) {
+            when(destinationRepository.findSummaryById(id)).thenReturn(Optional.of(new DestinationSummary(id, "Destination " + id, null, 0L)));
+        }
+
+        catalogCacheService.getDestination(1L);
+        catalogCacheService.getDestination(2L);
+        catalogCacheService.getDestination(1L);
+        catalogCacheService.getDestination(3L);
+        catalogCacheService.getDestination(1L);
+        catalogCacheService.getDestination(2L);
+
+        verify(destinationRepository, times(1)).findSummaryById(1L);
+        verify(destinationRepository, times(2)).findSummaryById(2L);
+        assertEquals(2.0, meterRegistry.get("travelmanager.catalog.cache.evictions").tag("cache", "destination").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("travelmanager.catalog.cache.size").tag("cache", "destination").gauge().value());
+    }
+
+    @Test
+    void testExpiry() {
+        AtomicLong clock = new AtomicLong();
+        LruCache<Long, String> cache = new LruCache<>(10, 100, clock::get);
+        AtomicLong loads = new AtomicLong();
+
+        cache.get(1L, id -> "value " + loads.incrementAndGet());
+        clock.set(99);
+        assertEquals("value 1", cache.get(1L, id -> "value " + loads.incrementAndGet()));
+        clock.set(100);
+        assertEquals("value 2", cache.get(1L, id -> "value " + loads.incrementAndGet()));
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNotStored() {
+        LruCache<Long, String> cache = new LruCache<>(10, 100, () -> 0L);
+
+        assertEquals("stale", cache.get(1L, id -> {
+            cache.invalidate(id);
+            return "stale";
+        }));
+        assertEquals("fresh", cache.get(1L, id -> "fresh"));
+    }
+}
@@ -0,0 +1,146 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ActivitySearchHit;
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Service.Implementation.CatalogSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the CatalogSearchService class. It tests tokenisation, prefix matching and
+ * ranking, incremental maintenance of the index, changes waiting for their transaction to commit, and the rebuild.
+ */
+@SpringBootTest
+public class testCatalogSearchServiceImpl {
+
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+
+    private final DestinationRepository destinationRepository = mock(DestinationRepository.class);
+
+    private final CatalogSearchServiceImpl catalogSearchService =
+            new CatalogSearchServiceImpl(activityRepository, destinationRepository, 64, 2);
+
+    private Destination goa;
+
+    private Destination jaipur;
+
+    @BeforeEach
+    void setUp() {
+        goa = destination(1L, "Goa");
+        jaipur = destination(2L, "Jaipur");
+        catalogSearchService.indexDestination(goa);
+        catalogSearchService.indexDestination(jaipur);
+        catalogSearchService.indexActivity(activity(10L, "Beach Party", "Enjoy a party on the beach", goa));
+        catalogSearchService.indexActivity(activity(11L, "Scuba Diving", "Explore the underwater world near the beach", goa));
+        catalogSearchService.indexActivity(activity(12L, "City Tour", "Explore historical monuments", jaipur));
+        catalogSearchService.indexActivity(activity(13L, "Café Crawl", "Coffee across the old city", null));
+    }
+
+    @Test
+    void testRanksNamesAboveDescriptions() {
+        assertEquals(List.of(10L, 11L), ids("beach"));
+        assertEquals(List.of(12L, 13L), ids("CITY"));
+    }
+
+    @Test
+    void testMatchesPrefixesAccentsAndDestinations() {
+        assertEquals(List.of(11L, 12L), ids("expl"));
+        assertEquals(List.of(13L), ids("cafe"));
+        assertEquals(List.of(10L, 11L), ids("goa"));
+        assertEquals(List.of(11L), ids("goa underwater"));
+        assertEquals(List.of(), ids("goa monuments"));
+        assertEquals(List.of(), ids("  ,; "));
+    }
+
+    @Test
+    void testLimitKeepsTheBestHits() {
+        List<ActivitySearchHit> hits = catalogSearchService.searchActivities("e", 2);
+
+        assertEquals(2, hits.size());
+        assertTrue(hits.get(0).score() >= hits.get(1).score());
+        assertEquals("Goa", catalogSearchService.searchActivities("party", 1).get(0).destinationName());
+    }
+
+    @Test
+    void testFollowsChanges() {
+        goa.setName("Panaji");
+        catalogSearchService.indexDestination(goa);
+        catalogSearchService.indexActivity(activity(12L, "City Walk", "Explore historical monuments", goa));
+        catalogSearchService.removeActivity(10L);
+
+        assertEquals(List.of(), ids("goa"));
+        assertEquals(List.of(), ids("tour"));
+        assertEquals(List.of(11L, 12L), ids("panaji"));
+
+        catalogSearchService.removeDestination(1L);
+
+        assertEquals(List.of(), ids("panaji"));
+        assertEquals(List.of(13L), ids("city"));
+    }
+
+    @Test
+    void testChangesWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogSearchService.indexActivity(activity(14L, "Kayaking", "Paddle the backwaters", null));
+            assertEquals(List.of(), ids("kayaking"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(14L), ids("kayaking"));
+    }
+
+    @Test
+    void testRebuildReadsTheCatalogInChunks() {
+        when(destinationRepository.findSummariesAfter(eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(new DestinationSummary(3L, "Kerala", null, 1)));
+        when(activityRepository.findSummariesAfter(eq(0L), any(PageRequest.class))).thenReturn(List.of(
+                new ActivitySummary(20L, "Backwater Cruise", "Cruise the backwaters", 0, 5, 3L),
+                new ActivitySummary(21L, "Ayurvedic Massage", "Relax", 0, 5, 3L)));
+        when(activityRepository.findSummariesAfter(eq(21L), any(PageRequest.class))).thenReturn(List.of(
+                new ActivitySummary(22L, "Houseboat Stay", "Sleep on the backwaters", 0, 5, null)));
+
+        catalogSearchService.rebuild();
+
+        assertEquals(List.of(), ids("beach"));
+        assertEquals(List.of(20L, 21L), ids("kerala"));
+        assertEquals(List.of(20L, 22L), ids("backwaters"));
+        verify(activityRepository, times(2)).findSummariesAfter(anyLong(), any(PageRequest.class));
+    }
+
+    private List<Long> ids(String query) {
+        return catalogSearchService.searchActivities(query, 10).stream().map(ActivitySearchHit::activityId).toList();
+    }
+
+    private static Destination destination(Long id, String name) {
+        Destination destination = new Destination(name);
+        destination.setId(id);
+        return destination;
+    }
+
+    private static Activity activity(Long id, String name, String description, Destination destination) {
+        Activity activity = new Activity(name, description, 100, 5);
+        activity.setId(id);
+        activity.setDestination(destination);
+        return activity;
+    }
+}
@@ -0,0 +1,165 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationLocation;
+import javaproject.travelmanager.DTO.NearbyDestination;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.DestinationRepository;
+import javaproject.travelmanager.Service.Implementation.DestinationGeoServiceImpl;
+import javaproject.travelmanager.Util.GeoGrid;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the DestinationGeoService class. It tests radius and nearest-neighbour
+ * queries against a full scan, queries across the antimeridian, joining activities, changes waiting for their
+ * transaction to commit, validation, and the rebuild.
+ */
+@SpringBootTest
+public class testDestinationGeoServiceImpl {
+
+    private final DestinationRepository destinationRepository = mock(DestinationRepository.class);
+
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+
+    private final ActivityCapacityService activityCapacityService = mock(ActivityCapacityService.class);
+
+    private final DestinationGeoServiceImpl destinationGeoService =
+            new DestinationGeoServiceImpl(destinationRepository, activityRepository, activityCapacityService, 0.5, 2);
+
+    @Test
+    void testQueriesMatchAFullScan() {
+        Random random = new Random(42);
+        List<double[]> points = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            boolean clustered = id % 3 != 0;
+            double latitude = clustered ? 8 + random.nextDouble() * 25 : random.nextDouble() * 180 - 90;
+            double longitude = clustered ? 68 + random.nextDouble() * 30 : random.nextDouble() * 360 - 180;
+            points.add(new double[]{id, latitude, longitude});
+            destinationGeoService.indexDestination(destination(id, latitude, longitude));
+        }
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = query % 2 == 0 ? random.nextDouble() * 180 - 90 : 8 + random.nextDouble() * 25;
+            double longitude = query % 2 == 0 ? random.nextDouble() * 360 - 180 : 68 + random.nextDouble() * 30;
+            List<Long> byDistance = points.stream()
+                    .sorted(Comparator.comparingDouble(point -> GeoGrid.distanceKm(latitude, longitude, point[1], point[2])))
+                    .map(point -> (long) point[0]).toList();
+
+            assertEquals(byDistance.subList(0, 10), ids(destinationGeoService.findNearest(latitude, longitude, 10)));
+
+            double radiusKm = 50 + random.nextDouble() * 1500;
+            List<Long> within = byDistance.stream().filter(id -> {
+                double[] point = points.get((int) (id - 1));
+                return GeoGrid.distanceKm(latitude, longitude, point[1], point[2]) <= radiusKm;
+            }).limit(25).toList();
+            assertEquals(within, ids(destinationGeoService.findWithinRadius(latitude, longitude, radiusKm, 25)));
+        }
+    }
+
+    @Test
+    void testCrossesTheAntimeridianAndPoles() {
+        destinationGeoService.indexDestination(destination(1L, 0, 179.9));
+        destinationGeoService.indexDestination(destination(2L, 0, -179.9));
+        destinationGeoService.indexDestination(destination(3L, 0, 170));
+        destinationGeoService.indexDestination(destination(4L, 89.9, 10));
+        destinationGeoService.indexDestination(destination(5L, 89.9, -170));
+
+        assertEquals(List.of(2L, 1L), ids(destinationGeoService.findNearest(0, -179.95, 2)));
+        assertEquals(List.of(1L, 2L), ids(destinationGeoService.findWithinRadius(0, 179.95, 20, 10)));
+        assertEquals(List.of(4L, 5L), ids(destinationGeoService.findWithinRadius(90, 0, 30, 10)));
+        assertEquals(5, destinationGeoService.findNearest(45, 45, 10).size());
+    }
+
+    @Test
+    void testJoinsActivitiesWithFreeSeats() {
+        destinationGeoService.indexDestination(destination(1L, 15.2993, 74.1240));
+        destinationGeoService.indexDestination(destination(2L, 26.9124, 75.7873));
+        when(activityRepository.findSummariesByDestinationIdIn(any())).thenReturn(List.of(
+                new ActivitySummary(10L, "Beach Party", "Enjoy beach party", 200000, 10, 1L),
+                new ActivitySummary(11L, "Scuba Diving", "Explore underwater world", 500000, 4, 1L)));
+        when(activityCapacityService.getAvailableSeats(anyLong(), anyInt())).thenAnswer(invocation -> invocation.<Integer>getArgument(1) - 1);
+
+        List<NearbyDestination> found = destinationGeoService.findWithinRadius(15.4909, 73.8278, 100, 10);
+
+        assertEquals(1, found.size());
+        assertEquals("Destination 1", found.get(0).name());
+        assertEquals(Math.round(GeoGrid.distanceKm(15.4909, 73.8278, 15.2993, 74.1240) * 1000) / 1000.0, found.get(0).distanceKm());
+        assertEquals(List.of(9, 3), found.get(0).activities().stream().map(ActivitySummary::capacity).toList());
+        verify(activityRepository, times(1)).findSummariesByDestinationIdIn(Set.of(1L));
+    }
+
+    @Test
+    void testChangesWaitForCommit() {
+        destinationGeoService.indexDestination(destination(1L, 10, 10));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            destinationGeoService.indexDestination(destination(2L, 10.1, 10));
+            destinationGeoService.indexDestination(destination(1L, null, null));
+            assertEquals(List.of(1L), ids(destinationGeoService.findNearest(10, 10, 5)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(2L), ids(destinationGeoService.findNearest(10, 10, 5)));
+
+        destinationGeoService.removeDestination(2L);
+        assertEquals(List.of(), ids(destinationGeoService.findNearest(10, 10, 5)));
+    }
+
+    @Test
+    void testRejectsInvalidPositions() {
+        assertThrows(IllegalArgumentException.class, () -> destinationGeoService.findNearest(91, 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> destinationGeoService.findWithinRadius(0, -181, 5, 5));
+        assertThrows(IllegalArgumentException.class, () -> destinationGeoService.findWithinRadius(0, 0, -1, 5));
+        assertThrows(IllegalArgumentException.class, () -> destinationGeoService.findWithinRadius(0, 0, Double.NaN, 5));
+    }
+
+    @Test
+    void testRebuildReadsLocationsInChunks() {
+        destinationGeoService.indexDestination(destination(9L, 0, 0));
+        when(destinationRepository.findLocationsAfter(eq(0L), any(PageRequest.class))).thenReturn(List.of(
+                new DestinationLocation(1L, "Goa", 15.2993, 74.1240), new DestinationLocation(2L, "Jaipur", 26.9124, 75.7873)));
+        when(destinationRepository.findLocationsAfter(eq(2L), any(PageRequest.class))).thenReturn(List.of(
+                new DestinationLocation(3L, "Kerala", 10.8505, 76.2711)));
+
+        destinationGeoService.rebuild();
+
+        assertEquals(List.of(1L, 3L, 2L), ids(destinationGeoService.findNearest(15, 74, 10)));
+        verify(destinationRepository, times(2)).findLocationsAfter(anyLong(), any(PageRequest.class));
+    }
+
+    private static List<Long> ids(List<NearbyDestination> found) {
+        return found.stream().map(NearbyDestination::destinationId).toList();
+    }
+
+    private static Destination destination(Long id, Double latitude, Double longitude) {
+        Destination destination = new Destination("Destination " + id);
+        destination.setId(id);
+        destination.setLatitude(latitude);
+        destination.setLongitude(longitude);
+        return destination;
+    }
+
+    private static Destination destination(long id, double latitude, double longitude) {
+        return destination(Long.valueOf(id), Double.valueOf(latitude), Double.valueOf(longitude));
+    }
+}
@@ -1,5 +1,7 @@
 package javaproject.travelmanager.Service;
 
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.DestinationSummary;
 import javaproject.travelmanager.DTO.DestinationDTO;
 import javaproject.travelmanager.Entity.*;
 import javaproject.travelmanager.Repository.DestinationRepository;
@@ -7,6 +9,7 @@ import javaproject.travelmanager.Service.Implementation.DestinationServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.ArrayList;
@@ -27,12 +30,30 @@ public class testDestinationServiceImpl {
     @InjectMocks
     private DestinationServiceImpl destinationService;
 
+    @Mock
+    private TravelPackageVersionService travelPackageVersionService;
+
+    @Mock
+    private TravelPackageAvailabilityService travelPackageAvailabilityService;
+
+    @Mock
+    private CatalogSearchService catalogSearchService;
+
+    @Mock
+    private ActivityRangeService activityRangeService;
+
+    @Mock
+    private DestinationGeoService destinationGeoService;
+
     @Mock
     private DestinationRepository destinationRepository;
 
     @Mock
     private ActivityService activityService;
 
+    @Mock
+    private CatalogCacheService catalogCacheService;
+
     @Test
     void testAddDestination() {
         DestinationDTO destinationDTO = new DestinationDTO();
@@ -71,6 +92,20 @@ public class testDestinationServiceImpl {
         assertEquals(2, destinations.size());
     }
 
+    @Test
+    void testGetDestinationSummaries() {
+        List<DestinationSummary> summaryList = List.of(new DestinationSummary(1L, "Goa", 1L, 2));
+
+        when(destinationRepository.findSummariesAfter(0L, PageRequest.ofSize(51))).thenReturn(summaryList);
+
+        KeysetPage<DestinationSummary> page = destinationService.getDestinationSummaries(null, 50);
+        List<DestinationSummary> summaries = page.items();
+
+        assertEquals(summaryList, summaries);
+        assertNull(page.nextPageToken());
+        verify(destinationRepository, never()).findAll();
+    }
+
     @Test
     void testUpdateDestination() {
         Long id = 1L;
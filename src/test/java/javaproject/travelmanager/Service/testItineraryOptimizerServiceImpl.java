@@ -0,0 +1,141 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ItineraryStop;
+import javaproject.travelmanager.DTO.OptimizedItinerary;
+import javaproject.travelmanager.Entity.Destination;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.Implementation.ItineraryOptimizerServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the ItineraryOptimizerService class. It tests the travel order of located and
+ * unlocated destinations, caching by the set of destinations, changes to the last route waiting for their
+ * transaction to commit, and the compute deadline.
+ */
+@SpringBootTest
+public class testItineraryOptimizerServiceImpl {
+
+    private final TravelPackageRepository travelPackageRepository = mock(TravelPackageRepository.class);
+
+    private final ItineraryOptimizerServiceImpl itineraryOptimizerService =
+            new ItineraryOptimizerServiceImpl(travelPackageRepository, 1000, 100, 300);
+
+    @Test
+    void testOrdersDestinationsByTravel() {
+        List<Destination> destinations = List.of(destination(1L, 15.2993, 74.1240), destination(2L, 26.9124, 75.7873),
+                destination(4L, null, null), destination(3L, 10.8505, 76.2711));
+
+        OptimizedItinerary itinerary = itineraryOptimizerService.optimize(7L, destinations);
+
+        List<Long> ids = ids(itinerary);
+        assertTrue(ids.equals(List.of(2L, 1L, 3L, 4L)) || ids.equals(List.of(3L, 1L, 2L, 4L)));
+        assertTrue(itinerary.converged());
+        assertTrue(itinerary.totalDistanceKm() < itinerary.listedDistanceKm());
+        assertNull(itinerary.stops().get(0).legKm());
+        assertNull(itinerary.stops().get(3).legKm());
+        assertEquals(itinerary.totalDistanceKm(), itinerary.stops().get(1).legKm() + itinerary.stops().get(2).legKm(), 0.01);
+    }
+
+    @Test
+    void testFindsTheShortestRouteAlongAMeridian() {
+        List<Destination> destinations = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            destinations.add(destination(id, -60 + id * 0.5, 20.0));
+        }
+        Collections.shuffle(destinations, new Random(42));
+
+        OptimizedItinerary itinerary = itineraryOptimizerService.optimize(7L, destinations);
+
+        List<Long> ids = ids(itinerary);
+        List<Long> ascending = ids.stream().sorted().toList();
+        assertTrue(ids.equals(ascending) || ids.equals(ascending.reversed()));
+        assertEquals(199 * 0.5 * Math.PI / 180 * 6371.0088, itinerary.totalDistanceKm(), 0.01);
+    }
+
+    @Test
+    void testCachesByTheSetOfDestinations() {
+        Destination goa = destination(1L, 15.2993, 74.1240);
+        Destination jaipur = destination(2L, 26.9124, 75.7873);
+        Destination kerala = destination(3L, 10.8505, 76.2711);
+
+        OptimizedItinerary itinerary = itineraryOptimizerService.optimize(7L, List.of(goa, jaipur, kerala));
+
+        assertSame(itinerary, itineraryOptimizerService.optimize(7L, List.of(kerala, goa, jaipur)));
+        assertNotSame(itinerary, itineraryOptimizerService.optimize(8L, List.of(goa, jaipur, kerala)));
+        assertNotSame(itinerary, itineraryOptimizerService.optimize(7L, List.of(goa, jaipur)));
+        kerala.setLatitude(10.0);
+        assertNotSame(itinerary, itineraryOptimizerService.optimize(7L, List.of(goa, jaipur, kerala)));
+    }
+
+    @Test
+    void testChangesWaitForCommit() {
+        Destination goa = destination(1L, 15.2993, 74.1240);
+        Destination jaipur = destination(2L, 26.9124, 75.7873);
+        Destination kerala = destination(3L, 10.8505, 76.2711);
+        Destination delhi = destination(4L, 28.7041, 77.1025);
+        itineraryOptimizerService.optimize(7L, List.of(goa, kerala, jaipur));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itineraryOptimizerService.addDestination(7L, delhi);
+            itineraryOptimizerService.removeDestination(7L, 3L);
+            assertEquals(3, ids(itineraryOptimizerService.optimize(7L, List.of(goa, kerala, jaipur))).size());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        List<Long> ids = ids(itineraryOptimizerService.optimize(7L, List.of(delhi, goa, jaipur)));
+        assertTrue(ids.equals(List.of(4L, 2L, 1L)) || ids.equals(List.of(1L, 2L, 4L)));
+
+        itineraryOptimizerService.removeTravelPackage(7L);
+        assertEquals(List.of(1L, 2L), ids(itineraryOptimizerService.optimize(7L, List.of(goa, jaipur))));
+    }
+
+    @Test
+    void testStopsAtTheDeadline() {
+        ItineraryOptimizerServiceImpl hurried = new ItineraryOptimizerServiceImpl(travelPackageRepository, 0, 100, 300);
+        Random random = new Random(7);
+        List<Destination> destinations = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            destinations.add(destination(id, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+
+        OptimizedItinerary itinerary = hurried.optimize(7L, destinations);
+
+        assertFalse(itinerary.converged());
+        assertEquals(2000, new HashSet<>(ids(itinerary)).size());
+    }
+
+    @Test
+    void testLoadsTheTravelPackage() {
+        when(travelPackageRepository.findWithDestinationsById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> itineraryOptimizerService.getItinerary(7L));
+    }
+
+    private static List<Long> ids(OptimizedItinerary itinerary) {
+        return itinerary.stops().stream().map(ItineraryStop::destinationId).toList();
+    }
+
+    private static Destination destination(Long id, Double latitude, Double longitude) {
+        Destination destination = new Destination("Destination " + id);
+        destination.setId(id);
+        destination.setLatitude(latitude);
+        destination.setLongitude(longitude);
+        return destination;
+    }
+}
@@ -0,0 +1,47 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.PassengerSummary;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Service.Implementation.ListingValidatorServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the ListingValidatorService class. It tests that the entity tag of a listing
+ * follows its content, and that the date of a content stays the one it was first served with.
+ */
+@SpringBootTest
+public class testListingValidatorServiceImpl {
+
+    private final ListingValidatorServiceImpl listingValidatorService = new ListingValidatorServiceImpl(100, 3600);
+
+    @Test
+    void testETagFollowsContent() {
+        String eTag = listingValidatorService.getETag(page(100_000L));
+
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+        assertEquals(eTag, listingValidatorService.getETag(page(100_000L)));
+        assertNotEquals(eTag, listingValidatorService.getETag(page(99_999L)));
+    }
+
+    @Test
+    void testLastModifiedIsFirstServed() throws InterruptedException {
+        String eTag = listingValidatorService.getETag(page(100_000L));
+        long lastModified = listingValidatorService.getLastModified(eTag);
+
+        Thread.sleep(1100);
+
+        assertEquals(0, lastModified % 1000);
+        assertEquals(lastModified, listingValidatorService.getLastModified(eTag));
+        assertTrue(listingValidatorService.getLastModified(listingValidatorService.getETag(page(1L))) > lastModified);
+    }
+
+    private KeysetPage<PassengerSummary> page(long balanceMinor) {
+        return new KeysetPage<>(List.of(new PassengerSummary(1L, "Passenger", "1", PassengerType.GOLD, balanceMinor, 2L, 3)), null);
+    }
+}
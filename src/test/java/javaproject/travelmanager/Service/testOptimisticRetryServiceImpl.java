@@ -0,0 +1,66 @@
+package javaproject.travelmanager.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javaproject.travelmanager.Service.Implementation.OptimisticRetryServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the OptimisticRetryService class. It tests that conflicting
+ * mutations are re-executed within the attempt limit and that the retry metrics are recorded.
+ */
+@SpringBootTest
+public class testOptimisticRetryServiceImpl {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final OptimisticRetryServiceImpl optimisticRetryService = new OptimisticRetryServiceImpl(meterRegistry, 3, 1, 2);
+
+    @Test
+    void testRetriesUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = optimisticRetryService.execute("test", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Passenger", 1L);
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.get("travelmanager.optimistic.conflicts").tag("operation", "test").counter().count());
+        assertEquals(2.0, meterRegistry.get("travelmanager.optimistic.retries").tag("operation", "test").counter().count());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> optimisticRetryService.run("test", () -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Passenger", 1L);
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.get("travelmanager.optimistic.exhausted").tag("operation", "test").counter().count());
+    }
+
+    @Test
+    void testDoesNotRetryOtherFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> optimisticRetryService.run("test", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Activity is at full capacity");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,78 @@
+package javaproject.travelmanager.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import javaproject.travelmanager.DTO.ExportStats;
+import javaproject.travelmanager.DTO.PassengerEnrollmentRow;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import javaproject.travelmanager.Service.Implementation.PassengerExportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the PassengerExportService class. It tests that enrollment rows are
+ * merged into one NDJSON line per passenger and that the persistence context is cleared while streaming.
+ */
+@SpringBootTest
+public class testPassengerExportServiceImpl {
+
+    private final PassengerRepository passengerRepository = mock(PassengerRepository.class);
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final PassengerExportServiceImpl passengerExportService =
+            new PassengerExportServiceImpl(passengerRepository, entityManager, objectMapper, 2);
+
+    @Test
+    void testExportPassengers() throws Exception {
+        when(passengerRepository.streamEnrollments()).thenReturn(Stream.of(
+                new PassengerEnrollmentRow(1L, "Rahul", "1", PassengerType.STANDARD, 430000L, 1L, 1L),
+                new PassengerEnrollmentRow(1L, "Rahul", "1", PassengerType.STANDARD, 430000L, 1L, 3L),
+                new PassengerEnrollmentRow(2L, "Sonia", "2", PassengerType.GOLD, 0L, null, null),
+                new PassengerEnrollmentRow(3L, "Amit", "3", PassengerType.PREMIUM, 0L, 1L, 5L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ExportStats stats = passengerExportService.exportPassengers(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        List<JsonNode> records = new ArrayList<>();
+        for (String line : lines) {
+            records.add(objectMapper.readTree(line));
+        }
+        assertEquals(1, records.get(0).get("id").asLong());
+        assertEquals("[1,3]", records.get(0).get("activityIds").toString());
+        assertEquals(4300.0, records.get(0).get("balance").asDouble());
+        assertTrue(records.get(1).get("travelPackageId").isNull());
+        assertEquals("[]", records.get(1).get("activityIds").toString());
+        assertEquals("[5]", records.get(2).get("activityIds").toString());
+
+        assertEquals(3, stats.records());
+        assertEquals(4, stats.rows());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void testExportWithoutPassengers() throws Exception {
+        when(passengerRepository.streamEnrollments()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ExportStats stats = passengerExportService.exportPassengers(out);
+
+        assertEquals(0, out.size());
+        assertEquals(0, stats.records());
+    }
+}
@@ -1,22 +1,30 @@
 package javaproject.travelmanager.Service;
 
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.PassengerSummary;
 import javaproject.travelmanager.DTO.ActivityDTO;
 import javaproject.travelmanager.DTO.DestinationDTO;
 import javaproject.travelmanager.DTO.PassengerDTO;
+import javaproject.travelmanager.DTO.LedgerState;
 import javaproject.travelmanager.Entity.*;
 import javaproject.travelmanager.Exception.ActivityNotFoundException;
 import javaproject.travelmanager.Exception.InsufficientActivityCapacityException;
 import javaproject.travelmanager.Exception.InsufficientBalanceException;
 import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.BalanceEntryRepository;
 import javaproject.travelmanager.Repository.DestinationRepository;
 import javaproject.travelmanager.Repository.PassengerRepository;
 import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.Implementation.BalanceLedgerServiceImpl;
 import javaproject.travelmanager.Service.Implementation.PassengerServiceImpl;
+import javaproject.travelmanager.Service.Implementation.PricingServiceImpl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.ArrayList;
@@ -37,6 +45,9 @@ public class testPassengerServiceImpl {
     @InjectMocks
     private PassengerServiceImpl passengerService;
 
+    @Mock
+    private TravelPackageVersionService travelPackageVersionService;
+
     @Mock
     private PassengerRepository passengerRepository;
 
@@ -46,6 +57,21 @@ public class testPassengerServiceImpl {
     @Mock
     private ActivityService activityService;
 
+    @Mock
+    private ActivityRepository activityRepository;
+
+    @Mock
+    private ActivityCapacityService activityCapacityService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Spy
+    private BalanceLedgerService balanceLedgerService = new BalanceLedgerServiceImpl(ledgerRepository());
+
+    @Spy
+    private PricingService pricingService = new PricingServiceImpl(mock(ActivityRepository.class), balanceLedgerService, 10);
+
     @Test
     void testAddPassenger() throws InsufficientBalanceException, InsufficientActivityCapacityException {
         PassengerDTO passengerDTO = new PassengerDTO();
@@ -100,6 +126,41 @@ public class testPassengerServiceImpl {
         assertNotNull(passengers);
         assertEquals(2, passengers.size());
     }
+
+    @Test
+    void testGetPassengerSummaries() {
+        List<PassengerSummary> summaryList = List.of(new PassengerSummary(1L, "Test Passenger", "12345", PassengerType.STANDARD, 200000L, 1L, 2));
+
+        when(passengerRepository.findSummariesAfter(0L, PageRequest.ofSize(51))).thenReturn(summaryList);
+
+        KeysetPage<PassengerSummary> page = passengerService.getPassengerSummaries(null, 50);
+        List<PassengerSummary> summaries = page.items();
+
+        assertEquals(summaryList, summaries);
+        assertNull(page.nextPageToken());
+        assertEquals(2000.0, summaries.get(0).balance());
+        verify(passengerRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetPassengerSummariesContinuesAfterLastId() {
+        PassengerSummary first = new PassengerSummary(3L, "First", "1", PassengerType.STANDARD, 0L, null, 0);
+        PassengerSummary second = new PassengerSummary(7L, "Second", "2", PassengerType.GOLD, 0L, null, 0);
+        PassengerSummary third = new PassengerSummary(9L, "Third", "3", PassengerType.PREMIUM, 0L, null, 0);
+
+        when(passengerRepository.findSummariesAfter(0L, PageRequest.ofSize(3))).thenReturn(List.of(first, second, third));
+        when(passengerRepository.findSummariesAfter(7L, PageRequest.ofSize(3))).thenReturn(List.of(third));
+
+        KeysetPage<PassengerSummary> firstPage = passengerService.getPassengerSummaries(null, 2);
+        assertEquals(List.of(first, second), firstPage.items());
+        assertNotNull(firstPage.nextPageToken());
+
+        KeysetPage<PassengerSummary> lastPage = passengerService.getPassengerSummaries(firstPage.nextPageToken(), 2);
+        assertEquals(List.of(third), lastPage.items());
+        assertNull(lastPage.nextPageToken());
+
+        assertThrows(IllegalArgumentException.class, () -> passengerService.getPassengerSummaries("not-a-token", 2));
+    }
     @Test
     void testUpdatePassenger() throws InsufficientBalanceException, InsufficientActivityCapacityException {
         // Mock data
@@ -172,11 +233,13 @@ void testDeletePassenger() {
         Long activityId = 1L;
 
         Passenger mockPassenger = new Passenger("Test Passenger2","123456",PassengerType.GOLD,10000);
+        mockPassenger.setId(passengerId);
         Activity mockActivity = new Activity();
         mockPassenger.addActivity(mockActivity);
 
 
-        when(activityService.getActivity(activityId)).thenReturn(mockActivity);
+        doReturn(mockActivity.getCostMinor()).when(pricingService).priceOf(activityId, PassengerType.GOLD);
+        when(activityRepository.getReferenceById(activityId)).thenReturn(mockActivity);
         when(passengerRepository.findById(passengerId)).thenReturn(Optional.of(mockPassenger));
         when(passengerRepository.save(any())).thenReturn(mockPassenger);
 
@@ -190,19 +253,61 @@ void testDeletePassenger() {
         Long activityId = 1L;
 
         Passenger mockPassenger = new Passenger("Test Passenger2","123456",PassengerType.GOLD,10000);
-        Activity mockActivity = new Activity();
+        mockPassenger.setId(passengerId);
+        Activity mockActivity = new Activity("Beach Party", "Enjoy beach party", 2000, 10);
         mockActivity.setId(activityId);
         mockPassenger.addActivity(mockActivity);
 
-        when(activityService.getActivity(activityId)).thenReturn(mockActivity);
         when(passengerRepository.findById(passengerId)).thenReturn(Optional.of(mockPassenger));
-        mockPassenger.removeActivity(mockActivity);
-        when(passengerRepository.save(any())).thenReturn(mockPassenger);
-
 
         passengerService.removeActivityFromPassenger( passengerId, activityId);
 
         assertFalse(mockPassenger.getActivities().contains(mockActivity));
+        verify(pricingService).refund(mockPassenger, activityId, 180000L);
+        assertEquals(10000 + 2000 * 0.9, mockPassenger.getBalance(), 0.001);
+        verify(activityCapacityService).releaseSeat(activityId);
     }
-}
 
+    @Test
+    void testAddActivitiesToPassenger() {
+        Long passengerId = 1L;
+        List<Long> activityIds = List.of(1L, 2L);
+
+        Passenger mockPassenger = new Passenger("Test Passenger2","123456",PassengerType.GOLD,10000);
+        mockPassenger.setId(passengerId);
+        Activity activity1 = new Activity("Beach Party", "Enjoy beach party", 2000, 10);
+        Activity activity2 = new Activity("Scuba Diving", "Explore underwater world", 5000, 4);
+
+        when(passengerRepository.findById(passengerId)).thenReturn(Optional.of(mockPassenger));
+        when(activityRepository.findAllById(any())).thenReturn(List.of(activity1, activity2));
+
+        passengerService.addActivitiesToPassenger(passengerId, activityIds);
+
+        verify(activityCapacityService, times(1)).reserveSeats(any());
+        assertEquals(List.of(activity1, activity2), mockPassenger.getActivities());
+        assertEquals(10000 - 7000 * 0.9, mockPassenger.getBalance(), 0.001);
+    }
+
+    @Test
+    void testAddActivitiesToPassengerInsufficientBalance() {
+        Long passengerId = 1L;
+
+        Passenger mockPassenger = new Passenger("Test Passenger","12345",PassengerType.STANDARD,6000);
+        Activity activity1 = new Activity("Beach Party", "Enjoy beach party", 2000, 10);
+        Activity activity2 = new Activity("Scuba Diving", "Explore underwater world", 5000, 4);
+
+        when(passengerRepository.findById(passengerId)).thenReturn(Optional.of(mockPassenger));
+        when(activityRepository.findAllById(any())).thenReturn(List.of(activity1, activity2));
+
+        assertThrows(InsufficientBalanceException.class, () -> passengerService.addActivitiesToPassenger(passengerId, List.of(1L, 2L)));
+        verify(activityCapacityService, never()).reserveSeats(any());
+        assertTrue(mockPassenger.getActivities().isEmpty());
+    }
+
+    private BalanceEntryRepository ledgerRepository() {
+        BalanceEntryRepository balanceEntryRepository = mock(BalanceEntryRepository.class);
+        when(balanceEntryRepository.findLedgerState(any())).thenAnswer(invocation -> passengerRepository.findById(invocation.getArgument(0))
+                .map(passenger -> new LedgerState(passenger.getBalanceMinor(), 0)).orElse(null));
+        return balanceEntryRepository;
+    }
+}
@@ -0,0 +1,59 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.Entity.Activity;
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Service.Implementation.PricingServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the PricingService class. It tests the per-type price table,
+ * its invalidation, and that debits and refunds are handed to the balance ledger.
+ */
+@SpringBootTest
+public class testPricingServiceImpl {
+
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+
+    private final BalanceLedgerService balanceLedgerService = mock(BalanceLedgerService.class);
+
+    private final PricingServiceImpl pricingService = new PricingServiceImpl(activityRepository, balanceLedgerService, 10);
+
+    @Test
+    void testPriceTable() {
+        when(activityRepository.findCostMinorById(1L)).thenReturn(Optional.of(199_999L));
+
+        assertEquals(199_999L, pricingService.priceOf(1L, PassengerType.STANDARD));
+        assertEquals(179_999L, pricingService.priceOf(1L, PassengerType.GOLD));
+        assertEquals(0L, pricingService.priceOf(1L, PassengerType.PREMIUM));
+        verify(activityRepository, times(1)).findCostMinorById(1L);
+    }
+
+    @Test
+    void testInvalidate() {
+        when(activityRepository.findCostMinorById(1L)).thenReturn(Optional.of(1000L), Optional.of(2000L));
+
+        assertEquals(1000L, pricingService.priceOf(1L, PassengerType.STANDARD));
+        pricingService.invalidate(1L);
+        assertEquals(2000L, pricingService.priceOf(1L, PassengerType.STANDARD));
+    }
+
+    @Test
+    void testChargeAndRefundGoThroughLedger() {
+        Passenger passenger = new Passenger("Test Passenger", "1", PassengerType.GOLD, 1000);
+        Activity activity = new Activity("Test Activity", "Test Description", 0.1, 10);
+
+        pricingService.charge(passenger, 1L, pricingService.priceOf(activity, PassengerType.GOLD));
+        pricingService.refund(passenger, 1L, 9L);
+
+        verify(balanceLedgerService, times(1)).debit(passenger, 1L, 9L);
+        verify(balanceLedgerService, times(1)).refund(passenger, 1L, 9L);
+    }
+}
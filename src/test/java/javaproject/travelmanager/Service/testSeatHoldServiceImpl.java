@@ -0,0 +1,193 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.Entity.HoldStatus;
+import javaproject.travelmanager.Entity.HoldType;
+import javaproject.travelmanager.Entity.SeatHold;
+import javaproject.travelmanager.Event.SeatHoldClosedEvent;
+import javaproject.travelmanager.Event.SeatHoldOpenedEvent;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import javaproject.travelmanager.Repository.SeatHoldRepository;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.Implementation.SeatHoldExpiryScheduler;
+import javaproject.travelmanager.Service.Implementation.SeatHoldServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the SeatHoldService class and its expiry scheduler. It tests that
+ * holds take a seat up front, that exactly one of confirm, release and expiry wins for a hold, and that
+ * the scheduler hands due holds to the service, isolates a hold that fails to expire and gives up on it
+ * after the maximum number of attempts.
+ */
+@SpringBootTest
+public class testSeatHoldServiceImpl {
+
+    private SeatHoldRepository seatHoldRepository;
+    private PassengerRepository passengerRepository;
+    private TravelPackageRepository travelPackageRepository;
+    private ActivityCapacityService activityCapacityService;
+    private PassengerService passengerService;
+    private WaitlistService waitlistService;
+    private ApplicationEventPublisher eventPublisher;
+    private SeatHoldServiceImpl seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        seatHoldRepository = mock(SeatHoldRepository.class);
+        passengerRepository = mock(PassengerRepository.class);
+        travelPackageRepository = mock(TravelPackageRepository.class);
+        activityCapacityService = mock(ActivityCapacityService.class);
+        passengerService = mock(PassengerService.class);
+        waitlistService = mock(WaitlistService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        seatHoldService = new SeatHoldServiceImpl(seatHoldRepository, passengerRepository, travelPackageRepository,
+                activityCapacityService, passengerService, waitlistService, eventPublisher,
+                mock(TravelPackageVersionService.class), 900);
+    }
+
+    @Test
+    void testHoldActivitySeat() {
+        when(passengerRepository.existsById(1L)).thenReturn(true);
+        when(seatHoldRepository.save(any(SeatHold.class))).thenAnswer(invocation -> {
+            SeatHold hold = invocation.getArgument(0);
+            hold.setId(7L);
+            return hold;
+        });
+
+        SeatHold hold = seatHoldService.holdActivitySeat(1L, 2L, Duration.ofHours(1));
+
+        assertEquals(HoldStatus.ACTIVE, hold.getStatus());
+        assertFalse(hold.getExpiresAt().isAfter(hold.getCreatedAt().plusSeconds(900)));
+        verify(activityCapacityService, times(1)).reserveSeat(2L);
+        verify(eventPublisher, times(1)).publishEvent(new SeatHoldOpenedEvent(7L, hold.getExpiresAt()));
+    }
+
+    @Test
+    void testHoldTravelPackageSlotAtFullCapacity() {
+        when(passengerRepository.existsById(1L)).thenReturn(true);
+        when(travelPackageRepository.decrementPassengerCapacity(3L)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class,
+                () -> seatHoldService.holdTravelPackageSlot(1L, 3L, Duration.ofMinutes(5)));
+        verify(seatHoldRepository, never()).save(any(SeatHold.class));
+    }
+
+    @Test
+    void testConfirmHold() {
+        SeatHold hold = activeHold(HoldType.ACTIVITY, Instant.now().plusSeconds(60));
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold));
+        when(seatHoldRepository.transition(7L, HoldStatus.ACTIVE, HoldStatus.CONFIRMED)).thenReturn(1);
+
+        seatHoldService.confirmHold(7L);
+
+        assertEquals(HoldStatus.CONFIRMED, hold.getStatus());
+        verify(passengerService, times(1)).addHeldActivityToPassenger(1L, 2L);
+        verify(eventPublisher, times(1)).publishEvent(new SeatHoldClosedEvent(7L));
+    }
+
+    @Test
+    void testConfirmHoldNoLongerActive() {
+        SeatHold hold = activeHold(HoldType.ACTIVITY, Instant.now().plusSeconds(60));
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold));
+        when(seatHoldRepository.transition(7L, HoldStatus.ACTIVE, HoldStatus.CONFIRMED)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> seatHoldService.confirmHold(7L));
+        verify(passengerService, never()).addHeldActivityToPassenger(any(), any());
+    }
+
+    @Test
+    void testExpireHolds() {
+        SeatHold activityHold = activeHold(HoldType.ACTIVITY, Instant.now());
+        SeatHold packageHold = activeHold(HoldType.TRAVEL_PACKAGE, Instant.now());
+        packageHold.setId(8L);
+        when(seatHoldRepository.findAllById(List.of(7L, 8L))).thenReturn(List.of(activityHold, packageHold));
+        when(seatHoldRepository.transition(7L, HoldStatus.ACTIVE, HoldStatus.EXPIRED)).thenReturn(1);
+        when(seatHoldRepository.transition(8L, HoldStatus.ACTIVE, HoldStatus.EXPIRED)).thenReturn(0);
+
+        seatHoldService.expireHolds(List.of(7L, 8L));
+
+        assertEquals(HoldStatus.EXPIRED, activityHold.getStatus());
+        verify(activityCapacityService, times(1)).releaseSeat(2L);
+        verify(travelPackageRepository, never()).incrementPassengerCapacity(any());
+    }
+
+    @Test
+    void testSchedulerExpiresDueHoldsOnly() {
+        SeatHoldService service = mock(SeatHoldService.class);
+        SeatHoldExpiryScheduler scheduler = new SeatHoldExpiryScheduler(service, seatHoldRepository, 1, 8, 500, 1, 3);
+        Instant now = Instant.now();
+
+        scheduler.onHoldOpened(new SeatHoldOpenedEvent(1L, now.minusSeconds(1)));
+        scheduler.onHoldOpened(new SeatHoldOpenedEvent(2L, now.minusSeconds(1)));
+        scheduler.onHoldOpened(new SeatHoldOpenedEvent(3L, now.plusSeconds(60)));
+        scheduler.onHoldClosed(new SeatHoldClosedEvent(2L));
+        scheduler.expireDueHolds();
+
+        verify(service, times(1)).expireHolds(List.of(1L));
+        verify(service, times(1)).expireHolds(any());
+    }
+
+    @Test
+    void testSchedulerRetriesFailedBatches() throws InterruptedException {
+        SeatHoldService service = mock(SeatHoldService.class);
+        doThrow(new IllegalStateException("Connection refused")).doNothing().when(service).expireHolds(any());
+        SeatHoldExpiryScheduler scheduler = new SeatHoldExpiryScheduler(service, seatHoldRepository, 1, 8, 500, 1, 3);
+
+        scheduler.onHoldOpened(new SeatHoldOpenedEvent(1L, Instant.now().minusSeconds(1)));
+        scheduler.expireDueHolds();
+        Thread.sleep(20);
+        scheduler.expireDueHolds();
+        scheduler.expireDueHolds();
+
+        verify(service, times(2)).expireHolds(List.of(1L));
+    }
+
+    @Test
+    void testSchedulerIsolatesBadHold() {
+        SeatHoldService service = mock(SeatHoldService.class);
+        doThrow(new IllegalStateException("Bad hold")).when(service).expireHolds(argThat(holdIds -> holdIds.contains(3L)));
+        SeatHoldExpiryScheduler scheduler = new SeatHoldExpiryScheduler(service, seatHoldRepository, 1, 8, 500, 1, 3);
+        Instant due = Instant.now().minusSeconds(1);
+        for (long holdId = 1; holdId <= 4; holdId++) {
+            scheduler.onHoldOpened(new SeatHoldOpenedEvent(holdId, due));
+        }
+
+        scheduler.expireDueHolds();
+
+        verify(service, times(1)).expireHolds(List.of(3L));
+        verify(service, never()).expireHolds(List.of(1L, 2L, 4L));
+        verify(service, times(2)).expireHolds(argThat(holdIds -> !holdIds.contains(3L)));
+    }
+
+    @Test
+    void testSchedulerGivesUpAfterMaxAttempts() throws InterruptedException {
+        SeatHoldService service = mock(SeatHoldService.class);
+        doThrow(new IllegalStateException("Bad hold")).when(service).expireHolds(any());
+        SeatHoldExpiryScheduler scheduler = new SeatHoldExpiryScheduler(service, seatHoldRepository, 1, 8, 500, 1, 3);
+
+        scheduler.onHoldOpened(new SeatHoldOpenedEvent(1L, Instant.now().minusSeconds(1)));
+        for (int tick = 0; tick < 10; tick++) {
+            scheduler.expireDueHolds();
+            Thread.sleep(5);
+        }
+
+        verify(service, times(3)).expireHolds(List.of(1L));
+    }
+
+    private SeatHold activeHold(HoldType holdType, Instant expiresAt) {
+        SeatHold hold = new SeatHold(holdType, 2L, 1L, Instant.now(), expiresAt);
+        hold.setId(7L);
+        return hold;
+    }
+}
@@ -0,0 +1,114 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ActivityAvailability;
+import javaproject.travelmanager.DTO.TravelPackageAvailability;
+import javaproject.travelmanager.Event.ActivitySeatsChangedEvent;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.Implementation.TravelPackageAvailabilityServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the TravelPackageAvailabilityService class. It tests that availability is
+ * built once, followed incrementally as seat counters change, and built again after an invalidation.
+ */
+@SpringBootTest
+public class testTravelPackageAvailabilityServiceImpl {
+
+    private final TravelPackageRepository travelPackageRepository = mock(TravelPackageRepository.class);
+
+    private final ActivityRepository activityRepository = mock(ActivityRepository.class);
+
+    private final ActivityCapacityService activityCapacityService = mock(ActivityCapacityService.class);
+
+    private final Map<Long, Integer> seats = new HashMap<>();
+
+    private final TravelPackageAvailabilityServiceImpl availabilityService =
+            new TravelPackageAvailabilityServiceImpl(travelPackageRepository, activityRepository, activityCapacityService);
+
+    @BeforeEach
+    void setUp() {
+        when(travelPackageRepository.findNameById(1L)).thenReturn(Optional.of("Test Package"));
+        when(activityRepository.findAvailabilitiesByTravelPackageId(1L)).thenReturn(List.of(
+                new ActivityAvailability(10L, "Hiking", "Alps", 5),
+                new ActivityAvailability(11L, "Skiing", "Alps", 0),
+                new ActivityAvailability(12L, "Diving", "Reef", 3)));
+        when(activityCapacityService.getAvailableSeats(anyLong(), anyInt()))
+                .thenAnswer(invocation -> seats.getOrDefault(invocation.<Long>getArgument(0), invocation.<Integer>getArgument(1)));
+        when(activityCapacityService.getAvailableSeats(anyLong()))
+                .thenAnswer(invocation -> seats.get(invocation.<Long>getArgument(0)));
+    }
+
+    @Test
+    void testBuiltOnceFromCounters() {
+        seats.put(10L, 4);
+
+        TravelPackageAvailability availability = availabilityService.getAvailability(1L);
+        availabilityService.getAvailability(1L);
+
+        assertEquals("Test Package", availability.name());
+        assertEquals(7, availability.totalAvailableSpaces());
+        assertEquals(List.of(10L, 12L), availability.openActivities().stream().map(ActivityAvailability::activityId).toList());
+        assertEquals(4, availability.openActivities().get(0).availableSpaces());
+        verify(activityRepository, times(1)).findAvailabilitiesByTravelPackageId(1L);
+    }
+
+    @Test
+    void testFollowsSeatChanges() {
+        availabilityService.getAvailability(1L);
+
+        seats.put(10L, 0);
+        availabilityService.onSeatsChanged(new ActivitySeatsChangedEvent(10L));
+        seats.put(11L, 2);
+        availabilityService.onSeatsChanged(new ActivitySeatsChangedEvent(11L));
+        availabilityService.onSeatsChanged(new ActivitySeatsChangedEvent(99L));
+
+        TravelPackageAvailability availability = availabilityService.getAvailability(1L);
+        assertEquals(5, availability.totalAvailableSpaces());
+        assertEquals(List.of(11L, 12L), availability.openActivities().stream().map(ActivityAvailability::activityId).toList());
+        verify(activityRepository, times(1)).findAvailabilitiesByTravelPackageId(1L);
+    }
+
+    @Test
+    void testInvalidateBuildsAgain() {
+        availabilityService.getAvailability(1L);
+        availabilityService.invalidate(1L);
+        availabilityService.invalidate(null);
+        availabilityService.getAvailability(1L);
+
+        verify(activityRepository, times(2)).findAvailabilitiesByTravelPackageId(1L);
+    }
+
+    @Test
+    void testBuildRacingInvalidationIsNotKept() {
+        when(activityRepository.findAvailabilitiesByTravelPackageId(2L)).thenAnswer(invocation -> {
+            availabilityService.invalidate(2L);
+            return List.of(new ActivityAvailability(20L, "Rafting", "River", 6));
+        });
+        when(travelPackageRepository.findNameById(2L)).thenReturn(Optional.of("Other Package"));
+
+        assertEquals(6, availabilityService.getAvailability(2L).totalAvailableSpaces());
+        assertEquals(6, availabilityService.getAvailability(2L).totalAvailableSpaces());
+
+        verify(activityRepository, times(2)).findAvailabilitiesByTravelPackageId(2L);
+    }
+
+    @Test
+    void testUnknownTravelPackage() {
+        when(travelPackageRepository.findNameById(3L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.getAvailability(3L));
+    }
+}
@@ -0,0 +1,156 @@
+package javaproject.travelmanager.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javaproject.travelmanager.DTO.ReportFormat;
+import javaproject.travelmanager.DTO.TravelPackageView;
+import javaproject.travelmanager.Entity.*;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class contains tests for the TravelPackagePrintService class. It counts the SQL statements each
+ * report issues and checks that the count does not grow with the size of the travel package, and checks
+ * the text, JSON and CSV renderings of a report.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "javaproject.travelmanager.Service.testTravelPackagePrintServiceImpl$QueryCounter")
+public class testTravelPackagePrintServiceImpl {
+
+    @Autowired
+    private TravelPackagePrintService travelPackagePrintService;
+
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+
+    @Autowired
+    private PassengerRepository passengerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testItineraryQueryCount() {
+        assertQueryCount(2, TravelPackageView.ITINERARY);
+    }
+
+    @Test
+    void testPassengerListQueryCount() {
+        assertQueryCount(1, TravelPackageView.PASSENGER_LIST);
+    }
+
+    @Test
+    void testPassengerDetailsQueryCount() {
+        assertQueryCount(3, TravelPackageView.PASSENGER_DETAILS);
+    }
+
+    @Test
+    void testAvailableActivitiesQueryCount() {
+        assertQueryCount(2, TravelPackageView.AVAILABLE_ACTIVITIES);
+    }
+
+    @Test
+    void testItineraryFormats() throws IOException {
+        Long travelPackageId = createTravelPackage(1, 2, 0);
+
+        String text = render(travelPackageId, ReportFormat.TEXT);
+        assertTrue(text.startsWith("Travel Package: Package\nDestinations:\n- Destination: Destination 0\n  Activity Name: Activity 0\n"));
+        assertTrue(text.contains("  Cost: 100.00\n"));
+
+        JsonNode json = new ObjectMapper().readTree(render(travelPackageId, ReportFormat.JSON));
+        assertEquals("Package", json.get("travelPackage").asText());
+        assertEquals(2, json.get("destinations").size());
+        assertEquals("Activity 1", json.get("destinations").get(1).get("activityName").asText());
+        assertEquals(100.0, json.get("destinations").get(0).get("cost").asDouble());
+
+        String[] csv = render(travelPackageId, ReportFormat.CSV).split("\n");
+        assertEquals(3, csv.length);
+        assertEquals("destination,activityName,description,cost,capacity", csv[0]);
+        assertEquals("Destination 0,Activity 0,Description,100.00,0", csv[1]);
+    }
+
+    private String render(Long travelPackageId, ReportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        travelPackagePrintService.print(travelPackageId, TravelPackageView.ITINERARY, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void assertQueryCount(int expected, TravelPackageView view) {
+        Long small = createTravelPackage(2, 2, 3);
+        Long large = createTravelPackage(10, 5, 40);
+
+        assertEquals(expected, countQueries(() -> print(small, view)));
+        assertEquals(expected, countQueries(() -> print(large, view)));
+    }
+
+    private void print(Long travelPackageId, TravelPackageView view) {
+        try {
+            travelPackagePrintService.print(travelPackageId, view, ReportFormat.TEXT, OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Long createTravelPackage(int destinationCount, int activitiesPerDestination, int passengerCount) {
+        return transactionTemplate.execute(status -> {
+            TravelPackage travelPackage = new TravelPackage("Package", passengerCount);
+            List<Activity> activities = new ArrayList<>();
+            for (int d = 0; d < destinationCount; d++) {
+                Destination destination = new Destination("Destination " + d);
+                destination.setTravelPackage(travelPackage);
+                for (int a = 0; a < activitiesPerDestination; a++) {
+                    Activity activity = new Activity("Activity " + a, "Description", 100, passengerCount);
+                    activity.setDestination(destination);
+                    destination.addActivity(activity);
+                    activities.add(activity);
+                }
+                travelPackage.addDestination(destination);
+            }
+            TravelPackage saved = travelPackageRepository.save(travelPackage);
+
+            for (int p = 0; p < passengerCount; p++) {
+                Passenger passenger = new Passenger("Passenger " + p, "P" + p, PassengerType.values()[p % 3], 1000);
+                passenger.setTravelPackage(saved);
+                passenger.addActivity(activities.get(p % activities.size()));
+                passenger.addActivity(activities.get((p + 1) % activities.size()));
+                passengerRepository.save(passenger);
+            }
+            return saved.getId();
+        });
+    }
+
+    private static int countQueries(Runnable runnable) {
+        QueryCounter.COUNT.set(0);
+        runnable.run();
+        return QueryCounter.COUNT.get();
+    }
+
+    /**
+     * Counts the SQL statements prepared on the current thread.
+     */
+    public static class QueryCounter implements StatementInspector {
+        static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.set(COUNT.get() + 1);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package javaproject.travelmanager.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javaproject.travelmanager.DTO.ReportFormat;
+import javaproject.travelmanager.DTO.TravelPackageView;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.Implementation.TravelPackageReadServiceImpl;
+import javaproject.travelmanager.Service.Implementation.TravelPackageVersionServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the TravelPackageReadService class. It tests that concurrent identical
+ * reads share one load and its rendered report, the freshness window and its reset by a version bump, and that failed loads are shared but not kept.
+ */
+@SpringBootTest
+public class testTravelPackageReadServiceImpl {
+
+    private final TravelPackageRepository travelPackageRepository = mock(TravelPackageRepository.class);
+
+    private final TravelPackagePrintService travelPackagePrintService = mock(TravelPackagePrintService.class);
+
+    private final TravelPackageVersionService travelPackageVersionService =
+            new TravelPackageVersionServiceImpl(mock(CatalogCacheService.class));
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TravelPackageReadServiceImpl readService(long freshnessMillis) {
+        return new TravelPackageReadServiceImpl(travelPackageRepository, travelPackagePrintService,
+                travelPackageVersionService, new ObjectMapper(),
+                mock(PlatformTransactionManager.class), meterRegistry, freshnessMillis, 100);
+    }
+
+    @Test
+    void testConcurrentReadsShareOneLoad() throws Exception {
+        TravelPackageReadServiceImpl readService = readService(0);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            invocation.<OutputStream>getArgument(3).write("Travel Package: Test".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(travelPackagePrintService).print(eq(1L), eq(TravelPackageView.ITINERARY), eq(ReportFormat.TEXT), any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ByteArrayOutputStream>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(executor.submit(() -> {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    readService.writeReport(1L, TravelPackageView.ITINERARY, ReportFormat.TEXT, out);
+                    return out;
+                }));
+            }
+            while (meterRegistry.get("travelmanager.package-reads.coalesced").functionCounter().count() < 7) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<ByteArrayOutputStream> read : reads) {
+                assertEquals("Travel Package: Test", read.get().toString(StandardCharsets.UTF_8));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(travelPackagePrintService, times(1)).print(eq(1L), eq(TravelPackageView.ITINERARY), eq(ReportFormat.TEXT), any());
+        assertEquals(1.0, meterRegistry.get("travelmanager.package-reads.loads").functionCounter().count());
+    }
+
+    @Test
+    void testFreshnessWindow() throws IOException {
+        TravelPackageReadServiceImpl readService = readService(60_000);
+
+        readService.writeReport(1L, TravelPackageView.ITINERARY, ReportFormat.TEXT, OutputStream.nullOutputStream());
+        readService.writeReport(1L, TravelPackageView.ITINERARY, ReportFormat.TEXT, OutputStream.nullOutputStream());
+        readService.writeReport(1L, TravelPackageView.PASSENGER_LIST, ReportFormat.TEXT, OutputStream.nullOutputStream());
+        readService.writeReport(2L, TravelPackageView.ITINERARY, ReportFormat.TEXT, OutputStream.nullOutputStream());
+        readService.writeReport(1L, TravelPackageView.ITINERARY, ReportFormat.CSV, OutputStream.nullOutputStream());
+
+        verify(travelPackagePrintService, times(1)).print(eq(1L), eq(TravelPackageView.ITINERARY), eq(ReportFormat.CSV), any());
+        verify(travelPackagePrintService, times(1)).print(eq(1L), eq(TravelPackageView.ITINERARY), eq(ReportFormat.TEXT), any());
+        verify(travelPackagePrintService, times(1)).print(eq(1L), eq(TravelPackageView.PASSENGER_LIST), eq(ReportFormat.TEXT), any());
+        verify(travelPackagePrintService, times(1)).print(eq(2L), eq(TravelPackageView.ITINERARY), eq(ReportFormat.TEXT), any());
+        assertEquals(1.0, meterRegistry.get("travelmanager.package-reads.fresh").functionCounter().count());
+    }
+
+    @Test
+    void testVersionBumpEndsFreshnessWindow() throws IOException {
+        TravelPackageReadServiceImpl readService = readService(60_000);
+
+        readService.writeReport(1L, TravelPackageView.ITINERARY, ReportFormat.TEXT, OutputStream.nullOutputStream());
+        travelPackageVersionService.touch(1L);
+        readService.writeReport(1L, TravelPackageView.ITINERARY, ReportFormat.TEXT, OutputStream.nullOutputStream());
+        readService.writeReport(1L, TravelPackageView.ITINERARY, ReportFormat.TEXT, OutputStream.nullOutputStream());
+
+        verify(travelPackagePrintService, times(2)).print(eq(1L), eq(TravelPackageView.ITINERARY), eq(ReportFormat.TEXT), any());
+    }
+
+    @Test
+    void testWithoutFreshnessWindowEveryReadLoads() throws IOException {
+        TravelPackageReadServiceImpl readService = readService(0);
+
+        readService.writeReport(1L, TravelPackageView.ITINERARY, ReportFormat.TEXT, OutputStream.nullOutputStream());
+        readService.writeReport(1L, TravelPackageView.ITINERARY, ReportFormat.TEXT, OutputStream.nullOutputStream());
+
+        verify(travelPackagePrintService, times(2)).print(eq(1L), eq(TravelPackageView.ITINERARY), eq(ReportFormat.TEXT), any());
+    }
+
+    @Test
+    void testFailedLoadIsNotKept() {
+        TravelPackageReadServiceImpl readService = readService(60_000);
+        when(travelPackageRepository.findWithDestinationsById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> readService.getTravelPackage(1L));
+        assertThrows(IllegalArgumentException.class, () -> readService.getTravelPackage(1L));
+
+        verify(travelPackageRepository, times(2)).findWithDestinationsById(1L);
+    }
+}
@@ -0,0 +1,90 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.PackageReportTiming;
+import javaproject.travelmanager.DTO.ReportFormat;
+import javaproject.travelmanager.DTO.ReportJobSummary;
+import javaproject.travelmanager.DTO.TravelPackageView;
+import javaproject.travelmanager.Repository.TravelPackageRepository;
+import javaproject.travelmanager.Service.Implementation.TravelPackageReportJobServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the TravelPackageReportJobService class. It tests that every travel package
+ * gets its own report files, that a failing travel package does not stop the others, and that the reports in
+ * flight never exceed the configured concurrency.
+ */
+@SpringBootTest
+public class testTravelPackageReportJobServiceImpl {
+
+    private final TravelPackageRepository travelPackageRepository = mock(TravelPackageRepository.class);
+
+    private final TravelPackagePrintService travelPackagePrintService = mock(TravelPackagePrintService.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWritesReportsPerTravelPackage() throws IOException {
+        when(travelPackageRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write(("Travel Package: " + invocation.getArgument(0)).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(travelPackagePrintService).print(anyLong(), any(), any(), any());
+        doThrow(new IllegalArgumentException("Travel Package Not Found"))
+                .when(travelPackagePrintService).print(eq(2L), eq(TravelPackageView.PASSENGER_DETAILS), any(), any());
+
+        ReportJobSummary summary = jobService(4).generateReports(directory.resolve("out"));
+
+        assertEquals(3, summary.travelPackages());
+        assertEquals(1, summary.failures());
+        assertEquals(List.of(1L, 2L, 3L), summary.timings().stream().map(PackageReportTiming::travelPackageId).toList());
+        assertEquals("Travel Package Not Found", summary.timings().get(1).error());
+        assertEquals("Travel Package: 3", Files.readString(directory.resolve("out/travel-package-3-itinerary.txt")));
+        assertTrue(Files.exists(directory.resolve("out/travel-package-1-passenger-details.txt")));
+        assertFalse(Files.exists(directory.resolve("out/travel-package-2-passenger-details.txt")));
+        assertFalse(Files.exists(directory.resolve("out/travel-package-2-passenger-details.txt.part")));
+        assertEquals(5 * "Travel Package: 1".length(), summary.bytes());
+    }
+
+    @Test
+    void testBoundsReportsInFlight() throws IOException {
+        when(travelPackageRepository.findAllIds()).thenReturn(LongStream.rangeClosed(1, 50).boxed().toList());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(travelPackagePrintService).print(anyLong(), any(), any(), any());
+
+        ReportJobSummary summary = jobService(3).generateReports(directory);
+
+        assertEquals(50, summary.travelPackages());
+        assertEquals(0, summary.failures());
+        assertTrue(maxInFlight.get() <= 3);
+        verify(travelPackagePrintService, times(100)).print(anyLong(), any(), eq(ReportFormat.TEXT), any());
+    }
+
+    private TravelPackageReportJobServiceImpl jobService(int maxConcurrency) {
+        return new TravelPackageReportJobServiceImpl(travelPackageRepository, travelPackagePrintService, null,
+                directory, ReportFormat.TEXT, maxConcurrency, 2);
+    }
+}
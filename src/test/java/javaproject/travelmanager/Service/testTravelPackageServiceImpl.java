@@ -1,6 +1,8 @@
 package javaproject.travelmanager.Service;
 
 
+import javaproject.travelmanager.DTO.KeysetPage;
+import javaproject.travelmanager.DTO.TravelPackageSummary;
 import javaproject.travelmanager.DTO.ActivityDTO;
 import javaproject.travelmanager.DTO.DestinationDTO;
 import javaproject.travelmanager.DTO.PassengerDTO;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.ArrayList;
@@ -38,6 +41,21 @@ public class testTravelPackageServiceImpl {
     @InjectMocks
     private TravelPackageServiceImpl travelPackageService;
 
+    @Mock
+    private TravelPackageVersionService travelPackageVersionService;
+
+    @Mock
+    private TravelPackageAvailabilityService travelPackageAvailabilityService;
+
+    @Mock
+    private ActivityRangeService activityRangeService;
+
+    @Mock
+    private DestinationGeoService destinationGeoService;
+
+    @Mock
+    private ItineraryOptimizerService itineraryOptimizerService;
+
     @Mock
     private TravelPackageRepository travelPackageRepository;
 
@@ -47,6 +65,9 @@ public class testTravelPackageServiceImpl {
     @Mock
     private DestinationService destinationService;
 
+    @Mock
+    private CatalogCacheService catalogCacheService;
+
 
 
 
@@ -103,6 +124,7 @@ public class testTravelPackageServiceImpl {
 
         when(travelPackageRepository.findById(travelPackageId)).thenReturn(Optional.of(mockTravelPackage));
         when(passengerService.getPassenger(passengerId)).thenReturn(mockPassenger);
+        when(travelPackageRepository.decrementPassengerCapacity(travelPackageId)).thenReturn(1);
         when(travelPackageRepository.save(any())).thenReturn(mockTravelPackage);
 
         travelPackageService.addPassengerToTravelPackage(travelPackageId, passengerId);
@@ -148,6 +170,20 @@ public class testTravelPackageServiceImpl {
         verify(travelPackageRepository, times(1)).findAll();
     }
 
+    @Test
+    void testGetTravelPackageSummaries() {
+        List<TravelPackageSummary> summaryList = List.of(new TravelPackageSummary(1L, "Trip 1", 10, 3, 2));
+
+        when(travelPackageRepository.findSummariesAfter(0L, PageRequest.ofSize(51))).thenReturn(summaryList);
+
+        KeysetPage<TravelPackageSummary> page = travelPackageService.getTravelPackageSummaries(null, 50);
+        List<TravelPackageSummary> summaries = page.items();
+
+        assertEquals(summaryList, summaries);
+        assertNull(page.nextPageToken());
+        verify(travelPackageRepository, never()).findAll();
+    }
+
     @Test
     void testAddTravelPackage() {
         TravelPackageDTO travelPackageDTO = new TravelPackageDTO();
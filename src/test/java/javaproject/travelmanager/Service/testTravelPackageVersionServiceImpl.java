@@ -0,0 +1,75 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.ActivitySummary;
+import javaproject.travelmanager.DTO.DestinationSummary;
+import javaproject.travelmanager.Service.Implementation.TravelPackageVersionServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the TravelPackageVersionService class. It tests that versions are bumped
+ * only after commit, the entity tag format, and the lookup of the travel package of a destination or activity.
+ */
+@SpringBootTest
+public class testTravelPackageVersionServiceImpl {
+
+    private final CatalogCacheService catalogCacheService = mock(CatalogCacheService.class);
+
+    private final TravelPackageVersionServiceImpl versionService = new TravelPackageVersionServiceImpl(catalogCacheService);
+
+    @Test
+    void testTouchOutsideTransaction() {
+        assertEquals(0, versionService.getVersion(1L));
+
+        versionService.touch(1L);
+        versionService.touch(null);
+
+        assertEquals(1, versionService.getVersion(1L));
+        assertEquals(0, versionService.getVersion(2L));
+    }
+
+    @Test
+    void testTouchBumpsOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versionService.touch(1L);
+            assertEquals(0, versionService.getVersion(1L));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+            assertEquals(1, versionService.getVersion(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testETag() {
+        String before = versionService.getETag(1L, versionService.getVersion(1L));
+        versionService.touch(1L);
+        String after = versionService.getETag(1L, versionService.getVersion(1L));
+
+        assertTrue(before.startsWith("\"") && before.endsWith("\""));
+        assertTrue(after.endsWith("-1-1\""));
+        assertNotEquals(before, after);
+        assertNotEquals(after, new TravelPackageVersionServiceImpl(catalogCacheService).getETag(1L, 1));
+    }
+
+    @Test
+    void testTouchActivity() {
+        when(catalogCacheService.getActivity(5L)).thenReturn(new ActivitySummary(5L, "Hiking", "Test", 1000L, 10, 3L));
+        when(catalogCacheService.getDestination(3L)).thenReturn(new DestinationSummary(3L, "Alps", 1L, 1));
+        when(catalogCacheService.getActivity(6L)).thenThrow(new IllegalArgumentException("Activity Not Found"));
+
+        versionService.touchActivity(5L);
+        versionService.touchActivity(6L);
+
+        assertEquals(1, versionService.getVersion(1L));
+    }
+}
@@ -0,0 +1,117 @@
+package javaproject.travelmanager.Service;
+
+import javaproject.travelmanager.DTO.LedgerState;
+import javaproject.travelmanager.Entity.Passenger;
+import javaproject.travelmanager.Entity.PassengerType;
+import javaproject.travelmanager.Entity.WaitlistEntry;
+import javaproject.travelmanager.Repository.ActivityRepository;
+import javaproject.travelmanager.Repository.BalanceEntryRepository;
+import javaproject.travelmanager.Repository.PassengerRepository;
+import javaproject.travelmanager.Repository.WaitlistEntryRepository;
+import javaproject.travelmanager.Service.Implementation.BalanceLedgerServiceImpl;
+import javaproject.travelmanager.Service.Implementation.PricingServiceImpl;
+import javaproject.travelmanager.Service.Implementation.WaitlistServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class contains unit tests for the WaitlistService class. It tests joining a waitlist and
+ * promoting waiting passengers in FIFO order with the balance checked at promotion time.
+ */
+@SpringBootTest
+public class testWaitlistServiceImpl {
+
+    @InjectMocks
+    private WaitlistServiceImpl waitlistService;
+
+    @Mock
+    private TravelPackageVersionService travelPackageVersionService;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private PassengerRepository passengerRepository;
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    @Mock
+    private ActivityCapacityService activityCapacityService;
+
+    @Spy
+    private PricingService pricingService = new PricingServiceImpl(mock(ActivityRepository.class),
+            new BalanceLedgerServiceImpl(ledgerRepository()), 10);
+
+    @Test
+    void testJoinWaitlist() {
+        when(passengerRepository.existsById(1L)).thenReturn(true);
+        when(activityCapacityService.getAvailableSeats(2L)).thenReturn(0);
+        when(waitlistEntryRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WaitlistEntry entry = waitlistService.joinWaitlist(1L, 2L);
+
+        assertEquals(2L, entry.getActivityId());
+        assertEquals(1L, entry.getPassengerId());
+    }
+
+    @Test
+    void testJoinWaitlistWithFreeSeats() {
+        when(passengerRepository.existsById(1L)).thenReturn(true);
+        when(activityCapacityService.getAvailableSeats(2L)).thenReturn(3);
+
+        assertThrows(IllegalStateException.class, () -> waitlistService.joinWaitlist(1L, 2L));
+        verify(waitlistEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void testPromoteSkipsPassengerWhoCannotPay() {
+        Long activityId = 2L;
+        WaitlistEntry first = new WaitlistEntry(activityId, 10L, Instant.now());
+        WaitlistEntry second = new WaitlistEntry(activityId, 11L, Instant.now());
+        Passenger broke = new Passenger("Broke", "1", PassengerType.STANDARD, 100);
+        broke.setId(10L);
+        Passenger gold = new Passenger("Gold", "2", PassengerType.GOLD, 1000);
+        gold.setId(11L);
+
+        when(waitlistEntryRepository.findFirstByActivityIdOrderByIdAsc(activityId))
+                .thenReturn(Optional.of(first), Optional.of(second), Optional.empty());
+        when(passengerRepository.findById(10L)).thenReturn(Optional.of(broke));
+        when(passengerRepository.findById(11L)).thenReturn(Optional.of(gold));
+        doReturn(50000L).when(pricingService).priceOf(activityId, PassengerType.STANDARD);
+        doReturn(45000L).when(pricingService).priceOf(activityId, PassengerType.GOLD);
+
+        int promoted = waitlistService.promote(activityId, 2);
+
+        assertEquals(1, promoted);
+        assertEquals(100, broke.getBalance());
+        assertEquals(550, gold.getBalance());
+        assertEquals(1, gold.getActivities().size());
+        verify(waitlistEntryRepository, times(1)).delete(first);
+        verify(waitlistEntryRepository, times(1)).delete(second);
+    }
+
+    @Test
+    void testPromoteWithEmptyWaitlist() {
+        when(waitlistEntryRepository.findFirstByActivityIdOrderByIdAsc(2L)).thenReturn(Optional.empty());
+
+        assertEquals(0, waitlistService.promote(2L, 1));
+    }
+
+    private BalanceEntryRepository ledgerRepository() {
+        BalanceEntryRepository balanceEntryRepository = mock(BalanceEntryRepository.class);
+        when(balanceEntryRepository.findLedgerState(any())).thenAnswer(invocation -> passengerRepository.findById(invocation.getArgument(0))
+                .map(passenger -> new LedgerState(passenger.getBalanceMinor(), 0)).orElse(null));
+        return balanceEntryRepository;
+    }
+}